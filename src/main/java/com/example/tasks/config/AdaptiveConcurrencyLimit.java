@@ -0,0 +1,144 @@
+package com.example.tasks.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Адаптивный предел одновременных запросов по градиенту времени ответа.
+ * <p>
+ * Запрос выполняется, только если число выполняющихся запросов меньше текущего предела.
+ * Предел пересчитывается по окнам не короче {@code window} и не менее {@link #MIN_WINDOW_SAMPLES}
+ * ответов: среднее время ответа окна (короткое) сравнивается со скользящим средним по многим
+ * окнам (длинное). Пока короткое не превышает длинное более чем в {@code tolerance} раз,
+ * целевой предел — текущий плюс корень из него; когда ответы замедляются, например из-за
+ * медленной базы, целевой предел уменьшается пропорционально замедлению, но не более чем вдвое.
+ * Предел сдвигается к целевому с коэффициентом сглаживания и остается в диапазоне
+ * {@code [minLimit, maxLimit]}.
+ * </p>
+ * <p>
+ * Если в окне было занято меньше половины предела, он не увеличивается: предел растет только
+ * под нагрузкой, которая его проверяет. Если длинное среднее вдвое выше короткого (нагрузка
+ * спала), оно постепенно снижается, чтобы новое замедление было замечено.
+ * </p>
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_FACTOR = 2.0 / (100 + 1);
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowMaxInFlight = new LongAccumulator(Math::max, 0);
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private volatile long windowStart;
+    private double estimatedLimit;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, Duration window) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = window.toNanos();
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * Занимает место для запроса, если предел не достигнут.
+     *
+     * @return true если запрос можно выполнять; тогда по его завершении нужно вызвать {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulate(current + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Освобождает место запроса и учитывает его время ответа.
+     *
+     * @param rttNanos время выполнения запроса
+     * @param nowNanos текущее значение {@link System#nanoTime()}
+     */
+    public void release(long rttNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+        if (nowNanos - windowStart >= windowNanos && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+                && updateLock.tryLock()) {
+            try {
+                update(nowNanos);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Освобождает место запроса, не учитывая его время ответа.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long nowNanos) {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        long maxInFlight = windowMaxInFlight.getThenReset();
+        windowStart = nowNanos;
+        if (samples == 0) {
+            return;
+        }
+        double shortRtt = Math.max(1, (double) rttSum / samples);
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) * LONG_RTT_FACTOR;
+        }
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (maxInFlight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+}
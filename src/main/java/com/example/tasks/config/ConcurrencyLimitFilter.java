@@ -0,0 +1,125 @@
+package com.example.tasks.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Сброс нагрузки: ограничивает число одновременно выполняемых запросов к API.
+ * <p>
+ * Запросы делятся на группы — чтение ({@code GET}, {@code HEAD} и {@code /graphql}), запись
+ * и аутентификация ({@code /api/auth/**}) — у каждой свой {@link AdaptiveConcurrencyLimit},
+ * поэтому медленная запись не вытесняет чтение, а наплыв входов не занимает место остальных.
+ * Предел группы подстраивается под время ответа: пока оно стабильно, растет до
+ * {@code tasks.limiter.<группа>.max-limit}, при замедлении уменьшается.
+ * </p>
+ * <p>
+ * Запрос сверх предела сразу получает 503 с {@code Retry-After}, не занимая соединение с базой
+ * и не ожидая в очереди. Фильтр выполняется до цепочки Spring Security, чтобы отклонение не
+ * стоило проверки JWT. Метрики: {@code tasks.limiter.limit}, {@code tasks.limiter.in-flight}
+ * и {@code tasks.limiter.rejected} с тегом {@code group}.
+ * </p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    enum Group { READ, WRITE, AUTH }
+
+    private final boolean enabled;
+    private final String retryAfter;
+    private final Map<Group, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejected = new EnumMap<>(Group.class);
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  @Value("${tasks.limiter.enabled:true}") boolean enabled,
+                                  @Value("${tasks.limiter.initial-limit:20}") int initialLimit,
+                                  @Value("${tasks.limiter.min-limit:4}") int minLimit,
+                                  @Value("${tasks.limiter.read.max-limit:200}") int readMaxLimit,
+                                  @Value("${tasks.limiter.write.max-limit:100}") int writeMaxLimit,
+                                  @Value("${tasks.limiter.auth.max-limit:20}") int authMaxLimit,
+                                  @Value("${tasks.limiter.tolerance:1.5}") double tolerance,
+                                  @Value("${tasks.limiter.window:PT0.1S}") Duration window,
+                                  @Value("${tasks.limiter.retry-after:PT1S}") Duration retryAfter) {
+        this.enabled = enabled;
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        Map<Group, Integer> maxLimits = Map.of(Group.READ, readMaxLimit, Group.WRITE, writeMaxLimit,
+                Group.AUTH, authMaxLimit);
+        for (Group group : Group.values()) {
+            int maxLimit = maxLimits.get(group);
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(Math.min(initialLimit, maxLimit),
+                    Math.min(minLimit, maxLimit), maxLimit, tolerance, window);
+            String tag = group.name().toLowerCase();
+            limits.put(group, limit);
+            rejected.put(group, meterRegistry.counter("tasks.limiter.rejected", "group", tag));
+            Gauge.builder("tasks.limiter.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .tag("group", tag).register(meterRegistry);
+            Gauge.builder("tasks.limiter.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .tag("group", tag).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !(path.startsWith("/api/") || path.equals("/graphql"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Group group = group(request);
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            rejected.get(group).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.sendError(503, "Server is overloaded");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed) {
+                long now = System.nanoTime();
+                limit.release(now - start, now);
+            } else {
+                limit.release();
+            }
+        }
+    }
+
+    AdaptiveConcurrencyLimit getLimit(Group group) {
+        return limits.get(group);
+    }
+
+    private static Group group(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return Group.AUTH;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/graphql")) {
+            return Group.READ;
+        }
+        return Group.WRITE;
+    }
+}
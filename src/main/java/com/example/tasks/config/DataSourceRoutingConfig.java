@@ -0,0 +1,82 @@
+package com.example.tasks.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Конфигурация чтения с реплик.
+ * <p>
+ * Включается свойством {@code tasks.datasource.replica.urls} — списком JDBC URL реплик
+ * через запятую. Основная база настраивается обычными свойствами {@code spring.datasource.*},
+ * реплики используют те же учетные данные и настройки пула {@code spring.datasource.hikari.*}.
+ * Без свойства приложение работает с единственным источником данных Spring Boot.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.datasource.replica", name = "urls")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * Пул соединений основной базы.
+     *
+     * @param properties свойства {@code spring.datasource.*}
+     * @return пул соединений основной базы
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Маршрутизирующий источник данных, используемый JPA и JDBC.
+     *
+     * @param primaryDataSource пул основной базы
+     * @param properties        свойства {@code spring.datasource.*}
+     * @param replicaUrls       JDBC URL реплик
+     * @param stickiness        учет изменений пользователей для чтения с основной базы
+     * @param meterRegistry     реестр метрик
+     * @return источник данных с отложенным получением соединения
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 DataSourceProperties properties,
+                                 @Value("${tasks.datasource.replica.urls}") List<String> replicaUrls,
+                                 ReplicaStickiness stickiness,
+                                 MeterRegistry meterRegistry) {
+        List<DataSource> replicas = IntStream.range(0, replicaUrls.size())
+                .mapToObj(i -> replica(primaryDataSource, properties, replicaUrls.get(i), i))
+                .toList();
+
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, stickiness, meterRegistry));
+    }
+
+    private static DataSource replica(HikariDataSource primary, DataSourceProperties properties, String url, int index) {
+        HikariDataSource replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setJdbcUrl(url);
+        replica.setUsername(properties.determineUsername());
+        replica.setPassword(properties.determinePassword());
+        replica.setReadOnly(true);
+        replica.setPoolName(ReplicaRoutingDataSource.REPLICA_PREFIX + index);
+        return replica;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.tasks.config;
+
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+
+/**
+ * Ограничения GraphQL-запросов ({@code /graphql}).
+ * <p>
+ * Запросы глубже {@code tasks.graphql.max-depth} или сложнее {@code tasks.graphql.max-complexity}
+ * отклоняются до выполнения. Сложность поля — единица плюс сложность вложенных полей,
+ * умноженная на число возвращаемых элементов ({@code limit} или размер {@code ids}),
+ * поэтому она приближенно равна числу значений в ответе.
+ * </p>
+ */
+@Configuration
+public class GraphQLConfig {
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${tasks.graphql.max-depth:8}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${tasks.graphql.max-complexity:5000}") int maxComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, GraphQLConfig::fieldComplexity);
+    }
+
+    /**
+     * Сложность поля с учетом числа элементов, которое оно возвращает.
+     *
+     * @param environment     поле и его аргументы
+     * @param childComplexity суммарная сложность вложенных полей
+     * @return сложность поля
+     */
+    static int fieldComplexity(FieldComplexityEnvironment environment, int childComplexity) {
+        Object limit = environment.getArguments().get("limit");
+        Object ids = environment.getArguments().get("ids");
+        int size = limit instanceof Integer value ? value
+                : ids instanceof Collection<?> values ? values.size()
+                : 1;
+        return 1 + Math.max(1, size) * childComplexity;
+    }
+}
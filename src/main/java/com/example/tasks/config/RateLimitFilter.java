@@ -0,0 +1,214 @@
+package com.example.tasks.config;
+
+import com.example.tasks.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограничение частоты запросов пользователя к каждому эндпоинту.
+ * <p>
+ * Выполняется в цепочке Spring Security сразу после {@link JwtRequestFilter}, поэтому знает
+ * пользователя. У каждой пары «пользователь — эндпоинт» свое ведро токенов: эндпоинт — метод и путь,
+ * в котором числовые сегменты заменены на {@code {id}} ({@code GET /api/tasks/{id}}). Ведро
+ * пополняется со скоростью {@code tasks.rate-limit.<роль>.rate} запросов в секунду и вмещает
+ * {@code tasks.rate-limit.<роль>.burst} запросов; для администраторов действует квота {@code admin},
+ * для остальных — {@code user}. Поэтому интеграция, опрашивающая {@code GET /api/tasks}, упирается
+ * в свою квоту на этот эндпоинт и не мешает ни другим пользователям, ни своим же остальным запросам.
+ * Запросы без аутентификации не ограничиваются: их сдерживает {@link ConcurrencyLimitFilter}.
+ * </p>
+ * <p>
+ * Состояние ведра — одно число (время, к которому ведро опустеет, алгоритм GCRA), обновляемое CAS
+ * без блокировок. Ведра хранятся в кэше Caffeine не больше {@code tasks.rate-limit.max-size} штук;
+ * ведро, к которому не обращались {@code tasks.rate-limit.idle-timeout}, удаляется — к этому
+ * времени оно все равно полностью пополнилось бы.
+ * </p>
+ * <p>
+ * Ответ содержит {@code X-RateLimit-Limit} и {@code X-RateLimit-Remaining}. Запрос сверх квоты
+ * получает 429 с {@code Retry-After} — через сколько секунд появится токен. Метрика:
+ * {@code tasks.rate-limit.rejected} с тегом {@code role}.
+ * </p>
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final boolean enabled;
+    private final Quota userQuota;
+    private final Quota adminQuota;
+    private final Cache<Key, Bucket> buckets;
+    private final Counter userRejected;
+    private final Counter adminRejected;
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${tasks.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${tasks.rate-limit.user.rate:20}") double userRate,
+                           @Value("${tasks.rate-limit.user.burst:40}") int userBurst,
+                           @Value("${tasks.rate-limit.admin.rate:100}") double adminRate,
+                           @Value("${tasks.rate-limit.admin.burst:200}") int adminBurst,
+                           @Value("${tasks.rate-limit.max-size:100000}") long maxSize,
+                           @Value("${tasks.rate-limit.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.enabled = enabled;
+        this.userQuota = new Quota(userRate, userBurst);
+        this.adminQuota = new Quota(adminRate, adminBurst);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.userRejected = meterRegistry.counter("tasks.rate-limit.rejected", "role", "user");
+        this.adminRejected = meterRegistry.counter("tasks.rate-limit.rejected", "role", "admin");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean admin = isAdmin(authentication);
+        Quota quota = admin ? adminQuota : userQuota;
+        Bucket bucket = buckets.get(new Key(authentication.getName(), endpoint(request)), key -> new Bucket(quota));
+        long now = System.nanoTime();
+        long waitNanos = bucket.tryConsume(now);
+
+        response.setHeader(LIMIT_HEADER, String.valueOf(bucket.quota.burst()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(bucket.remaining(now)));
+        if (waitNanos > 0) {
+            (admin ? adminRejected : userRejected).increment();
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.sendError(429, "Too many requests");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Эндпоинт запроса: метод и путь без контекста, числовые сегменты пути заменены на {@code {id}}.
+     */
+    static String endpoint(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        StringBuilder endpoint = new StringBuilder(request.getMethod().length() + path.length() + 1)
+                .append(request.getMethod()).append(' ');
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (start > 0) {
+                endpoint.append('/');
+            }
+            endpoint.append(isNumber(path, start, end) ? "{id}" : path.substring(start, end));
+            start = end + 1;
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isNumber(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (Role.ROLE_ADMIN.name().equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Key(String principal, String endpoint) {
+    }
+
+    /**
+     * Квота: скорость пополнения в запросах в секунду и емкость ведра.
+     */
+    record Quota(double rate, int burst) {
+        Quota {
+            if (rate <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limit quota must have positive rate and burst");
+            }
+        }
+    }
+
+    /**
+     * Ведро токенов по алгоритму GCRA: хранится момент, когда ведро станет полным,
+     * каждый запрос сдвигает его на интервал между токенами.
+     */
+    static final class Bucket {
+        private final Quota quota;
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+
+        Bucket(Quota quota) {
+            this.quota = quota;
+            this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / quota.rate()));
+            this.capacityNanos = intervalNanos * quota.burst();
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * Забирает токен, если он есть.
+         *
+         * @param nowNanos текущее значение {@link System#nanoTime()}
+         * @return 0, если токен получен, иначе время в наносекундах до появления токена
+         */
+        long tryConsume(long nowNanos) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current - nowNanos, 0) + intervalNanos;
+                if (next > capacityNanos) {
+                    return next - capacityNanos;
+                }
+                if (fullAt.compareAndSet(current, nowNanos + next)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Число токенов, оставшихся в ведре.
+         */
+        long remaining(long nowNanos) {
+            long used = Math.max(fullAt.get() - nowNanos, 0);
+            return (capacityNanos - used) / intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.tasks.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Маршрутизирующий источник данных: основная база и пул реплик.
+ * <p>
+ * Транзакции {@code @Transactional(readOnly = true)} направляются на реплики по кругу,
+ * все остальное — на основную базу. Пользователь, недавно выполнявший изменения,
+ * читает с основной базы (см. {@link ReplicaStickiness}).
+ * </p>
+ * <p>
+ * Признак read-only известен только после начала транзакции, поэтому источник должен
+ * использоваться через {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * физическое соединение запрашивается при первом запросе к базе, когда признак уже выставлен.
+ * </p>
+ * <p>
+ * Для каждой цели публикуются метрики с тегом {@code target}:
+ * {@code tasks.datasource.acquire} — время получения соединения,
+ * {@code tasks.datasource.usage} — время удержания соединения (длительность работы с базой),
+ * {@code tasks.datasource.routed} — количество выданных соединений.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA_PREFIX = "replica-";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReplicaStickiness stickiness;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    ReplicaStickiness stickiness, MeterRegistry meterRegistry) {
+        this.stickiness = stickiness;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, new MeteredDataSource(primary, PRIMARY, meterRegistry));
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = REPLICA_PREFIX + i;
+            replicaKeys.add(key);
+            targets.put(key, new MeteredDataSource(replicas.get(i), key, meterRegistry));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(targets.get(PRIMARY));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickiness.markWrite();
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || stickiness.isSticky()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Источник данных, измеряющий получение и удержание соединений.
+     */
+    static final class MeteredDataSource extends DelegatingDataSource {
+
+        private final Timer acquireTimer;
+        private final Timer usageTimer;
+        private final Counter routed;
+
+        MeteredDataSource(DataSource target, String name, MeterRegistry meterRegistry) {
+            super(target);
+            this.acquireTimer = meterRegistry.timer("tasks.datasource.acquire", "target", name);
+            this.usageTimer = meterRegistry.timer("tasks.datasource.usage", "target", name);
+            this.routed = meterRegistry.counter("tasks.datasource.routed", "target", name);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = super.getConnection();
+            long acquiredAt = System.nanoTime();
+            acquireTimer.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+            routed.increment();
+            return timed(connection, acquiredAt);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = super.getConnection(username, password);
+            long acquiredAt = System.nanoTime();
+            acquireTimer.record(acquiredAt - start, TimeUnit.NANOSECONDS);
+            routed.increment();
+            return timed(connection, acquiredAt);
+        }
+
+        /**
+         * Оборачивает соединение, чтобы при закрытии записать время его удержания.
+         */
+        private Connection timed(Connection connection, long acquiredAt) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && method.getParameterCount() == 0 && !connection.isClosed()) {
+                            usageTimer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.tasks.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Учет недавних изменений пользователей для чтения собственных записей.
+ * <p>
+ * После того как пользователь выполнил изменяющую транзакцию, его чтения в течение окна
+ * {@code tasks.datasource.replica.stickiness} направляются на основную базу: реплика
+ * может еще не получить изменение, и пользователь не должен увидеть старые данные.
+ * Запросы без аутентифицированного пользователя не закрепляются.
+ * </p>
+ * <p>
+ * Изменения отмечает {@link ReplicaRoutingDataSource}; без настроенных реплик отметок нет
+ * и {@link #isSticky()} всегда возвращает false.
+ * </p>
+ */
+@Component
+public class ReplicaStickiness {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final long windowNanos;
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaStickiness(@Value("${tasks.datasource.replica.stickiness:PT5S}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Отмечает изменение, выполненное текущим пользователем.
+     */
+    public void markWrite() {
+        String user = currentUser();
+        if (user == null || windowNanos <= 0) {
+            return;
+        }
+        if (lastWrites.size() > CLEANUP_THRESHOLD) {
+            long now = System.nanoTime();
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+        lastWrites.put(user, System.nanoTime());
+    }
+
+    /**
+     * Проверяет, должен ли текущий пользователь читать с основной базы.
+     *
+     * @return true если пользователь выполнял изменения в пределах окна
+     */
+    public boolean isSticky() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWrites.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > windowNanos) {
+            lastWrites.remove(user, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.tasks.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Включает выполнение фоновых задач по расписанию ({@code @Scheduled}).
+ * <p>
+ * Размер пула планировщика задается свойством {@code spring.task.scheduling.pool.size}.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,85 @@
+package com.example.tasks.config;
+
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Кэш сериализованного в JSON представления {@link TaskDTO}.
+ * <p>
+ * Для каждой задачи хранится последний сериализованный фрагмент вместе с версией задачи.
+ * Фрагмент хранится как {@link SerializedString} с заранее закодированными байтами UTF-8,
+ * поэтому генератор Jackson копирует их в ответ без повторного кодирования.
+ * Фрагмент используется, только если версия DTO совпадает с сохраненной; изменение задачи
+ * дополнительно удаляет фрагмент по событию {@link TaskChangedEvent}.
+ * DTO без ID или версии (например, архивные задачи) и DTO со встроенными пользователями
+ * ({@code expand}) не кэшируются.
+ * </p>
+ * <p>
+ * Размер ограничен {@code tasks.json-cache.max-size}, статистика публикуется
+ * как метрики кэша {@code tasks.json}.
+ * </p>
+ */
+@Component
+public class TaskJsonFragmentCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, Fragment> fragments;
+
+    public TaskJsonFragmentCache(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${tasks.json-cache.max-size:20000}") long maxSize) {
+        this.objectMapper = objectMapper;
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "tasks.json");
+    }
+
+    /**
+     * Возвращает JSON задачи из кэша или сериализует и кэширует его.
+     *
+     * @param task DTO задачи
+     * @return JSON задачи для записи через {@code JsonGenerator.writeRawValue}
+     * @throws JsonProcessingException при ошибке сериализации
+     */
+    public SerializableString toJson(TaskDTO task) throws JsonProcessingException {
+        if (task.getId() == null || task.getVersion() == null
+                || task.getAuthor() != null || task.getAssignee() != null) {
+            return new SerializedString(objectMapper.writeValueAsString(task));
+        }
+        Fragment cached = fragments.getIfPresent(task.getId());
+        if (cached != null && cached.version() == task.getVersion()) {
+            return cached.json();
+        }
+        SerializedString json = new SerializedString(objectMapper.writeValueAsString(task));
+        // Байты UTF-8 вычисляются один раз и сохраняются внутри SerializedString
+        json.asUnquotedUTF8();
+        fragments.put(task.getId(), new Fragment(task.getVersion(), json));
+        return json;
+    }
+
+    /**
+     * Удаляет фрагмент измененной задачи.
+     *
+     * @param event событие изменения задачи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        fragments.invalidate(event.taskId());
+    }
+
+    private record Fragment(long version, SerializedString json) {
+    }
+}
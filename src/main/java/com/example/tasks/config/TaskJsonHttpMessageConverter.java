@@ -0,0 +1,78 @@
+package com.example.tasks.config;
+
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Запись {@link TaskDTO} и {@link TaskPageDTO} в JSON из кэша сериализованных фрагментов.
+ * <p>
+ * Конверт страницы сериализуется Jackson как обычно, а вместо каждой задачи в выходной поток
+ * ответа вставляются готовые байты из {@link TaskJsonFragmentCache}. Результат совпадает
+ * с выводом стандартного конвертера. Чтение не поддерживается — тела запросов
+ * разбирает стандартный конвертер.
+ * </p>
+ */
+public class TaskJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final ObjectWriter writer;
+
+    public TaskJsonHttpMessageConverter(ObjectMapper objectMapper, TaskJsonFragmentCache fragmentCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = objectMapper.copy()
+                .registerModule(new SimpleModule().addSerializer(TaskDTO.class, new FragmentSerializer(fragmentCache)))
+                .writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TaskDTO.class == clazz || TaskPageDTO.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        writer.writeValue(body, value);
+        body.flush();
+    }
+
+    /**
+     * Сериализатор задачи, записывающий закэшированный фрагмент как готовое значение.
+     */
+    private static final class FragmentSerializer extends JsonSerializer<TaskDTO> {
+        private final TaskJsonFragmentCache fragmentCache;
+
+        FragmentSerializer(TaskJsonFragmentCache fragmentCache) {
+            this.fragmentCache = fragmentCache;
+        }
+
+        @Override
+        public void serialize(TaskDTO task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeRawValue(fragmentCache.toJson(task));
+        }
+    }
+}
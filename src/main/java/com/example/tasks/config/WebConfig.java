@@ -0,0 +1,75 @@
+package com.example.tasks.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Настройка Spring MVC: конвертеры ответов для задач и бинарные форматы.
+ * <p>
+ * {@link TaskJsonHttpMessageConverter} регистрируется первым, чтобы ответы с задачами
+ * в JSON записывались из кэша сериализованных фрагментов, а не стандартным конвертером Jackson.
+ * </p>
+ * <p>
+ * Кроме JSON, все контроллеры принимают и отдают {@code application/cbor} и
+ * {@code application/x-jackson-smile} по заголовкам {@code Accept} и {@code Content-Type}.
+ * Бинарные конвертеры заменяют на месте стандартные конвертеры CBOR и Smile Spring MVC, которые
+ * идут после JSON, поэтому без явного запроса ответ остается в JSON. Они используют те же
+ * настройки Jackson, что и JSON. В Smile включены таблицы общих имен полей и коротких строковых
+ * значений: повторяющиеся в странице задач имена полей и значения статусов кодируются ссылками.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final TaskJsonFragmentCache taskJsonFragmentCache;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new TaskJsonHttpMessageConverter(objectMapper, taskJsonFragmentCache));
+        replace(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())));
+        replace(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(smileFactory())));
+    }
+
+    /**
+     * Заменяет стандартный конвертер того же типа на месте или добавляет конвертер в конец списка.
+     * Spring MVC сам регистрирует конвертеры CBOR и Smile, если они есть в classpath: оставленные
+     * перед добавленными, они обрабатывали бы все запросы со своими настройками Jackson.
+     */
+    private static void replace(List<HttpMessageConverter<?>> converters,
+                                Class<?> type,
+                                HttpMessageConverter<?> converter) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                converters.set(i, converter);
+                return;
+            }
+        }
+        converters.add(converter);
+    }
+
+    /**
+     * Фабрика Smile с общими таблицами имен полей и коротких строковых значений.
+     *
+     * @return фабрика Smile
+     */
+    public static SmileFactory smileFactory() {
+        return SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+}
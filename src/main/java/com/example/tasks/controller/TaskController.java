@@ -3,11 +3,21 @@ package com.example.tasks.controller;
 
 import com.example.tasks.dto.*;
 import com.example.tasks.entity.User;
+import com.example.tasks.enums.CountMode;
+import com.example.tasks.enums.TaskExpand;
 import com.example.tasks.enums.TaskPriority;
 import com.example.tasks.enums.TaskStatus;
 import com.example.tasks.exception.TaskNotFoundException;
 import com.example.tasks.exception.UserNotFoundException;
+import com.example.tasks.repository.TaskSort;
+import com.example.tasks.service.TaskArchiveService;
+import com.example.tasks.service.TaskBatchService;
+import com.example.tasks.service.TaskQueryCache;
+import com.example.tasks.service.TaskReadCoalescer;
+import com.example.tasks.service.TaskSearchService;
+import com.example.tasks.service.TaskStatisticsService;
 import com.example.tasks.service.TaskService;
+import com.example.tasks.service.TaskWorkspaceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,7 +27,6 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Контроллер для управления задачами.
@@ -45,7 +55,16 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TaskController {
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
+    private static final String POSSIBLE_DUPLICATES_HEADER = "X-Possible-Duplicates";
+    private static final int MAX_DUPLICATES_ON_CREATE = 5;
     private final TaskService taskService;
+    private final TaskArchiveService taskArchiveService;
+    private final TaskQueryCache taskQueryCache;
+    private final TaskReadCoalescer taskReadCoalescer;
+    private final TaskSearchService taskSearchService;
+    private final TaskStatisticsService taskStatisticsService;
+    private final TaskWorkspaceService taskWorkspaceService;
+    private final TaskBatchService taskBatchService;
 
     /**
      * Получает задачи по ID автора.
@@ -65,7 +84,7 @@ public class TaskController {
     @GetMapping("/author/{authorId}")
     public ResponseEntity<List<TaskDTO>> getTasksByAuthor(
             @Parameter(description = "ID автора задачи") @PathVariable Long authorId) {
-        List<TaskDTO> tasks = taskService.getTasksByAuthor(authorId);
+        List<TaskDTO> tasks = taskReadCoalescer.getTasksByAuthor(authorId);
         return ResponseEntity.ok(tasks);
     }
 
@@ -81,16 +100,41 @@ public class TaskController {
     @GetMapping("/assignee/{assigneeId}")
     public ResponseEntity<List<TaskDTO>> getTasksByAssignee(
             @PathVariable Long assigneeId) {
-        List<TaskDTO> tasks = taskService.getTasksByAssignee(assigneeId);
+        List<TaskDTO> tasks = taskReadCoalescer.getTasksByAssignee(assigneeId);
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Возвращает входящие исполнителя: незавершенные задачи по приоритету, затем по ID.
+     *
+     * @param assigneeId ID исполнителя
+     * @param page номер страницы (по умолчанию: 0)
+     * @param size размер страницы (по умолчанию: 20, максимум: 100)
+     * @return страница входящих и HTTP 200
+     */
+    @Operation(
+            summary = "Входящие исполнителя",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Входящие получены"),
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры пагинации"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/assignee/{assigneeId}/inbox")
+    public ResponseEntity<InboxPageDTO> getInbox(
+            @Parameter(description = "ID исполнителя") @PathVariable Long assigneeId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(taskSearchService.getInbox(assigneeId, page, size));
+    }
+
     /**
      * Создает новую задачу.
      *
      * @param request DTO с данными задачи
      * @param authentication данные аутентификации
-     * @return созданная задача (201 Created)
+     * @return созданная задача (201 Created); ID вероятных дубликатов — в заголовке X-Possible-Duplicates
      */
     @Operation(
             summary = "Создать новую задачу",
@@ -114,7 +158,55 @@ public class TaskController {
                 author,
                 request.getAssigneeId()
         );
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskDTO);
+        List<TaskDuplicateDTO> duplicates = possibleDuplicates(request, taskDTO.getId());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (!duplicates.isEmpty()) {
+            response.header(POSSIBLE_DUPLICATES_HEADER, duplicates.stream()
+                    .map(duplicate -> String.valueOf(duplicate.getId()))
+                    .collect(Collectors.joining(",")));
+        }
+        return response.body(taskDTO);
+    }
+
+    /**
+     * Ищет вероятные дубликаты созданной задачи для заголовка ответа.
+     * Задача к этому моменту уже сохранена, поэтому ошибка поиска не должна превращать
+     * успешное создание в 500: клиент повторил бы запрос и создал настоящий дубликат.
+     *
+     * @return ID вероятных дубликатов; пустой список, если поиск не удался
+     */
+    private List<TaskDuplicateDTO> possibleDuplicates(CreateTaskRequest request, Long taskId) {
+        try {
+            return taskSearchService.findDuplicates(
+                    request.getTitle(), request.getDescription(), taskId, MAX_DUPLICATES_ON_CREATE);
+        } catch (RuntimeException e) {
+            logger.warn("Duplicate lookup failed for created task {}", taskId, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Находит задачи, похожие на новую, до ее создания.
+     *
+     * @param request название и описание новой задачи
+     * @param limit максимальное количество результатов (1-50)
+     * @return похожие задачи от самой похожей
+     */
+    @Operation(
+            summary = "Найти вероятные дубликаты задачи",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Проверка выполнена"),
+                    @ApiResponse(responseCode = "400", description = "Некорректные входные данные"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @PostMapping("/duplicates")
+    public ResponseEntity<List<TaskDuplicateDTO>> findDuplicates(
+            @Valid @RequestBody DuplicateCheckRequest request,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskSearchService.findDuplicates(request.getTitle(), request.getDescription(),
+                null, limit));
     }
 
     /**
@@ -235,6 +327,30 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Выполняет пакет операций над задачами одним запросом.
+     *
+     * @param request операции в порядке выполнения и режим транзакции
+     * @param authentication данные аутентификации
+     * @return результат каждой операции с HTTP-статусом, который вернул бы отдельный запрос
+     */
+    @Operation(
+            summary = "Пакет операций над задачами",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Пакет выполнен, результаты операций в ответе"),
+                    @ApiResponse(responseCode = "400", description = "Некорректный пакет"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponseDTO> executeBatch(
+            @Valid @RequestBody BatchRequest request,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(taskBatchService.execute(request.getOperations(), request.isAtomic(), user));
+    }
+
     /**
      * Назначает задачу исполнителю.
      *
@@ -275,8 +391,10 @@ public class TaskController {
      * @param priority фильтр по приоритету
      * @param authorId фильтр по автору
      * @param assigneeId фильтр по исполнителю
+     * @param sort порядок: id (по умолчанию), -id, priority,id, priority,-id и т.п.
      * @param page номер страницы (0-based)
      * @param size размер страницы (1-100)
+     * @param count способ подсчета общего количества: EXACT (по умолчанию) или NONE
      * @return страница с результатами
      */
     @Operation(
@@ -288,21 +406,195 @@ public class TaskController {
             }
     )
     @GetMapping
-    public ResponseEntity<Page<TaskDTO>> getTasks(
+    public ResponseEntity<TaskPageDTO> getTasks(
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) TaskPriority priority,
             @RequestParam(required = false) Long authorId,
             @RequestParam(required = false) Long assigneeId,
+            @Parameter(description = "Порядок: поля через запятую, минус — по убыванию (например, priority,-id)")
+            @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Page<TaskDTO> tasks = taskService.getTasks(status, priority, authorId, assigneeId, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Способ подсчета общего количества (EXACT или NONE)")
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        TaskSort taskSort = TaskSort.parse(sort);
+        TaskPageDTO tasks = count == CountMode.NONE
+                ? TaskPageDTO.slice(taskQueryCache.getTasksSlice(status, priority, authorId, assigneeId, taskSort, page, size))
+                : TaskPageDTO.exact(taskQueryCache.getTasks(status, priority, authorId, assigneeId, taskSort, page, size));
         return ResponseEntity.ok(tasks);
     }
 
+    /**
+     * Получает задачи по списку ID одним запросом.
+     *
+     * @param ids ID задач через запятую (до 100)
+     * @param expand встраиваемые пользователи через запятую: author, assignee
+     * @return найденные задачи в порядке {@code ids}; несуществующие пропускаются
+     */
+    @Operation(
+            summary = "Получить задачи по списку ID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи получены"),
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<TaskDTO>> getTasksByIds(
+            @Parameter(description = "ID задач через запятую") @RequestParam List<Long> ids,
+            @Parameter(description = "Встроить пользователей: author, assignee")
+            @RequestParam(required = false) List<String> expand) {
+        return ResponseEntity.ok(taskService.getTasksByIds(ids, TaskExpand.parse(expand)));
+    }
+
+    /**
+     * Возвращает первые N задач по фильтрам, по умолчанию самые срочные:
+     * по приоритету, при равном приоритете сначала новые.
+     *
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по автору
+     * @param assigneeId фильтр по исполнителю
+     * @param sort порядок (по умолчанию: priority,-id)
+     * @param limit количество задач (1-100, по умолчанию: 10)
+     * @return список задач
+     */
+    @Operation(
+            summary = "Самые срочные задачи",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи получены"),
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/top")
+    public ResponseEntity<List<TaskDTO>> getTopTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(defaultValue = "priority,-id") String sort,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskReadCoalescer.getTopTasks(status, priority, authorId, assigneeId,
+                TaskSort.parse(sort), limit));
+    }
+
+    /**
+     * Ищет задачи по тексту в названии, описании и комментариях.
+     *
+     * @param q поисковый запрос
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param assigneeId фильтр по исполнителю
+     * @param page номер страницы (0-based)
+     * @param size размер страницы (1-100)
+     * @return страница с результатами по убыванию релевантности; при большом числе совпадений
+     *         общее количество приблизительное
+     */
+    @Operation(
+            summary = "Полнотекстовый поиск задач",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задачи успешно найдены"),
+                    @ApiResponse(responseCode = "400", description = "Некорректный запрос"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+                    @ApiResponse(responseCode = "404", description = "Задачи не найдены")
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<TaskPageDTO> searchTasks(
+            @Parameter(description = "Поисковый запрос") @RequestParam String q,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(taskSearchService.search(q, status, priority, assigneeId, page, size));
+    }
+
+    /**
+     * Подсказывает задачи по началу слова в названии.
+     *
+     * @param prefix набранный текст
+     * @param authorId искать среди задач автора
+     * @param assigneeId искать среди задач исполнителя
+     * @param limit количество подсказок (1-50)
+     * @return подсказки по приоритету, затем по времени изменения
+     */
+    @Operation(
+            summary = "Автодополнение названия задачи",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Подсказки получены"),
+                    @ApiResponse(responseCode = "400", description = "Некорректный запрос"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<TaskSuggestionDTO>> autocompleteTasks(
+            @Parameter(description = "Начало слова в названии") @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskSearchService.autocomplete(prefix, authorId, assigneeId, limit));
+    }
+
+    /**
+     * Возвращает количество задач по статусам и приоритетам.
+     *
+     * @param authorId только задачи автора
+     * @param assigneeId только задачи исполнителя
+     * @return статистика всех задач, задач автора или задач исполнителя
+     */
+    @Operation(
+            summary = "Статистика задач по статусам и приоритетам",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Статистика получена"),
+                    @ApiResponse(responseCode = "400", description = "Заданы одновременно автор и исполнитель"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDTO> getStatistics(
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) Long assigneeId) {
+        return ResponseEntity.ok(taskStatisticsService.getStatistics(authorId, assigneeId));
+    }
+
+    /**
+     * Возвращает рабочее пространство текущего пользователя: данные стартовой страницы одним запросом.
+     *
+     * @param size количество созданных задач и размер страницы входящих (по умолчанию: 10, максимум: 100)
+     * @param comments количество последних комментариев (по умолчанию: 10, максимум: 100)
+     * @param authentication данные аутентификации
+     * @return созданные задачи, входящие, статистика и последние комментарии
+     */
+    @Operation(
+            summary = "Рабочее пространство текущего пользователя",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Рабочее пространство загружено"),
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+                    @ApiResponse(responseCode = "503", description = "Данные не загружены вовремя")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/workspace")
+    public ResponseEntity<WorkspaceDTO> getWorkspace(
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "10") int comments,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(taskWorkspaceService.getWorkspace(user.getId(), size, comments));
+    }
+
     /**
      * Получает все задачи (администраторский доступ)
      * @param page номер страницы (по умолчанию: 0)
      * @param size размер страницы (по умолчанию: 20, максимум: 100)
+     * @param count способ подсчета общего количества: EXACT (по умолчанию), NONE или APPROXIMATE
      * @return страница со всеми задачами и HTTP 200
      */
     @Operation(
@@ -314,10 +606,34 @@ public class TaskController {
     )
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/all")
-    public ResponseEntity<Page<TaskDTO>> getAllTasks(
+    public ResponseEntity<TaskPageDTO> getAllTasks(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        Page<TaskDTO> tasks = taskService.getAllTasks(page, size);
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Способ подсчета общего количества (EXACT, NONE или APPROXIMATE)")
+            @RequestParam(defaultValue = "EXACT") CountMode count) {
+        TaskPageDTO tasks = taskReadCoalescer.getAllTasks(page, size, count);
         return ResponseEntity.ok(tasks);
     }
+
+    /**
+     * Восстанавливает задачу из архива завершенных задач (администраторский доступ).
+     *
+     * @param taskId ID архивной задачи
+     * @return восстановленная задача
+     */
+    @Operation(
+            summary = "Восстановить задачу из архива (только для админов)",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Задача успешно восстановлена"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен"),
+                    @ApiResponse(responseCode = "404", description = "Задача не найдена в архиве")
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/archive/{taskId}/restore")
+    public ResponseEntity<TaskDTO> restoreArchivedTask(
+            @Parameter(description = "ID архивной задачи") @PathVariable Long taskId) {
+        TaskDTO taskDTO = taskArchiveService.restoreTask(taskId);
+        return ResponseEntity.ok(taskDTO);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.UserDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.repository.TaskSort;
+import com.example.tasks.service.TaskReadCoalescer;
+import com.example.tasks.service.TaskService;
+import com.example.tasks.service.UserService;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL-контроллер задач, пользователей и комментариев ({@code /graphql}).
+ * <p>
+ * Клиент получает в одном запросе только нужные поля: список задач без комментариев
+ * или задачи с авторами и комментаторами без отдельных запросов на каждого пользователя.
+ * Схема описана в {@code graphql/schema.graphqls}.
+ * </p>
+ * <p>
+ * Пользователи (автор, исполнитель, автор комментария) и задачи комментариев загружаются через
+ * DataLoader, создаваемые на каждый запрос: ссылки одного уровня запроса собираются, повторяющиеся
+ * ID отбрасываются, и загрузка выполняется одним обращением к сервису на каждые 100 ID.
+ * Комментарии входят в задачу ({@link TaskDTO#getComments()}), их коллекции для всех задач
+ * ответа Hibernate загружает пакетно ({@code hibernate.default_batch_fetch_size}).
+ * Поэтому число SQL-запросов зависит от глубины запроса, а не от числа задач в ответе.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Controller
+public class TaskGraphQLController {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_COMMENTS = 100;
+
+    private final TaskService taskService;
+    private final TaskReadCoalescer taskReadCoalescer;
+    private final UserService userService;
+
+    public TaskGraphQLController(TaskService taskService,
+                                 TaskReadCoalescer taskReadCoalescer,
+                                 UserService userService,
+                                 BatchLoaderRegistry batchLoaderRegistry) {
+        this.taskService = taskService;
+        this.taskReadCoalescer = taskReadCoalescer;
+        this.userService = userService;
+
+        batchLoaderRegistry.forTypePair(Long.class, UserDTO.class)
+                .withOptions(options -> options.setMaxBatchSize(MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromCallable(() ->
+                        byId(userService.getUsersByIds(List.copyOf(ids)), UserDTO::getId)));
+        batchLoaderRegistry.forTypePair(Long.class, TaskDTO.class)
+                .withOptions(options -> options.setMaxBatchSize(MAX_BATCH_SIZE))
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromCallable(() ->
+                        byId(taskService.getTasksByIds(List.copyOf(ids), Set.of()), TaskDTO::getId)));
+    }
+
+    /**
+     * Получает задачу по ID.
+     *
+     * @param id ID задачи
+     * @return задача или null, если она не найдена
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @QueryMapping
+    public TaskDTO task(@Argument Long id) {
+        return taskService.getTasksByIds(List.of(id), Set.of()).stream().findFirst().orElse(null);
+    }
+
+    /**
+     * Получает задачи по списку ID.
+     *
+     * @param ids ID задач (до 100)
+     * @return найденные задачи в порядке {@code ids}
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @QueryMapping
+    public List<TaskDTO> tasks(@Argument List<Long> ids) {
+        return taskService.getTasksByIds(ids, Set.of());
+    }
+
+    /**
+     * Получает первые задачи по фильтрам, как {@code GET /api/tasks/top}.
+     *
+     * @param status     фильтр по статусу
+     * @param priority   фильтр по приоритету
+     * @param authorId   фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param sort       порядок задач
+     * @param limit      количество задач (1-100)
+     * @return задачи в порядке {@code sort}
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @QueryMapping
+    public List<TaskDTO> topTasks(@Argument TaskStatus status,
+                                  @Argument TaskPriority priority,
+                                  @Argument Long authorId,
+                                  @Argument Long assigneeId,
+                                  @Argument TaskSort sort,
+                                  @Argument int limit) {
+        return taskReadCoalescer.getTopTasks(status, priority, authorId, assigneeId, sort, limit);
+    }
+
+    /**
+     * Получает последние комментарии к задачам пользователя.
+     *
+     * @param userId ID пользователя — автора или исполнителя задач
+     * @param limit  количество комментариев (1-100)
+     * @return комментарии от новых к старым
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @QueryMapping
+    public List<CommentDTO> recentComments(@Argument Long userId, @Argument int limit) {
+        return taskService.getRecentComments(userId, limit);
+    }
+
+    /**
+     * Получает пользователей по списку ID.
+     *
+     * @param ids ID пользователей (до 100)
+     * @return найденные пользователи в порядке {@code ids}
+     */
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @QueryMapping
+    public List<UserDTO> users(@Argument List<Long> ids) {
+        return userService.getUsersByIds(ids);
+    }
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<UserDTO> author(TaskDTO task, DataLoader<Long, UserDTO> users) {
+        return load(users, task.getAuthorId());
+    }
+
+    @SchemaMapping(typeName = "Task")
+    public CompletableFuture<UserDTO> assignee(TaskDTO task, DataLoader<Long, UserDTO> users) {
+        return load(users, task.getAssigneeId());
+    }
+
+    /**
+     * Комментарии задачи. Сама задача добавляется в DataLoader задач, чтобы переход
+     * {@code comments { task }} обратно к ней не загружал ее повторно.
+     */
+    @SchemaMapping(typeName = "Task")
+    public List<CommentDTO> comments(TaskDTO task, @Argument int limit, DataLoader<Long, TaskDTO> tasks) {
+        if (limit < 1 || limit > MAX_COMMENTS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_COMMENTS);
+        }
+        List<CommentDTO> comments = task.getComments();
+        if (comments == null || comments.isEmpty()) {
+            return List.of();
+        }
+        tasks.prime(task.getId(), task);
+        return comments.size() > limit ? comments.subList(0, limit) : comments;
+    }
+
+    @SchemaMapping(typeName = "Comment", field = "author")
+    public CompletableFuture<UserDTO> commentAuthor(CommentDTO comment, DataLoader<Long, UserDTO> users) {
+        return load(users, comment.getAuthorId());
+    }
+
+    @SchemaMapping(typeName = "Comment", field = "task")
+    public CompletableFuture<TaskDTO> commentTask(CommentDTO comment, DataLoader<Long, TaskDTO> tasks) {
+        return load(tasks, comment.getTaskId());
+    }
+
+    private static <V> CompletableFuture<V> load(DataLoader<Long, V> loader, Long id) {
+        return id != null ? loader.load(id) : CompletableFuture.completedFuture(null);
+    }
+
+    private static <V> Map<Long, V> byId(List<V> values, Function<V, Long> id) {
+        return values.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
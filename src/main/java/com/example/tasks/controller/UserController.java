@@ -0,0 +1,58 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.dto.UserDTO;
+import com.example.tasks.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Контроллер для чтения публичных данных пользователей.
+ * <p>
+ * Позволяет клиенту получить авторов и исполнителей задач одним запросом
+ * вместо отдельного запроса на каждого пользователя.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/users")
+@Tag(name = "Users", description = "API для чтения данных пользователей")
+@SecurityRequirement(name = "Bearer Authentication")
+@RequiredArgsConstructor
+public class UserController {
+    private final UserService userService;
+
+    /**
+     * Получает пользователей по списку ID.
+     *
+     * @param ids ID пользователей через запятую (до 100)
+     * @return найденные пользователи в порядке {@code ids}; несуществующие пропускаются
+     */
+    @Operation(
+            summary = "Получить пользователей по списку ID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Пользователи получены"),
+                    @ApiResponse(responseCode = "400", description = "Некорректный список ID"),
+                    @ApiResponse(responseCode = "403", description = "Доступ запрещен")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping
+    public ResponseEntity<List<UserDTO>> getUsersByIds(
+            @Parameter(description = "ID пользователей через запятую") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(userService.getUsersByIds(ids));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.enums.BatchOperationType;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO операции пакетного запроса
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Операция над задачей; обязательные поля зависят от типа операции")
+public class BatchOperationRequest {
+
+    @Schema(
+            description = "Тип операции",
+            example = "PRIORITY",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    @NotNull(message = "Operation type is required")
+    private BatchOperationType op;
+
+    @Schema(description = "ID задачи (все операции, кроме CREATE)", example = "123")
+    private Long taskId;
+
+    @Schema(description = "Название (CREATE — обязательно, UPDATE)", example = "Реализовать задачу", maxLength = 200)
+    @Size(max = 200, message = "Title must be less than 200 characters")
+    private String title;
+
+    @Schema(description = "Описание (CREATE, UPDATE)", example = "Подробное описание", maxLength = 1000)
+    @Size(max = 1000, message = "Description must be less than 1000 characters")
+    private String description;
+
+    @Schema(description = "Статус (STATUS — обязательно, CREATE, UPDATE)", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Приоритет (PRIORITY — обязательно, CREATE, UPDATE)", example = "HIGH")
+    private TaskPriority priority;
+
+    @Schema(description = "ID исполнителя (CREATE, UPDATE и ASSIGN — обязательно)", example = "456")
+    private Long assigneeId;
+
+    @Schema(description = "Текст комментария (COMMENT — обязательно)", example = "Готово", maxLength = 2000)
+    @Size(max = 2000, message = "Comment must be less than 2000 characters")
+    private String text;
+}
@@ -0,0 +1,37 @@
+package com.example.tasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO результата операции пакетного запроса
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Результат одной операции пакетного запроса")
+public class BatchOperationResultDTO {
+
+    @Schema(description = "Номер операции в запросе (с 0)", example = "0")
+    private int index;
+
+    @Schema(
+            description = "HTTP-статус, который вернул бы отдельный запрос; 424 — операция не выполнена " +
+                    "или отменена из-за ошибки другой операции атомарного пакета",
+            example = "200"
+    )
+    private int status;
+
+    @Schema(description = "Задача после операции (CREATE, UPDATE, ASSIGN, STATUS, PRIORITY)")
+    private TaskDTO task;
+
+    @Schema(description = "Созданный комментарий (COMMENT)")
+    private CommentDTO comment;
+
+    @Schema(description = "Описание ошибки", example = "Task not found with id: 123")
+    private String error;
+}
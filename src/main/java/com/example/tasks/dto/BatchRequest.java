@@ -0,0 +1,36 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO пакетного запроса
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Упорядоченный список операций над задачами")
+public class BatchRequest {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Операции в порядке выполнения"),
+            schema = @Schema(implementation = BatchOperationRequest.class)
+    )
+    @NotEmpty(message = "Operations are required")
+    private List<@Valid BatchOperationRequest> operations;
+
+    @Schema(
+            description = "true — все операции в одной транзакции (все или ничего), " +
+                    "false — частями, ошибка операции не отменяет остальные",
+            example = "true",
+            defaultValue = "true"
+    )
+    private boolean atomic = true;
+}
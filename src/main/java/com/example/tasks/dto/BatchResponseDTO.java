@@ -0,0 +1,31 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO ответа на пакетный запрос
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Результаты операций пакетного запроса")
+public class BatchResponseDTO {
+
+    @Schema(description = "Количество зафиксированных операций", example = "250")
+    private int succeeded;
+
+    @Schema(description = "Количество операций, завершившихся ошибкой или отмененных", example = "0")
+    private int failed;
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Результаты в порядке операций запроса"),
+            schema = @Schema(implementation = BatchOperationResultDTO.class)
+    )
+    private List<BatchOperationResultDTO> results;
+}
@@ -0,0 +1,28 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * DTO для проверки задачи на дубликаты до создания
+ */
+@Data
+@Schema(description = "Запрос на поиск похожих задач")
+public class DuplicateCheckRequest {
+
+    @Schema(
+            description = "Название задачи",
+            example = "Реализовать задачу",
+            requiredMode = Schema.RequiredMode.REQUIRED,
+            maxLength = 255
+    )
+    @NotBlank(message = "Title is mandatory")
+    private String title;
+
+    @Schema(
+            description = "Подробное описание задачи",
+            example = "Необходимо добавить новую функцию"
+    )
+    private String description;
+}
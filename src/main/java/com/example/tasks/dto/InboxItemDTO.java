@@ -0,0 +1,30 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO задачи во входящих исполнителя
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Открытая задача во входящих исполнителя")
+public class InboxItemDTO {
+
+    @Schema(description = "ID задачи", example = "123")
+    private Long id;
+
+    @Schema(description = "Название задачи", example = "Исправить форму входа")
+    private String title;
+
+    @Schema(description = "Статус задачи", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Приоритет задачи", example = "HIGH")
+    private TaskPriority priority;
+}
@@ -0,0 +1,40 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO страницы входящих исполнителя
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Страница входящих исполнителя: открытые задачи по приоритету, затем по ID")
+public class InboxPageDTO {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Задачи на странице"),
+            schema = @Schema(implementation = InboxItemDTO.class)
+    )
+    private List<InboxItemDTO> content;
+
+    @Schema(description = "Номер страницы (с 0)", example = "0")
+    private int number;
+
+    @Schema(description = "Запрошенный размер страницы", example = "20")
+    private int size;
+
+    @Schema(description = "Общее количество открытых задач исполнителя", example = "57")
+    private long totalElements;
+
+    @Schema(description = "Общее количество страниц", example = "3")
+    private int totalPages;
+
+    @Schema(description = "Есть ли следующая страница", example = "true")
+    private boolean hasNext;
+}
@@ -3,6 +3,7 @@ package com.example.tasks.dto;
 import com.example.tasks.enums.TaskPriority;
 import com.example.tasks.enums.TaskStatus;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
@@ -65,6 +66,14 @@ public class TaskDTO {
     )
     private Long assigneeId;
 
+    @Schema(description = "Автор задачи; заполняется при expand=author")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserDTO author;
+
+    @Schema(description = "Исполнитель задачи; заполняется при expand=assignee")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserDTO assignee;
+
     @ArraySchema(
             arraySchema = @Schema(
                     description = "Список комментариев к задаче"
@@ -72,4 +81,11 @@ public class TaskDTO {
             schema = @Schema(implementation = CommentDTO.class)
     )
     private List<CommentDTO> comments;
+
+    @Schema(
+            description = "Версия задачи, увеличивается при каждом изменении",
+            example = "3",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private Long version;
 }
\ No newline at end of file
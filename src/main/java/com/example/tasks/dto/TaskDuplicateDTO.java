@@ -0,0 +1,25 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO вероятного дубликата задачи
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Похожая задача — вероятный дубликат")
+public class TaskDuplicateDTO {
+
+    @Schema(description = "ID задачи", example = "123")
+    private Long id;
+
+    @Schema(description = "Название задачи", example = "Реализовать задачу")
+    private String title;
+
+    @Schema(description = "Оценка сходства названия и описания (0-1)", example = "0.82")
+    private double similarity;
+}
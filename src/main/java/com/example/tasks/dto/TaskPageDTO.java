@@ -0,0 +1,92 @@
+package com.example.tasks.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * DTO страницы задач
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Страница задач с признаком точности общего количества")
+public class TaskPageDTO {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Задачи на странице"),
+            schema = @Schema(implementation = TaskDTO.class)
+    )
+    private List<TaskDTO> content;
+
+    @Schema(description = "Номер страницы (с 0)", example = "0")
+    private int number;
+
+    @Schema(description = "Запрошенный размер страницы", example = "10")
+    private int size;
+
+    @Schema(description = "Количество задач на странице", example = "10")
+    private int numberOfElements;
+
+    @Schema(description = "Общее количество задач; отсутствует, если подсчет не выполнялся", example = "1250")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+
+    @Schema(description = "Общее количество страниц; отсутствует, если подсчет не выполнялся", example = "125")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
+
+    @Schema(description = "Является ли общее количество точным", example = "true")
+    private boolean totalExact;
+
+    @Schema(description = "Есть ли следующая страница", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Первая ли это страница", example = "true")
+    private boolean first;
+
+    @Schema(description = "Последняя ли это страница", example = "false")
+    private boolean last;
+
+    /**
+     * Создает DTO страницы с точным общим количеством.
+     *
+     * @param page страница задач
+     * @return DTO страницы
+     */
+    public static TaskPageDTO exact(Page<TaskDTO> page) {
+        return new TaskPageDTO(page.getContent(), page.getNumber(), page.getSize(), page.getNumberOfElements(),
+                page.getTotalElements(), page.getTotalPages(), true, page.hasNext(), page.isFirst(), page.isLast());
+    }
+
+    /**
+     * Создает DTO среза без общего количества.
+     *
+     * @param slice срез задач
+     * @return DTO страницы
+     */
+    public static TaskPageDTO slice(Slice<TaskDTO> slice) {
+        return new TaskPageDTO(slice.getContent(), slice.getNumber(), slice.getSize(), slice.getNumberOfElements(),
+                null, null, false, slice.hasNext(), slice.isFirst(), slice.isLast());
+    }
+
+    /**
+     * Создает DTO среза с приблизительным общим количеством.
+     *
+     * @param slice     срез задач
+     * @param estimated оценка общего количества задач
+     * @return DTO страницы
+     */
+    public static TaskPageDTO approximate(Slice<TaskDTO> slice, long estimated) {
+        int totalPages = (int) ((estimated + slice.getSize() - 1) / slice.getSize());
+        return new TaskPageDTO(slice.getContent(), slice.getNumber(), slice.getSize(), slice.getNumberOfElements(),
+                estimated, totalPages, false, slice.hasNext(), slice.isFirst(), slice.isLast());
+    }
+}
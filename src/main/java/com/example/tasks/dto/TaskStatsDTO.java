@@ -0,0 +1,32 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO статистики задач
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Количество активных задач по статусам и приоритетам")
+public class TaskStatsDTO {
+
+    @Schema(description = "Общее количество задач", example = "1250")
+    private long total;
+
+    @Schema(description = "Количество задач по статусам")
+    private Map<TaskStatus, Long> byStatus;
+
+    @Schema(description = "Количество задач по приоритетам")
+    private Map<TaskPriority, Long> byPriority;
+
+    @Schema(description = "Количество задач по статусам и приоритетам")
+    private Map<TaskStatus, Map<TaskPriority, Long>> byStatusAndPriority;
+}
@@ -0,0 +1,26 @@
+package com.example.tasks.dto;
+
+import com.example.tasks.enums.TaskPriority;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO подсказки автодополнения названия задачи
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Подсказка автодополнения названия задачи")
+public class TaskSuggestionDTO {
+
+    @Schema(description = "ID задачи", example = "123")
+    private Long id;
+
+    @Schema(description = "Название задачи", example = "Исправить форму входа")
+    private String title;
+
+    @Schema(description = "Приоритет задачи", example = "HIGH")
+    private TaskPriority priority;
+}
@@ -0,0 +1,22 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO для представления пользователя
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Публичные данные пользователя")
+public class UserDTO {
+
+    @Schema(description = "Уникальный идентификатор пользователя", example = "456")
+    private Long id;
+
+    @Schema(description = "Email пользователя", example = "user@example.com")
+    private String email;
+}
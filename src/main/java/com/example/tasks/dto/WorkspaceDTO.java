@@ -0,0 +1,37 @@
+package com.example.tasks.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO рабочего пространства пользователя
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Данные стартовой страницы пользователя, загруженные одним запросом")
+public class WorkspaceDTO {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Последние задачи, созданные пользователем (от новых к старым)"),
+            schema = @Schema(implementation = TaskDTO.class)
+    )
+    private List<TaskDTO> authored;
+
+    @Schema(description = "Первая страница входящих пользователя")
+    private InboxPageDTO assigned;
+
+    @Schema(description = "Статистика задач, назначенных пользователю")
+    private TaskStatsDTO statistics;
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "Последние комментарии к задачам пользователя (от новых к старым)"),
+            schema = @Schema(implementation = CommentDTO.class)
+    )
+    private List<CommentDTO> recentComments;
+}
@@ -0,0 +1,54 @@
+package com.example.tasks.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Архивная копия комментария к задаче из {@code tasks_archive}.
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Entity
+@Table(name = "comments_archive")
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedComment {
+
+    @Id
+    private Long id;
+
+    private String text;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id")
+    private ArchivedTask task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id")
+    private User author;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedComment comment = (ArchivedComment) o;
+        return Objects.equals(id, comment.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.tasks.entity;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Архивная копия завершенной задачи.
+ * <p>
+ * Завершенные задачи старше порога переносятся из таблицы {@code tasks} в {@code tasks_archive},
+ * чтобы активная таблица и ее индексы оставались небольшими. Сущность доступна только для чтения:
+ * перенос и восстановление выполняются set-based запросами в {@code TaskArchiveService}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Entity
+@Table(name = "tasks_archive")
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private TaskPriority priority;
+
+    @Column(name = "priority_rank", nullable = false)
+    private short priorityRank;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "author_id")
+    private User author;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    private User assignee;
+
+    /**
+     * Комментарии загружаются одним запросом для всех архивных задач страницы (до 100),
+     * а не отдельным запросом на каждую задачу.
+     */
+    @OneToMany(mappedBy = "task")
+    @BatchSize(size = 100)
+    private List<ArchivedComment> comments = new ArrayList<>();
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedTask task = (ArchivedTask) o;
+        return Objects.equals(id, task.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -2,7 +2,12 @@ package com.example.tasks.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -16,10 +21,13 @@ import java.util.Objects;
  * @version 1.0
  */
 @Entity
+@Table(name = "comments")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Filter(name = Task.NOT_DELETED_FILTER)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "comments")
 public class Comment {
 
     @Id
@@ -37,6 +45,16 @@ public class Comment {
     @JoinColumn(name = "author_id")
     private User author;
 
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
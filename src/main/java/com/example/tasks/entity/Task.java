@@ -5,7 +5,14 @@ import com.example.tasks.enums.TaskPriority;
 import com.example.tasks.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -16,17 +23,31 @@ import java.util.Objects;
  * Содержит информацию о названии, описании, статусе, приоритете, авторе, исполнителе
  * и связанных комментариях задачи. Является центральной бизнес-сущностью приложения.
  * </p>
+ * <p>
+ * Удаление задачи логическое: выставляется флаг {@code deleted}, а физически строки
+ * удаляет фоновая очистка. Фильтр {@link #NOT_DELETED_FILTER} включен для всех сессий
+ * и скрывает удаленные задачи и комментарии из запросов и загрузки по ID.
+ * </p>
+ * <p>
+ * Задача и список ее комментариев хранятся в кэше второго уровня Hibernate;
+ * размеры регионов задаются в {@code application.conf}.
+ * </p>
  *
  * @author AlinaSheveleva
  * @version 1.0
  */
 @Entity
+@Table(name = "tasks")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Filter(name = Task.NOT_DELETED_FILTER)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 public class Task {
 
+    public static final String NOT_DELETED_FILTER = "notDeleted";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -41,6 +62,15 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private TaskPriority priority;
 
+    /**
+     * Ранг приоритета ({@link TaskPriority#rank()}): строковый приоритет сортируется
+     * по алфавиту, а по рангу и ID построены составные индексы для сортировки.
+     * Выставляется вместе с приоритетом в {@link #setPriority}.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "priority_rank", nullable = false)
+    private short priorityRank;
+
     @ManyToOne
     @JoinColumn(name = "author_id")
     private User author;
@@ -49,9 +79,42 @@ public class Task {
     @JoinColumn(name = "assignee_id")
     private User assignee;
 
+    /**
+     * Неудаленные комментарии задачи. Вместо фильтра используется постоянное условие:
+     * Hibernate не кэширует коллекции, на которые влияют включенные фильтры.
+     */
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @SQLRestriction("deleted = false")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-comments")
     private List<Comment> comments = new ArrayList<>();
 
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Версия задачи, увеличивается при каждом изменении, включая добавление комментария.
+     * Используется для оптимистичной блокировки и как ключ кэша сериализованных ответов.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    private boolean deleted;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+        this.priorityRank = priority != null ? priority.rank() : TaskPriority.MEDIUM.rank();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
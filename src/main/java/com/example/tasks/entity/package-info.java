@@ -0,0 +1,13 @@
+/**
+ * JPA-сущности приложения.
+ * <p>
+ * Здесь объявлен фильтр {@value com.example.tasks.entity.Task#NOT_DELETED_FILTER}, скрывающий логически
+ * удаленные строки. Объявление на уровне пакета гарантирует, что фильтр известен Hibernate
+ * до обработки всех сущностей, которые на него ссылаются.
+ * </p>
+ */
+@FilterDef(name = Task.NOT_DELETED_FILTER, defaultCondition = "deleted = false",
+        autoEnabled = true, applyToLoadByKey = true)
+package com.example.tasks.entity;
+
+import org.hibernate.annotations.FilterDef;
@@ -0,0 +1,45 @@
+package com.example.tasks.enums;
+
+/**
+ * Тип операции пакетного запроса; соответствует отдельному методу API задач.
+ */
+public enum BatchOperationType {
+    /**
+     * Создание задачи (только администратор).
+     */
+    CREATE(true),
+    /**
+     * Обновление задачи (только администратор).
+     */
+    UPDATE(true),
+    /**
+     * Назначение исполнителя.
+     */
+    ASSIGN(false),
+    /**
+     * Изменение статуса; пользователь может менять статус только своих задач.
+     */
+    STATUS(false),
+    /**
+     * Изменение приоритета (только администратор).
+     */
+    PRIORITY(true),
+    /**
+     * Добавление комментария автором или исполнителем задачи.
+     */
+    COMMENT(false),
+    /**
+     * Удаление задачи (только администратор).
+     */
+    DELETE(true);
+
+    private final boolean adminOnly;
+
+    BatchOperationType(boolean adminOnly) {
+        this.adminOnly = adminOnly;
+    }
+
+    public boolean isAdminOnly() {
+        return adminOnly;
+    }
+}
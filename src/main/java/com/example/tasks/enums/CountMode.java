@@ -0,0 +1,19 @@
+package com.example.tasks.enums;
+
+/**
+ * Способ подсчета общего количества элементов при постраничной выборке.
+ */
+public enum CountMode {
+    /**
+     * Точный подсчет через {@code COUNT(*)}.
+     */
+    EXACT,
+    /**
+     * Без подсчета: определяется только наличие следующей страницы.
+     */
+    NONE,
+    /**
+     * Оценка по статистике базы для больших таблиц, точный подсчет для малых.
+     */
+    APPROXIMATE
+}
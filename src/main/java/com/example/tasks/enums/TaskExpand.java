@@ -0,0 +1,48 @@
+package com.example.tasks.enums;
+
+import com.example.tasks.exception.InvalidRequestException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Связанные данные, встраиваемые в представление задачи по параметру {@code expand}.
+ */
+public enum TaskExpand {
+    /**
+     * Автор задачи.
+     */
+    AUTHOR,
+    /**
+     * Исполнитель задачи.
+     */
+    ASSIGNEE;
+
+    /**
+     * Разбирает значения параметра {@code expand} без учета регистра.
+     *
+     * @param values значения, например {@code author} и {@code assignee}; null — ничего не встраивать
+     * @return встраиваемые данные
+     * @throws InvalidRequestException если значение неизвестно
+     */
+    public static Set<TaskExpand> parse(Collection<String> values) {
+        Set<TaskExpand> expand = EnumSet.noneOf(TaskExpand.class);
+        if (values == null) {
+            return expand;
+        }
+        for (String value : values) {
+            String name = value.strip().toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                expand.add(valueOf(name));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidRequestException("Unsupported expand: " + value + ". Expected author, assignee");
+            }
+        }
+        return expand;
+    }
+}
@@ -1,5 +1,15 @@
 package com.example.tasks.enums;
 
 public enum TaskPriority {
-    HIGH, MEDIUM, LOW
-}
\ No newline at end of file
+    HIGH, MEDIUM, LOW;
+
+    /**
+     * Числовой ранг приоритета для сортировки: 0 — самый срочный.
+     * Хранится в столбце {@code priority_rank}, поэтому порядок констант менять нельзя.
+     *
+     * @return ранг приоритета
+     */
+    public short rank() {
+        return (short) ordinal();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.tasks.event;
+
+import com.example.tasks.entity.Task;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие изменения задачи, публикуемое {@link com.example.tasks.service.TaskService}.
+ * <p>
+ * Содержит состояние задачи до и после изменения: {@code before == null} для созданной задачи,
+ * {@code after == null} для удаленной. Слушатели, которым важна согласованность с базой,
+ * обрабатывают событие после фиксации транзакции
+ * ({@link org.springframework.transaction.event.TransactionalEventListener}).
+ * </p>
+ *
+ * @param taskId ID задачи
+ * @param before состояние до изменения
+ * @param after  состояние после изменения
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+public record TaskChangedEvent(Long taskId, TaskState before, TaskState after) {
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(task.getId(), null, TaskState.of(task));
+    }
+
+    public static TaskChangedEvent updated(TaskState before, Task task) {
+        return new TaskChangedEvent(task.getId(), before, TaskState.of(task));
+    }
+
+    public static TaskChangedEvent deleted(TaskState before) {
+        return new TaskChangedEvent(before.id(), before, null);
+    }
+
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+
+    /**
+     * Снимок полей задачи, по которым выполняются поиск и фильтрация.
+     *
+     * @param id          ID задачи
+     * @param title       название
+     * @param description описание
+     * @param status      статус
+     * @param priority    приоритет
+     * @param authorId    ID автора
+     * @param assigneeId  ID исполнителя
+     * @param updatedAt   время последнего изменения, записанное в базу, или null, если оно неизвестно
+     */
+    public record TaskState(Long id, String title, String description, TaskStatus status,
+                            TaskPriority priority, Long authorId, Long assigneeId, LocalDateTime updatedAt) {
+
+        public TaskState(Long id, String title, String description, TaskStatus status,
+                         TaskPriority priority, Long authorId, Long assigneeId) {
+            this(id, title, description, status, priority, authorId, assigneeId, null);
+        }
+
+        public static TaskState of(Task task) {
+            return new TaskState(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getStatus(),
+                    task.getPriority(),
+                    task.getAuthor() != null ? task.getAuthor().getId() : null,
+                    task.getAssignee() != null ? task.getAssignee().getId() : null,
+                    task.getUpdatedAt());
+        }
+    }
+}
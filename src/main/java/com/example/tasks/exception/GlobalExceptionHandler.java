@@ -1,9 +1,13 @@
 package com.example.tasks.exception;
 
 import com.example.tasks.dto.ErrorResponse;
+import graphql.GraphQLError;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -65,6 +69,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        logger.warn("Service unavailable: {}", ex.getMessage());
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(DataAccessException.class)
     public ResponseEntity<String> handleDataAccessException(DataAccessException ex) {
         logger.error("Database error: {}", ex.getMessage());
@@ -82,6 +92,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
+    @GraphQlExceptionHandler({TaskNotFoundException.class, UserNotFoundException.class})
+    public GraphQLError handleGraphQlNotFound(RuntimeException ex) {
+        return GraphQLError.newError().errorType(ErrorType.NOT_FOUND).message(ex.getMessage()).build();
+    }
+
+    @GraphQlExceptionHandler({InvalidRequestException.class, ConstraintViolationException.class})
+    public GraphQLError handleGraphQlBadRequest(RuntimeException ex) {
+        return GraphQLError.newError().errorType(ErrorType.BAD_REQUEST).message(ex.getMessage()).build();
+    }
+
+    @GraphQlExceptionHandler(UnauthorizedActionException.class)
+    public GraphQLError handleGraphQlForbidden(UnauthorizedActionException ex) {
+        return GraphQLError.newError().errorType(ErrorType.FORBIDDEN).message(ex.getMessage()).build();
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneralException(Exception ex) {
         logger.error("Unhandled exception: ", ex);
@@ -0,0 +1,186 @@
+package com.example.tasks.index;
+
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Основа индексов задач в памяти, которые заполняются чтением таблицы {@code tasks}
+ * и далее обновляются по {@link TaskChangedEvent} после фиксации транзакций.
+ * <p>
+ * Структуры всех таких индексов строит {@link TaskIndexLoader} одним потоковым чтением таблицы:
+ * при старте приложения и затем периодически, чтобы исправить расхождения с базой.
+ * Пока новая структура строится, события накапливаются и затем применяются к ней по порядку;
+ * уже построенный индекс при этом продолжает отвечать по прежней структуре и обновлять ее.
+ * Применение события зависит только от состояния задачи после изменения, поэтому повтор события,
+ * уже учтенного чтением таблицы, не меняет результат.
+ * </p>
+ * <p>
+ * Наследник хранит в {@link #current} структуру одного поколения и читает ее под блокировкой
+ * чтения {@link #lock}; события применяются под блокировкой записи.
+ * </p>
+ *
+ * @param <S> структура индекса одного поколения
+ */
+public abstract class EventMaintainedIndex<S> {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+    protected S current;
+
+    private List<TaskChangedEvent> pending;
+    private volatile boolean ready;
+
+    protected EventMaintainedIndex(S empty) {
+        this.current = empty;
+    }
+
+    /**
+     * Проверяет, что индекс построен и может отвечать на запросы.
+     *
+     * @return true если индекс построен
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Проверяет, что индекс нужно строить и обновлять.
+     *
+     * @return true если индекс включен
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Обновляет индекс по изменению задачи после фиксации транзакции.
+     *
+     * @param event событие изменения задачи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!isEnabled() || !affects(event)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (ready) {
+                apply(current, event);
+            }
+        } catch (IllegalStateException e) {
+            ready = false;
+            logger.warn("Index disabled: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Создает пустую структуру для заполнения чтением таблицы.
+     *
+     * @return новая структура
+     */
+    protected abstract S newStructure();
+
+    /**
+     * Добавляет в строящуюся структуру активную задачу, прочитанную из таблицы.
+     *
+     * @param built     строящаяся структура
+     * @param task      состояние задачи
+     * @param updatedAt время последнего изменения задачи в миллисекундах или 0
+     * @throws IllegalStateException если задачу нельзя представить в индексе
+     */
+    protected abstract void add(S built, TaskState task, long updatedAt);
+
+    /**
+     * Завершает заполнение структуры после чтения всех задач; вызывается без блокировки.
+     *
+     * @param built заполненная структура
+     */
+    protected void finishLoad(S built) {
+    }
+
+    /**
+     * Применяет изменение задачи к структуре.
+     *
+     * @param structure структура индекса
+     * @param event     событие изменения задачи
+     * @throws IllegalStateException если задачу нельзя представить в индексе
+     */
+    protected abstract void apply(S structure, TaskChangedEvent event);
+
+    /**
+     * Проверяет, затрагивает ли изменение данные индекса; остальные события пропускаются.
+     *
+     * @param event событие изменения задачи
+     * @return true если событие нужно применить
+     */
+    protected boolean affects(TaskChangedEvent event) {
+        return true;
+    }
+
+    /**
+     * Количество задач в индексе.
+     *
+     * @return количество задач
+     */
+    public abstract int size();
+
+    /**
+     * Начинает построение новой структуры: с этого момента события накапливаются.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Заменяет структуру построенной, применив к ней накопленные события.
+     *
+     * @param built построенная структура
+     * @return true если индекс готов к запросам
+     */
+    boolean finishRebuild(S built) {
+        lock.writeLock().lock();
+        try {
+            pending.forEach(event -> apply(built, event));
+            current = built;
+            ready = true;
+            return true;
+        } catch (IllegalStateException e) {
+            ready = false;
+            logger.warn("Index disabled: {}", e.getMessage());
+            return false;
+        } finally {
+            pending = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Прекращает построение после ошибки; прежняя структура остается в работе.
+     */
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
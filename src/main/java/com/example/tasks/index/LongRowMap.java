@@ -0,0 +1,162 @@
+package com.example.tasks.index;
+
+/**
+ * Хэш-таблица с открытой адресацией: ID задачи (long) → компактная строка индекса.
+ * <p>
+ * Ключи и поля строк хранятся в параллельных примитивных массивах, поэтому на задачу
+ * не создается ни одного объекта: 8 байт ключа, по 4 байта на ID автора и исполнителя
+ * и 1 байт со статусом и приоритетом. Коллизии разрешаются линейным пробированием,
+ * удаление выполняется сдвигом следующих записей назад, без «надгробий».
+ * Значение ключа {@code 0} зарезервировано под пустую ячейку (ID задач начинаются с 1).
+ * </p>
+ * <p>
+ * Класс не потокобезопасен: синхронизацию обеспечивает {@link TaskBitmapIndex}.
+ * </p>
+ */
+final class LongRowMap {
+
+    private static final double LOAD_FACTOR = 0.6;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] authors;
+    private int[] assignees;
+    private byte[] attributes;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    LongRowMap(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit((int) Math.ceil(expectedSize / LOAD_FACTOR)) << 1));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает номер ячейки с задачей или {@code -1}, если задачи в таблице нет.
+     * Номер ячейки действителен до следующего изменения таблицы.
+     *
+     * @param id ID задачи
+     * @return номер ячейки или -1
+     */
+    int indexOf(long id) {
+        for (int slot = slot(id); ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    byte attributes(int slot) {
+        return attributes[slot];
+    }
+
+    int author(int slot) {
+        return authors[slot];
+    }
+
+    int assignee(int slot) {
+        return assignees[slot];
+    }
+
+    /**
+     * Добавляет или заменяет строку задачи.
+     *
+     * @param id         ID задачи (больше 0)
+     * @param attributes упакованные статус и приоритет
+     * @param author     ID автора или 0
+     * @param assignee   ID исполнителя или 0
+     */
+    void put(long id, byte attributes, int author, int assignee) {
+        int slot = slot(id);
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            if (size >= resizeAt) {
+                grow();
+                put(id, attributes, author, assignee);
+                return;
+            }
+            size++;
+        }
+        store(slot, id, attributes, author, assignee);
+    }
+
+    /**
+     * Удаляет строку задачи.
+     *
+     * @param id ID задачи
+     * @return true если строка была в таблице
+     */
+    boolean remove(long id) {
+        int gap = indexOf(id);
+        if (gap < 0) {
+            return false;
+        }
+        for (int slot = (gap + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = slot(keys[slot]);
+            // Запись можно сдвинуть в дыру, только если ее исходная ячейка не лежит между дырой и ней.
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                store(gap, keys[slot], attributes[slot], authors[slot], assignees[slot]);
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Оценивает занятую массивами память.
+     *
+     * @return размер в байтах
+     */
+    long memoryBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES * 2 + 1);
+    }
+
+    private void store(int slot, long id, byte attributes, int author, int assignee) {
+        this.keys[slot] = id;
+        this.attributes[slot] = attributes;
+        this.authors[slot] = author;
+        this.assignees[slot] = assignee;
+    }
+
+    private int slot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldAuthors = authors;
+        int[] oldAssignees = assignees;
+        byte[] oldAttributes = attributes;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                store(slot, oldKeys[i], oldAttributes[i], oldAuthors[i], oldAssignees[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        authors = new int[capacity];
+        assignees = new int[capacity];
+        attributes = new byte[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
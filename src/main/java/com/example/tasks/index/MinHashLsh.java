@@ -0,0 +1,291 @@
+package com.example.tasks.index;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * LSH-индекс MinHash-подписей: поиск задач, подпись которых совпадает с заданной
+ * хотя бы в одной полосе (band), без перебора всех задач.
+ * <p>
+ * Подпись из {@code bands * rows} байт делится на полосы по {@code rows} байт. Для каждой полосы
+ * есть своя хэш-таблица с открытой адресацией, в ячейках которой лежат только номера строк
+ * (4 байта): ключ полосы при сравнении читается из сохраненной подписи. Подписи и ID задач
+ * хранятся строками в примитивных массивах, номер строки не меняется до удаления задачи;
+ * освободившиеся строки переиспользуются. Отдельная таблица сопоставляет ID задачи строке.
+ * Объектов на задачу не создается.
+ * </p>
+ * <p>
+ * Все таблицы содержат по записи на задачу, поэтому растут вместе. Коллизии разрешаются
+ * линейным пробированием, удаление — сдвигом записей назад, как в {@link LongRowMap}.
+ * ID задачи {@code 0} зарезервирован под пустую ячейку.
+ * </p>
+ * <p>
+ * Класс не потокобезопасен: синхронизацию обеспечивает {@link TaskDuplicateIndex}.
+ * </p>
+ */
+final class MinHashLsh {
+
+    private static final double LOAD_FACTOR = 0.5;
+    private static final long EMPTY = 0L;
+    private static final int NO_ROW = -1;
+
+    private final int bands;
+    private final int rows;
+    private final int length;
+
+    private long[] ids;
+    private byte[] signatures;
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    private long[] keys;
+    private int[] keyRows;
+    private int[][] bandTables;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    MinHashLsh(int bands, int rows, int expectedSize) {
+        this.bands = bands;
+        this.rows = rows;
+        this.length = bands * rows;
+        int capacity = Math.max(16, Integer.highestOneBit((int) Math.ceil(expectedSize / LOAD_FACTOR)) << 1);
+        this.ids = new long[Math.max(16, expectedSize)];
+        this.signatures = new byte[ids.length * length];
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Добавляет или заменяет подпись задачи.
+     *
+     * @param id        ID задачи (больше 0)
+     * @param signature подпись длиной {@code bands * rows}
+     */
+    void put(long id, byte[] signature) {
+        if (signature.length != length) {
+            throw new IllegalArgumentException("Signature length must be " + length + ": " + signature.length);
+        }
+        int row = rowOf(id);
+        if (row != NO_ROW) {
+            if (Arrays.equals(signatures, row * length, (row + 1) * length, signature, 0, length)) {
+                return;
+            }
+            for (int band = 0; band < bands; band++) {
+                removeFromBand(band, row);
+            }
+            System.arraycopy(signature, 0, signatures, row * length, length);
+            for (int band = 0; band < bands; band++) {
+                addToBand(band, row);
+            }
+            return;
+        }
+
+        if (size >= resizeAt) {
+            grow();
+        }
+        row = allocateRow();
+        ids[row] = id;
+        System.arraycopy(signature, 0, signatures, row * length, length);
+        int slot = keySlot(id);
+        while (keys[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        keyRows[slot] = row;
+        for (int band = 0; band < bands; band++) {
+            addToBand(band, row);
+        }
+        size++;
+    }
+
+    /**
+     * Удаляет подпись задачи.
+     *
+     * @param id ID задачи
+     * @return true если задача была в индексе
+     */
+    boolean remove(long id) {
+        int gap = keyIndex(id);
+        if (gap < 0) {
+            return false;
+        }
+        int row = keyRows[gap];
+        for (int band = 0; band < bands; band++) {
+            removeFromBand(band, row);
+        }
+        for (int slot = (gap + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = keySlot(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                keyRows[gap] = keyRows[slot];
+                gap = slot;
+            }
+        }
+        keys[gap] = EMPTY;
+        ids[row] = EMPTY;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        }
+        freeRows[freeCount++] = row;
+        size--;
+        return true;
+    }
+
+    /**
+     * Передает задачи, подпись которых совпадает с заданной хотя бы в одной полосе,
+     * вместе с количеством совпавших позиций подписи. Каждая задача передается один раз.
+     *
+     * @param signature подпись длиной {@code bands * rows}
+     * @param consumer  получатель кандидатов
+     */
+    void forEachCandidate(byte[] signature, CandidateConsumer consumer) {
+        Set<Integer> seen = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            int[] table = bandTables[band];
+            for (int slot = bandSlot(signature, 0, band); table[slot] != 0; slot = (slot + 1) & mask) {
+                int row = table[slot] - 1;
+                if (Arrays.equals(signatures, row * length + band * rows, row * length + (band + 1) * rows,
+                        signature, band * rows, (band + 1) * rows) && seen.add(row)) {
+                    consumer.accept(ids[row], matches(row, signature));
+                }
+            }
+        }
+    }
+
+    /**
+     * Оценивает занятую массивами память.
+     *
+     * @return размер в байтах
+     */
+    long memoryBytes() {
+        return (long) ids.length * (Long.BYTES + length)
+                + (long) keys.length * (Long.BYTES + Integer.BYTES * (1 + bands))
+                + (long) freeRows.length * Integer.BYTES;
+    }
+
+    private int matches(int row, byte[] signature) {
+        int offset = row * length;
+        int matches = 0;
+        for (int i = 0; i < length; i++) {
+            if (signatures[offset + i] == signature[i]) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private int rowOf(long id) {
+        int slot = keyIndex(id);
+        return slot < 0 ? NO_ROW : keyRows[slot];
+    }
+
+    private int keyIndex(long id) {
+        for (int slot = keySlot(id); ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == ids.length) {
+            int capacity = rowCount + (rowCount >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            signatures = Arrays.copyOf(signatures, capacity * length);
+        }
+        return rowCount++;
+    }
+
+    private void addToBand(int band, int row) {
+        int[] table = bandTables[band];
+        int slot = bandSlot(signatures, row * length, band);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = row + 1;
+    }
+
+    private void removeFromBand(int band, int row) {
+        int[] table = bandTables[band];
+        int gap = bandSlot(signatures, row * length, band);
+        while (table[gap] != row + 1) {
+            gap = (gap + 1) & mask;
+        }
+        for (int slot = (gap + 1) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int home = bandSlot(signatures, (table[slot] - 1) * length, band);
+            // Запись можно сдвинуть в дыру, только если ее исходная ячейка не лежит между дырой и ней.
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                table[gap] = table[slot];
+                gap = slot;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    private int bandSlot(byte[] array, int offset, int band) {
+        long hash = band;
+        int start = offset + band * rows;
+        for (int i = start; i < start + rows; i++) {
+            hash = (hash << 8 | (array[i] & 0xFF)) * 0x9E3779B97F4A7C15L;
+        }
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private int keySlot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldRows = keyRows;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = keySlot(oldKeys[i]);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                keyRows[slot] = oldRows[i];
+                for (int band = 0; band < bands; band++) {
+                    addToBand(band, oldRows[i]);
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        keyRows = new int[capacity];
+        bandTables = new int[bands][capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Получатель кандидатов.
+     */
+    @FunctionalInterface
+    interface CandidateConsumer {
+
+        /**
+         * @param id      ID задачи
+         * @param matches количество совпавших позиций подписи
+         */
+        void accept(long id, int matches);
+    }
+}
@@ -0,0 +1,423 @@
+package com.example.tasks.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Сжатое префиксное дерево (radix trie): строковый ключ → набор положительных значений типа long.
+ * <p>
+ * Цепочки узлов с одним потомком схлопываются в одно ребро с меткой из нескольких символов,
+ * поэтому узлов не больше, чем ветвлений и ключей. Узлы хранятся не объектами, а строками
+ * параллельных массивов примитивов: начало и длина метки, первый потомок, следующий брат
+ * и первое значение — 24 байта на узел. Метки лежат в общем пуле символов, братья упорядочены
+ * по первому символу метки. Второе и следующие значения одного ключа (задачи с одинаковым
+ * названием) хранятся отдельно. Освобожденные узлы переиспользуются, а пул символов уплотняется,
+ * когда больше половины его занято метками удаленных узлов.
+ * </p>
+ * <p>
+ * Класс не потокобезопасен: синхронизацию обеспечивает {@link TaskTitleAutocomplete}.
+ * </p>
+ */
+final class RadixTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final long NO_VALUE = 0;
+    private static final int INITIAL_NODES = 8;
+    private static final int INITIAL_CHARS = 64;
+
+    private int[] labelStart = new int[INITIAL_NODES];
+    private int[] labelLength = new int[INITIAL_NODES];
+    private int[] firstChild = new int[INITIAL_NODES];
+    private int[] nextSibling = new int[INITIAL_NODES];
+    private long[] value = new long[INITIAL_NODES];
+    private final Map<Integer, long[]> moreValues = new HashMap<>();
+
+    private char[] chars = new char[INITIAL_CHARS];
+    private int charCount;
+    private int garbageChars;
+
+    private int allocated;
+    private int freeHead = NONE;
+    private int nodes;
+
+    RadixTrie() {
+        allocate(0, 0);
+    }
+
+    boolean isEmpty() {
+        return firstChild[ROOT] == NONE && value[ROOT] == NO_VALUE;
+    }
+
+    /**
+     * Количество узлов дерева.
+     *
+     * @return количество узлов
+     */
+    int nodes() {
+        return nodes;
+    }
+
+    /**
+     * Приблизительный объем памяти, занятый деревом.
+     *
+     * @return объем в байтах
+     */
+    long memoryBytes() {
+        long bytes = 24L * labelStart.length + 2L * chars.length;
+        for (long[] values : moreValues.values()) {
+            bytes += 64 + 8L * values.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Добавляет значение к ключу. Повторное добавление той же пары ничего не меняет.
+     *
+     * @param key   ключ
+     * @param value положительное значение
+     */
+    void add(String key, long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Value must be positive: " + value);
+        }
+        compactIfNeeded();
+        int node = ROOT;
+        int offset = 0;
+        while (offset < key.length()) {
+            char first = key.charAt(offset);
+            int previous = NONE;
+            int child = firstChild[node];
+            while (child != NONE && chars[labelStart[child]] < first) {
+                previous = child;
+                child = nextSibling[child];
+            }
+            if (child == NONE || chars[labelStart[child]] != first) {
+                int leaf = allocate(append(key, offset, key.length()), key.length() - offset);
+                this.value[leaf] = value;
+                nextSibling[leaf] = child;
+                link(node, previous, leaf);
+                return;
+            }
+            int common = commonPrefix(child, key, offset);
+            if (common < labelLength[child]) {
+                // Ключ расходится с меткой ребра посередине: ребро делится на два
+                int middle = allocate(labelStart[child], common);
+                labelStart[child] += common;
+                labelLength[child] -= common;
+                firstChild[middle] = child;
+                nextSibling[middle] = nextSibling[child];
+                nextSibling[child] = NONE;
+                link(node, previous, middle);
+                child = middle;
+            }
+            node = child;
+            offset += common;
+        }
+        addValue(node, value);
+    }
+
+    /**
+     * Удаляет значение ключа. Опустевшие узлы удаляются, узлы с одним потомком
+     * сливаются с ним, поэтому дерево остается сжатым.
+     *
+     * @param key   ключ
+     * @param value значение
+     * @return true если пара была в дереве
+     */
+    boolean remove(String key, long value) {
+        int[] path = new int[key.length() + 1];
+        int depth = 0;
+        int node = ROOT;
+        int offset = 0;
+        while (offset < key.length()) {
+            int child = child(node, key.charAt(offset));
+            if (child == NONE
+                    || labelLength[child] > key.length() - offset
+                    || commonPrefix(child, key, offset) < labelLength[child]) {
+                return false;
+            }
+            path[depth++] = node;
+            node = child;
+            offset += labelLength[child];
+        }
+        if (!removeValue(node, value)) {
+            return false;
+        }
+
+        while (depth > 0 && this.value[node] == NO_VALUE) {
+            int parent = path[--depth];
+            int only = firstChild[node];
+            if (only == NONE) {
+                unlink(parent, node);
+                release(node);
+                node = parent;
+            } else if (nextSibling[only] == NONE) {
+                // Промежуточный узел без значений с единственным потомком сливается с ним
+                mergeIntoChild(parent, node, only);
+                return true;
+            } else {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Передает значения ключей, начинающихся с префикса, пока получатель не откажется от следующих.
+     * Значение, добавленное к нескольким ключам, передается несколько раз.
+     *
+     * @param prefix   префикс ключа
+     * @param consumer получатель значений; false — обход прекращается
+     * @return true если переданы все значения
+     */
+    boolean forEachWithPrefix(String prefix, LongPredicate consumer) {
+        int node = ROOT;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            int child = child(node, prefix.charAt(offset));
+            if (child == NONE) {
+                return true;
+            }
+            int common = commonPrefix(child, prefix, offset);
+            if (common < labelLength[child] && offset + common < prefix.length()) {
+                return true;
+            }
+            node = child;
+            offset += common;
+        }
+
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = node;
+        while (size > 0) {
+            int current = stack[--size];
+            if (value[current] != NO_VALUE) {
+                if (!consumer.test(value[current])) {
+                    return false;
+                }
+                long[] more = moreValues.get(current);
+                if (more != null) {
+                    for (long extra : more) {
+                        if (!consumer.test(extra)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+                if (size == stack.length) {
+                    stack = Arrays.copyOf(stack, size * 2);
+                }
+                stack[size++] = child;
+            }
+        }
+        return true;
+    }
+
+    private int child(int node, char first) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            char label = chars[labelStart[child]];
+            if (label == first) {
+                return child;
+            }
+            if (label > first) {
+                return NONE;
+            }
+        }
+        return NONE;
+    }
+
+    private void link(int parent, int previous, int child) {
+        if (previous == NONE) {
+            firstChild[parent] = child;
+        } else {
+            nextSibling[previous] = child;
+        }
+    }
+
+    private void unlink(int parent, int child) {
+        replace(parent, child, nextSibling[child]);
+    }
+
+    private void replace(int parent, int child, int replacement) {
+        if (firstChild[parent] == child) {
+            firstChild[parent] = replacement;
+            return;
+        }
+        int previous = firstChild[parent];
+        while (nextSibling[previous] != child) {
+            previous = nextSibling[previous];
+        }
+        nextSibling[previous] = replacement;
+    }
+
+    private void mergeIntoChild(int parent, int node, int child) {
+        if (labelStart[node] + labelLength[node] == labelStart[child]) {
+            // Метки лежат в пуле подряд (так бывает после деления ребра)
+            labelStart[child] = labelStart[node];
+            labelLength[child] += labelLength[node];
+            labelLength[node] = 0;
+        } else {
+            int start = charCount;
+            appendRange(labelStart[node], labelLength[node]);
+            appendRange(labelStart[child], labelLength[child]);
+            garbageChars += labelLength[child];
+            labelStart[child] = start;
+            labelLength[child] += labelLength[node];
+        }
+        nextSibling[child] = nextSibling[node];
+        replace(parent, node, child);
+        release(node);
+    }
+
+    private void addValue(int node, long value) {
+        if (this.value[node] == NO_VALUE) {
+            this.value[node] = value;
+            return;
+        }
+        if (this.value[node] == value) {
+            return;
+        }
+        long[] more = moreValues.get(node);
+        if (more == null) {
+            moreValues.put(node, new long[]{value});
+        } else if (indexOf(more, value) < 0) {
+            more = Arrays.copyOf(more, more.length + 1);
+            more[more.length - 1] = value;
+            moreValues.put(node, more);
+        }
+    }
+
+    private boolean removeValue(int node, long value) {
+        long[] more = moreValues.get(node);
+        if (this.value[node] == value) {
+            if (more == null) {
+                this.value[node] = NO_VALUE;
+            } else {
+                this.value[node] = more[more.length - 1];
+                shrink(node, more, more.length - 1);
+            }
+            return true;
+        }
+        int index = more != null ? indexOf(more, value) : -1;
+        if (index < 0) {
+            return false;
+        }
+        more[index] = more[more.length - 1];
+        shrink(node, more, more.length - 1);
+        return true;
+    }
+
+    private void shrink(int node, long[] more, int length) {
+        if (length == 0) {
+            moreValues.remove(node);
+        } else {
+            moreValues.put(node, Arrays.copyOf(more, length));
+        }
+    }
+
+    private int allocate(int start, int length) {
+        int node;
+        if (freeHead != NONE) {
+            node = freeHead;
+            freeHead = nextSibling[node];
+        } else {
+            if (allocated == labelStart.length) {
+                int capacity = allocated + (allocated >> 1) + 1;
+                labelStart = Arrays.copyOf(labelStart, capacity);
+                labelLength = Arrays.copyOf(labelLength, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                value = Arrays.copyOf(value, capacity);
+            }
+            node = allocated++;
+        }
+        labelStart[node] = start;
+        labelLength[node] = length;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        value[node] = NO_VALUE;
+        nodes++;
+        return node;
+    }
+
+    private void release(int node) {
+        garbageChars += labelLength[node];
+        labelLength[node] = 0;
+        nextSibling[node] = freeHead;
+        freeHead = node;
+        nodes--;
+    }
+
+    private int append(String key, int from, int to) {
+        ensureChars(to - from);
+        int start = charCount;
+        key.getChars(from, to, chars, charCount);
+        charCount += to - from;
+        return start;
+    }
+
+    private void appendRange(int start, int length) {
+        ensureChars(length);
+        System.arraycopy(chars, start, chars, charCount, length);
+        charCount += length;
+    }
+
+    private void ensureChars(int length) {
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(charCount + length, chars.length + (chars.length >> 1)));
+        }
+    }
+
+    /**
+     * Переписывает метки живых узлов в новый пул, если больше половины пула — мусор.
+     */
+    private void compactIfNeeded() {
+        if (garbageChars <= INITIAL_CHARS || garbageChars * 2 < charCount) {
+            return;
+        }
+        int live = charCount - garbageChars;
+        char[] compacted = new char[Math.max(INITIAL_CHARS, live + (live >> 1))];
+        int count = 0;
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = ROOT;
+        while (size > 0) {
+            int node = stack[--size];
+            System.arraycopy(chars, labelStart[node], compacted, count, labelLength[node]);
+            labelStart[node] = count;
+            count += labelLength[node];
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (size == stack.length) {
+                    stack = Arrays.copyOf(stack, size * 2);
+                }
+                stack[size++] = child;
+            }
+        }
+        chars = compacted;
+        charCount = count;
+        garbageChars = 0;
+    }
+
+    private int commonPrefix(int node, String key, int offset) {
+        int start = labelStart[node];
+        int length = Math.min(labelLength[node], key.length() - offset);
+        int i = 0;
+        while (i < length && chars[start + i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(long[] values, long value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
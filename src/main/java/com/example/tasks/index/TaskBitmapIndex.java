@@ -0,0 +1,390 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.repository.TaskFilter;
+import com.example.tasks.repository.TaskSort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Индекс активных задач в памяти для ответов на фильтрованные запросы без обращения к базе.
+ * <p>
+ * Для каждого статуса, приоритета, автора и исполнителя хранится сжатый битовый набор
+ * (Roaring bitmap) с ID задач. Запрос с несколькими фильтрами — пересечение наборов,
+ * количество — мощность пересечения, страница ID — выборка из пересечения по рангу.
+ * Такие операции занимают микросекунды и не зависят от нагрузки на базу.
+ * Текущие значения полей каждой задачи хранятся в {@link LongRowMap}: по ним при изменении
+ * задачи снимаются биты прежних значений.
+ * </p>
+ * <p>
+ * Индекс строит {@link TaskIndexLoader} общим чтением таблицы {@code tasks}, далее он обновляется
+ * по {@link TaskChangedEvent} после фиксации транзакций ({@link EventMaintainedIndex}).
+ * Пока индекс не построен, {@link #isReady()} возвращает false и запросы выполняются базой.
+ * Индекс включается свойством {@code tasks.bitmap-index.enabled}.
+ * </p>
+ * <p>
+ * Метрики: {@code tasks.bitmap-index.tasks} — количество задач в индексе,
+ * {@code tasks.bitmap-index.memory} — оценка занятой памяти в байтах.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Component
+public class TaskBitmapIndex extends EventMaintainedIndex<TaskBitmapIndex.Bitmaps> {
+    private static final int EXPECTED_SIZE = 10_000;
+    private static final int STATUS_SHIFT = 4;
+    private static final int PRIORITY_MASK = 0x0F;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final boolean enabled;
+
+    public TaskBitmapIndex(MeterRegistry meterRegistry,
+                           @Value("${tasks.bitmap-index.enabled:false}") boolean enabled) {
+        super(new Bitmaps(0));
+        this.enabled = enabled;
+        Gauge.builder("tasks.bitmap-index.tasks", this, TaskBitmapIndex::size).register(meterRegistry);
+        Gauge.builder("tasks.bitmap-index.memory", this, TaskBitmapIndex::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Считает задачи, удовлетворяющие всем заданным фильтрам.
+     *
+     * @param filter фильтры выборки
+     * @return количество задач
+     */
+    public long count(TaskFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap[] operands = operands(filter);
+            if (operands == null) {
+                return 0;
+            }
+            return switch (operands.length) {
+                case 0 -> current.all.getLongCardinality();
+                case 1 -> operands[0].getLongCardinality();
+                default -> RoaringBitmap.andCardinality(
+                        intersect(operands, operands.length - 1), operands[operands.length - 1]);
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает страницу ID задач, удовлетворяющих всем заданным фильтрам, по возрастанию ID.
+     *
+     * @param filter фильтры выборки
+     * @param offset количество пропускаемых задач
+     * @param limit  максимальное количество ID
+     * @return ID задач
+     */
+    public List<Long> findIds(TaskFilter filter, long offset, int limit) {
+        return findIds(filter, TaskSort.ID, offset, limit);
+    }
+
+    /**
+     * Возвращает страницу ID задач, удовлетворяющих всем заданным фильтрам, в заданном порядке.
+     * <p>
+     * При сортировке по приоритету совпадения разбиваются по наборам приоритетов в порядке ранга:
+     * наборы, целиком попадающие в смещение, только считаются, а пересечение строится
+     * лишь для приоритетов, из которых берутся ID страницы.
+     * </p>
+     *
+     * @param filter фильтры выборки
+     * @param sort   порядок задач
+     * @param offset количество пропускаемых задач
+     * @param limit  максимальное количество ID
+     * @return ID задач
+     */
+    public List<Long> findIds(TaskFilter filter, TaskSort sort, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap[] operands = operands(filter);
+            if (operands == null) {
+                return List.of();
+            }
+            RoaringBitmap matches = switch (operands.length) {
+                case 0 -> current.all;
+                case 1 -> operands[0];
+                default -> intersect(operands, operands.length);
+            };
+
+            List<Long> ids = new ArrayList<>(limit);
+            if (!sort.byPriority()) {
+                collect(matches, sort.idDescending(), offset, limit, ids);
+                return ids;
+            }
+            for (int i = 0; i < PRIORITIES.length && ids.size() < limit; i++) {
+                RoaringBitmap priority = current.byPriority[sort.priorityDescending() ? PRIORITIES.length - 1 - i : i];
+                long cardinality = RoaringBitmap.andCardinality(matches, priority);
+                if (offset >= cardinality) {
+                    offset -= cardinality;
+                    continue;
+                }
+                collect(RoaringBitmap.and(matches, priority), sort.idDescending(), offset, limit - ids.size(), ids);
+                offset = 0;
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Количество задач в индексе.
+     *
+     * @return количество задач
+     */
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Оценивает память, занятую битовыми наборами и таблицей строк.
+     *
+     * @return размер в байтах
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return current.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Bitmaps newStructure() {
+        return new Bitmaps(EXPECTED_SIZE);
+    }
+
+    @Override
+    protected void add(Bitmaps built, TaskState task, long updatedAt) {
+        built.put(task.id(), task.status(), task.priority(),
+                task.authorId() != null ? task.authorId() : 0L,
+                task.assigneeId() != null ? task.assigneeId() : 0L);
+    }
+
+    @Override
+    protected void apply(Bitmaps structure, TaskChangedEvent event) {
+        TaskState after = event.after();
+        if (after == null) {
+            structure.remove(event.taskId());
+        } else {
+            add(structure, after, 0L);
+        }
+    }
+
+    /**
+     * Собирает битовые наборы заданных фильтров.
+     *
+     * @return наборы для пересечения по возрастанию мощности (пустой массив без фильтров)
+     *         или null, если по одному из фильтров задач нет
+     */
+    private RoaringBitmap[] operands(TaskFilter filter) {
+        List<RoaringBitmap> operands = new ArrayList<>(4);
+        if (filter.status() != null) {
+            operands.add(current.byStatus[filter.status().ordinal()]);
+        }
+        if (filter.priority() != null) {
+            operands.add(current.byPriority[filter.priority().ordinal()]);
+        }
+        if (filter.authorId() != null) {
+            operands.add(current.byAuthor.get(filter.authorId()));
+        }
+        if (filter.assigneeId() != null) {
+            operands.add(current.byAssignee.get(filter.assigneeId()));
+        }
+        for (RoaringBitmap operand : operands) {
+            if (operand == null || operand.isEmpty()) {
+                return null;
+            }
+        }
+        operands.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+        return operands.toArray(RoaringBitmap[]::new);
+    }
+
+    /**
+     * Пересекает первые {@code count} наборов, начиная с наименьшего: промежуточный результат
+     * не больше самого маленького набора, поэтому большие наборы статусов и приоритетов
+     * не копируются.
+     *
+     * @param operands наборы, отсортированные по возрастанию мощности
+     * @param count    количество пересекаемых наборов
+     * @return новый набор с пересечением
+     */
+    private static RoaringBitmap intersect(RoaringBitmap[] operands, int count) {
+        if (count == 1) {
+            return operands[0];
+        }
+        RoaringBitmap result = RoaringBitmap.and(operands[0], operands[1]);
+        for (int i = 2; i < count && !result.isEmpty(); i++) {
+            result.and(operands[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Добавляет в {@code ids} до {@code limit} ID набора, пропустив {@code offset} первых
+     * в порядке возрастания или убывания.
+     */
+    private static void collect(RoaringBitmap matches, boolean descending, long offset, int limit, List<Long> ids) {
+        long cardinality = matches.getLongCardinality();
+        if (offset >= cardinality) {
+            return;
+        }
+        // По убыванию: выбирается тот же отрезок рангов с конца набора и обходится в обратном порядке
+        long from = descending ? Math.max(0, cardinality - offset - limit) : offset;
+        int count = (int) Math.min(limit, cardinality - offset);
+        int start = ids.size();
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select((int) from));
+        for (int i = 0; i < count && iterator.hasNext(); i++) {
+            ids.add((long) iterator.next());
+        }
+        if (descending) {
+            Collections.reverse(ids.subList(start, ids.size()));
+        }
+    }
+
+    /**
+     * Битовые наборы и таблица строк одного поколения индекса.
+     */
+    static final class Bitmaps {
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final RoaringBitmap[] byStatus = newBitmaps(STATUSES.length);
+        private final RoaringBitmap[] byPriority = newBitmaps(PRIORITIES.length);
+        private final Map<Long, RoaringBitmap> byAuthor = new HashMap<>();
+        private final Map<Long, RoaringBitmap> byAssignee = new HashMap<>();
+        private final LongRowMap rows;
+
+        private Bitmaps(int expectedSize) {
+            this.rows = new LongRowMap(expectedSize);
+        }
+
+        /**
+         * Добавляет задачу или заменяет ее прежние значения.
+         *
+         * @throws IllegalStateException если ID задачи или пользователя больше {@link Integer#MAX_VALUE}
+         */
+        private void put(long id, TaskStatus status, TaskPriority priority, long authorId, long assigneeId) {
+            if (id <= 0 || id > Integer.MAX_VALUE) {
+                throw new IllegalStateException("task id " + id + " is out of the 32-bit bitmap range");
+            }
+            if (authorId > Integer.MAX_VALUE || assigneeId > Integer.MAX_VALUE) {
+                throw new IllegalStateException("user id of task " + id + " is out of the 32-bit row range");
+            }
+            remove(id);
+            int bit = (int) id;
+            all.add(bit);
+            if (status != null) {
+                byStatus[status.ordinal()].add(bit);
+            }
+            if (priority != null) {
+                byPriority[priority.ordinal()].add(bit);
+            }
+            if (authorId != 0) {
+                byAuthor.computeIfAbsent(authorId, key -> new RoaringBitmap()).add(bit);
+            }
+            if (assigneeId != 0) {
+                byAssignee.computeIfAbsent(assigneeId, key -> new RoaringBitmap()).add(bit);
+            }
+            rows.put(id, pack(status, priority), (int) authorId, (int) assigneeId);
+        }
+
+        private void remove(long id) {
+            int slot = rows.indexOf(id);
+            if (slot < 0) {
+                return;
+            }
+            int bit = (int) id;
+            byte attributes = rows.attributes(slot);
+            int status = (attributes >>> STATUS_SHIFT) - 1;
+            int priority = (attributes & PRIORITY_MASK) - 1;
+            if (status >= 0) {
+                byStatus[status].remove(bit);
+            }
+            if (priority >= 0) {
+                byPriority[priority].remove(bit);
+            }
+            removeFrom(byAuthor, rows.author(slot), bit);
+            removeFrom(byAssignee, rows.assignee(slot), bit);
+            all.remove(bit);
+            rows.remove(id);
+        }
+
+        private long memoryBytes() {
+            long bytes = all.getLongSizeInBytes() + rows.memoryBytes();
+            for (RoaringBitmap bitmap : byStatus) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byPriority) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byAuthor.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : byAssignee.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            return bytes;
+        }
+
+        private static void removeFrom(Map<Long, RoaringBitmap> bitmaps, long key, int bit) {
+            if (key == 0) {
+                return;
+            }
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(bit);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        private static byte pack(TaskStatus status, TaskPriority priority) {
+            int statusBits = status != null ? status.ordinal() + 1 : 0;
+            int priorityBits = priority != null ? priority.ordinal() + 1 : 0;
+            return (byte) (statusBits << STATUS_SHIFT | priorityBits);
+        }
+
+        private static RoaringBitmap[] newBitmaps(int count) {
+            RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+            for (int i = 0; i < count; i++) {
+                bitmaps[i] = new RoaringBitmap();
+            }
+            return bitmaps;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.tasks.index;
+
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Поиск похожих задач (вероятных дубликатов) по MinHash-подписям названия и описания.
+ * <p>
+ * Текст задачи приводится к нижнему регистру, знаки препинания заменяются пробелами,
+ * и текст разбивается на перекрывающиеся подстроки по {@value #SHINGLE_LENGTH} символа (шинглы).
+ * Сходство задач — коэффициент Жаккара их множеств шинглов. Подпись задачи — минимумы
+ * {@value #HASHES} независимых хэш-функций по ее шинглам; от каждого минимума хранится
+ * младший байт (b-bit MinHash), поэтому подпись занимает {@value #HASHES} байт.
+ * Доля совпавших байт двух подписей дает оценку сходства.
+ * </p>
+ * <p>
+ * Подписи лежат в LSH-индексе {@link MinHashLsh} из {@value #BANDS} полос по {@value #ROWS} байт:
+ * кандидатами считаются задачи, совпавшие с новой хотя бы в одной полосе. Задача со сходством
+ * 0.6 становится кандидатом с вероятностью около 80%, со сходством 0.7 — 97%, а несвязанная
+ * задача — почти никогда, поэтому проверка новой задачи не зависит от общего числа задач.
+ * У кандидатов сходство оценивается по полной подписи и сравнивается с порогом
+ * {@code tasks.duplicates.min-similarity}.
+ * </p>
+ * <p>
+ * Индекс строит {@link TaskIndexLoader} общим чтением таблицы {@code tasks}, далее он обновляется
+ * по {@link TaskChangedEvent} после фиксации транзакций ({@link EventMaintainedIndex}). Метрики:
+ * {@code tasks.duplicates.tasks}, {@code tasks.duplicates.memory} и {@code tasks.duplicates.query}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Component
+public class TaskDuplicateIndex extends EventMaintainedIndex<MinHashLsh> {
+    static final int SHINGLE_LENGTH = 4;
+    static final int BANDS = 20;
+    static final int ROWS = 5;
+    static final int HASHES = BANDS * ROWS;
+
+    /**
+     * Длинные описания учитываются только до этой длины: начала текста достаточно
+     * для поиска дубликатов, а время расчета подписи растет с длиной.
+     */
+    static final int MAX_TEXT_LENGTH = 2_000;
+
+    /**
+     * Вероятность случайного совпадения младших байт минимумов.
+     */
+    private static final double RANDOM_MATCH = 1.0 / 256;
+
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] INCREMENTS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_D0D0L);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            INCREMENTS[i] = random.nextLong();
+        }
+    }
+
+    private final double minSimilarity;
+    private final Timer queryTimer;
+
+    public TaskDuplicateIndex(MeterRegistry meterRegistry,
+                              @Value("${tasks.duplicates.min-similarity:0.6}") double minSimilarity) {
+        super(new MinHashLsh(BANDS, ROWS, 0));
+        this.minSimilarity = minSimilarity;
+        this.queryTimer = meterRegistry.timer("tasks.duplicates.query");
+        Gauge.builder("tasks.duplicates.tasks", this, TaskDuplicateIndex::size).register(meterRegistry);
+        Gauge.builder("tasks.duplicates.memory", this, TaskDuplicateIndex::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Пропускает изменения, не затрагивающие название и описание.
+     */
+    @Override
+    protected boolean affects(TaskChangedEvent event) {
+        TaskState before = event.before();
+        TaskState after = event.after();
+        return before == null || after == null
+                || !Objects.equals(before.title(), after.title())
+                || !Objects.equals(before.description(), after.description());
+    }
+
+    /**
+     * Находит задачи, похожие на задачу с указанными названием и описанием.
+     *
+     * @param title       название
+     * @param description описание
+     * @param excludeId   ID задачи, которую не нужно возвращать (сама проверяемая задача), или null
+     * @param limit       максимальное количество результатов
+     * @return задачи со сходством не ниже порога, от самой похожей; пустой список, если индекс еще строится
+     */
+    public List<Match> findSimilar(String title, String description, Long excludeId, int limit) {
+        byte[] signature = signature(title, description);
+        if (signature == null) {
+            return List.of();
+        }
+        return queryTimer.record(() -> {
+            List<Match> matches = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                if (!isReady()) {
+                    return List.<Match>of();
+                }
+                current.forEachCandidate(signature, (id, equal) -> {
+                    double similarity = similarity(equal);
+                    if (similarity >= minSimilarity && (excludeId == null || id != excludeId)) {
+                        matches.add(new Match(id, similarity));
+                    }
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                    .thenComparing(Comparator.comparingLong(Match::id).reversed()));
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+        });
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return current.memoryBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected MinHashLsh newStructure() {
+        return new MinHashLsh(BANDS, ROWS, 1024);
+    }
+
+    @Override
+    protected void add(MinHashLsh built, TaskState task, long updatedAt) {
+        byte[] signature = signature(task.title(), task.description());
+        if (signature != null) {
+            built.put(task.id(), signature);
+        }
+    }
+
+    @Override
+    protected void apply(MinHashLsh structure, TaskChangedEvent event) {
+        TaskState after = event.after();
+        byte[] signature = after != null ? signature(after.title(), after.description()) : null;
+        if (signature == null) {
+            structure.remove(event.taskId());
+        } else {
+            structure.put(event.taskId(), signature);
+        }
+    }
+
+    /**
+     * Оценивает коэффициент Жаккара по числу совпавших байт подписей
+     * с поправкой на случайные совпадения младших байт.
+     */
+    static double similarity(int equal) {
+        double fraction = (double) equal / HASHES;
+        return Math.max(0, (fraction - RANDOM_MATCH) / (1 - RANDOM_MATCH));
+    }
+
+    /**
+     * Вычисляет MinHash-подпись названия и описания.
+     *
+     * @return подпись из {@value #HASHES} байт или null, если в тексте нет ни одной буквы и цифры
+     */
+    static byte[] signature(String title, String description) {
+        String text = normalize(title, description);
+        if (text.isEmpty()) {
+            return null;
+        }
+        long[] minimums = new long[HASHES];
+        Arrays.fill(minimums, Long.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0;
+            for (int i = start; i < Math.min(text.length(), start + SHINGLE_LENGTH); i++) {
+                shingle = shingle << 16 | text.charAt(i);
+            }
+            long hash = mix(shingle);
+            for (int i = 0; i < HASHES; i++) {
+                // Хэш-функции семейства multiply-shift: старшие 32 бита произведения
+                long value = (hash * MULTIPLIERS[i] + INCREMENTS[i]) >>> 32;
+                if (value < minimums[i]) {
+                    minimums[i] = value;
+                }
+            }
+        }
+        byte[] signature = new byte[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = (byte) minimums[i];
+        }
+        return signature;
+    }
+
+    /**
+     * Приводит текст к нижнему регистру, заменяя каждую последовательность
+     * символов, отличных от букв и цифр, одним пробелом.
+     */
+    static String normalize(String title, String description) {
+        String text = (title != null ? title : "") + " " + (description != null ? description : "");
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), MAX_TEXT_LENGTH));
+        boolean space = false;
+        for (int i = 0; i < text.length() && normalized.length() < MAX_TEXT_LENGTH; i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            } else {
+                space = normalized.length() > 0;
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Похожая задача.
+     *
+     * @param id         ID задачи
+     * @param similarity оценка коэффициента Жаккара (0-1)
+     */
+    public record Match(long id, double similarity) {
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Входящие исполнителей: открытые (не завершенные) задачи каждого исполнителя,
+ * упорядоченные по приоритету (сначала {@code HIGH}), затем по ID.
+ * <p>
+ * Порядок задач исполнителя хранится отсортированным массивом {@code long}: в старших битах
+ * ключа — ранг приоритета, в младших — ID задачи, поэтому сортировка ключей как чисел
+ * дает нужный порядок, а вставка и удаление — двоичный поиск и сдвиг части массива.
+ * Для ответа без обращения к базе рядом хранятся название, статус и приоритет каждой задачи.
+ * Страница входящих — срез массива, ее стоимость не зависит от числа задач исполнителя.
+ * </p>
+ * <p>
+ * Входящие строит {@link TaskIndexLoader} общим чтением таблицы {@code tasks}, далее они
+ * обновляются по {@link TaskChangedEvent} после фиксации транзакций ({@link EventMaintainedIndex}):
+ * назначение, изменение задачи, статуса и приоритета, удаление, архивирование и восстановление.
+ * Пока первое построение не завершено, страница читается запросом к базе.
+ * Метрика {@code tasks.inbox.tasks}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Component
+public class TaskInbox extends EventMaintainedIndex<TaskInbox.Inboxes> {
+    private static final String SELECT_PAGE_SQL =
+            "SELECT id, title, status, priority FROM tasks " +
+            "WHERE deleted = FALSE AND status <> 'COMPLETED' AND assignee_id = ? " +
+            "ORDER BY priority_rank, id LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL =
+            "SELECT COUNT(*) FROM tasks WHERE deleted = FALSE AND status <> 'COMPLETED' AND assignee_id = ?";
+
+    private static final int RANK_SHIFT = 60;
+    private static final long ID_MASK = (1L << RANK_SHIFT) - 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskInbox(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        super(new Inboxes());
+        this.jdbcTemplate = jdbcTemplate;
+        Gauge.builder("tasks.inbox.tasks", this, TaskInbox::size).register(meterRegistry);
+    }
+
+    /**
+     * Возвращает страницу входящих исполнителя.
+     *
+     * @param assigneeId ID исполнителя
+     * @param offset     смещение от начала входящих
+     * @param limit      размер страницы
+     * @return задачи страницы и общее количество открытых задач исполнителя
+     */
+    public InboxPage page(long assigneeId, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            if (isReady()) {
+                Inbox inbox = current.byAssignee.get(assigneeId);
+                if (inbox == null) {
+                    return new InboxPage(List.of(), 0);
+                }
+                int end = (int) Math.min(inbox.size, (long) offset + limit);
+                List<Item> items = new ArrayList<>(Math.max(0, end - offset));
+                for (int i = offset; i < end; i++) {
+                    items.add(current.items.get(inbox.keys[i] & ID_MASK));
+                }
+                return new InboxPage(items, inbox.size);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return query(assigneeId, offset, limit);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private InboxPage query(long assigneeId, int offset, int limit) {
+        List<Item> items = jdbcTemplate.query(SELECT_PAGE_SQL, (rs, row) -> new Item(rs.getLong("id"),
+                rs.getString("title"), TaskStatus.valueOf(rs.getString("status")),
+                TaskPriority.valueOf(rs.getString("priority")), assigneeId), assigneeId, limit, offset);
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, assigneeId);
+        return new InboxPage(items, total != null ? total : 0);
+    }
+
+    @Override
+    protected Inboxes newStructure() {
+        return new Inboxes();
+    }
+
+    @Override
+    protected void add(Inboxes built, TaskState task, long updatedAt) {
+        if (isOpen(task)) {
+            Item item = item(task);
+            built.items.put(item.id(), item);
+            built.byAssignee.computeIfAbsent(item.assigneeId(), id -> new Inbox()).append(key(item));
+        }
+    }
+
+    /**
+     * Ключи добавлялись в порядке чтения: входящие сортируются один раз после загрузки.
+     */
+    @Override
+    protected void finishLoad(Inboxes built) {
+        built.byAssignee.values().forEach(Inbox::sort);
+    }
+
+    @Override
+    protected void apply(Inboxes inboxes, TaskChangedEvent event) {
+        // Старое положение задачи берется из входящих, а не из события: при повторе событий после
+        // перестроения входящие могут уже содержать состояние "после"
+        Item previous = inboxes.items.get(event.taskId());
+        Item next = isOpen(event.after()) ? item(event.after()) : null;
+        if (previous != null && next != null
+                && previous.assigneeId() == next.assigneeId() && previous.priority() == next.priority()) {
+            // Порядок не изменился: обновляются только данные задачи
+            inboxes.items.put(next.id(), next);
+            return;
+        }
+        if (previous != null) {
+            inboxes.items.remove(previous.id());
+            Inbox inbox = inboxes.byAssignee.get(previous.assigneeId());
+            if (inbox != null) {
+                inbox.remove(key(previous));
+                if (inbox.size == 0) {
+                    inboxes.byAssignee.remove(previous.assigneeId());
+                }
+            }
+        }
+        if (next != null) {
+            inboxes.items.put(next.id(), next);
+            inboxes.byAssignee.computeIfAbsent(next.assigneeId(), id -> new Inbox()).insert(key(next));
+        }
+    }
+
+    private static boolean isOpen(TaskState state) {
+        return state != null && state.assigneeId() != null && state.status() != TaskStatus.COMPLETED
+                && state.priority() != null;
+    }
+
+    private static Item item(TaskState state) {
+        return new Item(state.id(), state.title(), state.status(), state.priority(), state.assigneeId());
+    }
+
+    private static long key(Item item) {
+        return (long) item.priority().ordinal() << RANK_SHIFT | item.id();
+    }
+
+    /**
+     * Задача во входящих.
+     *
+     * @param id         ID задачи
+     * @param title      название
+     * @param status     статус (не {@code COMPLETED})
+     * @param priority   приоритет
+     * @param assigneeId ID исполнителя
+     */
+    public record Item(long id, String title, TaskStatus status, TaskPriority priority, long assigneeId) {
+    }
+
+    /**
+     * Страница входящих.
+     *
+     * @param items задачи страницы
+     * @param total общее количество открытых задач исполнителя
+     */
+    public record InboxPage(List<Item> items, long total) {
+    }
+
+    /**
+     * Данные задач и входящие исполнителей одного поколения.
+     */
+    static final class Inboxes {
+        private final Map<Long, Item> items = new HashMap<>();
+        private final Map<Long, Inbox> byAssignee = new HashMap<>();
+    }
+
+    /**
+     * Отсортированный массив ключей задач одного исполнителя.
+     */
+    private static final class Inbox {
+        private long[] keys = new long[4];
+        private int size;
+
+        private void append(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+
+        private void sort() {
+            Arrays.sort(keys, 0, size);
+        }
+
+        private void insert(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            keys[index] = key;
+            size++;
+        }
+
+        private void remove(long key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            size--;
+            if (size > 16 && size < keys.length / 4) {
+                keys = Arrays.copyOf(keys, keys.length / 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Строит индексы задач в памяти ({@link EventMaintainedIndex}) одним потоковым чтением таблицы {@code tasks}.
+ * <p>
+ * Каждая прочитанная строка передается всем включенным индексам, поэтому таблица читается
+ * один раз, а не отдельно для каждого индекса. Построение выполняется при старте приложения
+ * и затем раз в {@code tasks.indexes.reconcile-interval}: индексы обновляются по событиям,
+ * а периодическое перестроение исправляет расхождения с базой (например, после изменений
+ * в обход сервисов). Ошибка одного индекса не мешает построению остальных.
+ * </p>
+ * <p>
+ * Метрика {@code tasks.indexes.rebuild} — время чтения таблицы.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Component
+public class TaskIndexLoader {
+    private static final Logger logger = LoggerFactory.getLogger(TaskIndexLoader.class);
+
+    private static final String SELECT_TASKS_SQL =
+            "SELECT id, title, description, status, priority, author_id, assignee_id, updated_at " +
+            "FROM tasks WHERE deleted = FALSE";
+    private static final int FETCH_SIZE = 10_000;
+
+    private final List<EventMaintainedIndex<?>> indexes;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate scanTransaction;
+    private final Timer rebuildTimer;
+
+    public TaskIndexLoader(List<EventMaintainedIndex<?>> indexes,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.indexes = indexes;
+        this.jdbcTemplate = jdbcTemplate;
+        // Транзакция нужна драйверу PostgreSQL для чтения курсором. Она не помечена только для чтения
+        // и поэтому идет в основную базу: отстающая реплика вернула бы индексу уже примененные изменения
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTimer = meterRegistry.timer("tasks.indexes.rebuild");
+    }
+
+    /**
+     * Строит индексы после старта приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Перестраивает все включенные индексы одним потоковым чтением активных задач.
+     * Изменения, пришедшие во время чтения, применяются к новым структурам по порядку.
+     */
+    @Scheduled(fixedDelayString = "${tasks.indexes.reconcile-interval:PT1H}",
+            initialDelayString = "${tasks.indexes.reconcile-interval:PT1H}")
+    public void rebuild() {
+        List<Build<?>> builds = indexes.stream()
+                .filter(EventMaintainedIndex::isEnabled)
+                .<Build<?>>map(TaskIndexLoader::build)
+                .toList();
+        if (builds.isEmpty()) {
+            return;
+        }
+        builds.forEach(Build::begin);
+
+        Timer.Sample sample = Timer.start();
+        try {
+            scanTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_TASKS_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                long authorId = rs.getLong("author_id");
+                Long author = rs.wasNull() ? null : authorId;
+                long assigneeId = rs.getLong("assignee_id");
+                Long assignee = rs.wasNull() ? null : assigneeId;
+                Timestamp updatedAt = rs.getTimestamp("updated_at");
+                TaskState task = new TaskState(rs.getLong("id"), rs.getString("title"), rs.getString("description"),
+                        enumValue(TaskStatus.class, rs.getString("status")),
+                        enumValue(TaskPriority.class, rs.getString("priority")), author, assignee);
+                for (Build<?> build : builds) {
+                    build.add(task, updatedAt != null ? updatedAt.getTime() : 0L);
+                }
+            }));
+        } catch (RuntimeException e) {
+            logger.error("Failed to read tasks for in-memory indexes, previous structures stay in use", e);
+            builds.forEach(Build::abort);
+            return;
+        }
+        long nanos = sample.stop(rebuildTimer);
+
+        builds.forEach(Build::finish);
+        logger.info("Rebuilt {} in-memory task indexes in {} ms", builds.size(), nanos / 1_000_000);
+    }
+
+    private static <S> Build<S> build(EventMaintainedIndex<S> index) {
+        return new Build<>(index);
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    /**
+     * Построение структуры одного индекса.
+     */
+    private static final class Build<S> {
+        private final EventMaintainedIndex<S> index;
+        private S built;
+        private RuntimeException failure;
+
+        private Build(EventMaintainedIndex<S> index) {
+            this.index = index;
+        }
+
+        private void begin() {
+            index.beginRebuild();
+            built = index.newStructure();
+        }
+
+        private void add(TaskState task, long updatedAt) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                index.add(built, task, updatedAt);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        private void finish() {
+            String name = index.getClass().getSimpleName();
+            if (failure != null) {
+                logger.error("Failed to build {}, previous structure stays in use", name, failure);
+                index.abortRebuild();
+                return;
+            }
+            index.finishLoad(built);
+            if (index.finishRebuild(built)) {
+                logger.info("Built {}: {} tasks", name, index.size());
+            }
+        }
+
+        private void abort() {
+            index.abortRebuild();
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Полнотекстовый индекс задач на Lucene в локальном каталоге {@code tasks.search.directory}.
+ * <p>
+ * Индексируются название, описание и тексты комментариев задачи, а также статус, приоритет
+ * и исполнитель для фильтрации. Поиск по инвертированному индексу не просматривает все строки,
+ * как {@code LIKE '%x%'}, поэтому его время зависит от количества совпадений, а не от объема данных.
+ * </p>
+ * <p>
+ * Изменения задач применяются по {@link TaskChangedEvent} после фиксации транзакции
+ * и становятся видны поиску в пределах {@code tasks.search.max-staleness} (near-real-time):
+ * поисковые снимки обновляет фоновый поток Lucene. Изменения сбрасываются на диск
+ * раз в {@code tasks.search.commit-interval} и при остановке приложения.
+ * </p>
+ * <p>
+ * Индекс локален для экземпляра приложения, поэтому изменения, сделанные другими экземплярами,
+ * а также пропущенные при недоступности приложения, подхватывает периодическая переиндексация
+ * {@link #reindex()}. Она читает таблицу порциями по ключу и ограничивает скорость
+ * значением {@code tasks.search.reindex-rate} задач в секунду, чтобы не нагружать базу.
+ * Документы, не обновленные проходом, удаляются по его номеру. Задачи, измененные или
+ * удаленные событиями после чтения порции, проход пропускает: иначе он записал бы
+ * прочитанное ранее состояние поверх более нового, в том числе вернул бы удаленную задачу.
+ * </p>
+ * <p>
+ * Метрики: {@code tasks.search.query} — время поиска, {@code tasks.search.documents} — количество
+ * документов, {@code tasks.search.reindexed} — количество переиндексированных задач.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Component
+public class TaskSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_TITLE = "title";
+    static final String FIELD_DESCRIPTION = "description";
+    static final String FIELD_COMMENTS = "comments";
+    static final String FIELD_STATUS = "status";
+    static final String FIELD_PRIORITY = "priority";
+    static final String FIELD_ASSIGNEE = "assignee";
+    static final String FIELD_PASS = "pass";
+
+    private static final Map<String, Float> SEARCH_FIELDS = Map.of(
+            FIELD_TITLE, 3.0f,
+            FIELD_DESCRIPTION, 1.0f,
+            FIELD_COMMENTS, 1.0f);
+
+    private static final String SELECT_COMMENTS_SQL =
+            "SELECT task_id, text FROM comments WHERE task_id IN (:ids) AND deleted = FALSE ORDER BY id";
+    private static final String SELECT_TASKS_SQL =
+            "SELECT id, title, description, status, priority, author_id, assignee_id FROM tasks " +
+            "WHERE deleted = FALSE AND id > :after ORDER BY id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final int batchSize;
+    private final int reindexRate;
+    private final Timer queryTimer;
+    private final Counter reindexed;
+
+    /**
+     * Номер текущего прохода переиндексации, записывается во все документы.
+     * Время старта прохода монотонно растет и между перезапусками приложения.
+     */
+    private volatile long pass = System.currentTimeMillis();
+
+    /**
+     * ID задач, измененных событиями во время прохода переиндексации; {@code null} вне прохода.
+     * Доступ к нему, чтение {@link #pass} событиями и зависящая от них запись документов выполняются
+     * под {@link #passLock}. Запрос комментариев к базе выполняется до блокировки. Это
+     * {@link ReentrantLock}, а не монитор: запись в индекс может ждать сброса сегментов,
+     * а события обрабатываются в потоке запроса, и виртуальный поток не должен закреплять поток ОС.
+     */
+    private Set<Long> changedDuringPass;
+    private final ReentrantLock passLock = new ReentrantLock();
+
+    public TaskSearchIndex(NamedParameterJdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${tasks.search.directory:data/search-index}") Path path,
+                           @Value("${tasks.search.max-staleness:PT1S}") Duration maxStaleness,
+                           @Value("${tasks.search.reindex-batch-size:500}") int batchSize,
+                           @Value("${tasks.search.reindex-rate:2000}") int reindexRate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.reindexRate = reindexRate;
+        try {
+            this.directory = FSDirectory.open(path);
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open search index in " + path.toAbsolutePath(), e);
+        }
+        double staleSeconds = maxStaleness.toNanos() / 1e9;
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                staleSeconds, Math.min(0.025, staleSeconds));
+        this.reopenThread.setName("task-search-reopen");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+
+        this.queryTimer = meterRegistry.timer("tasks.search.query");
+        this.reindexed = meterRegistry.counter("tasks.search.reindexed");
+        Gauge.builder("tasks.search.documents", writer, w -> w.getDocStats().numDocs).register(meterRegistry);
+    }
+
+    /**
+     * Ищет задачи по тексту с фильтрами.
+     * <p>
+     * Текст разбирается упрощенным синтаксисом ({@code +}, {@code |}, {@code -}, фразы в кавычках,
+     * {@code *} на конце слова) без ошибок разбора; по умолчанию требуются все слова.
+     * Совпадения в названии весят больше, чем в описании и комментариях.
+     * </p>
+     *
+     * @param text       поисковый запрос
+     * @param status     фильтр по статусу
+     * @param priority   фильтр по приоритету
+     * @param assigneeId фильтр по ID исполнителя
+     * @param offset     количество пропускаемых результатов
+     * @param limit      максимальное количество ID; {@code offset + limit} не больше {@link Integer#MAX_VALUE}
+     * @return ID задач по убыванию релевантности и количество совпадений
+     */
+    public SearchResult search(String text, TaskStatus status, TaskPriority priority, Long assigneeId,
+                               int offset, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, SEARCH_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(text);
+        if (textQuery == null) {
+            return new SearchResult(List.of(), 0, true);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (status != null) {
+            query.add(new TermQuery(new Term(FIELD_STATUS, status.name())), BooleanClause.Occur.FILTER);
+        }
+        if (priority != null) {
+            query.add(new TermQuery(new Term(FIELD_PRIORITY, priority.name())), BooleanClause.Occur.FILTER);
+        }
+        if (assigneeId != null) {
+            query.add(new TermQuery(new Term(FIELD_ASSIGNEE, assigneeId.toString())), BooleanClause.Occur.FILTER);
+        }
+        return queryTimer.record(() -> execute(query.build(), offset, limit));
+    }
+
+    /**
+     * Обновляет документ задачи после фиксации транзакции.
+     *
+     * @param event событие изменения задачи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        List<String> comments = event.isDeleted() ? List.of()
+                : loadComments(List.of(event.taskId())).getOrDefault(event.taskId(), List.of());
+        passLock.lock();
+        try {
+            if (changedDuringPass != null) {
+                changedDuringPass.add(event.taskId());
+            }
+            // Номер прохода читается под блокировкой: документ с номером прохода, начавшегося
+            // после чтения комментариев, удалил бы итоговый deleteDocuments этого прохода
+            if (event.isDeleted()) {
+                writer.deleteDocuments(idTerm(event.taskId()));
+            } else {
+                writer.updateDocument(idTerm(event.taskId()), document(event.after(), comments, pass));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to update search index for task {}", event.taskId(), e);
+        } finally {
+            passLock.unlock();
+        }
+    }
+
+    /**
+     * Переиндексирует все активные задачи с ограничением скорости.
+     *
+     * @return количество переиндексированных задач
+     */
+    @Scheduled(fixedDelayString = "${tasks.search.reindex-interval:P1D}",
+            initialDelayString = "${tasks.search.reindex-initial-delay:PT1M}")
+    public long reindex() {
+        long currentPass = System.currentTimeMillis();
+        passLock.lock();
+        try {
+            changedDuringPass = new HashSet<>();
+            pass = currentPass;
+        } finally {
+            passLock.unlock();
+        }
+        long started = System.nanoTime();
+        long total = 0;
+        long lastId = 0;
+        List<TaskState> batch;
+        try {
+            do {
+                batch = jdbcTemplate.query(SELECT_TASKS_SQL,
+                        new MapSqlParameterSource().addValue("after", lastId).addValue("limit", batchSize),
+                        (rs, rowNum) -> new TaskState(
+                                rs.getLong("id"),
+                                rs.getString("title"),
+                                rs.getString("description"),
+                                rs.getString("status") != null ? TaskStatus.valueOf(rs.getString("status")) : null,
+                                rs.getString("priority") != null ? TaskPriority.valueOf(rs.getString("priority")) : null,
+                                rs.getObject("author_id", Long.class),
+                                rs.getObject("assignee_id", Long.class)));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<String>> comments = loadComments(batch.stream().map(TaskState::id).toList());
+                for (TaskState task : batch) {
+                    Document document = document(task, comments.getOrDefault(task.id(), List.of()), currentPass);
+                    passLock.lock();
+                    try {
+                        // Событие уже записало более новое состояние задачи или удалило ее
+                        if (!changedDuringPass.contains(task.id())) {
+                            writer.updateDocument(idTerm(task.id()), document);
+                        }
+                    } finally {
+                        passLock.unlock();
+                    }
+                }
+                total += batch.size();
+                reindexed.increment(batch.size());
+                lastId = batch.get(batch.size() - 1).id();
+                throttle(started, total);
+            } while (batch.size() == batchSize);
+
+            writer.deleteDocuments(LongPoint.newRangeQuery(FIELD_PASS, Long.MIN_VALUE, currentPass - 1));
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            logger.error("Search reindex failed after {} tasks", total, e);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Search reindex interrupted after {} tasks", total);
+            return total;
+        } finally {
+            passLock.lock();
+            try {
+                changedDuringPass = null;
+            } finally {
+                passLock.unlock();
+            }
+        }
+        logger.info("Reindexed {} tasks for search in {} ms", total,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return total;
+    }
+
+    /**
+     * Сбрасывает накопленные изменения индекса на диск.
+     */
+    @Scheduled(fixedDelayString = "${tasks.search.commit-interval:PT30S}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to commit search index", e);
+        }
+    }
+
+    /**
+     * Делает все примененные изменения видимыми поиску, не дожидаясь фонового обновления.
+     */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private SearchResult execute(Query query, int offset, int limit) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, Math.addExact(offset, limit));
+                List<Long> ids = new ArrayList<>(limit);
+                ScoreDoc[] hits = top.scoreDocs;
+                for (int i = offset; i < hits.length; i++) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(hits[i].doc, Set.of(FIELD_ID)).get(FIELD_ID)));
+                }
+                return new SearchResult(ids, top.totalHits.value,
+                        top.totalHits.relation == TotalHits.Relation.EQUAL_TO);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<Long, List<String>> loadComments(List<Long> taskIds) {
+        Map<Long, List<String>> comments = new HashMap<>();
+        jdbcTemplate.query(SELECT_COMMENTS_SQL, new MapSqlParameterSource("ids", taskIds), (RowCallbackHandler) rs ->
+                comments.computeIfAbsent(rs.getLong("task_id"), id -> new ArrayList<>()).add(rs.getString("text")));
+        return comments;
+    }
+
+    /**
+     * Ограничивает скорость переиндексации: если задачи обработаны быстрее, чем позволяет
+     * {@code reindexRate}, поток ждет разницу.
+     */
+    private void throttle(long started, long processed) throws InterruptedException {
+        long allowedAt = started + processed * TimeUnit.SECONDS.toNanos(1) / reindexRate;
+        long wait = allowedAt - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private static Term idTerm(Long taskId) {
+        return new Term(FIELD_ID, taskId.toString());
+    }
+
+    private static Document document(TaskState task, List<String> comments, long pass) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, task.id().toString(), Field.Store.YES));
+        document.add(new LongPoint(FIELD_PASS, pass));
+        if (task.title() != null) {
+            document.add(new TextField(FIELD_TITLE, task.title(), Field.Store.NO));
+        }
+        if (task.description() != null) {
+            document.add(new TextField(FIELD_DESCRIPTION, task.description(), Field.Store.NO));
+        }
+        for (String comment : comments) {
+            document.add(new TextField(FIELD_COMMENTS, comment, Field.Store.NO));
+        }
+        if (task.status() != null) {
+            document.add(new StringField(FIELD_STATUS, task.status().name(), Field.Store.NO));
+        }
+        if (task.priority() != null) {
+            document.add(new StringField(FIELD_PRIORITY, task.priority().name(), Field.Store.NO));
+        }
+        if (task.assigneeId() != null) {
+            document.add(new StringField(FIELD_ASSIGNEE, task.assigneeId().toString(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Результат поиска.
+     * <p>
+     * Совпадения считаются точно до порога (не меньше 1000), дальше Lucene пропускает блоки
+     * документов, которые не могут попасть в первые результаты, и {@code total} становится
+     * нижней границей. Поэтому время поиска не растет линейно с числом совпадений.
+     * </p>
+     *
+     * @param ids   ID задач запрошенной страницы по убыванию релевантности
+     * @param total общее количество совпадений или его нижняя граница
+     * @param exact точно ли общее количество
+     */
+    public record SearchResult(List<Long> ids, long total, boolean exact) {
+    }
+}
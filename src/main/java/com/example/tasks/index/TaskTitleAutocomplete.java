@@ -0,0 +1,440 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Автодополнение названий задач по префиксу в пределах автора или исполнителя.
+ * <p>
+ * Для каждого автора и каждого исполнителя хранится сжатое префиксное дерево {@link RadixTrie}
+ * с названиями его задач. Название индексируется с начала каждого слова (в нижнем регистре),
+ * поэтому «лог» находит и «Логин не работает», и «Ошибка логина». Из задач с подходящим
+ * префиксом возвращаются лучшие K: сначала по приоритету, затем по времени последнего изменения.
+ * </p>
+ * <p>
+ * Стоимость запроса ограничена. Узкий префикс собирает из дерева не более {@link #MAX_CANDIDATES}
+ * задач и выбирает из них лучшие. Если подходящих задач больше (короткий или пустой префикс),
+ * задачи пользователя просматриваются в порядке ранжирования, который хранится рядом с деревом,
+ * до первых K подходящих: чем больше подходящих, тем раньше они встречаются. Этот просмотр
+ * ограничен {@link #MAX_SCANNED} задачами, поэтому в редком случае широкого префикса при редких
+ * совпадениях подсказки выбираются только среди лучших {@link #MAX_SCANNED} задач пользователя.
+ * </p>
+ * <p>
+ * Время изменения берется только из базы: при построении — из {@code updated_at}, по событию —
+ * из {@link TaskState#updatedAt()}, которое сервис читает после сброса изменений. Поэтому
+ * перестроение и повтор накопленных событий не меняют порядок подсказок. Событие без времени
+ * изменения сохраняет прежнее.
+ * </p>
+ * <p>
+ * Деревья строит {@link TaskIndexLoader} общим чтением таблицы {@code tasks}, далее они обновляются
+ * по {@link TaskChangedEvent} после фиксации транзакций ({@link EventMaintainedIndex}). Пока первое
+ * построение не завершено, подсказки не возвращаются. Метрики: {@code tasks.autocomplete.tasks},
+ * {@code tasks.autocomplete.memory} (байты деревьев) и {@code tasks.autocomplete.query}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Component
+public class TaskTitleAutocomplete extends EventMaintainedIndex<TaskTitleAutocomplete.Titles> {
+    /**
+     * Максимальная длина ключа: более длинный префикс пользователь не набирает,
+     * а хвосты длинных названий только увеличивали бы дерево.
+     */
+    static final int MAX_KEY_LENGTH = 64;
+
+    /**
+     * Сколько задач префикс может собрать из дерева; при большем числе совпадений
+     * лучшие задачи ищутся просмотром в порядке ранжирования.
+     */
+    static final int MAX_CANDIDATES = 256;
+
+    /**
+     * Сколько задач в порядке ранжирования просматривает один запрос.
+     */
+    static final int MAX_SCANNED = 10_000;
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator
+            .comparingInt(Entry::priorityRank)
+            .thenComparing(Comparator.comparingLong(Entry::recency).reversed())
+            .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+
+    private static final long RANKED_NODE_BYTES = 40;
+
+    private final Timer queryTimer;
+
+    public TaskTitleAutocomplete(MeterRegistry meterRegistry) {
+        super(new Titles());
+        this.queryTimer = meterRegistry.timer("tasks.autocomplete.query");
+        Gauge.builder("tasks.autocomplete.tasks", this, TaskTitleAutocomplete::size).register(meterRegistry);
+        Gauge.builder("tasks.autocomplete.memory", this, TaskTitleAutocomplete::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Возвращает лучшие задачи, слово в названии которых начинается с префикса.
+     * Если заданы и автор, и исполнитель, задача должна соответствовать обоим.
+     *
+     * @param prefix     набранный текст (регистр не важен)
+     * @param authorId   ID автора
+     * @param assigneeId ID исполнителя
+     * @param limit      максимальное количество подсказок
+     * @return подсказки от лучшей к худшей: по приоритету, затем по времени изменения
+     */
+    public List<Suggestion> suggest(String prefix, Long authorId, Long assigneeId, int limit) {
+        String key = normalize(prefix);
+        return queryTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                RadixTrie trie = authorId != null
+                        ? current.byAuthor.get(authorId)
+                        : current.byAssignee.get(assigneeId);
+                if (trie == null) {
+                    return List.of();
+                }
+
+                List<Entry> best = key.isEmpty() ? null : fromTrie(trie, key, assigneeId, limit);
+                if (best == null) {
+                    best = fromRanked(key, authorId, assigneeId, limit);
+                }
+                return best.stream()
+                        .map(entry -> new Suggestion(entry.id(), entry.title(), entry.priority()))
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Лучшие задачи среди собранных деревом.
+     *
+     * @return задачи от лучшей к худшей или null, если подходящих задач больше {@link #MAX_CANDIDATES}
+     */
+    private List<Entry> fromTrie(RadixTrie trie, String key, Long assigneeId, int limit) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        Set<Long> seen = new HashSet<>();
+        boolean complete = trie.forEachWithPrefix(key, id -> {
+            if (!seen.add(id)) {
+                return true;
+            }
+            if (seen.size() > MAX_CANDIDATES) {
+                return false;
+            }
+            Entry entry = current.tasks.get(id);
+            if (assigneeId != null && entry.assigneeId() != assigneeId) {
+                return true;
+            }
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+            return true;
+        });
+        if (!complete) {
+            return null;
+        }
+        List<Entry> sorted = new ArrayList<>(best);
+        sorted.sort(BEST_FIRST);
+        return sorted;
+    }
+
+    /**
+     * Первые подходящие задачи в порядке ранжирования. Если заданы автор и исполнитель,
+     * просматриваются задачи того из них, у кого задач меньше.
+     */
+    private List<Entry> fromRanked(String key, Long authorId, Long assigneeId, int limit) {
+        NavigableSet<Entry> byAuthor = authorId != null ? current.rankedByAuthor.get(authorId) : null;
+        NavigableSet<Entry> byAssignee = assigneeId != null ? current.rankedByAssignee.get(assigneeId) : null;
+        if ((authorId != null && byAuthor == null) || (assigneeId != null && byAssignee == null)) {
+            return List.of();
+        }
+        NavigableSet<Entry> ranked = byAuthor == null
+                || (byAssignee != null && byAssignee.size() < byAuthor.size()) ? byAssignee : byAuthor;
+
+        List<Entry> best = new ArrayList<>(limit);
+        int scanned = 0;
+        for (Entry entry : ranked) {
+            if (best.size() == limit || scanned++ == MAX_SCANNED) {
+                break;
+            }
+            boolean inScope = (authorId == null || entry.authorId() == authorId)
+                    && (assigneeId == null || entry.assigneeId() == assigneeId);
+            if (inScope && matches(entry.title(), key)) {
+                best.add(entry);
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Общее количество узлов во всех деревьях — мера занятой памяти.
+     *
+     * @return количество узлов
+     */
+    public long nodes() {
+        lock.readLock().lock();
+        try {
+            long nodes = 0;
+            for (RadixTrie trie : current.byAuthor.values()) {
+                nodes += trie.nodes();
+            }
+            for (RadixTrie trie : current.byAssignee.values()) {
+                nodes += trie.nodes();
+            }
+            return nodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Приблизительный объем памяти, занятый деревьями.
+     *
+     * @return объем в байтах
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (RadixTrie trie : current.byAuthor.values()) {
+                bytes += trie.memoryBytes();
+            }
+            for (RadixTrie trie : current.byAssignee.values()) {
+                bytes += trie.memoryBytes();
+            }
+            // Узел дерева порядка ранжирования: задача есть в наборах автора и исполнителя
+            return bytes + 2L * RANKED_NODE_BYTES * current.tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected Titles newStructure() {
+        return new Titles();
+    }
+
+    @Override
+    protected void add(Titles built, TaskState task, long updatedAt) {
+        built.put(new Entry(task.id(), task.title(), task.priority(), updatedAt,
+                task.authorId() != null ? task.authorId() : 0L,
+                task.assigneeId() != null ? task.assigneeId() : 0L));
+    }
+
+    @Override
+    protected void apply(Titles structure, TaskChangedEvent event) {
+        TaskState after = event.after();
+        if (after == null) {
+            structure.remove(event.taskId());
+        } else if (after.updatedAt() != null) {
+            // Та же мера, что у TaskIndexLoader: rs.getTimestamp("updated_at").getTime()
+            add(structure, after, Timestamp.valueOf(after.updatedAt()).getTime());
+        } else {
+            Entry previous = structure.tasks.get(after.id());
+            add(structure, after, previous != null ? previous.recency() : 0L);
+        }
+    }
+
+    /**
+     * Приводит текст к виду ключа: нижний регистр, пробелы по краям убраны,
+     * подряд идущие пробельные символы заменены одним пробелом.
+     */
+    static String normalize(String text) {
+        String normalized = collapse(text);
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    /**
+     * Ключи названия: текст, начиная с каждого слова.
+     */
+    static Set<String> keys(String title) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = collapse(title);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isWordStart(normalized, i)) {
+                keys.add(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Проверяет, что один из ключей названия начинается с ключа запроса — то же, что поиск по дереву.
+     */
+    static boolean matches(String title, String key) {
+        String normalized = collapse(title);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isWordStart(normalized, i) && normalized.startsWith(key, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    private static String collapse(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder collapsed = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = collapsed.length() > 0;
+            } else {
+                if (space) {
+                    collapsed.append(' ');
+                    space = false;
+                }
+                collapsed.append(c);
+            }
+        }
+        return collapsed.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Подсказка автодополнения.
+     *
+     * @param id       ID задачи
+     * @param title    название задачи
+     * @param priority приоритет задачи
+     */
+    public record Suggestion(Long id, String title, TaskPriority priority) {
+    }
+
+    /**
+     * Данные задачи для ранжирования и фильтрации подсказок.
+     */
+    private record Entry(long id, String title, TaskPriority priority, long recency, long authorId, long assigneeId) {
+
+        int priorityRank() {
+            return priority != null ? priority.ordinal() : Integer.MAX_VALUE;
+        }
+
+        boolean sameKeys(Entry other) {
+            return Objects.equals(title, other.title)
+                    && authorId == other.authorId
+                    && assigneeId == other.assigneeId;
+        }
+    }
+
+    /**
+     * Деревья авторов и исполнителей, их задачи в порядке ранжирования и данные задач одного поколения.
+     */
+    static final class Titles {
+        private final Map<Long, Entry> tasks = new HashMap<>();
+        private final Map<Long, RadixTrie> byAuthor = new HashMap<>();
+        private final Map<Long, RadixTrie> byAssignee = new HashMap<>();
+        private final Map<Long, NavigableSet<Entry>> rankedByAuthor = new HashMap<>();
+        private final Map<Long, NavigableSet<Entry>> rankedByAssignee = new HashMap<>();
+
+        private void put(Entry entry) {
+            Entry previous = tasks.get(entry.id());
+            if (previous != null && previous.sameKeys(entry)) {
+                // Ключи не изменились: обновляются только приоритет и время изменения
+                unrank(previous);
+                tasks.put(entry.id(), entry);
+                rank(entry);
+                return;
+            }
+            remove(entry.id());
+            tasks.put(entry.id(), entry);
+            rank(entry);
+            Set<String> keys = keys(entry.title());
+            addKeys(byAuthor, entry.authorId(), keys, entry.id());
+            addKeys(byAssignee, entry.assigneeId(), keys, entry.id());
+        }
+
+        private void remove(long id) {
+            Entry previous = tasks.remove(id);
+            if (previous == null) {
+                return;
+            }
+            unrank(previous);
+            Set<String> keys = keys(previous.title());
+            removeKeys(byAuthor, previous.authorId(), keys, id);
+            removeKeys(byAssignee, previous.assigneeId(), keys, id);
+        }
+
+        private void rank(Entry entry) {
+            if (entry.authorId() != 0) {
+                rankedByAuthor.computeIfAbsent(entry.authorId(), key -> new TreeSet<>(BEST_FIRST)).add(entry);
+            }
+            if (entry.assigneeId() != 0) {
+                rankedByAssignee.computeIfAbsent(entry.assigneeId(), key -> new TreeSet<>(BEST_FIRST)).add(entry);
+            }
+        }
+
+        private void unrank(Entry entry) {
+            unrank(rankedByAuthor, entry.authorId(), entry);
+            unrank(rankedByAssignee, entry.assigneeId(), entry);
+        }
+
+        private static void unrank(Map<Long, NavigableSet<Entry>> ranked, long userId, Entry entry) {
+            NavigableSet<Entry> entries = ranked.get(userId);
+            if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+                ranked.remove(userId);
+            }
+        }
+
+        private static void addKeys(Map<Long, RadixTrie> tries, long userId, Set<String> keys, long id) {
+            if (userId == 0) {
+                return;
+            }
+            RadixTrie trie = tries.computeIfAbsent(userId, key -> new RadixTrie());
+            for (String key : keys) {
+                trie.add(key, id);
+            }
+        }
+
+        private static void removeKeys(Map<Long, RadixTrie> tries, long userId, Set<String> keys, long id) {
+            RadixTrie trie = tries.get(userId);
+            if (trie == null) {
+                return;
+            }
+            for (String key : keys) {
+                trie.remove(key, id);
+            }
+            if (trie.isEmpty()) {
+                tries.remove(userId);
+            }
+        }
+    }
+}
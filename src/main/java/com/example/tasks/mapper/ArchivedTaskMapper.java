@@ -0,0 +1,41 @@
+package com.example.tasks.mapper;
+
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.ArchivedComment;
+import com.example.tasks.entity.ArchivedTask;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Маппер архивных задач {@link ArchivedTask} в {@link TaskDTO}.
+ * <p>
+ * Архивная задача отдается клиентам в том же формате, что и активная,
+ * поэтому переход задачи в архив для API незаметен.
+ * </p>
+ */
+@Mapper(componentModel = "spring")
+public interface ArchivedTaskMapper {
+
+    /**
+     * Преобразует архивную задачу в DTO.
+     *
+     * @param task архивная задача (не null)
+     * @return DTO задачи с комментариями
+     */
+    @Mapping(source = "author.id", target = "authorId")
+    @Mapping(source = "assignee.id", target = "assigneeId")
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "assignee", ignore = true)
+    TaskDTO toTaskDTO(ArchivedTask task);
+
+    /**
+     * Преобразует архивный комментарий в DTO.
+     *
+     * @param comment архивный комментарий (не null)
+     * @return DTO комментария
+     */
+    @Mapping(source = "task.id", target = "taskId")
+    @Mapping(source = "author.id", target = "authorId")
+    CommentDTO toCommentDTO(ArchivedComment comment);
+}
@@ -40,6 +40,7 @@ public interface CommentMapper {
      * Особенности преобразования:
      * <ul>
      *   <li>Поля task и author игнорируются (требуют отдельной обработки)</li>
+     *   <li>Время создания выставляет Hibernate, признак удаления — только удаление задачи</li>
      *   <li>Остальные поля маппятся автоматически по совпадению имен</li>
      * </ul>
      *
@@ -48,5 +49,8 @@ public interface CommentMapper {
      */
     @Mapping(target = "task", ignore = true)
     @Mapping(target = "author", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     Comment toComment(CommentDTO commentDTO);
 }
\ No newline at end of file
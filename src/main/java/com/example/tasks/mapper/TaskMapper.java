@@ -32,6 +32,8 @@ public abstract class TaskMapper {
      */
     @Mapping(source = "author", target = "authorId", qualifiedByName = "mapAuthorId")
     @Mapping(source = "assignee", target = "assigneeId", qualifiedByName = "mapAssigneeId")
+    @Mapping(target = "author", ignore = true)
+    @Mapping(target = "assignee", ignore = true)
     public abstract TaskDTO toTaskDTO(Task task);
 
     /**
@@ -40,6 +42,7 @@ public abstract class TaskMapper {
      * Особенности преобразования:
      * <ul>
      *   <li>Поля author и assignee игнорируются (требуют отдельной привязки)</li>
+     *   <li>Время создания и изменения выставляет Hibernate, признак удаления — только удаление задачи</li>
      *   <li>Комментарии преобразуются с использованием {@link CommentMapper}</li>
      * </ul>
      *
@@ -48,6 +51,10 @@ public abstract class TaskMapper {
      */
     @Mapping(target = "author", ignore = true)
     @Mapping(target = "assignee", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deleted", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
     public abstract Task toTask(TaskDTO taskDTO);
 
     /**
@@ -0,0 +1,25 @@
+package com.example.tasks.mapper;
+
+import com.example.tasks.dto.UserDTO;
+import com.example.tasks.entity.User;
+import org.mapstruct.Mapper;
+
+/**
+ * Маппер для преобразования сущности {@link User} в публичный {@link UserDTO}.
+ * <p>
+ * Пароль и роли пользователя в DTO не попадают.
+ * </p>
+ *
+ * @see Mapper
+ */
+@Mapper(componentModel = "spring")
+public interface UserMapper {
+
+    /**
+     * Преобразует сущность {@link User} в {@link UserDTO}.
+     *
+     * @param user пользователь (может быть {@code null})
+     * @return DTO пользователя или {@code null}
+     */
+    UserDTO toUserDTO(User user);
+}
@@ -2,7 +2,23 @@ package com.example.tasks.repository;
 
 
 import com.example.tasks.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    /**
+     * Последние комментарии к задачам, в которых пользователь — автор или исполнитель.
+     *
+     * @param userId ID пользователя
+     * @param pageable количество комментариев
+     * @return комментарии от новых к старым
+     */
+    @Query("select c from Comment c join c.task t " +
+            "where t.author.id = :userId or t.assignee.id = :userId order by c.createdAt desc, c.id desc")
+    List<Comment> findRecentByTaskParticipant(@Param("userId") Long userId, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.example.tasks.repository;
+
+/**
+ * Ссылка на завершенную задачу в активной таблице или в архиве.
+ *
+ * @param id       ID задачи
+ * @param archived true если задача в архиве ({@code tasks_archive})
+ */
+public record CompletedTaskRef(Long id, boolean archived) {
+}
@@ -0,0 +1,55 @@
+package com.example.tasks.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.OptionalLong;
+
+/**
+ * Приблизительная оценка количества задач по статистике PostgreSQL.
+ * <p>
+ * Точный {@code COUNT(*)} по большой таблице требует полного просмотра и стоит дороже
+ * выборки самой страницы. Оценка {@code pg_class.reltuples} поддерживается VACUUM/ANALYZE
+ * и читается за константное время. Оценка используется только для больших таблиц —
+ * ниже порога {@code tasks.count.approximate-threshold} точный подсчет дешев и предпочтителен.
+ * </p>
+ */
+@Repository
+public class TaskCountEstimator {
+    private static final Logger logger = LoggerFactory.getLogger(TaskCountEstimator.class);
+
+    private static final String ESTIMATE_SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = 'tasks'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long threshold;
+
+    public TaskCountEstimator(JdbcTemplate jdbcTemplate,
+                              @Value("${tasks.count.approximate-threshold:100000}") long threshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Возвращает оценку количества задач, если она не ниже порога.
+     *
+     * @return оценка количества строк или пустое значение, если таблица мала,
+     *         статистика еще не собрана или база не поддерживает оценку
+     */
+    public OptionalLong estimateIfAboveThreshold() {
+        try {
+            Long estimate = jdbcTemplate.queryForObject(ESTIMATE_SQL, Long.class);
+            if (estimate == null || estimate < threshold) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(estimate);
+        } catch (DataAccessException ex) {
+            logger.debug("Row estimate is not available: {}", ex.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+
+/**
+ * Набор фильтров выборки задач. Пустое значение ({@code null}) означает отсутствие фильтра.
+ *
+ * @param status     фильтр по статусу
+ * @param priority   фильтр по приоритету
+ * @param authorId   фильтр по ID автора
+ * @param assigneeId фильтр по ID исполнителя
+ */
+public record TaskFilter(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId) {
+
+    static final int STATUS = 1;
+    static final int PRIORITY = 1 << 1;
+    static final int AUTHOR = 1 << 2;
+    static final int ASSIGNEE = 1 << 3;
+
+    /**
+     * Общее количество комбинаций фильтров.
+     */
+    static final int COMBINATIONS = 1 << 4;
+
+    /**
+     * Возвращает битовую маску заданных фильтров — номер комбинации от 0 до 15.
+     *
+     * @return маска заданных фильтров
+     */
+    public int mask() {
+        return (status != null ? STATUS : 0)
+                | (priority != null ? PRIORITY : 0)
+                | (authorId != null ? AUTHOR : 0)
+                | (assigneeId != null ? ASSIGNEE : 0);
+    }
+
+    /**
+     * Проверяет, что не задан ни один фильтр.
+     *
+     * @return true если фильтры отсутствуют
+     */
+    public boolean isEmpty() {
+        return mask() == 0;
+    }
+}
@@ -9,10 +9,9 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.List;
 
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     List<Task> findByAuthorId(Long authorId);
     List<Task> findByAssigneeId(Long assigneeId);
 
     Page<Task> findAll(Specification<Task> spec, Pageable pageable);
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.entity.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Дополнительные методы {@link TaskRepository}, реализованные вручную.
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Выбирает страницу задач по фильтрам с помощью заранее скомпилированных запросов.
+     *
+     * @param filter   фильтры выборки
+     * @param pageable запрошенная страница
+     * @return страница задач
+     */
+    Page<Task> findByFilter(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Выбирает страницу задач по фильтрам в заданном порядке.
+     *
+     * @param filter   фильтры выборки
+     * @param sort     порядок задач
+     * @param pageable запрошенная страница
+     * @return страница задач
+     */
+    Page<Task> findByFilter(TaskFilter filter, TaskSort sort, Pageable pageable);
+
+    /**
+     * Выбирает срез задач по фильтрам без подсчета общего количества.
+     * <p>
+     * Запрашивает на одну строку больше размера страницы: наличие лишней строки
+     * означает, что есть следующая страница.
+     * </p>
+     *
+     * @param filter   фильтры выборки (могут быть пустыми)
+     * @param pageable запрошенная страница
+     * @return срез задач с признаком наличия следующей страницы
+     */
+    Slice<Task> findSliceByFilter(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Выбирает срез задач по фильтрам в заданном порядке без подсчета общего количества.
+     *
+     * @param filter   фильтры выборки (могут быть пустыми)
+     * @param sort     порядок задач
+     * @param pageable запрошенная страница
+     * @return срез задач с признаком наличия следующей страницы
+     */
+    Slice<Task> findSliceByFilter(TaskFilter filter, TaskSort sort, Pageable pageable);
+
+    /**
+     * Выбирает страницу завершенных задач из активной таблицы и архива.
+     * <p>
+     * Одним запросом UNION ALL в общем порядке {@code sort}: задачи обеих таблиц чередуются по ключу
+     * сортировки, при равенстве ключей активная задача идет раньше архивной. Общее количество
+     * считается отдельным запросом, только если оно не следует из размера страницы.
+     * </p>
+     *
+     * @param filter   фильтры выборки со статусом {@code COMPLETED}
+     * @param sort     порядок задач
+     * @param pageable запрошенная страница
+     * @return ссылки на задачи страницы
+     */
+    Page<CompletedTaskRef> findCompletedByFilter(TaskFilter filter, TaskSort sort, Pageable pageable);
+
+    /**
+     * Выбирает срез завершенных задач из активной таблицы и архива без подсчета общего количества.
+     * <p>
+     * Порядок тот же, что и у {@link #findCompletedByFilter}. Запрашивает на одну строку больше
+     * размера страницы, чтобы определить наличие следующей страницы.
+     * </p>
+     *
+     * @param filter   фильтры выборки со статусом {@code COMPLETED}
+     * @param sort     порядок задач
+     * @param pageable запрошенная страница
+     * @return ссылки на задачи среза с признаком наличия следующей страницы
+     */
+    Slice<CompletedTaskRef> findCompletedSliceByFilter(TaskFilter filter, TaskSort sort, Pageable pageable);
+
+    /**
+     * Выбирает первые задачи по фильтрам в заданном порядке.
+     * <p>
+     * Без смещения и подсчета: при сортировке по приоритету запрос читает составной индекс
+     * по рангу приоритета и ID и останавливается после {@code limit} строк.
+     * </p>
+     *
+     * @param filter фильтры выборки (могут быть пустыми)
+     * @param sort   порядок задач
+     * @param limit  максимальное количество задач
+     * @return задачи в порядке {@code sort}
+     */
+    List<Task> findTopByFilter(TaskFilter filter, TaskSort sort, int limit);
+
+    /**
+     * Загружает задачи по списку ID с сохранением порядка списка.
+     * <p>
+     * Задачи берутся из контекста постоянства и кэша второго уровня, недостающие
+     * загружаются из базы пакетными запросами. Отсутствующие задачи пропускаются.
+     * </p>
+     *
+     * @param ids ID задач
+     * @return найденные задачи в порядке {@code ids}
+     */
+    List<Task> findAllByIdInOrder(List<Long> ids);
+
+    /**
+     * Удаляет из кэша второго уровня записи логически удаленной задачи: саму задачу,
+     * список ее комментариев и комментарии. Остальные записи регионов сохраняются.
+     * <p>
+     * Фильтр удаленных записей не применяется к попаданиям в кэш, а при фиксации Hibernate
+     * кладет в кэш задачу уже с флагом {@code deleted}. Поэтому внутри транзакции записи
+     * удаляются после ее завершения, вне транзакции — сразу.
+     * </p>
+     *
+     * @param taskId     ID задачи
+     * @param commentIds ID ее комментариев
+     */
+    void evictDeleted(Long taskId, List<Long> commentIds);
+}
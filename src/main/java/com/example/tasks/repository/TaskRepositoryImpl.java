@@ -0,0 +1,237 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.entity.Comment;
+import com.example.tasks.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Реестр заранее скомпилированных запросов выборки задач по фильтрам.
+ * <p>
+ * Фильтров четыре, значит комбинаций всего 16. Для каждой комбинации при старте один раз
+ * строятся запросы выборки для каждого порядка {@link TaskSort}, запрос подсчета и запросы
+ * завершенных задач из активной таблицы и архива для каждого порядка, которые
+ * регистрируются в фабрике как именованные запросы. Hibernate разбирает и транслирует их один раз, а на каждом вызове
+ * остается только подставить параметры. Одинаковый текст SQL для одной комбинации позволяет
+ * драйверу PostgreSQL переиспользовать серверные подготовленные выражения и их планы.
+ * В отличие от пути через {@code Specification}, здесь нет построения Criteria-дерева,
+ * рендеринга SQL и генерации count-запроса на каждый запрос.
+ * </p>
+ */
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final String SELECT_QUERY_PREFIX = "Task.filter.select.";
+    private static final String COUNT_QUERY_PREFIX = "Task.filter.count.";
+    private static final String COMPLETED_QUERY_PREFIX = "Task.filter.completed.";
+    private static final String COMPLETED_COUNT_QUERY_PREFIX = "Task.filter.completed.count.";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        registerNamedQueries(entityManagerFactory);
+    }
+
+    @Override
+    public Page<Task> findByFilter(TaskFilter filter, Pageable pageable) {
+        return findByFilter(filter, TaskSort.ID, pageable);
+    }
+
+    @Override
+    public Page<Task> findByFilter(TaskFilter filter, TaskSort sort, Pageable pageable) {
+        int mask = filter.mask();
+
+        TypedQuery<Task> select = bind(entityManager.createNamedQuery(selectQueryName(mask, sort), Task.class), filter);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+        List<Task> content = select.getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                bind(entityManager.createNamedQuery(COUNT_QUERY_PREFIX + mask, Long.class), filter).getSingleResult());
+    }
+
+    @Override
+    public Slice<Task> findSliceByFilter(TaskFilter filter, Pageable pageable) {
+        return findSliceByFilter(filter, TaskSort.ID, pageable);
+    }
+
+    @Override
+    public Slice<Task> findSliceByFilter(TaskFilter filter, TaskSort sort, Pageable pageable) {
+        TypedQuery<Task> select = bind(entityManager.createNamedQuery(selectQueryName(filter.mask(), sort), Task.class), filter);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize() + 1);
+        List<Task> content = select.getResultList();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Page<CompletedTaskRef> findCompletedByFilter(TaskFilter filter, TaskSort sort, Pageable pageable) {
+        List<CompletedTaskRef> content = findCompletedRefs(filter, sort, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(content, pageable, () -> bind(
+                entityManager.createNamedQuery(COMPLETED_COUNT_QUERY_PREFIX + filter.mask(), Long.class), filter)
+                .getSingleResult());
+    }
+
+    @Override
+    public Slice<CompletedTaskRef> findCompletedSliceByFilter(TaskFilter filter, TaskSort sort, Pageable pageable) {
+        List<CompletedTaskRef> content = findCompletedRefs(filter, sort, pageable.getOffset(), pageable.getPageSize() + 1);
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public List<Task> findTopByFilter(TaskFilter filter, TaskSort sort, int limit) {
+        TypedQuery<Task> select = bind(entityManager.createNamedQuery(selectQueryName(filter.mask(), sort), Task.class), filter);
+        select.setMaxResults(limit);
+        return select.getResultList();
+    }
+
+    @Override
+    public List<Task> findAllByIdInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Task.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void evictDeleted(Long taskId, List<Long> commentIds) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        Runnable evict = () -> {
+            cache.evictEntityData(Task.class, taskId);
+            cache.evictCollectionData(Task.class.getName() + ".comments", taskId);
+            commentIds.forEach(commentId -> cache.evictEntityData(Comment.class, commentId));
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict.run();
+            }
+        });
+    }
+
+    private List<CompletedTaskRef> findCompletedRefs(TaskFilter filter, TaskSort sort, long offset, int limit) {
+        TypedQuery<Object[]> select = bind(
+                entityManager.createNamedQuery(completedQueryName(filter.mask(), sort), Object[].class), filter);
+        select.setFirstResult((int) offset);
+        select.setMaxResults(limit);
+        return select.getResultList().stream()
+                .map(row -> new CompletedTaskRef(((Number) row[0]).longValue(), ((Number) row[1]).intValue() == 1))
+                .toList();
+    }
+
+    /**
+     * Подставляет значения заданных фильтров в параметры запроса.
+     */
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, TaskFilter filter) {
+        if (filter.status() != null) {
+            query.setParameter("status", filter.status());
+        }
+        if (filter.priority() != null) {
+            query.setParameter("priority", filter.priority());
+        }
+        if (filter.authorId() != null) {
+            query.setParameter("authorId", filter.authorId());
+        }
+        if (filter.assigneeId() != null) {
+            query.setParameter("assigneeId", filter.assigneeId());
+        }
+        return query;
+    }
+
+    /**
+     * Компилирует и регистрирует запросы выборки и подсчета для всех комбинаций фильтров.
+     */
+    private static void registerNamedQueries(EntityManagerFactory entityManagerFactory) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            for (int mask = 0; mask < TaskFilter.COMBINATIONS; mask++) {
+                String where = whereClause(mask);
+                for (TaskSort sort : TaskSort.values()) {
+                    entityManagerFactory.addNamedQuery(selectQueryName(mask, sort),
+                            em.createQuery("select t from Task t" + where + sort.orderByClause(), Task.class));
+                }
+                entityManagerFactory.addNamedQuery(COUNT_QUERY_PREFIX + mask,
+                        em.createQuery("select count(t) from Task t" + where, Long.class));
+                for (TaskSort sort : TaskSort.values()) {
+                    entityManagerFactory.addNamedQuery(completedQueryName(mask, sort),
+                            em.createQuery(completedSelect(where, sort), Object[].class));
+                }
+                entityManagerFactory.addNamedQuery(COMPLETED_COUNT_QUERY_PREFIX + mask,
+                        em.createQuery("select count(u.id) from (select t.id as id from Task t" + where +
+                                " union all select t.id from ArchivedTask t" + where + ") u", Long.class));
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    private static String selectQueryName(int mask, TaskSort sort) {
+        return SELECT_QUERY_PREFIX + mask + "." + sort.name();
+    }
+
+    private static String completedQueryName(int mask, TaskSort sort) {
+        return COMPLETED_QUERY_PREFIX + mask + "." + sort.name();
+    }
+
+    /**
+     * Строит запрос ссылок на завершенные задачи из активной таблицы и архива в общем порядке {@code sort}.
+     * Объединение во вложенном запросе: иначе сортировка и смещение относились бы только к архиву.
+     * Признак архива — последний ключ, поэтому порядок однозначен, даже если ID в таблицах совпадут.
+     */
+    private static String completedSelect(String where, TaskSort sort) {
+        return "select u.id, u.archived from (select t.id as id, 0 as archived, t.priorityRank as rank" +
+                " from Task t" + where + " union all select t.id, 1, t.priorityRank from ArchivedTask t" + where +
+                ") u order by " + sort.orderBy("u.rank", "u.id") + ", u.archived";
+    }
+
+    /**
+     * Строит условие WHERE для комбинации фильтров.
+     *
+     * @param mask битовая маска фильтров из {@link TaskFilter#mask()}
+     * @return условие WHERE с ведущим пробелом или пустая строка
+     */
+    static String whereClause(int mask) {
+        List<String> conditions = new ArrayList<>();
+        if ((mask & TaskFilter.STATUS) != 0) {
+            conditions.add("t.status = :status");
+        }
+        if ((mask & TaskFilter.PRIORITY) != 0) {
+            conditions.add("t.priority = :priority");
+        }
+        if ((mask & TaskFilter.AUTHOR) != 0) {
+            conditions.add("t.author.id = :authorId");
+        }
+        if ((mask & TaskFilter.ASSIGNEE) != 0) {
+            conditions.add("t.assignee.id = :assigneeId");
+        }
+        return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+    }
+}
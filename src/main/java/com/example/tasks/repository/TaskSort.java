@@ -0,0 +1,133 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.exception.InvalidRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Порядок выборки задач по фильтрам.
+ * <p>
+ * Задается строкой из полей через запятую, минус перед полем означает убывание:
+ * {@code id}, {@code -id}, {@code priority,-id}. Приоритет сортируется по рангу
+ * ({@code HIGH} первым), ID всегда последний ключ, поэтому порядок однозначен.
+ * Поле {@code id} после приоритета можно опустить: {@code priority} означает {@code priority,id}.
+ * </p>
+ */
+public enum TaskSort {
+    ID(false, false, false),
+    ID_DESC(false, false, true),
+    PRIORITY(true, false, false),
+    PRIORITY_ID_DESC(true, false, true),
+    PRIORITY_DESC(true, true, false),
+    PRIORITY_DESC_ID_DESC(true, true, true);
+
+    private final boolean byPriority;
+    private final boolean priorityDescending;
+    private final boolean idDescending;
+
+    TaskSort(boolean byPriority, boolean priorityDescending, boolean idDescending) {
+        this.byPriority = byPriority;
+        this.priorityDescending = priorityDescending;
+        this.idDescending = idDescending;
+    }
+
+    public boolean byPriority() {
+        return byPriority;
+    }
+
+    public boolean priorityDescending() {
+        return priorityDescending;
+    }
+
+    public boolean idDescending() {
+        return idDescending;
+    }
+
+    /**
+     * Разбирает порядок из параметра запроса.
+     *
+     * @param value строка вида {@code priority,-id}; пустая строка или null — по возрастанию ID
+     * @return порядок выборки
+     * @throws InvalidRequestException если поле неизвестно или поля идут не в том порядке
+     */
+    public static TaskSort parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        String[] fields = value.split(",", -1);
+        String first = fields[0].strip();
+        boolean byPriority = first.equals("priority") || first.equals("-priority");
+        String id = byPriority ? (fields.length > 1 ? fields[1].strip() : "id") : first;
+        if (fields.length > (byPriority ? 2 : 1) || !id.equals("id") && !id.equals("-id")) {
+            throw new InvalidRequestException("Unsupported sort: " + value + ". Expected [-]priority,[-]id or [-]id");
+        }
+        boolean priorityDescending = byPriority && first.startsWith("-");
+        boolean idDescending = id.startsWith("-");
+        for (TaskSort sort : values()) {
+            if (sort.byPriority == byPriority && sort.priorityDescending == priorityDescending
+                    && sort.idDescending == idDescending) {
+                return sort;
+            }
+        }
+        throw new IllegalStateException("No sort for " + value);
+    }
+
+    /**
+     * Порядок для запросов через {@code Specification}.
+     *
+     * @return порядок по полям {@code priorityRank} и {@code id}
+     */
+    public Sort toSort() {
+        Sort id = Sort.by(idDescending ? Sort.Direction.DESC : Sort.Direction.ASC, "id");
+        if (!byPriority) {
+            return id;
+        }
+        return Sort.by(priorityDescending ? Sort.Direction.DESC : Sort.Direction.ASC, "priorityRank").and(id);
+    }
+
+    /**
+     * Порядок для слияния задач, выбранных отдельными запросами, например из активной таблицы и архива.
+     *
+     * @param priorityRank ранг приоритета задачи
+     * @param id           ID задачи
+     * @return компаратор в том же порядке, что и ORDER BY запросов
+     */
+    public <T> Comparator<T> comparator(ToIntFunction<T> priorityRank, ToLongFunction<T> id) {
+        Comparator<T> idOrder = Comparator.comparingLong(id);
+        if (idDescending) {
+            idOrder = idOrder.reversed();
+        }
+        if (!byPriority) {
+            return idOrder;
+        }
+        Comparator<T> rankOrder = Comparator.comparingInt(priorityRank);
+        return (priorityDescending ? rankOrder.reversed() : rankOrder).thenComparing(idOrder);
+    }
+
+    /**
+     * Условие ORDER BY для JPQL-запроса с псевдонимом {@code t}.
+     *
+     * @return условие с ведущим пробелом
+     */
+    String orderByClause() {
+        return " order by " + orderBy("t.priorityRank", "t.id");
+    }
+
+    /**
+     * Список выражений сортировки по заданным выражениям ранга приоритета и ID.
+     *
+     * @param priorityRank выражение ранга приоритета
+     * @param id           выражение ID
+     * @return выражения через запятую, без {@code order by}
+     */
+    String orderBy(String priorityRank, String id) {
+        String idOrder = idDescending ? id + " desc" : id;
+        if (!byPriority) {
+            return idOrder;
+        }
+        return priorityRank + (priorityDescending ? " desc, " : ", ") + idOrder;
+    }
+}
@@ -1,12 +1,35 @@
 package com.example.tasks.repository;
 
+import com.example.tasks.dto.UserDTO;
 import com.example.tasks.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /**
+     * Публичные данные пользователей по списку ID без загрузки сущностей и их ролей.
+     * <p>
+     * Список ID дополняется до степени двойки
+     * ({@code hibernate.query.in_clause_parameter_padding}), поэтому разные размеры
+     * списка дают лишь несколько вариантов SQL в кэше планов.
+     * </p>
+     *
+     * @param ids ID пользователей
+     * @return найденные пользователи в произвольном порядке
+     */
+    @Query("select new com.example.tasks.dto.UserDTO(u.id, u.email) from User u where u.id in :ids")
+    List<UserDTO> findUserDTOsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,243 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.Comment;
+import com.example.tasks.entity.Task;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.exception.TaskNotFoundException;
+import com.example.tasks.mapper.TaskMapper;
+import com.example.tasks.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сервис переноса завершенных задач в архив и восстановления из него.
+ * <p>
+ * Завершенные задачи, не изменявшиеся дольше {@code tasks.archive.completed-after},
+ * вместе с комментариями переносятся в таблицы {@code tasks_archive} и {@code comments_archive}
+ * порциями по {@code tasks.archive.batch-size}. Каждая порция переносится в отдельной
+ * транзакции набором INSERT ... SELECT и DELETE, поэтому активная таблица {@code tasks}
+ * и ее индексы содержат только рабочий набор данных.
+ * </p>
+ * <p>
+ * Чтение архива прозрачно: {@link TaskService#getTasks} со статусом {@code COMPLETED}
+ * объединяет активные и архивные задачи.
+ * </p>
+ * <p>
+ * Перенос выполняется SQL-запросами в обход Hibernate, поэтому затронутые задачи
+ * и комментарии явно удаляются из кэша второго уровня, а для каждой задачи публикуется
+ * {@link TaskChangedEvent}: для потребителей событий архивирование — удаление задачи
+ * из активного набора, восстановление — ее создание.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private static final String SELECT_ARCHIVABLE_SQL =
+            "SELECT id, title, description, status, priority, author_id, assignee_id " +
+            "FROM tasks WHERE status = 'COMPLETED' AND deleted = FALSE AND updated_at < :threshold " +
+            "ORDER BY id LIMIT :limit FOR UPDATE";
+    private static final String ARCHIVE_TASKS_SQL =
+            "INSERT INTO tasks_archive (id, title, description, status, priority, priority_rank, author_id, assignee_id, " +
+            "created_at, updated_at, version, archived_at) " +
+            "SELECT id, title, description, status, priority, priority_rank, author_id, assignee_id, created_at, " +
+            "updated_at, version, :now " +
+            "FROM tasks WHERE id IN (:ids)";
+    private static final String ARCHIVE_COMMENTS_SQL =
+            "INSERT INTO comments_archive (id, text, task_id, author_id, created_at) " +
+            "SELECT id, text, task_id, author_id, created_at FROM comments WHERE task_id IN (:ids) AND deleted = FALSE";
+    private static final String SELECT_COMMENT_IDS_SQL = "SELECT id FROM comments WHERE task_id IN (:ids)";
+    private static final String DELETE_COMMENTS_SQL = "DELETE FROM comments WHERE task_id IN (:ids)";
+    private static final String DELETE_TASKS_SQL = "DELETE FROM tasks WHERE id IN (:ids)";
+
+    private static final String RESTORE_TASK_SQL =
+            "INSERT INTO tasks (id, title, description, status, priority, priority_rank, author_id, assignee_id, " +
+            "created_at, updated_at, version, deleted) " +
+            "SELECT id, title, description, status, priority, priority_rank, author_id, assignee_id, created_at, :now, " +
+            "version + 1, FALSE " +
+            "FROM tasks_archive WHERE id = :id";
+    private static final String RESTORE_COMMENTS_SQL =
+            "INSERT INTO comments (id, text, task_id, author_id, created_at, deleted) " +
+            "SELECT id, text, task_id, author_id, created_at, FALSE FROM comments_archive WHERE task_id = :id";
+    private static final String DELETE_ARCHIVED_COMMENTS_SQL = "DELETE FROM comments_archive WHERE task_id = :id";
+    private static final String DELETE_ARCHIVED_TASK_SQL = "DELETE FROM tasks_archive WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration completedAfter;
+    private final int batchSize;
+    private final Counter archivedTasks;
+    private final Counter restoredTasks;
+
+    public TaskArchiveService(NamedParameterJdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              TaskRepository taskRepository,
+                              TaskMapper taskMapper,
+                              EntityManagerFactory entityManagerFactory,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${tasks.archive.completed-after:P30D}") Duration completedAfter,
+                              @Value("${tasks.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.completedAfter = completedAfter;
+        this.batchSize = batchSize;
+        this.archivedTasks = meterRegistry.counter("tasks.archive.rows", "operation", "archive");
+        this.restoredTasks = meterRegistry.counter("tasks.archive.rows", "operation", "restore");
+    }
+
+    /**
+     * Переносит в архив все подходящие завершенные задачи, порция за порцией.
+     *
+     * @return количество перенесенных задач
+     */
+    @Scheduled(fixedDelayString = "${tasks.archive.interval:PT1H}", initialDelayString = "${tasks.archive.interval:PT1H}")
+    public long archiveCompletedTasks() {
+        Timestamp threshold = Timestamp.valueOf(LocalDateTime.now().minus(completedAfter));
+        long total = 0;
+        ArchivedBatch archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(threshold));
+            evictFromCache(archived.taskIds(), archived.commentIds());
+            archivedTasks.increment(archived.taskIds().size());
+            total += archived.taskIds().size();
+        } while (archived.taskIds().size() == batchSize);
+
+        if (total > 0) {
+            logger.info("Archived {} completed tasks not updated since {}", total, threshold);
+        }
+        return total;
+    }
+
+    /**
+     * Восстанавливает задачу из архива вместе с комментариями.
+     * Версия задачи увеличивается, чтобы ранее сериализованные представления задачи не использовались.
+     *
+     * @param taskId ID архивной задачи
+     * @return восстановленная задача в формате DTO
+     * @throws TaskNotFoundException если задачи нет в архиве
+     */
+    public TaskDTO restoreTask(@NotNull Long taskId) {
+        logger.info("Restoring task with ID: {} from archive", taskId);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", taskId)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+
+        return transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(RESTORE_TASK_SQL, params) == 0) {
+                throw new TaskNotFoundException("Archived task not found with id: " + taskId);
+            }
+            jdbcTemplate.update(RESTORE_COMMENTS_SQL, params);
+            jdbcTemplate.update(DELETE_ARCHIVED_COMMENTS_SQL, params);
+            jdbcTemplate.update(DELETE_ARCHIVED_TASK_SQL, params);
+            restoredTasks.increment();
+            // Восстановленных комментариев в кэше нет: при переносе в архив они были из него удалены
+            evictFromCache(List.of(taskId), List.of());
+
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+            return taskMapper.toTaskDTO(task);
+        });
+    }
+
+    /**
+     * Переносит одну порцию задач. Выполняется внутри транзакции:
+     * выбранные строки блокируются до переноса, чтобы параллельное изменение
+     * статуса не привело к архивированию уже незавершенной задачи.
+     *
+     * @param threshold задачи, обновленные раньше этого момента, подлежат переносу
+     * @return ID перенесенных задач и всех их комментариев
+     */
+    private ArchivedBatch archiveBatch(Timestamp threshold) {
+        List<TaskState> tasks = jdbcTemplate.query(SELECT_ARCHIVABLE_SQL,
+                new MapSqlParameterSource()
+                        .addValue("threshold", threshold)
+                        .addValue("limit", batchSize),
+                (rs, rowNum) -> new TaskState(
+                        rs.getLong("id"),
+                        rs.getString("title"),
+                        rs.getString("description"),
+                        TaskStatus.valueOf(rs.getString("status")),
+                        rs.getString("priority") != null ? TaskPriority.valueOf(rs.getString("priority")) : null,
+                        rs.getObject("author_id", Long.class),
+                        rs.getObject("assignee_id", Long.class)));
+        if (tasks.isEmpty()) {
+            return new ArchivedBatch(List.of(), List.of());
+        }
+        List<Long> ids = tasks.stream().map(TaskState::id).toList();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.update(ARCHIVE_TASKS_SQL, params);
+        jdbcTemplate.update(ARCHIVE_COMMENTS_SQL, params);
+        List<Long> commentIds = jdbcTemplate.queryForList(SELECT_COMMENT_IDS_SQL, params, Long.class);
+        jdbcTemplate.update(DELETE_COMMENTS_SQL, params);
+        jdbcTemplate.update(DELETE_TASKS_SQL, params);
+        tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(task)));
+        return new ArchivedBatch(ids, commentIds);
+    }
+
+    /**
+     * Удаляет из кэша второго уровня задачи, их списки комментариев и комментарии.
+     * Удаляются только записи с указанными ID, остальное содержимое регионов сохраняется.
+     *
+     * @param taskIds    ID задач, измененных в обход Hibernate
+     * @param commentIds ID комментариев этих задач
+     */
+    private void evictFromCache(List<Long> taskIds, List<Long> commentIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (Long taskId : taskIds) {
+            cache.evictEntityData(Task.class, taskId);
+            cache.evictCollectionData(Task.class.getName() + ".comments", taskId);
+        }
+        for (Long commentId : commentIds) {
+            cache.evictEntityData(Comment.class, commentId);
+        }
+    }
+
+    /**
+     * Порция, перенесенная в архив.
+     *
+     * @param taskIds    ID задач
+     * @param commentIds ID их комментариев, включая помеченные удаленными
+     */
+    private record ArchivedBatch(List<Long> taskIds, List<Long> commentIds) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.BatchOperationRequest;
+import com.example.tasks.dto.BatchOperationResultDTO;
+import com.example.tasks.dto.BatchResponseDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.BatchOperationType;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.TaskNotFoundException;
+import com.example.tasks.exception.UnauthorizedActionException;
+import com.example.tasks.exception.UserNotFoundException;
+import com.example.tasks.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Выполнение пакета операций над задачами в одном запросе.
+ * <p>
+ * Операции выполняются по порядку через методы {@link TaskService}, поэтому правила доступа,
+ * события изменений и инвалидация кэшей те же, что у отдельных запросов. Выигрыш — одна
+ * аутентификация, один HTTP-запрос и одна фиксация транзакции на много операций.
+ * После каждой операции изменения сбрасываются в базу, чтобы ошибка базы
+ * относилась к вызвавшей ее операции.
+ * </p>
+ * <p>
+ * В атомарном режиме весь пакет — одна транзакция: первая ошибка откатывает все операции,
+ * остальные получают статус 424. В неатомарном режиме пакет выполняется частями по
+ * {@code tasks.batch.chunk-size} операций в отдельных транзакциях; если в части есть ошибка,
+ * часть откатывается и ее операции повторяются по одной, так что ошибка одной операции
+ * не отменяет остальные. Размер пакета ограничен {@code tasks.batch.max-operations}.
+ * Метрики: {@code tasks.batch} и {@code tasks.batch.operations} с тегами {@code op} и {@code outcome}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskBatchService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchService.class);
+
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transaction;
+    private final MeterRegistry meterRegistry;
+    private final Timer batchTimer;
+    private final int maxOperations;
+    private final int chunkSize;
+
+    public TaskBatchService(TaskService taskService,
+                            TaskRepository taskRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${tasks.batch.max-operations:1000}") int maxOperations,
+                            @Value("${tasks.batch.chunk-size:100}") int chunkSize) {
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = meterRegistry.timer("tasks.batch");
+        this.maxOperations = maxOperations;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Выполняет пакет операций от имени пользователя.
+     *
+     * @param operations операции в порядке выполнения
+     * @param atomic     true — все или ничего в одной транзакции, false — частями
+     * @param user       текущий пользователь
+     * @return результат каждой операции и итоговые счетчики
+     * @throws InvalidRequestException если пакет пуст или превышает допустимый размер
+     */
+    public BatchResponseDTO execute(List<BatchOperationRequest> operations, boolean atomic, User user) {
+        if (operations == null || operations.isEmpty() || operations.size() > maxOperations) {
+            throw new InvalidRequestException("Number of operations must be between 1 and " + maxOperations);
+        }
+        logger.info("Executing batch of {} operations for user {}, atomic={}", operations.size(), user.getId(), atomic);
+
+        BatchOperationResultDTO[] results = new BatchOperationResultDTO[operations.size()];
+        batchTimer.record(() -> {
+            if (atomic) {
+                executeInTransaction(operations, 0, operations.size(), user, results);
+                return;
+            }
+            for (int from = 0; from < operations.size(); from += chunkSize) {
+                int to = Math.min(operations.size(), from + chunkSize);
+                if (!executeInTransaction(operations, from, to, user, results) && to - from > 1) {
+                    for (int i = from; i < to; i++) {
+                        executeInTransaction(operations, i, i + 1, user, results);
+                    }
+                }
+            }
+        });
+
+        int failed = 0;
+        for (int i = 0; i < results.length; i++) {
+            boolean success = results[i].getStatus() < 400;
+            if (!success) {
+                failed++;
+            }
+            BatchOperationType op = operations.get(i).getOp();
+            meterRegistry.counter("tasks.batch.operations", "op", op != null ? op.name() : "UNKNOWN",
+                    "outcome", success ? "success" : "failure").increment();
+        }
+        logger.info("Batch finished: {} succeeded, {} failed", results.length - failed, failed);
+        return new BatchResponseDTO(results.length - failed, failed, Arrays.asList(results));
+    }
+
+    /**
+     * Выполняет операции {@code [from, to)} в одной транзакции.
+     *
+     * @return true если транзакция зафиксирована
+     */
+    private boolean executeInTransaction(List<BatchOperationRequest> operations, int from, int to, User user,
+                                         BatchOperationResultDTO[] results) {
+        Integer failedIndex;
+        try {
+            failedIndex = transaction.execute(status -> {
+                for (int i = from; i < to; i++) {
+                    try {
+                        results[i] = apply(i, operations.get(i), user);
+                    } catch (RuntimeException ex) {
+                        status.setRollbackOnly();
+                        results[i] = failure(i, ex);
+                        return i;
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException ex) {
+            // Ошибка фиксации не относится к конкретной операции
+            logger.error("Batch transaction failed to commit", ex);
+            for (int i = from; i < to; i++) {
+                results[i] = failure(i, ex);
+            }
+            return false;
+        }
+        if (failedIndex == null) {
+            return true;
+        }
+        for (int i = from; i < to; i++) {
+            if (i != failedIndex) {
+                results[i] = new BatchOperationResultDTO(i, HttpStatus.FAILED_DEPENDENCY.value(), null, null,
+                        (i < failedIndex ? "Rolled back" : "Not executed") + ": operation " + failedIndex + " failed");
+            }
+        }
+        return false;
+    }
+
+    private BatchOperationResultDTO apply(int index, BatchOperationRequest operation, User user) {
+        BatchOperationType op = require(operation.getOp(), "op");
+        if (op.isAdminOnly() && !user.hasAdminRole()) {
+            throw new UnauthorizedActionException("Operation " + op + " requires ADMIN role");
+        }
+
+        BatchOperationResultDTO result = switch (op) {
+            case CREATE -> {
+                String title = require(operation.getTitle(), "title");
+                if (title.isBlank()) {
+                    throw new InvalidRequestException("Operation CREATE requires title");
+                }
+                TaskDTO task = taskService.createTask(title, operation.getDescription(), operation.getStatus(),
+                        operation.getPriority(), user, require(operation.getAssigneeId(), "assigneeId"));
+                yield success(index, HttpStatus.CREATED, task);
+            }
+            case UPDATE -> {
+                if (operation.getTitle() != null && operation.getTitle().length() < 3) {
+                    throw new InvalidRequestException("Title must be 3-200 characters");
+                }
+                yield success(index, HttpStatus.OK, taskService.updateTask(taskId(operation), operation.getTitle(),
+                        operation.getDescription(), operation.getStatus(), operation.getPriority(),
+                        require(operation.getAssigneeId(), "assigneeId")));
+            }
+            case ASSIGN -> success(index, HttpStatus.OK,
+                    taskService.assignTask(taskId(operation), require(operation.getAssigneeId(), "assigneeId")));
+            case STATUS -> success(index, HttpStatus.OK,
+                    taskService.updateTaskStatus(taskId(operation), require(operation.getStatus(), "status"), user));
+            case PRIORITY -> success(index, HttpStatus.OK,
+                    taskService.updateTaskPriority(taskId(operation), require(operation.getPriority(), "priority")));
+            case COMMENT -> {
+                String text = require(operation.getText(), "text");
+                if (text.isBlank()) {
+                    throw new InvalidRequestException("Operation COMMENT requires text");
+                }
+                yield new BatchOperationResultDTO(index, HttpStatus.CREATED.value(), null,
+                        taskService.addComment(taskId(operation), text, user), null);
+            }
+            case DELETE -> {
+                taskService.deleteTask(taskId(operation));
+                yield new BatchOperationResultDTO(index, HttpStatus.NO_CONTENT.value(), null, null, null);
+            }
+        };
+        taskRepository.flush();
+        return result;
+    }
+
+    private static Long taskId(BatchOperationRequest operation) {
+        return require(operation.getTaskId(), "taskId");
+    }
+
+    private static <T> T require(T value, String field) {
+        if (value == null) {
+            throw new InvalidRequestException("Field " + field + " is required for this operation");
+        }
+        return value;
+    }
+
+    private static BatchOperationResultDTO success(int index, HttpStatus status, TaskDTO task) {
+        return new BatchOperationResultDTO(index, status.value(), task, null, null);
+    }
+
+    private static BatchOperationResultDTO failure(int index, RuntimeException ex) {
+        HttpStatus status = statusOf(ex);
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            logger.error("Batch operation {} failed", index, ex);
+            return new BatchOperationResultDTO(index, status.value(), null, null, "Internal server error");
+        }
+        return new BatchOperationResultDTO(index, status.value(), null, null, ex.getMessage());
+    }
+
+    /**
+     * Статус ошибки, который вернул бы отдельный запрос (см. {@code GlobalExceptionHandler}).
+     */
+    private static HttpStatus statusOf(RuntimeException ex) {
+        if (ex instanceof TaskNotFoundException || ex instanceof UserNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof InvalidRequestException || ex instanceof ConstraintViolationException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof UnauthorizedActionException || ex instanceof AccessDeniedException) {
+            return HttpStatus.FORBIDDEN;
+        }
+        if (ex instanceof OptimisticLockingFailureException) {
+            return HttpStatus.CONFLICT;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.tasks.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Фоновая очистка логически удаленных задач и комментариев.
+ * <p>
+ * Удаляет строки с флагом {@code deleted} порциями фиксированного размера: каждая порция —
+ * один DELETE по подзапросу с LIMIT в отдельной транзакции, поэтому блокировки и объем WAL
+ * ограничены размером порции. Сначала удаляются комментарии, затем задачи без комментариев,
+ * чтобы каскад {@code ON DELETE CASCADE} не превращал удаление задачи в неограниченную операцию.
+ * </p>
+ * <p>
+ * Публикует метрики:
+ * <ul>
+ *   <li>{@code tasks.purge.rows} — количество удаленных строк (тег {@code table})</li>
+ *   <li>{@code tasks.purge.backlog} — число строк, ожидающих удаления (тег {@code table})</li>
+ *   <li>{@code tasks.purge.throughput} — строк в секунду за последний запуск</li>
+ *   <li>{@code tasks.purge.chunk} — время выполнения одной порции</li>
+ * </ul>
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskPurgeService.class);
+
+    private static final String PURGE_COMMENTS_SQL =
+            "DELETE FROM comments WHERE id IN (" +
+            "SELECT c.id FROM comments c WHERE c.deleted = TRUE AND c.deleted_at < ? LIMIT ?)";
+    private static final String PURGE_TASKS_SQL =
+            "DELETE FROM tasks WHERE id IN (" +
+            "SELECT t.id FROM tasks t WHERE t.deleted = TRUE AND t.deleted_at < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM comments c WHERE c.task_id = t.id) LIMIT ?)";
+    private static final String COUNT_COMMENTS_SQL =
+            "SELECT COUNT(*) FROM comments WHERE deleted = TRUE";
+    private static final String COUNT_TASKS_SQL =
+            "SELECT COUNT(*) FROM tasks WHERE deleted = TRUE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration retention;
+
+    private final Counter purgedTasks;
+    private final Counter purgedComments;
+    private final AtomicLong tasksBacklog;
+    private final AtomicLong commentsBacklog;
+    private final AtomicLong throughput;
+    private final Timer chunkTimer;
+
+    public TaskPurgeService(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${tasks.purge.chunk-size:500}") int chunkSize,
+                            @Value("${tasks.purge.retention:PT5M}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.retention = retention;
+        this.purgedTasks = meterRegistry.counter("tasks.purge.rows", "table", "tasks");
+        this.purgedComments = meterRegistry.counter("tasks.purge.rows", "table", "comments");
+        this.tasksBacklog = meterRegistry.gauge("tasks.purge.backlog", Tags.of("table", "tasks"), new AtomicLong());
+        this.commentsBacklog = meterRegistry.gauge("tasks.purge.backlog", Tags.of("table", "comments"), new AtomicLong());
+        this.throughput = meterRegistry.gauge("tasks.purge.throughput", new AtomicLong());
+        this.chunkTimer = meterRegistry.timer("tasks.purge.chunk");
+    }
+
+    /**
+     * Запускает очистку по расписанию.
+     * <p>
+     * Удаляет порции до тех пор, пока очередная порция не окажется неполной.
+     * Удаляются только строки, помеченные раньше чем {@code tasks.purge.retention} назад.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${tasks.purge.interval:PT1M}", initialDelayString = "${tasks.purge.interval:PT1M}")
+    public void purge() {
+        Timestamp threshold = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        long startedAt = System.nanoTime();
+
+        long comments = purgeInChunks(PURGE_COMMENTS_SQL, threshold, purgedComments);
+        long tasks = purgeInChunks(PURGE_TASKS_SQL, threshold, purgedTasks);
+
+        refreshBacklog();
+
+        long elapsedMillis = Math.max(1, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        throughput.set((comments + tasks) * 1000 / elapsedMillis);
+
+        if (comments + tasks > 0) {
+            logger.info("Purged {} tasks and {} comments in {} ms, backlog: {} tasks, {} comments",
+                    tasks, comments, elapsedMillis, tasksBacklog.get(), commentsBacklog.get());
+        }
+    }
+
+    /**
+     * Выполняет DELETE порциями, каждую в отдельной транзакции.
+     *
+     * @param sql       DELETE с параметрами порога и размера порции
+     * @param threshold удаляются строки, помеченные раньше этого момента
+     * @param counter   счетчик удаленных строк
+     * @return общее количество удаленных строк
+     */
+    private long purgeInChunks(String sql, Timestamp threshold, Counter counter) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = chunkTimer.record(() ->
+                    transactionTemplate.execute(status -> jdbcTemplate.update(sql, threshold, chunkSize)));
+            counter.increment(deleted);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+
+    /**
+     * Обновляет показатели количества строк, ожидающих удаления.
+     */
+    private void refreshBacklog() {
+        tasksBacklog.set(jdbcTemplate.queryForObject(COUNT_TASKS_SQL, Long.class));
+        commentsBacklog.set(jdbcTemplate.queryForObject(COUNT_COMMENTS_SQL, Long.class));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaStickiness;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.repository.TaskSort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов фильтрованных запросов {@link TaskService#getTasks} и {@link TaskService#getTasksSlice}.
+ * Промахи загружаются через {@link TaskReadCoalescer}, поэтому одновременные промахи
+ * по одному ключу выполняют один запрос к базе.
+ * <p>
+ * Ключ — нормализованный фильтр, порядок, номер и размер страницы. Инвалидация выполняется счетчиками
+ * поколений без обхода записей: каждая запись запоминает поколение, актуальное на момент
+ * загрузки, и при чтении сравнивает его с текущим. Запросы с фильтром по исполнителю
+ * проверяют поколение этого исполнителя, остальные — глобальное поколение.
+ * Изменение задачи увеличивает глобальное поколение и поколения прежнего и нового исполнителей,
+ * поэтому страницы других исполнителей остаются в кэше.
+ * </p>
+ * <p>
+ * Пользователь, недавно выполнявший изменения ({@link ReplicaStickiness}), читает с основной базы
+ * и получает только записи, загруженные с нее: страница, которую другой клиент загрузил
+ * с отстающей реплики уже после увеличения поколения, не должна скрыть от него собственное изменение.
+ * </p>
+ * <p>
+ * Размер кэша ограничен {@code tasks.query-cache.max-size}, время жизни записи —
+ * {@code tasks.query-cache.ttl}. Метрики: {@code tasks.query-cache.requests} с тегом
+ * {@code result} (hit, miss, stale) и {@code tasks.query-cache.age} — возраст отданных из кэша записей.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskQueryCache {
+    private static final Logger logger = LoggerFactory.getLogger(TaskQueryCache.class);
+
+    private final TaskReadCoalescer taskReadCoalescer;
+    private final ReplicaStickiness stickiness;
+    private final Cache<Key, Entry> cache;
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final ConcurrentMap<Long, AtomicLong> assigneeGenerations = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter stale;
+    private final Timer age;
+
+    public TaskQueryCache(TaskReadCoalescer taskReadCoalescer,
+                          ReplicaStickiness stickiness,
+                          MeterRegistry meterRegistry,
+                          @Value("${tasks.query-cache.max-size:10000}") long maxSize,
+                          @Value("${tasks.query-cache.ttl:PT5M}") Duration ttl) {
+        this.taskReadCoalescer = taskReadCoalescer;
+        this.stickiness = stickiness;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks.query");
+        this.hits = meterRegistry.counter("tasks.query-cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("tasks.query-cache.requests", "result", "miss");
+        this.stale = meterRegistry.counter("tasks.query-cache.requests", "result", "stale");
+        this.age = meterRegistry.timer("tasks.query-cache.age");
+    }
+
+    /**
+     * Возвращает страницу задач из кэша или загружает ее через {@link TaskService#getTasks}.
+     *
+     * @see TaskService#getTasks
+     */
+    @SuppressWarnings("unchecked")
+    public Page<TaskDTO> getTasks(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId,
+                                  TaskSort sort, int page, int size) {
+        Key key = new Key(false, stickiness.isSticky(), status, priority, authorId, assigneeId, sort, page, size);
+        return (Page<TaskDTO>) get(key,
+                () -> taskReadCoalescer.getTasks(status, priority, authorId, assigneeId, sort, page, size));
+    }
+
+    /**
+     * Возвращает срез задач из кэша или загружает его через {@link TaskService#getTasksSlice}.
+     *
+     * @see TaskService#getTasksSlice
+     */
+    @SuppressWarnings("unchecked")
+    public Slice<TaskDTO> getTasksSlice(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId,
+                                        TaskSort sort, int page, int size) {
+        Key key = new Key(true, stickiness.isSticky(), status, priority, authorId, assigneeId, sort, page, size);
+        return (Slice<TaskDTO>) get(key,
+                () -> taskReadCoalescer.getTasksSlice(status, priority, authorId, assigneeId, sort, page, size));
+    }
+
+    /**
+     * Делает недействительными записи, на которые могло повлиять изменение задачи.
+     * Вызывается после фиксации транзакции, в которой задача изменилась.
+     *
+     * @param event событие изменения задачи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        globalGeneration.incrementAndGet();
+        if (event.before() != null) {
+            bumpAssignee(event.before().assigneeId());
+        }
+        if (event.after() != null) {
+            bumpAssignee(event.after().assigneeId());
+        }
+        logger.debug("Task {} changed, query cache generation is now {}", event.taskId(), globalGeneration.get());
+    }
+
+    private Slice<TaskDTO> get(Key key, Supplier<? extends Slice<TaskDTO>> loader) {
+        long generation = generation(key);
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            if (entry.generation() == generation) {
+                hits.increment();
+                age.record(System.nanoTime() - entry.loadedAt(), TimeUnit.NANOSECONDS);
+                return entry.result();
+            }
+            stale.increment();
+        } else {
+            misses.increment();
+        }
+
+        // Поколение прочитано до загрузки: если задача изменится во время запроса,
+        // запись сразу окажется устаревшей и не будет отдана следующему клиенту.
+        Slice<TaskDTO> result = loader.get();
+        cache.put(key, new Entry(result, generation, System.nanoTime()));
+        return result;
+    }
+
+    private long generation(Key key) {
+        if (key.assigneeId() == null) {
+            return globalGeneration.get();
+        }
+        AtomicLong assigneeGeneration = assigneeGenerations.get(key.assigneeId());
+        return assigneeGeneration != null ? assigneeGeneration.get() : 0;
+    }
+
+    private void bumpAssignee(Long assigneeId) {
+        if (assigneeId != null) {
+            assigneeGenerations.computeIfAbsent(assigneeId, id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Нормализованный ключ запроса: порядок параметров в URL на него не влияет.
+     * {@code primary} — запрос читает с основной базы, а не с реплики.
+     */
+    private record Key(boolean slice, boolean primary, TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId,
+                       TaskSort sort, int page, int size) {
+    }
+
+    private record Entry(Slice<TaskDTO> result, long generation, long loadedAt) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaStickiness;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.enums.CountMode;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.repository.TaskSort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных запросов на чтение к {@link TaskService}.
+ * <p>
+ * Первый вызов с данными аргументами (ведущий) выполняет запрос к базе, остальные вызовы
+ * с теми же аргументами, пришедшие до его завершения (ведомые), ждут и получают тот же результат
+ * или то же исключение. Результат не сохраняется после завершения запроса — за кэширование
+ * отвечает {@link TaskQueryCache}.
+ * </p>
+ * <p>
+ * Ключ запроса включает поколение изменений задач: вызов, пришедший после зафиксированного
+ * изменения, не присоединяется к запросу, начатому до него, и не получает устаревшие данные.
+ * Ключ также включает маршрут чтения: пользователь, который недавно выполнял изменения
+ * ({@link ReplicaStickiness}), читает с основной базы и присоединяется только к таким же
+ * запросам, а не к запросу, который читает с отстающей реплики.
+ * </p>
+ * <p>
+ * Метрика {@code tasks.single-flight.calls} с тегами {@code method} и {@code role}
+ * (leader, follower): количество ведомых вызовов — это количество сэкономленных запросов к базе.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskReadCoalescer {
+
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+    private final ReplicaStickiness stickiness;
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, MethodCounters> counters = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskReadCoalescer(TaskService taskService, MeterRegistry meterRegistry, ReplicaStickiness stickiness) {
+        this.taskService = taskService;
+        this.meterRegistry = meterRegistry;
+        this.stickiness = stickiness;
+        meterRegistry.gaugeMapSize("tasks.single-flight.in-flight", List.of(), inFlight);
+    }
+
+    /**
+     * @see TaskService#getTasks
+     */
+    public Page<TaskDTO> getTasks(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId,
+                                  TaskSort sort, int page, int size) {
+        return execute("getTasks", () -> taskService.getTasks(status, priority, authorId, assigneeId, sort, page, size),
+                status, priority, authorId, assigneeId, sort, page, size);
+    }
+
+    /**
+     * @see TaskService#getTasksSlice
+     */
+    public Slice<TaskDTO> getTasksSlice(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId,
+                                        TaskSort sort, int page, int size) {
+        return execute("getTasksSlice",
+                () -> taskService.getTasksSlice(status, priority, authorId, assigneeId, sort, page, size),
+                status, priority, authorId, assigneeId, sort, page, size);
+    }
+
+    /**
+     * @see TaskService#getTopTasks
+     */
+    public List<TaskDTO> getTopTasks(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId,
+                                     TaskSort sort, int limit) {
+        return execute("getTopTasks", () -> taskService.getTopTasks(status, priority, authorId, assigneeId, sort, limit),
+                status, priority, authorId, assigneeId, sort, limit);
+    }
+
+    /**
+     * @see TaskService#getTasksByAuthor
+     */
+    public List<TaskDTO> getTasksByAuthor(Long authorId) {
+        return execute("getTasksByAuthor", () -> taskService.getTasksByAuthor(authorId), authorId);
+    }
+
+    /**
+     * @see TaskService#getTasksByAssignee
+     */
+    public List<TaskDTO> getTasksByAssignee(Long assigneeId) {
+        return execute("getTasksByAssignee", () -> taskService.getTasksByAssignee(assigneeId), assigneeId);
+    }
+
+    /**
+     * @see TaskService#getAllTasks(int, int, CountMode)
+     */
+    public TaskPageDTO getAllTasks(int page, int size, CountMode countMode) {
+        return execute("getAllTasks", () -> taskService.getAllTasks(page, size, countMode), page, size, countMode);
+    }
+
+    /**
+     * Начинает новое поколение после зафиксированного изменения задачи.
+     *
+     * @param event событие изменения задачи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(String method, Supplier<T> loader, Object... args) {
+        Key key = new Key(generation.get(), stickiness.isSticky(), method, Arrays.asList(args));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        MethodCounters methodCounters = counters.computeIfAbsent(method, this::registerCounters);
+
+        if (existing != null) {
+            methodCounters.follower().increment();
+            return (T) await(existing);
+        }
+
+        methodCounters.leader().increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private MethodCounters registerCounters(String method) {
+        return new MethodCounters(
+                meterRegistry.counter("tasks.single-flight.calls", "method", method, "role", "leader"),
+                meterRegistry.counter("tasks.single-flight.calls", "method", method, "role", "follower"));
+    }
+
+    private record Key(long generation, boolean primary, String method, List<Object> args) {
+    }
+
+    private record MethodCounters(Counter leader, Counter follower) {
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.InboxItemDTO;
+import com.example.tasks.dto.InboxPageDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskDuplicateDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.dto.TaskSuggestionDTO;
+import com.example.tasks.entity.Task;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.TaskNotFoundException;
+import com.example.tasks.index.TaskDuplicateIndex;
+import com.example.tasks.index.TaskInbox;
+import com.example.tasks.index.TaskSearchIndex;
+import com.example.tasks.index.TaskSearchIndex.SearchResult;
+import com.example.tasks.index.TaskTitleAutocomplete;
+import com.example.tasks.mapper.TaskMapper;
+import com.example.tasks.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Сервис полнотекстового поиска задач.
+ * <p>
+ * ID подходящих задач и их количество определяет {@link TaskSearchIndex},
+ * из базы (или кэша второго уровня) загружаются только задачи запрошенной страницы.
+ * При большом числе совпадений общее количество приблизительное (нижняя граница).
+ * Подсказки по префиксу названия выдает {@link TaskTitleAutocomplete} без обращения к базе,
+ * вероятные дубликаты находит {@link TaskDuplicateIndex}, входящие исполнителя отдает {@link TaskInbox}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskTitleAutocomplete taskTitleAutocomplete;
+    private final TaskDuplicateIndex taskDuplicateIndex;
+    private final TaskInbox taskInbox;
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+
+    public TaskSearchService(TaskSearchIndex taskSearchIndex, TaskTitleAutocomplete taskTitleAutocomplete,
+                             TaskDuplicateIndex taskDuplicateIndex, TaskInbox taskInbox,
+                             TaskRepository taskRepository, TaskMapper taskMapper) {
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskTitleAutocomplete = taskTitleAutocomplete;
+        this.taskDuplicateIndex = taskDuplicateIndex;
+        this.taskInbox = taskInbox;
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+    }
+
+    /**
+     * Ищет задачи по тексту в названии, описании и комментариях.
+     *
+     * @param query      поисковый запрос
+     * @param status     фильтр по статусу
+     * @param priority   фильтр по приоритету
+     * @param assigneeId фильтр по ID исполнителя
+     * @param page       номер страницы (>= 0)
+     * @param size       размер страницы (1-100)
+     * @return страница с DTO задач по убыванию релевантности с точным или приблизительным количеством
+     * @throws InvalidRequestException при пустом запросе или невалидных параметрах пагинации
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    @Transactional(readOnly = true)
+    public TaskPageDTO search(String query, TaskStatus status, TaskPriority priority, Long assigneeId,
+                              int page, int size) {
+        logger.info("Searching tasks: query='{}', status={}, priority={}, assigneeId={}, page={}, size={}",
+                query, status, priority, assigneeId, page, size);
+
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestException("Search query must not be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0) {
+            throw new InvalidRequestException("Page number must not be less than zero");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and 100");
+        }
+
+        Pageable pageable = PageRequest.of(page, size);
+        // Lucene принимает количество результатов, включая пропускаемые, как int
+        if (pageable.getOffset() + size > Integer.MAX_VALUE) {
+            throw new InvalidRequestException("Page number is too large");
+        }
+        SearchResult result = taskSearchIndex.search(query, status, priority, assigneeId, (int) pageable.getOffset(), size);
+        List<Task> tasks = taskRepository.findAllByIdInOrder(result.ids());
+
+        if (tasks.isEmpty()) {
+            throw new TaskNotFoundException("No tasks found matching the query");
+        }
+
+        List<TaskDTO> content = tasks.stream().map(taskMapper::toTaskDTO).toList();
+        if (result.exact()) {
+            return TaskPageDTO.exact(new PageImpl<>(content, pageable, result.total()));
+        }
+        boolean hasNext = result.total() > pageable.getOffset() + content.size();
+        return TaskPageDTO.approximate(new SliceImpl<>(content, pageable, hasNext), result.total());
+    }
+
+    /**
+     * Подсказывает задачи автора или исполнителя, слово в названии которых начинается с префикса.
+     *
+     * @param prefix     набранный текст
+     * @param authorId   ID автора
+     * @param assigneeId ID исполнителя
+     * @param limit      максимальное количество подсказок (1-50)
+     * @return подсказки по приоритету, затем по времени изменения; пустой список, если индекс еще строится
+     * @throws InvalidRequestException если не задан ни автор, ни исполнитель, или параметры невалидны
+     */
+    public List<TaskSuggestionDTO> autocomplete(String prefix, Long authorId, Long assigneeId, int limit) {
+        logger.debug("Autocomplete: prefix='{}', authorId={}, assigneeId={}, limit={}",
+                prefix, authorId, assigneeId, limit);
+
+        if (authorId == null && assigneeId == null) {
+            throw new InvalidRequestException("Either authorId or assigneeId must be specified");
+        }
+        if (prefix != null && prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new InvalidRequestException("Prefix must not be longer than " + MAX_PREFIX_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        return taskTitleAutocomplete.suggest(prefix, authorId, assigneeId, limit).stream()
+                .map(suggestion -> new TaskSuggestionDTO(suggestion.id(), suggestion.title(), suggestion.priority()))
+                .toList();
+    }
+
+    /**
+     * Находит задачи, похожие на задачу с указанными названием и описанием.
+     *
+     * @param title       название
+     * @param description описание
+     * @param excludeId   ID проверяемой задачи, если она уже создана, или null
+     * @param limit       максимальное количество результатов (1-50)
+     * @return похожие задачи от самой похожей; пустой список, если индекс еще строится
+     * @throws InvalidRequestException при пустом названии или невалидном лимите
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDuplicateDTO> findDuplicates(String title, String description, Long excludeId, int limit) {
+        logger.debug("Looking for duplicates of '{}', excludeId={}, limit={}", title, excludeId, limit);
+
+        if (title == null || title.isBlank()) {
+            throw new InvalidRequestException("Title must not be blank");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        List<TaskDuplicateIndex.Match> matches = taskDuplicateIndex.findSimilar(title, description, excludeId, limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> tasks = taskRepository.findAllByIdInOrder(
+                        matches.stream().map(TaskDuplicateIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> tasks.containsKey(match.id()))
+                .map(match -> new TaskDuplicateDTO(match.id(), tasks.get(match.id()).getTitle(), match.similarity()))
+                .toList();
+    }
+
+    /**
+     * Возвращает страницу входящих исполнителя: его незавершенные задачи
+     * по приоритету (сначала {@code HIGH}), затем по ID.
+     *
+     * @param assigneeId ID исполнителя
+     * @param page       номер страницы (>= 0)
+     * @param size       размер страницы (1-100)
+     * @return страница входящих с точным общим количеством
+     * @throws InvalidRequestException при невалидных параметрах пагинации
+     */
+    public InboxPageDTO getInbox(Long assigneeId, int page, int size) {
+        logger.debug("Getting inbox of assignee {}: page={}, size={}", assigneeId, page, size);
+
+        if (page < 0) {
+            throw new InvalidRequestException("Page number must not be less than zero");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Page size must be between 1 and 100");
+        }
+
+        long offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            throw new InvalidRequestException("Page number is too large");
+        }
+        TaskInbox.InboxPage inbox = taskInbox.page(assigneeId, (int) offset, size);
+        List<InboxItemDTO> content = inbox.items().stream()
+                .map(item -> new InboxItemDTO(item.id(), item.title(), item.status(), item.priority()))
+                .toList();
+        int totalPages = (int) ((inbox.total() + size - 1) / size);
+        return new InboxPageDTO(content, page, size, inbox.total(), totalPages,
+                offset + content.size() < inbox.total());
+    }
+}
@@ -3,34 +3,59 @@ package com.example.tasks.service;
 
 import com.example.tasks.dto.CommentDTO;
 import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.entity.ArchivedTask;
 import com.example.tasks.entity.Comment;
 import com.example.tasks.entity.Task;
 import com.example.tasks.entity.User;
+import com.example.tasks.enums.CountMode;
+import com.example.tasks.enums.TaskExpand;
 import com.example.tasks.enums.TaskPriority;
 import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
 import com.example.tasks.exception.InvalidRequestException;
 import com.example.tasks.exception.TaskNotFoundException;
 import com.example.tasks.exception.UnauthorizedActionException;
 import com.example.tasks.exception.UserNotFoundException;
+import com.example.tasks.index.TaskBitmapIndex;
+import com.example.tasks.mapper.ArchivedTaskMapper;
 import com.example.tasks.mapper.CommentMapper;
 import com.example.tasks.mapper.TaskMapper;
+import com.example.tasks.mapper.UserMapper;
+import com.example.tasks.repository.ArchivedTaskRepository;
 import com.example.tasks.repository.CommentRepository;
+import com.example.tasks.repository.CompletedTaskRef;
+import com.example.tasks.repository.TaskCountEstimator;
+import com.example.tasks.repository.TaskFilter;
 import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.TaskSort;
 import com.example.tasks.repository.UserRepository;
-import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -52,15 +77,30 @@ public class TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
     private final TaskMapper taskMapper;
     private final CommentMapper commentMapper;
-
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository, CommentRepository commentRepository, TaskMapper taskMapper, CommentMapper commentMapper) {
+    private final ArchivedTaskMapper archivedTaskMapper;
+    private final UserMapper userMapper;
+    private final TaskCountEstimator taskCountEstimator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskBitmapIndex taskBitmapIndex;
+
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository, CommentRepository commentRepository,
+                       ArchivedTaskRepository archivedTaskRepository, TaskMapper taskMapper, CommentMapper commentMapper,
+                       ArchivedTaskMapper archivedTaskMapper, UserMapper userMapper, TaskCountEstimator taskCountEstimator,
+                       ApplicationEventPublisher eventPublisher, TaskBitmapIndex taskBitmapIndex) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
         this.taskMapper = taskMapper;
         this.commentMapper = commentMapper;
+        this.archivedTaskMapper = archivedTaskMapper;
+        this.userMapper = userMapper;
+        this.taskCountEstimator = taskCountEstimator;
+        this.eventPublisher = eventPublisher;
+        this.taskBitmapIndex = taskBitmapIndex;
     }
     /**
      * Получает список задач по ID автора.
@@ -69,6 +109,7 @@ public class TaskService {
      * @return список DTO задач
      * @throws UserNotFoundException если автор не найден
      */
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByAuthor(@NotNull @Min(MIN_ID_VALUE) Long authorId) {
         logger.info("Attempting to find tasks for author ID: {}", authorId);
 
@@ -85,6 +126,42 @@ public class TaskService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Получает задачи по списку ID одним обращением к базе.
+     * <p>
+     * Задачи берутся из кэша второго уровня, недостающие загружаются пакетно
+     * ({@link TaskRepository#findAllByIdInOrder}). Повторяющиеся ID возвращаются один раз,
+     * несуществующие и удаленные задачи пропускаются. Автор и исполнитель загружаются вместе
+     * с задачей, поэтому их встраивание не требует дополнительных запросов.
+     * </p>
+     *
+     * @param ids ID задач (от 1 до 100)
+     * @param expand встраиваемые пользователи
+     * @return найденные задачи в порядке {@code ids}
+     * @throws InvalidRequestException если список пуст или длиннее 100
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTasksByIds(@NotNull List<Long> ids, @NotNull Set<TaskExpand> expand) {
+        if (ids.isEmpty() || ids.size() > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Number of ids must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        logger.debug("Fetching {} tasks by id, expand={}", ids.size(), expand);
+
+        return taskRepository.findAllByIdInOrder(ids.stream().distinct().toList())
+                .stream()
+                .map(task -> {
+                    TaskDTO dto = taskMapper.toTaskDTO(task);
+                    if (expand.contains(TaskExpand.AUTHOR)) {
+                        dto.setAuthor(userMapper.toUserDTO(task.getAuthor()));
+                    }
+                    if (expand.contains(TaskExpand.ASSIGNEE)) {
+                        dto.setAssignee(userMapper.toUserDTO(task.getAssignee()));
+                    }
+                    return dto;
+                })
+                .toList();
+    }
+
     /**
      * Получает список задач по ID исполнителя.
      *
@@ -92,6 +169,7 @@ public class TaskService {
      * @return список DTO задач
      * @throws UserNotFoundException если исполнитель не найден
      */
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByAssignee(Long assigneeId) {
         if (!userRepository.existsById(assigneeId)) {
             throw new UserNotFoundException("Исполнитель с ID " + assigneeId + " не найден");
@@ -136,6 +214,7 @@ public class TaskService {
         task.setAssignee(assignee);
 
         Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask));
         return taskMapper.toTaskDTO(savedTask);
     }
     /**
@@ -151,6 +230,7 @@ public class TaskService {
      * @throws TaskNotFoundException если задача не найдена
      * @throws UserNotFoundException если новый исполнитель не найден
      */
+    @Transactional
     public TaskDTO updateTask(
             @NotNull Long taskId,
             String title,
@@ -160,8 +240,8 @@ public class TaskService {
             Long assigneeId
     ) {
         logger.info("Updating task with ID: {}", taskId);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        Task task = findLiveTask(taskId);
+        TaskState before = TaskState.of(task);
 
         if (title != null) {
             task.setTitle(title);
@@ -182,20 +262,40 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        // Версия увеличивается при сбросе изменений; ответ должен содержать уже новую версию
+        taskRepository.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, updatedTask));
         return taskMapper.toTaskDTO(updatedTask);
     }
 
     /**
      * Удаляет задачу по ID.
+     * <p>
+     * Удаление логическое: задача и ее комментарии помечаются флагом {@code deleted} через
+     * загруженные сущности, поэтому версия задачи увеличивается, а из кэша второго уровня
+     * удаляются только ее записи, без очистки регионов целиком, как при массовом UPDATE.
+     * Физически строки удаляет {@link TaskPurgeService}.
+     * </p>
      *
      * @param taskId ID задачи для удаления (не может быть null)
      * @throws TaskNotFoundException если задача не найдена
      */
+    @Transactional
     public void deleteTask(@NotNull Long taskId) {
         logger.info("Deleting task with ID: {}", taskId);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
-        taskRepository.delete(task);
+        Task task = findLiveTask(taskId);
+        TaskState before = TaskState.of(task);
+
+        LocalDateTime deletedAt = LocalDateTime.now();
+        for (Comment comment : task.getComments()) {
+            comment.setDeleted(true);
+            comment.setDeletedAt(deletedAt);
+        }
+        task.setDeleted(true);
+        task.setDeletedAt(deletedAt);
+        taskRepository.flush();
+        taskRepository.evictDeleted(taskId, task.getComments().stream().map(Comment::getId).toList());
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(before));
     }
 
     /**
@@ -207,6 +307,7 @@ public class TaskService {
      * @throws TaskNotFoundException если задача не найдена
      * @throws UserNotFoundException если исполнитель не найден
      */
+    @Transactional
     public TaskDTO assignTask(
             @NotNull(message = "Task ID cannot be null") Long taskId,
             @NotNull(message = "Assignee ID cannot be null") Long assigneeId) {
@@ -214,6 +315,7 @@ public class TaskService {
         logger.info("Assigning task with ID: {} to assignee with ID: {}", taskId, assigneeId);
 
         Task task = taskRepository.findById(taskId)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> {
                     logger.error("Task not found with ID: {}", taskId);
                     return new TaskNotFoundException("Task not found with id: " + taskId);
@@ -225,8 +327,12 @@ public class TaskService {
                     return new UserNotFoundException("Assignee not found with id: " + assigneeId);
                 });
 
+        TaskState before = TaskState.of(task);
         task.setAssignee(assignee);
         Task assignedTask = taskRepository.save(task);
+        // Версия увеличивается при сбросе изменений; ответ должен содержать уже новую версию
+        taskRepository.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, assignedTask));
 
         logger.info("Task ID: {} successfully assigned to user ID: {}", taskId, assigneeId);
         return taskMapper.toTaskDTO(assignedTask);
@@ -244,6 +350,7 @@ public class TaskService {
      * @throws InvalidRequestException при невалидных параметрах пагинации
      * @throws TaskNotFoundException если задачи не найдены
      */
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getTasks(
             TaskStatus status,
             TaskPriority priority,
@@ -252,8 +359,35 @@ public class TaskService {
             int page,
             int size
     ) {
-        logger.info("Fetching tasks with filters: status={}, priority={}, authorId={}, assigneeId={}, page={}, size={}",
-                status, priority, authorId, assigneeId, page, size);
+        return getTasks(status, priority, authorId, assigneeId, TaskSort.ID, page, size);
+    }
+
+    /**
+     * Получает задачи с фильтрацией и пагинацией в заданном порядке.
+     *
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param sort порядок задач
+     * @param page номер страницы (>= 0)
+     * @param size размер страницы (1-100)
+     * @return страница с DTO задач
+     * @throws InvalidRequestException при невалидных параметрах пагинации
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> getTasks(
+            TaskStatus status,
+            TaskPriority priority,
+            Long authorId,
+            Long assigneeId,
+            @NotNull TaskSort sort,
+            int page,
+            int size
+    ) {
+        logger.info("Fetching tasks with filters: status={}, priority={}, authorId={}, assigneeId={}, sort={}, page={}, size={}",
+                status, priority, authorId, assigneeId, sort, page, size);
 
         validatePageAndSize(page, size);
 
@@ -261,7 +395,294 @@ public class TaskService {
             throw new InvalidRequestException("At least one filter parameter must be provided");
         }
 
-        Specification<Task> spec = Specification.where(null);
+        Pageable pageable = PageRequest.of(page, size);
+        if (status == TaskStatus.COMPLETED) {
+            return getCompletedTasks(priority, authorId, assigneeId, sort, pageable);
+        }
+
+        TaskFilter filter = new TaskFilter(status, priority, authorId, assigneeId);
+        if (taskBitmapIndex.isReady()) {
+            return getIndexedTasks(filter, sort, pageable);
+        }
+
+        Page<Task> tasks = taskRepository.findByFilter(filter, sort, pageable);
+
+        if (tasks.isEmpty()) {
+            throw new TaskNotFoundException("No tasks found with the specified filters");
+        }
+
+        return tasks.map(taskMapper::toTaskDTO);
+    }
+
+    /**
+     * Получает страницу активных задач через индекс в памяти.
+     * <p>
+     * Количество и ID задач страницы вычисляются пересечением битовых наборов
+     * {@link TaskBitmapIndex}, из базы (или кэша второго уровня) загружаются только
+     * задачи страницы.
+     * </p>
+     *
+     * @param filter фильтры выборки
+     * @param sort порядок задач
+     * @param pageable запрошенная страница
+     * @return страница с DTO задач
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    private Page<TaskDTO> getIndexedTasks(TaskFilter filter, TaskSort sort, Pageable pageable) {
+        long total = taskBitmapIndex.count(filter);
+        List<Long> ids = taskBitmapIndex.findIds(filter, sort, pageable.getOffset(), pageable.getPageSize());
+        List<Task> tasks = taskRepository.findAllByIdInOrder(ids);
+
+        if (tasks.isEmpty()) {
+            throw new TaskNotFoundException("No tasks found with the specified filters");
+        }
+
+        return new PageImpl<>(tasks.stream().map(taskMapper::toTaskDTO).toList(), pageable, total);
+    }
+    /**
+     * Получает задачи с фильтрацией без подсчета общего количества.
+     * <p>
+     * Наличие следующей страницы определяется выборкой на одну строку больше размера страницы,
+     * поэтому {@code COUNT(*)} не выполняется. Для статуса {@code COMPLETED} срез берется
+     * из активной таблицы и архива одним запросом, тоже без подсчета.
+     * </p>
+     *
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param page номер страницы (>= 0)
+     * @param size размер страницы (1-100)
+     * @return срез с DTO задач
+     * @throws InvalidRequestException при невалидных параметрах
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    @Transactional(readOnly = true)
+    public Slice<TaskDTO> getTasksSlice(
+            TaskStatus status,
+            TaskPriority priority,
+            Long authorId,
+            Long assigneeId,
+            int page,
+            int size
+    ) {
+        return getTasksSlice(status, priority, authorId, assigneeId, TaskSort.ID, page, size);
+    }
+
+    /**
+     * Получает задачи с фильтрацией в заданном порядке без подсчета общего количества.
+     *
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param sort порядок задач
+     * @param page номер страницы (>= 0)
+     * @param size размер страницы (1-100)
+     * @return срез с DTO задач
+     * @throws InvalidRequestException при невалидных параметрах
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    @Transactional(readOnly = true)
+    public Slice<TaskDTO> getTasksSlice(
+            TaskStatus status,
+            TaskPriority priority,
+            Long authorId,
+            Long assigneeId,
+            @NotNull TaskSort sort,
+            int page,
+            int size
+    ) {
+        logger.info("Fetching task slice with filters: status={}, priority={}, authorId={}, assigneeId={}, sort={}, page={}, size={}",
+                status, priority, authorId, assigneeId, sort, page, size);
+
+        validatePageAndSize(page, size);
+
+        if (status == null && priority == null && authorId == null && assigneeId == null) {
+            throw new InvalidRequestException("At least one filter parameter must be provided");
+        }
+
+        Pageable pageable = PageRequest.of(page, size);
+        if (status == TaskStatus.COMPLETED) {
+            return getCompletedTasksSlice(priority, authorId, assigneeId, sort, pageable);
+        }
+
+        Slice<Task> tasks = taskRepository.findSliceByFilter(
+                new TaskFilter(status, priority, authorId, assigneeId), sort, pageable);
+
+        if (tasks.isEmpty()) {
+            throw new TaskNotFoundException("No tasks found with the specified filters");
+        }
+
+        return tasks.map(taskMapper::toTaskDTO);
+    }
+
+    /**
+     * Получает первые задачи по фильтрам в заданном порядке, например самые срочные.
+     * <p>
+     * Без смещения и подсчета общего количества. Фильтры необязательны: запрос без фильтров
+     * с сортировкой по приоритету читает первые строки индекса по рангу приоритета и ID.
+     * Завершенные задачи читаются вместе с архивом: первые {@code limit} задач каждой таблицы
+     * сливаются в порядке {@code sort}.
+     * </p>
+     *
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param sort порядок задач
+     * @param limit количество задач (1-100)
+     * @return DTO задач в порядке {@code sort}; пустой список, если задач нет
+     * @throws InvalidRequestException при невалидном количестве
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDTO> getTopTasks(
+            TaskStatus status,
+            TaskPriority priority,
+            Long authorId,
+            Long assigneeId,
+            @NotNull TaskSort sort,
+            int limit
+    ) {
+        logger.info("Fetching top {} tasks with filters: status={}, priority={}, authorId={}, assigneeId={}, sort={}",
+                limit, status, priority, authorId, assigneeId, sort);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        if (status == TaskStatus.COMPLETED) {
+            return getTopCompletedTasks(priority, authorId, assigneeId, sort, limit);
+        }
+
+        TaskFilter filter = new TaskFilter(status, priority, authorId, assigneeId);
+        List<Task> tasks = taskBitmapIndex.isReady()
+                ? taskRepository.findAllByIdInOrder(taskBitmapIndex.findIds(filter, sort, 0, limit))
+                : taskRepository.findTopByFilter(filter, sort, limit);
+        return tasks.stream().map(taskMapper::toTaskDTO).toList();
+    }
+
+    /**
+     * Получает первые завершенные задачи из активной таблицы и архива в общем порядке.
+     * <p>
+     * Первые {@code limit} задач объединения лежат среди первых {@code limit} задач каждой таблицы,
+     * поэтому обе таблицы читаются без подсчета и смещения, а результат сливается по ключу сортировки.
+     * </p>
+     */
+    private List<TaskDTO> getTopCompletedTasks(TaskPriority priority, Long authorId, Long assigneeId, TaskSort sort,
+                                               int limit) {
+        List<TaskDTO> tasks = new ArrayList<>();
+        taskRepository.findTopByFilter(new TaskFilter(TaskStatus.COMPLETED, priority, authorId, assigneeId), sort, limit)
+                .forEach(task -> tasks.add(taskMapper.toTaskDTO(task)));
+        archivedTaskRepository.findBy(filterSpec(TaskStatus.COMPLETED, priority, authorId, assigneeId),
+                        query -> query.sortBy(sort.toSort()).limit(limit).all())
+                .forEach(task -> tasks.add(archivedTaskMapper.toTaskDTO(task)));
+
+        return tasks.stream()
+                .sorted(sort.comparator(TaskService::priorityRank, TaskDTO::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    private static int priorityRank(TaskDTO task) {
+        return (task.getPriority() != null ? task.getPriority() : TaskPriority.MEDIUM).rank();
+    }
+
+    /**
+     * Получает завершенные задачи из активной таблицы и архива как одну последовательность.
+     * <p>
+     * Задачи обеих таблиц идут в общем порядке {@code sort}, как в {@link #getTopCompletedTasks}:
+     * ID задач страницы выбираются одним запросом UNION ALL, затем задачи загружаются пакетно из каждой таблицы.
+     * </p>
+     *
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param sort порядок задач обеих таблиц
+     * @param pageable запрошенная страница
+     * @return страница с DTO задач
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    private Page<TaskDTO> getCompletedTasks(TaskPriority priority, Long authorId, Long assigneeId, TaskSort sort,
+                                            Pageable pageable) {
+        Page<CompletedTaskRef> refs = taskRepository.findCompletedByFilter(
+                new TaskFilter(TaskStatus.COMPLETED, priority, authorId, assigneeId), sort, pageable);
+
+        if (refs.isEmpty()) {
+            throw new TaskNotFoundException("No tasks found with the specified filters");
+        }
+
+        return new PageImpl<>(loadCompletedTasks(refs.getContent()), pageable, refs.getTotalElements());
+    }
+
+    /**
+     * Получает срез завершенных задач из активной таблицы и архива без подсчета общего количества.
+     * <p>
+     * Порядок тот же, что и у {@link #getCompletedTasks}: общий порядок {@code sort} по обеим таблицам.
+     * </p>
+     *
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @param sort порядок задач обеих таблиц
+     * @param pageable запрошенная страница
+     * @return срез с DTO задач
+     * @throws TaskNotFoundException если задачи не найдены
+     */
+    private Slice<TaskDTO> getCompletedTasksSlice(TaskPriority priority, Long authorId, Long assigneeId, TaskSort sort,
+                                                  Pageable pageable) {
+        Slice<CompletedTaskRef> refs = taskRepository.findCompletedSliceByFilter(
+                new TaskFilter(TaskStatus.COMPLETED, priority, authorId, assigneeId), sort, pageable);
+
+        if (refs.isEmpty()) {
+            throw new TaskNotFoundException("No tasks found with the specified filters");
+        }
+
+        return new SliceImpl<>(loadCompletedTasks(refs.getContent()), pageable, refs.hasNext());
+    }
+
+    /**
+     * Загружает завершенные задачи по ссылкам пакетно из каждой таблицы с сохранением порядка ссылок.
+     * Задача, перенесенная в архив или восстановленная между запросами, пропускается.
+     */
+    private List<TaskDTO> loadCompletedTasks(List<CompletedTaskRef> refs) {
+        Map<Long, TaskDTO> tasks = new HashMap<>();
+        taskRepository.findAllByIdInOrder(refs.stream().filter(ref -> !ref.archived()).map(CompletedTaskRef::id).toList())
+                .forEach(task -> tasks.put(task.getId(), taskMapper.toTaskDTO(task)));
+        archivedTaskRepository.findAllById(refs.stream().filter(CompletedTaskRef::archived).map(CompletedTaskRef::id).toList())
+                .forEach(task -> tasks.put(task.getId(), archivedTaskMapper.toTaskDTO(task)));
+
+        return refs.stream().map(ref -> tasks.get(ref.id())).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Загружает задачу для изменения.
+     * <p>
+     * Фильтр удаленных записей не действует на задачу, уже загруженную в контекст постоянства:
+     * в пакете операций задача, удаленная предыдущей операцией той же транзакции,
+     * вернулась бы из {@code findById}. Такая задача считается ненайденной, как и в отдельном запросе.
+     * </p>
+     *
+     * @throws TaskNotFoundException если задача не найдена или удалена
+     */
+    private Task findLiveTask(Long taskId) {
+        return taskRepository.findById(taskId)
+                .filter(task -> !task.isDeleted())
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+    }
+
+    /**
+     * Строит спецификацию фильтрации архивных задач. Активные задачи выбираются
+     * заранее скомпилированными запросами {@link TaskRepository#findByFilter}.
+     *
+     * @param status фильтр по статусу
+     * @param priority фильтр по приоритету
+     * @param authorId фильтр по ID автора
+     * @param assigneeId фильтр по ID исполнителя
+     * @return спецификация с условиями по непустым фильтрам
+     */
+    private static Specification<ArchivedTask> filterSpec(TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId) {
+        Specification<ArchivedTask> spec = Specification.where(null);
 
         if (status != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
@@ -275,15 +696,9 @@ public class TaskService {
         if (assigneeId != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("assignee").get("id"), assigneeId));
         }
-
-        Page<Task> tasks = taskRepository.findAll(spec, PageRequest.of(page, size));
-
-        if (tasks.isEmpty()) {
-            throw new TaskNotFoundException("No tasks found with the specified filters");
-        }
-
-        return tasks.map(taskMapper::toTaskDTO);
+        return spec;
     }
+
     /**
      * Добавляет комментарий к задаче.
      *
@@ -294,10 +709,10 @@ public class TaskService {
      * @throws TaskNotFoundException если задача не найдена
      * @throws UnauthorizedActionException если пользователь не имеет прав на комментарий
      */
+    @Transactional
     public CommentDTO addComment(@NotNull Long taskId, @NotNull String text, @NotNull User author) {
         logger.info("Adding comment to task with ID: {}", taskId);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        Task task = findLiveTask(taskId);
 
         if (!task.getAuthor().getId().equals(author.getId())
                 && !task.getAssignee().getId().equals(author.getId())) {
@@ -310,8 +725,33 @@ public class TaskService {
         comment.setAuthor(author);
 
         Comment savedComment = commentRepository.save(comment);
+        // Комментарии входят в представление задачи: обычное изменение задачи увеличивает ее версию
+        // и обновляет запись в кэше второго уровня
+        task.setUpdatedAt(LocalDateTime.now());
+        // Событие несет время изменения, записанное в базу, а его выставляет сброс изменений
+        taskRepository.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(TaskState.of(task), task));
         return commentMapper.toCommentDTO(savedComment);
     }
+    /**
+     * Получает последние комментарии к задачам пользователя.
+     *
+     * @param userId ID пользователя — автора или исполнителя задач
+     * @param limit количество комментариев (от 1 до 100)
+     * @return комментарии от новых к старым, возможно пустой список
+     * @throws InvalidRequestException если количество вне допустимого диапазона
+     */
+    @Transactional(readOnly = true)
+    public List<CommentDTO> getRecentComments(@NotNull Long userId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return commentRepository.findRecentByTaskParticipant(userId, PageRequest.of(0, limit))
+                .stream()
+                .map(commentMapper::toCommentDTO)
+                .toList();
+    }
+
     /**
      * Обновляет приоритет задачи.
      *
@@ -323,11 +763,14 @@ public class TaskService {
     @Transactional
     public TaskDTO updateTaskPriority(@NotNull Long taskId, @NotNull TaskPriority priority) {
         logger.info("Updating priority of task with ID: {}", taskId);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        Task task = findLiveTask(taskId);
 
+        TaskState before = TaskState.of(task);
         task.setPriority(priority);
         Task updatedTask = taskRepository.save(task);
+        // Версия увеличивается при сбросе изменений; ответ должен содержать уже новую версию
+        taskRepository.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, updatedTask));
 
         return taskMapper.toTaskDTO(updatedTask);
     }
@@ -341,18 +784,22 @@ public class TaskService {
      * @throws TaskNotFoundException если задача не найдена
      * @throws AccessDeniedException если пользователь не имеет прав на изменение
      */
+    @Transactional
     public TaskDTO updateTaskStatus(@NotNull Long taskId, @NotNull TaskStatus status, @NotNull User currentUser) {
         logger.info("Updating status of task with ID: {}", taskId);
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        Task task = findLiveTask(taskId);
 
         if (currentUser.hasUserRole() &&
                 !task.getAssignee().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("No permission to update status");
         }
 
+        TaskState before = TaskState.of(task);
         task.setStatus(status);
         Task updatedTask = taskRepository.save(task);
+        // Версия увеличивается при сбросе изменений; ответ должен содержать уже новую версию
+        taskRepository.flush();
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, updatedTask));
 
         return taskMapper.toTaskDTO(updatedTask);
     }
@@ -364,6 +811,7 @@ public class TaskService {
      * @param size размер страницы (1-100)
      * @return страница с DTO задач
      */
+    @Transactional(readOnly = true)
     public Page<TaskDTO> getAllTasks(int page, int size) {
         logger.info("Fetching all tasks with page={}, size={}", page, size);
         validatePageAndSize(page, size);
@@ -374,6 +822,40 @@ public class TaskService {
         return tasks.map(taskMapper::toTaskDTO);
     }
 
+    /**
+     * Получает все задачи с выбранным способом подсчета общего количества (только для администраторов).
+     * <p>
+     * {@link CountMode#NONE} — без подсчета, {@link CountMode#APPROXIMATE} — оценка по статистике
+     * базы, если таблица больше порога, и точный подсчет иначе, {@link CountMode#EXACT} — точный подсчет.
+     * </p>
+     *
+     * @param page номер страницы (>= 0)
+     * @param size размер страницы (1-100)
+     * @param countMode способ подсчета общего количества
+     * @return страница с DTO задач и признаком точности общего количества
+     */
+    @Transactional(readOnly = true)
+    public TaskPageDTO getAllTasks(int page, int size, @NotNull CountMode countMode) {
+        logger.info("Fetching all tasks with page={}, size={}, count={}", page, size, countMode);
+        validatePageAndSize(page, size);
+
+        Pageable pageable = PageRequest.of(page, size);
+        if (countMode == CountMode.EXACT) {
+            return TaskPageDTO.exact(taskRepository.findAll(pageable).map(taskMapper::toTaskDTO));
+        }
+
+        OptionalLong estimate = countMode == CountMode.APPROXIMATE
+                ? taskCountEstimator.estimateIfAboveThreshold()
+                : OptionalLong.empty();
+        if (countMode == CountMode.APPROXIMATE && estimate.isEmpty()) {
+            return TaskPageDTO.exact(taskRepository.findAll(pageable).map(taskMapper::toTaskDTO));
+        }
+
+        Slice<TaskDTO> tasks = taskRepository.findSliceByFilter(new TaskFilter(null, null, null, null), pageable)
+                .map(taskMapper::toTaskDTO);
+        return estimate.isPresent() ? TaskPageDTO.approximate(tasks, estimate.getAsLong()) : TaskPageDTO.slice(tasks);
+    }
+
     /**
      * Валидирует параметры пагинации.
      *
@@ -0,0 +1,380 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.TaskStatsDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.exception.InvalidRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Сервис статистики задач: количество задач по статусам и приоритетам — всего,
+ * по автору и по исполнителю.
+ * <p>
+ * Счетчики хранятся в памяти и обновляются по {@link TaskChangedEvent} после фиксации
+ * транзакций {@link TaskService} и {@link TaskArchiveService}: событие уменьшает ячейку
+ * старого состояния задачи и увеличивает ячейку нового. Общая матрица статус × приоритет
+ * состоит из {@link LongAdder}, поэтому параллельные изменения не конкурируют за одну ячейку;
+ * матрицы пользователей изменяются редко и хранятся в {@link AtomicLongArray}.
+ * Запрос статистики читает несколько ячеек и не зависит от числа задач.
+ * </p>
+ * <p>
+ * Учитываются активные задачи таблицы {@code tasks}: архивирование для статистики — удаление.
+ * Раз в {@code tasks.stats.reconcile-interval} счетчики сверяются с запросом {@code GROUP BY}
+ * и заменяются его результатом. Задачи, изменившиеся во время сверки, пересчитываются по состоянию,
+ * а не по разнице: в той же транзакции {@code REPEATABLE READ} читается их строка из снимка запроса,
+ * ее вклад заменяется последним состоянием из событий. Поэтому изменение, уже попавшее в снимок,
+ * не учитывается дважды. Расхождения пишутся в лог и метрику {@code tasks.stats.drift}.
+ * До первой сверки статистика считается запросом к базе.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskStatisticsService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatisticsService.class);
+
+    private static final String COUNT_TASKS_SQL =
+            "SELECT status, priority, author_id, assignee_id, COUNT(*) AS tasks FROM tasks " +
+            "WHERE deleted = FALSE GROUP BY status, priority, author_id, assignee_id";
+    private static final String COUNT_GLOBAL_SQL =
+            "SELECT status, priority, COUNT(*) AS tasks FROM tasks WHERE deleted = FALSE GROUP BY status, priority";
+    private static final String COUNT_AUTHOR_SQL =
+            "SELECT status, priority, COUNT(*) AS tasks FROM tasks WHERE deleted = FALSE AND author_id = ? " +
+            "GROUP BY status, priority";
+    private static final String COUNT_ASSIGNEE_SQL =
+            "SELECT status, priority, COUNT(*) AS tasks FROM tasks WHERE deleted = FALSE AND assignee_id = ? " +
+            "GROUP BY status, priority";
+
+    private static final String SELECT_STATES_SQL =
+            "SELECT id, status, priority, author_id, assignee_id FROM tasks WHERE deleted = FALSE AND id IN (:ids)";
+    private static final int STATES_CHUNK_SIZE = 1000;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    private static final int CELLS = STATUSES.length * PRIORITIES.length;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final Timer reconcileTimer;
+    private final Counter drift;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Counters counters;
+    private Queue<TaskChangedEvent> pending;
+
+    public TaskStatisticsService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        // Транзакция на запись направляется в основную базу; запрос и чтение состояний видят один снимок
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.reconcileTimer = meterRegistry.timer("tasks.stats.reconcile");
+        this.drift = meterRegistry.counter("tasks.stats.drift");
+    }
+
+    /**
+     * Возвращает количество задач по статусам и приоритетам.
+     *
+     * @param authorId   только задачи автора (null — без ограничения)
+     * @param assigneeId только задачи исполнителя (null — без ограничения)
+     * @return статистика задач
+     * @throws InvalidRequestException если заданы одновременно автор и исполнитель
+     */
+    public TaskStatsDTO getStatistics(Long authorId, Long assigneeId) {
+        if (authorId != null && assigneeId != null) {
+            throw new InvalidRequestException("Statistics can be filtered either by author or by assignee");
+        }
+        Counters current = counters;
+        long[] cells = current == null ? query(authorId, assigneeId)
+                : authorId != null ? Counters.snapshot(current.byAuthor.get(authorId))
+                : assigneeId != null ? Counters.snapshot(current.byAssignee.get(assigneeId))
+                : current.snapshotGlobal();
+        return toDTO(cells);
+    }
+
+    /**
+     * Заполняет счетчики после старта приложения.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Обновляет счетчики по изменению задачи после фиксации транзакции.
+     *
+     * @param event событие изменения задачи
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            // Под блокировкой чтения события добавляют несколько потоков сразу: очередь без монитора
+            // не закрепляет виртуальный поток за несущим при конкурентной записи
+            if (pending != null) {
+                pending.add(event);
+            }
+            Counters current = counters;
+            if (current != null) {
+                current.apply(event);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Сверяет счетчики с базой: пересчитывает их запросом {@code GROUP BY}
+     * и заменяет текущие, пересчитав задачи, изменившиеся во время сверки.
+     *
+     * @return количество ячеек, в которых счетчики расходились с базой
+     */
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${tasks.stats.reconcile-interval:PT10M}")
+    public long reconcile() {
+        lock.writeLock().lock();
+        try {
+            pending = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long drifted;
+        try {
+            drifted = reconcileTimer.record(() -> snapshotTransaction.execute(status -> reconcileInSnapshot()));
+        } catch (RuntimeException e) {
+            logger.error("Failed to reconcile task statistics", e);
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return 0;
+        }
+        if (drifted > 0) {
+            drift.increment(drifted);
+            logger.warn("Task statistics drifted from the database in {} cells, counters replaced", drifted);
+        }
+        return drifted;
+    }
+
+    private long reconcileInSnapshot() {
+        Counters reconciled = new Counters();
+        jdbcTemplate.query(COUNT_TASKS_SQL, (RowCallbackHandler) rs -> {
+            TaskStatus status = TaskStatus.valueOf(rs.getString("status"));
+            TaskPriority priority = TaskPriority.valueOf(rs.getString("priority"));
+            long authorId = rs.getLong("author_id");
+            long assigneeId = rs.getLong("assignee_id");
+            reconciled.add(status, priority, rs.wasNull() ? null : assigneeId, authorId, rs.getLong("tasks"));
+        });
+
+        // Состояние каждой изменившейся задачи, учтенное сейчас в reconciled; null — задача не учтена
+        Map<Long, TaskState> counted = new HashMap<>();
+        // Основная часть событий пересчитывается без блокировки, остаток — перед заменой счетчиков
+        recount(reconciled, counted, drainPending());
+        lock.writeLock().lock();
+        try {
+            recount(reconciled, counted, drainPending());
+            pending = null;
+            long drifted = counters != null ? counters.differences(reconciled) : 0;
+            counters = reconciled;
+            return drifted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<TaskChangedEvent> drainPending() {
+        List<TaskChangedEvent> events = new ArrayList<>();
+        for (TaskChangedEvent event = pending.poll(); event != null; event = pending.poll()) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Заменяет вклад изменившихся задач в результат сверки их последним состоянием из событий.
+     * Для задач, еще не встречавшихся в этой сверке, учтенное состояние читается из снимка запроса.
+     */
+    private void recount(Counters reconciled, Map<Long, TaskState> counted, List<TaskChangedEvent> events) {
+        List<Long> unknown = events.stream()
+                .map(TaskChangedEvent::taskId)
+                .filter(id -> !counted.containsKey(id))
+                .distinct()
+                .toList();
+        for (Long id : unknown) {
+            counted.put(id, null);
+        }
+        for (int from = 0; from < unknown.size(); from += STATES_CHUNK_SIZE) {
+            List<Long> chunk = unknown.subList(from, Math.min(unknown.size(), from + STATES_CHUNK_SIZE));
+            namedJdbcTemplate.query(SELECT_STATES_SQL, Map.of("ids", chunk), (RowCallbackHandler) rs -> {
+                long assigneeId = rs.getLong("assignee_id");
+                Long assignee = rs.wasNull() ? null : assigneeId;
+                counted.put(rs.getLong("id"), new TaskState(rs.getLong("id"), null, null,
+                        TaskStatus.valueOf(rs.getString("status")), TaskPriority.valueOf(rs.getString("priority")),
+                        rs.getLong("author_id"), assignee));
+            });
+        }
+        for (TaskChangedEvent event : events) {
+            reconciled.move(counted.get(event.taskId()), event.after());
+            counted.put(event.taskId(), event.after());
+        }
+    }
+
+    private long[] query(Long authorId, Long assigneeId) {
+        long[] cells = new long[CELLS];
+        RowCallbackHandler handler = rs -> cells[cell(TaskStatus.valueOf(rs.getString("status")),
+                TaskPriority.valueOf(rs.getString("priority")))] += rs.getLong("tasks");
+        if (authorId != null) {
+            jdbcTemplate.query(COUNT_AUTHOR_SQL, handler, authorId);
+        } else if (assigneeId != null) {
+            jdbcTemplate.query(COUNT_ASSIGNEE_SQL, handler, assigneeId);
+        } else {
+            jdbcTemplate.query(COUNT_GLOBAL_SQL, handler);
+        }
+        return cells;
+    }
+
+    private static TaskStatsDTO toDTO(long[] cells) {
+        long total = 0;
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<TaskPriority, Long> byPriority = new EnumMap<>(TaskPriority.class);
+        Map<TaskStatus, Map<TaskPriority, Long>> byStatusAndPriority = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            Map<TaskPriority, Long> row = new EnumMap<>(TaskPriority.class);
+            for (TaskPriority priority : PRIORITIES) {
+                long count = cells[cell(status, priority)];
+                row.put(priority, count);
+                byStatus.merge(status, count, Long::sum);
+                byPriority.merge(priority, count, Long::sum);
+                total += count;
+            }
+            byStatusAndPriority.put(status, row);
+        }
+        return new TaskStatsDTO(total, byStatus, byPriority, byStatusAndPriority);
+    }
+
+    private static int cell(TaskStatus status, TaskPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    /**
+     * Счетчики одного поколения: общая матрица и матрицы авторов и исполнителей.
+     */
+    private static final class Counters {
+        private final LongAdder[] global = new LongAdder[CELLS];
+        private final Map<Long, AtomicLongArray> byAuthor = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLongArray> byAssignee = new ConcurrentHashMap<>();
+
+        private Counters() {
+            for (int i = 0; i < CELLS; i++) {
+                global[i] = new LongAdder();
+            }
+        }
+
+        private void apply(TaskChangedEvent event) {
+            move(event.before(), event.after());
+        }
+
+        private void move(TaskState before, TaskState after) {
+            if (before != null && before.status() != null && before.priority() != null) {
+                add(before.status(), before.priority(), before.assigneeId(), before.authorId(), -1);
+            }
+            if (after != null && after.status() != null && after.priority() != null) {
+                add(after.status(), after.priority(), after.assigneeId(), after.authorId(), 1);
+            }
+        }
+
+        private void add(TaskStatus status, TaskPriority priority, Long assigneeId, Long authorId, long delta) {
+            int cell = cell(status, priority);
+            global[cell].add(delta);
+            if (authorId != null) {
+                byAuthor.computeIfAbsent(authorId, id -> new AtomicLongArray(CELLS)).addAndGet(cell, delta);
+            }
+            if (assigneeId != null) {
+                byAssignee.computeIfAbsent(assigneeId, id -> new AtomicLongArray(CELLS)).addAndGet(cell, delta);
+            }
+        }
+
+        private long[] snapshotGlobal() {
+            long[] cells = new long[CELLS];
+            for (int i = 0; i < CELLS; i++) {
+                cells[i] = global[i].sum();
+            }
+            return cells;
+        }
+
+        private static long[] snapshot(AtomicLongArray counters) {
+            long[] cells = new long[CELLS];
+            if (counters != null) {
+                for (int i = 0; i < CELLS; i++) {
+                    cells[i] = counters.get(i);
+                }
+            }
+            return cells;
+        }
+
+        private long differences(Counters other) {
+            long differences = 0;
+            long[] own = snapshotGlobal();
+            long[] others = other.snapshotGlobal();
+            for (int i = 0; i < CELLS; i++) {
+                differences += own[i] != others[i] ? 1 : 0;
+            }
+            return differences + differences(byAuthor, other.byAuthor) + differences(byAssignee, other.byAssignee);
+        }
+
+        private static long differences(Map<Long, AtomicLongArray> own, Map<Long, AtomicLongArray> other) {
+            long differences = 0;
+            for (Long id : union(own, other)) {
+                long[] first = snapshot(own.get(id));
+                long[] second = snapshot(other.get(id));
+                for (int i = 0; i < CELLS; i++) {
+                    differences += first[i] != second[i] ? 1 : 0;
+                }
+            }
+            return differences;
+        }
+
+        private static List<Long> union(Map<Long, AtomicLongArray> own, Map<Long, AtomicLongArray> other) {
+            List<Long> ids = new ArrayList<>(own.keySet());
+            other.keySet().stream().filter(id -> !own.containsKey(id)).forEach(ids::add);
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.InboxPageDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskStatsDTO;
+import com.example.tasks.dto.WorkspaceDTO;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.ServiceUnavailableException;
+import com.example.tasks.repository.TaskSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Рабочее пространство пользователя: данные стартовой страницы одним запросом.
+ * <p>
+ * Последние созданные задачи, первая страница входящих, статистика назначенных задач
+ * и последние комментарии загружаются параллельно на ограниченном пуле потоков
+ * ({@code tasks.workspace.threads}, очередь {@code tasks.workspace.queue-capacity}).
+ * При заполненной очереди подзапрос выполняется в потоке запроса, то есть под нагрузкой
+ * загрузка становится последовательной, а не отклоняется. Время ответа близко к самому
+ * медленному подзапросу, а не к сумме всех.
+ * </p>
+ * <p>
+ * В режиме виртуальных потоков ({@code spring.threads.virtual.enabled} на Java 21+) каждый подзапрос
+ * выполняется в новом виртуальном потоке, а {@code tasks.workspace.threads} ограничивает число
+ * одновременно выполняемых подзапросов: при достижении предела поток запроса ждет, не занимая
+ * поток ОС. Метрики пула в этом режиме не публикуются.
+ * </p>
+ * <p>
+ * Подзапросы выполняются с контекстом безопасности вызывающего потока. Если один из них
+ * завершился ошибкой или общее время превысило {@code tasks.workspace.timeout}, остальные
+ * отменяются (еще не начатые не выполняются), а вызывающий получает ошибку первого
+ * подзапроса или {@link ServiceUnavailableException}. Метрики: {@code tasks.workspace.load}
+ * с тегом {@code outcome} и метрики пула {@code executor.*} с тегом {@code name=tasks.workspace}.
+ * </p>
+ *
+ * @author AlinaSheveleva
+ * @version 1.0
+ */
+@Service
+public class TaskWorkspaceService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskWorkspaceService.class);
+    private static final int MAX_LIMIT = 100;
+
+    private final TaskReadCoalescer taskReadCoalescer;
+    private final TaskSearchService taskSearchService;
+    private final TaskStatisticsService taskStatisticsService;
+    private final TaskService taskService;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor pool;
+    private final SimpleAsyncTaskExecutor virtualThreads;
+    private final Executor executor;
+    private final Duration timeout;
+
+    public TaskWorkspaceService(TaskReadCoalescer taskReadCoalescer,
+                                TaskSearchService taskSearchService,
+                                TaskStatisticsService taskStatisticsService,
+                                TaskService taskService,
+                                MeterRegistry meterRegistry,
+                                @Value("${tasks.workspace.threads:8}") int threads,
+                                @Value("${tasks.workspace.queue-capacity:64}") int queueCapacity,
+                                @Value("${tasks.workspace.timeout:PT5S}") Duration timeout,
+                                Environment environment) {
+        this.taskReadCoalescer = taskReadCoalescer;
+        this.taskSearchService = taskSearchService;
+        this.taskStatisticsService = taskStatisticsService;
+        this.taskService = taskService;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.pool = null;
+            this.virtualThreads = new SimpleAsyncTaskExecutor("workspace-");
+            this.virtualThreads.setVirtualThreads(true);
+            this.virtualThreads.setConcurrencyLimit(threads);
+            this.executor = new DelegatingSecurityContextExecutor(virtualThreads);
+        } else {
+            this.virtualThreads = null;
+            this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("workspace-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            this.pool.allowCoreThreadTimeOut(true);
+            this.executor = new DelegatingSecurityContextExecutor(pool);
+            new ExecutorServiceMetrics(pool, "tasks.workspace", List.of()).bindTo(meterRegistry);
+        }
+    }
+
+    /**
+     * Загружает рабочее пространство пользователя.
+     *
+     * @param userId   ID пользователя
+     * @param size     количество созданных задач и размер страницы входящих (от 1 до 100)
+     * @param comments количество последних комментариев (от 1 до 100)
+     * @return задачи, входящие, статистика и комментарии пользователя
+     * @throws InvalidRequestException     если количество вне допустимого диапазона
+     * @throws ServiceUnavailableException если данные не загружены за {@code tasks.workspace.timeout}
+     */
+    public WorkspaceDTO getWorkspace(Long userId, int size, int comments) {
+        if (size < 1 || size > MAX_LIMIT || comments < 1 || comments > MAX_LIMIT) {
+            throw new InvalidRequestException("Size and comments must be between 1 and " + MAX_LIMIT);
+        }
+        logger.info("Loading workspace of user {}: size={}, comments={}", userId, size, comments);
+
+        Timer.Sample sample = Timer.start();
+        String outcome = "error";
+        try {
+            CompletableFuture<List<TaskDTO>> authored = fork(
+                    () -> taskReadCoalescer.getTopTasks(null, null, userId, null, TaskSort.ID_DESC, size));
+            CompletableFuture<InboxPageDTO> assigned = fork(() -> taskSearchService.getInbox(userId, 0, size));
+            CompletableFuture<TaskStatsDTO> statistics = fork(() -> taskStatisticsService.getStatistics(null, userId));
+            CompletableFuture<List<CommentDTO>> recentComments = fork(
+                    () -> taskService.getRecentComments(userId, comments));
+
+            awaitAll(authored, assigned, statistics, recentComments);
+            outcome = "success";
+            return new WorkspaceDTO(authored.join(), assigned.join(), statistics.join(), recentComments.join());
+        } finally {
+            sample.stop(meterRegistry.timer("tasks.workspace.load", "outcome", outcome));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        } else {
+            virtualThreads.close();
+        }
+    }
+
+    private <T> CompletableFuture<T> fork(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+
+    /**
+     * Ждет завершения всех подзапросов; при первой ошибке или по таймауту отменяет остальные.
+     */
+    private void awaitAll(CompletableFuture<?>... parts) {
+        CompletableFuture<Object> failure = new CompletableFuture<>();
+        for (CompletableFuture<?> part : parts) {
+            part.whenComplete((result, ex) -> {
+                if (ex != null) {
+                    failure.completeExceptionally(ex);
+                }
+            });
+        }
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(parts), failure)
+                    .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            cancel(parts);
+            throw new ServiceUnavailableException("Workspace was not loaded within " + timeout);
+        } catch (InterruptedException ex) {
+            cancel(parts);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Workspace loading was interrupted");
+        } catch (ExecutionException ex) {
+            cancel(parts);
+            Throwable cause = ex.getCause() instanceof CompletionException ? ex.getCause().getCause() : ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Workspace loading failed", cause);
+        }
+    }
+
+    private static void cancel(CompletableFuture<?>... parts) {
+        for (CompletableFuture<?> part : parts) {
+            part.cancel(true);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.tasks.service;
 
 
+import com.example.tasks.dto.UserDTO;
 import com.example.tasks.entity.User;
 import com.example.tasks.enums.Role;
 import com.example.tasks.exception.EmailAlreadyExistsException;
 import com.example.tasks.exception.InvalidEmailException;
 import com.example.tasks.exception.InvalidPasswordException;
+import com.example.tasks.exception.InvalidRequestException;
 import com.example.tasks.exception.InvalidRoleException;
 import com.example.tasks.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +15,12 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 
 /**
@@ -33,6 +40,7 @@ public class UserService {
     private static final Pattern EMAIL_REGEX =
             Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
     private static final int MIN_PASSWORD_LENGTH = 8;
+    private static final int MAX_IDS = 100;
 
     private static final String DIGIT_REGEX = ".*\\d.*";
     private static final String LETTER_REGEX = ".*[A-Za-z].*";
@@ -95,6 +103,26 @@ public class UserService {
         return registerUser(email, password, Set.of(Role.ROLE_USER));
     }
 
+    /**
+     * Получает публичные данные пользователей по списку ID одним запросом.
+     *
+     * @param ids ID пользователей (от 1 до 100); повторы возвращаются один раз
+     * @return найденные пользователи в порядке {@code ids}, несуществующие пропускаются
+     * @throws InvalidRequestException если список пуст или длиннее 100
+     */
+    public List<UserDTO> getUsersByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_IDS) {
+            throw new InvalidRequestException("Number of ids must be between 1 and " + MAX_IDS);
+        }
+        List<Long> distinct = ids.stream().distinct().toList();
+        Map<Long, UserDTO> users = userRepository.findUserDTOsByIdIn(distinct).stream()
+                .collect(Collectors.toMap(UserDTO::getId, Function.identity()));
+        return distinct.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     /**
      * Валидирует формат электронной почты.
      *
@@ -0,0 +1,20 @@
+-- Числовой ранг приоритета (HIGH = 0, MEDIUM = 1, LOW = 2, см. TaskPriority.rank()).
+-- Строковый приоритет сортируется по алфавиту (HIGH, LOW, MEDIUM), поэтому сортировка
+-- по приоритету идет по рангу.
+ALTER TABLE tasks ADD COLUMN priority_rank SMALLINT;
+UPDATE tasks SET priority_rank = CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END;
+ALTER TABLE tasks ALTER COLUMN priority_rank SET NOT NULL;
+
+-- Архив хранит ранг, чтобы завершенные задачи сортировались так же, а восстановление его возвращало.
+ALTER TABLE tasks_archive ADD COLUMN priority_rank SMALLINT;
+UPDATE tasks_archive SET priority_rank = CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END;
+ALTER TABLE tasks_archive ALTER COLUMN priority_rank SET NOT NULL;
+
+-- Индексы под сортировку "priority,-id" (и обратную "-priority,id" обходом назад) после фильтра
+-- по равенству: запрос с LIMIT читает первые строки индекса и останавливается, без сортировки
+-- всего результата фильтра. Порядок "priority,id" использует те же индексы с досортировкой
+-- внутри ранга.
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_rank ON tasks (assignee_id, priority_rank, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_author_rank ON tasks (author_id, priority_rank, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_rank ON tasks (status, priority_rank, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_rank ON tasks (priority_rank, id DESC);
@@ -0,0 +1,4 @@
+-- Очистка выбирает удаленные комментарии по времени удаления (deleted_at < ?), а не по задаче:
+-- частичный индекс по task_id ей не подходит. Поиск комментариев задачи покрывает idx_comments_task.
+DROP INDEX IF EXISTS idx_comments_tombstoned;
+CREATE INDEX IF NOT EXISTS idx_comments_tombstoned ON comments (deleted_at) WHERE deleted = TRUE;
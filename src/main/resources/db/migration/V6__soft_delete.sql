@@ -0,0 +1,8 @@
+ALTER TABLE tasks ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE tasks ADD COLUMN deleted_at TIMESTAMP;
+
+ALTER TABLE comments ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE comments ADD COLUMN deleted_at TIMESTAMP;
+
+CREATE INDEX idx_tasks_tombstoned ON tasks (deleted_at) WHERE deleted = TRUE;
+CREATE INDEX idx_comments_tombstoned ON comments (task_id) WHERE deleted = TRUE;
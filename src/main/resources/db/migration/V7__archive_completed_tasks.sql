@@ -0,0 +1,25 @@
+ALTER TABLE tasks ADD COLUMN created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE tasks ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_tasks_archivable ON tasks (updated_at) WHERE status = 'COMPLETED' AND deleted = FALSE;
+
+CREATE TABLE tasks_archive (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    status task_status_type NOT NULL,
+    priority task_priority_type NOT NULL,
+    author_id BIGINT NOT NULL REFERENCES users(id),
+    assignee_id BIGINT REFERENCES users(id),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE comments_archive (
+    id BIGINT PRIMARY KEY,
+    text TEXT NOT NULL,
+    task_id BIGINT NOT NULL REFERENCES tasks_archive(id) ON DELETE CASCADE,
+    author_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    created_at TIMESTAMP
+);
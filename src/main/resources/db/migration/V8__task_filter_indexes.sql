@@ -0,0 +1,16 @@
+-- Индексы под комбинации фильтров TaskService.getTasks и поиск по автору/исполнителю.
+-- Фильтры по автору и исполнителю почти всегда селективнее статуса, поэтому они идут первыми;
+-- статус вторым столбцом покрывает самые частые сочетания ("мои задачи в работе").
+CREATE INDEX IF NOT EXISTS idx_tasks_author_status ON tasks (author_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status ON tasks (assignee_id, status);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_priority ON tasks (status, priority);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority ON tasks (priority);
+
+-- Загрузка комментариев задачи (Task.comments) и перенос комментариев в архив.
+CREATE INDEX IF NOT EXISTS idx_comments_task ON comments (task_id);
+
+-- Архив читается только с фильтром status = COMPLETED, поэтому статус в индексах не нужен.
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_author ON tasks_archive (author_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_assignee ON tasks_archive (assignee_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_priority ON tasks_archive (priority);
+CREATE INDEX IF NOT EXISTS idx_comments_archive_task ON comments_archive (task_id);
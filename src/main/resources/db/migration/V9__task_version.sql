@@ -0,0 +1,2 @@
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,78 @@
+package com.example.tasks;
+
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Основа интеграционных тестов: полный контекст приложения на in-memory базе H2.
+ * <p>
+ * Запросы к API выполняются через {@code MockMvc} с полной цепочкой фильтров. Схема создается Hibernate, фоновые задачи по расписанию отложены на сутки и вызываются
+ * тестами явно. Чтение с реплик включено; реплика — та же база, поэтому маршрутизация видна
+ * только по метрикам {@code tasks.datasource.routed}. Все наследники используют один контекст, поэтому тесты не очищают базу,
+ * а создают собственных пользователей и проверяют только свои строки.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:integration;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "tasks.datasource.replica.urls=jdbc:h2:mem:integration;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "jwt.secret=integrationTestSecretKeyWithAtLeast32Characters",
+        "tasks.purge.interval=P1D",
+        "tasks.purge.retention=PT0S",
+        "tasks.purge.chunk-size=2",
+        "tasks.archive.interval=P1D",
+        "tasks.archive.completed-after=PT0S",
+        "tasks.archive.batch-size=2",
+        "tasks.stats.reconcile-interval=P1D",
+        "tasks.indexes.reconcile-interval=P1D",
+        "tasks.search.reindex-initial-delay=P1D",
+        "tasks.search.directory=target/integration-search-${random.uuid}"
+})
+@AutoConfigureMockMvc
+public abstract class AbstractIntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    @Autowired
+    protected TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Создает пользователя с уникальным email.
+     */
+    protected User createUser(Role role) {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setPassword("password");
+        user.setRoles(Set.of(role));
+        return userRepository.save(user);
+    }
+
+    protected long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
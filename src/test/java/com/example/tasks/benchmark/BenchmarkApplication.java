@@ -0,0 +1,135 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.TasksApplication;
+import com.example.tasks.entity.Comment;
+import com.example.tasks.entity.Task;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.repository.CommentRepository;
+import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.UserRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Запуск приложения для бенчмарков: in-memory H2 вместо PostgreSQL, без Flyway и HTTP-сервера.
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] DEFAULT_PROPERTIES = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark-${random.uuid};DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.flyway.enabled=false",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+            "logging.level.com.example.tasks=WARN",
+            "jwt.secret=benchmarkSecretKeyWithAtLeast32Characters!",
+            "tasks.search.directory=${java.io.tmpdir}/tasks-benchmark-search-${random.uuid}"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Запускает контекст приложения без веб-сервера.
+     *
+     * @param extraProperties дополнительные свойства в формате {@code key=value}
+     * @return запущенный контекст
+     */
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(WebApplicationType.NONE, extraProperties);
+    }
+
+    /**
+     * Запускает контекст приложения.
+     *
+     * @param webApplicationType тип приложения (с сервером или без)
+     * @param extraProperties    дополнительные свойства в формате {@code key=value}
+     * @return запущенный контекст
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraProperties) {
+        // Аргументы командной строки имеют приоритет над application.properties
+        String[] args = Stream.concat(Stream.of(DEFAULT_PROPERTIES), Stream.of(extraProperties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TasksApplication.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    /**
+     * Наполняет базу пользователями, задачами и комментариями с детерминированным распределением.
+     *
+     * @param context         запущенный контекст
+     * @param userCount       количество пользователей
+     * @param taskCount       количество задач
+     * @param commentsPerTask количество комментариев у каждой задачи
+     * @return созданные пользователи
+     */
+    public static List<User> seed(ConfigurableApplicationContext context, int userCount, int taskCount, int commentsPerTask) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        List<User> users = transactionTemplate.execute(status -> {
+            List<User> created = new ArrayList<>();
+            for (int i = 0; i < userCount; i++) {
+                User user = new User();
+                user.setEmail("user" + i + "@example.com");
+                user.setPassword("{noop}password" + i);
+                user.setRoles(Set.of(i == 0 ? Role.ROLE_ADMIN : Role.ROLE_USER));
+                created.add(userRepository.save(user));
+            }
+            return created;
+        });
+
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        int batch = 1_000;
+        for (int from = 0; from < taskCount; from += batch) {
+            int start = from;
+            int end = Math.min(taskCount, from + batch);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = start; i < end; i++) {
+                    Task task = new Task();
+                    task.setTitle("Task " + i + " " + WORDS[i % WORDS.length] + " " + WORDS[(i / 7) % WORDS.length]);
+                    task.setDescription("Description of task " + i + ": " + WORDS[(i / 3) % WORDS.length]);
+                    task.setStatus(statuses[i % statuses.length]);
+                    task.setPriority(priorities[(i / 3) % priorities.length]);
+                    task.setAuthor(users.get(i % users.size()));
+                    task.setAssignee(users.get((i * 7 + 1) % users.size()));
+                    Task saved = taskRepository.save(task);
+                    for (int c = 0; c < commentsPerTask; c++) {
+                        Comment comment = new Comment();
+                        comment.setText("Comment " + c + " on task " + i);
+                        comment.setTask(saved);
+                        comment.setAuthor(users.get((i + c) % users.size()));
+                        commentRepository.save(comment);
+                    }
+                }
+            });
+        }
+        return users;
+    }
+
+    private static final String[] WORDS = {
+            "login", "payment", "report", "export", "search", "invoice", "dashboard", "profile",
+            "notification", "billing", "import", "settings", "onboarding", "audit", "backup", "cache"
+    };
+}
@@ -0,0 +1,94 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.service.CustomUserDetailsService;
+import com.example.tasks.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измеряет типичную загрузку страницы списка задач с кэшем второго уровня Hibernate и без него:
+ * аутентификация пользователя по email и страница задач с авторами, исполнителями и комментариями.
+ * <p>
+ * Кроме времени, в конце каждого прогона печатается среднее количество JDBC-запросов
+ * (обращений к базе) на одну операцию по статистике Hibernate.
+ * </p>
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main SecondLevelCacheBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final int USERS = 20;
+    private static final int PAGES = 10;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private CustomUserDetailsService userDetailsService;
+    private Statistics statistics;
+    private long operations;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + cache);
+        BenchmarkApplication.seed(context, USERS, 5_000, 3);
+        taskService = context.getBean(TaskService.class);
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportRoundTrips() {
+        System.out.printf("%n    cache=%s: %.1f statements/op%n",
+                cache, (double) statistics.getPrepareStatementCount() / Math.max(1, operations));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskDTO> listPage() {
+        int request = next++;
+        operations++;
+        userDetailsService.loadUserByUsername("user" + (request % USERS) + "@example.com");
+        return taskService.getTasks(TaskStatus.PENDING, null, null, null, request % PAGES, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SecondLevelCacheBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.index.TaskIndexLoader;
+import com.example.tasks.index.TaskTitleAutocomplete;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает автодополнение {@link TaskTitleAutocomplete} с выборкой
+ * {@code LIKE 'x%' OR LIKE '% x%'} по задачам одного автора с сортировкой по приоритету.
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskAutocompleteBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskAutocompleteBenchmark {
+
+    private static final String[] WORDS = {
+            "login", "payment", "report", "backup", "invoice", "deploy", "release", "migration",
+            "cache", "timeout", "export", "import", "search", "billing", "profile", "session"
+    };
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskTitleAutocomplete autocomplete;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:autocomplete-benchmark-" + tasks + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, updated_at TIMESTAMP, " +
+                "deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE INDEX tasks_author ON tasks (author_id)");
+
+        String words = "ARRAY['" + String.join("', '", WORDS) + "']";
+        // 1000 авторов и 1000 исполнителей, у каждого автора в среднем tasks / 1000 задач
+        jdbcTemplate.update("INSERT INTO tasks (id, title, priority, author_id, assignee_id, updated_at, deleted) SELECT x, " +
+                "CONCAT(ARRAY_GET(" + words + ", 1 + MOD(x, 16)), ' ', ARRAY_GET(" + words + ", 1 + MOD(x / 16, 16)), " +
+                "' ', x), " +
+                "ARRAY_GET(ARRAY['HIGH', 'MEDIUM', 'LOW'], 1 + MOD(x, 3)), 1 + MOD(x, 1000), 1 + MOD(x / 7, 1000), " +
+                "DATEADD('SECOND', x, TIMESTAMP '2024-01-01 00:00:00'), FALSE " +
+                "FROM SYSTEM_RANGE(1, " + tasks + ")");
+
+        autocomplete = new TaskTitleAutocomplete(new SimpleMeterRegistry());
+        new TaskIndexLoader(List.of(autocomplete), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry()).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public List<TaskTitleAutocomplete.Suggestion> trieShortPrefix() {
+        return autocomplete.suggest("re", 42L, null, 10);
+    }
+
+    @Benchmark
+    public List<TaskTitleAutocomplete.Suggestion> trieLongPrefix() {
+        return autocomplete.suggest("payment rep", 42L, null, 10);
+    }
+
+    @Benchmark
+    public List<TaskTitleAutocomplete.Suggestion> trieAuthorAndAssignee() {
+        return autocomplete.suggest("re", 42L, 6L, 10);
+    }
+
+    @Benchmark
+    public List<Long> likeShortPrefix() {
+        return jdbcTemplate.queryForList("SELECT id FROM tasks WHERE deleted = FALSE AND author_id = 42 " +
+                        "AND (LOWER(title) LIKE ? OR LOWER(title) LIKE ?) " +
+                        "ORDER BY CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END, updated_at DESC " +
+                        "LIMIT 10",
+                Long.class, "re%", "% re%");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.config.WebConfig;
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает JSON, CBOR и Smile для типичной страницы задач: пропускную способность
+ * кодирования и декодирования; размер тела ответа печатается при подготовке прогона.
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskBinaryFormatBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private TaskPageDTO page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper json = new ObjectMapper();
+        mapper = switch (format) {
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(WebConfig.smileFactory());
+            default -> json;
+        };
+
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            tasks.add(task(id));
+        }
+        page = TaskPageDTO.exact(new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000));
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.printf("%n    %s, %d tasks: %d bytes%n", format, pageSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TaskPageDTO decode() throws IOException {
+        return mapper.readValue(encoded, TaskPageDTO.class);
+    }
+
+    private static TaskDTO task(long id) {
+        List<CommentDTO> comments = new ArrayList<>();
+        for (long c = 0; c < 3; c++) {
+            CommentDTO comment = new CommentDTO();
+            comment.setId(id * 100 + c);
+            comment.setText("Комментарий " + c + " к задаче " + id);
+            comment.setTaskId(id);
+            comment.setAuthorId(c % 7);
+            comments.add(comment);
+        }
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setTitle("Задача " + id + ": экспорт отчетов");
+        task.setDescription("Описание задачи " + id);
+        task.setStatus(TaskStatus.values()[(int) (id % TaskStatus.values().length)]);
+        task.setPriority(TaskPriority.values()[(int) (id % TaskPriority.values().length)]);
+        task.setAuthorId(id % 20);
+        task.setAssigneeId((id * 7) % 20);
+        task.setComments(comments);
+        task.setVersion(id % 4);
+        return task;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskBinaryFormatBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
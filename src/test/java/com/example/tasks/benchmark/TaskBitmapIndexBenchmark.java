@@ -0,0 +1,95 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.index.TaskBitmapIndex;
+import com.example.tasks.index.TaskIndexLoader;
+import com.example.tasks.repository.TaskFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Измеряет ответы {@link TaskBitmapIndex} на фильтрованные запросы по миллиону задач:
+ * подсчет и страница ID для одного, двух и четырех фильтров.
+ * <p>
+ * Задачи создаются в H2 и загружаются в индекс тем же потоковым чтением, что и при старте
+ * приложения. После построения печатаются время построения и занятая индексом память.
+ * </p>
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskBitmapIndexBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TaskBitmapIndexBenchmark {
+
+    private static final int TASKS = 1_000_000;
+    private static final int USERS = 1_000;
+
+    private static final TaskFilter BY_STATUS = new TaskFilter(TaskStatus.PENDING, null, null, null);
+    private static final TaskFilter BY_STATUS_AND_ASSIGNEE = new TaskFilter(TaskStatus.IN_PROGRESS, null, null, 42L);
+    private static final TaskFilter BY_ALL = new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH, 7L, 42L);
+
+    private TaskBitmapIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bitmap-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, updated_at TIMESTAMP, " +
+                "deleted BOOLEAN)");
+        jdbcTemplate.update("INSERT INTO tasks (id, status, priority, author_id, assignee_id, deleted) SELECT x, " +
+                "ARRAY_GET(ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'], 1 + MOD(x * 7, 3)), " +
+                "ARRAY_GET(ARRAY['HIGH', 'MEDIUM', 'LOW'], 1 + MOD(x * 13, 3)), " +
+                "1 + MOD(x * 31, " + USERS + "), 1 + MOD(x * 17, " + USERS + "), FALSE " +
+                "FROM SYSTEM_RANGE(1, " + TASKS + ")");
+
+        index = new TaskBitmapIndex(new SimpleMeterRegistry(), true);
+        TaskIndexLoader loader = new TaskIndexLoader(List.of(index), jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), new SimpleMeterRegistry());
+        long start = System.nanoTime();
+        loader.rebuild();
+        System.out.printf("%n    %d tasks indexed in %d ms, %.1f MB (%.1f bytes/task)%n",
+                index.size(), (System.nanoTime() - start) / 1_000_000,
+                index.memoryBytes() / 1024.0 / 1024.0, (double) index.memoryBytes() / index.size());
+        jdbcTemplate.execute("DROP TABLE tasks");
+    }
+
+    @Benchmark
+    public long countByStatus() {
+        return index.count(BY_STATUS);
+    }
+
+    @Benchmark
+    public long countByStatusAndAssignee() {
+        return index.count(BY_STATUS_AND_ASSIGNEE);
+    }
+
+    @Benchmark
+    public long countByAllFilters() {
+        return index.count(BY_ALL);
+    }
+
+    @Benchmark
+    public List<Long> deepPageByStatus() {
+        return index.findIds(BY_STATUS, 100_000, 20);
+    }
+
+    @Benchmark
+    public List<Long> pageByStatusAndAssignee() {
+        return index.findIds(BY_STATUS_AND_ASSIGNEE, 100, 20);
+    }
+}
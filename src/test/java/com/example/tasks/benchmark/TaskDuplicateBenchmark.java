@@ -0,0 +1,140 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.index.TaskDuplicateIndex;
+import com.example.tasks.index.TaskIndexLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает поиск похожих задач через LSH-индекс {@link TaskDuplicateIndex} с попарным сравнением
+ * новой задачи со всеми существующими (оценка сходства Жаккара по множествам шинглов).
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskDuplicateBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskDuplicateBenchmark {
+
+    private static final int VOCABULARY = 5_000;
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private String[] words;
+    private TaskDuplicateIndex index;
+    private String duplicateTitle;
+    private String duplicateDescription;
+    private long[][] shingles;
+    private long[] query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(17);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int length = 3 + random.nextInt(6); length > 0; length--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:duplicates-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), " +
+                "description TEXT, status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, " +
+                "updated_at TIMESTAMP, deleted BOOLEAN)");
+        index = new TaskDuplicateIndex(new SimpleMeterRegistry(), 0.6);
+        new TaskIndexLoader(List.of(index), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry()).rebuild();
+
+        // Для попарного сравнения хранятся только хэши шинглов: это нижняя граница его стоимости
+        shingles = new long[tasks][];
+        for (int id = 1; id <= tasks; id++) {
+            String title = text(random, 4);
+            String description = text(random, 12);
+            index.onTaskChanged(new TaskChangedEvent((long) id, null, new TaskState((long) id, title, description,
+                    TaskStatus.PENDING, TaskPriority.MEDIUM, 1L, 1L)));
+            shingles[id - 1] = shingles(title + " " + description);
+            if (id == tasks / 2) {
+                duplicateTitle = title.toUpperCase() + "!";
+                duplicateDescription = description;
+            }
+        }
+        query = shingles(duplicateTitle.toLowerCase() + " " + duplicateDescription);
+    }
+
+    @Benchmark
+    public List<TaskDuplicateIndex.Match> lshDuplicate() {
+        return index.findSimilar(duplicateTitle, duplicateDescription, null, 10);
+    }
+
+    @Benchmark
+    public List<TaskDuplicateIndex.Match> lshUnique() {
+        return index.findSimilar("Migrate billing to the new payment provider", "Stripe webhooks and refunds",
+                null, 10);
+    }
+
+    @Benchmark
+    public int pairwise() {
+        int found = 0;
+        for (long[] candidate : shingles) {
+            if (jaccard(query, candidate) >= 0.6) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private String text(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(words[random.nextInt(VOCABULARY)]);
+        }
+        return text.toString();
+    }
+
+    private static long[] shingles(String text) {
+        return java.util.stream.IntStream.rangeClosed(0, text.length() - 4)
+                .mapToLong(i -> text.substring(i, i + 4).hashCode())
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private static double jaccard(long[] first, long[] second) {
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] == second[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (first.length + second.length - common);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.index.TaskInbox;
+import com.example.tasks.index.TaskInbox.InboxPage;
+import com.example.tasks.index.TaskIndexLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает страницу входящих исполнителя из {@link TaskInbox} с запросом к базе
+ * с сортировкой по приоритету и измеряет стоимость изменения приоритета задачи во входящих.
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskInboxBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInboxBenchmark {
+
+    private static final long ASSIGNEE = 42L;
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskInbox inbox;
+    private TaskChangedEvent lower;
+    private TaskChangedEvent raise;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:inbox-benchmark-" + tasks + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), priority_rank SMALLINT, author_id BIGINT, assignee_id BIGINT, " +
+                "updated_at TIMESTAMP, deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE INDEX tasks_assignee_rank ON tasks (assignee_id, priority_rank, id)");
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority, priority_rank, assignee_id, deleted) " +
+                "SELECT x, CONCAT('Task ', x), " +
+                "ARRAY_GET(ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'], 1 + MOD(x, 3)), " +
+                "ARRAY_GET(ARRAY['HIGH', 'MEDIUM', 'LOW'], 1 + MOD(x / 3, 3)), MOD(x / 3, 3), 1 + MOD(x, 500), " +
+                "FALSE FROM SYSTEM_RANGE(1, " + tasks + ")");
+
+        inbox = new TaskInbox(jdbcTemplate, new SimpleMeterRegistry());
+        new TaskIndexLoader(List.of(inbox), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry()).rebuild();
+
+        // Задача 541: IN_PROGRESS, HIGH, исполнитель 42
+        TaskState high = new TaskState(541L, "Task 541", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 1L, ASSIGNEE);
+        TaskState low = new TaskState(541L, "Task 541", null, TaskStatus.IN_PROGRESS, TaskPriority.LOW, 1L, ASSIGNEE);
+        lower = new TaskChangedEvent(541L, high, low);
+        raise = new TaskChangedEvent(541L, low, high);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public InboxPage inboxFirstPage() {
+        return inbox.page(ASSIGNEE, 0, 20);
+    }
+
+    @Benchmark
+    public InboxPage inboxDeepPage() {
+        return inbox.page(ASSIGNEE, 100, 20);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> queryFirstPage() {
+        return queryPage(0);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> queryDeepPage() {
+        return queryPage(100);
+    }
+
+    @Benchmark
+    public void changePriority() {
+        inbox.onTaskChanged(lower);
+        inbox.onTaskChanged(raise);
+    }
+
+    private List<Map<String, Object>> queryPage(int offset) {
+        List<Map<String, Object>> page = jdbcTemplate.queryForList("SELECT id, title, status, priority FROM tasks " +
+                "WHERE deleted = FALSE AND status <> 'COMPLETED' AND assignee_id = ? " +
+                "ORDER BY priority_rank, id " +
+                "LIMIT 20 OFFSET ?", ASSIGNEE, offset);
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE deleted = FALSE AND status <> 'COMPLETED' " +
+                "AND assignee_id = ?", Long.class, ASSIGNEE);
+        return page;
+    }
+}
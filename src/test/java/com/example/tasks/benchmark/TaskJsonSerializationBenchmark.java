@@ -0,0 +1,140 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.config.TaskJsonFragmentCache;
+import com.example.tasks.config.TaskJsonHttpMessageConverter;
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает запись страницы задач в JSON стандартным Jackson и через кэш сериализованных фрагментов.
+ * <p>
+ * Выделение памяти на операцию показывает профилировщик GC ({@code gc.alloc.rate.norm}).
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskJsonSerializationBenchmark -prof gc"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskJsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"5"})
+    public int commentsPerTask;
+
+    private ObjectMapper objectMapper;
+    private TaskJsonHttpMessageConverter converter;
+    private TaskPageDTO page;
+    private ReusableOutputMessage output;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        converter = new TaskJsonHttpMessageConverter(objectMapper,
+                new TaskJsonFragmentCache(objectMapper, new SimpleMeterRegistry(), 10_000));
+
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            tasks.add(task(id));
+        }
+        page = TaskPageDTO.exact(new PageImpl<>(tasks, PageRequest.of(0, pageSize), 10_000));
+        output = new ReusableOutputMessage();
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        output.reset();
+        objectMapper.writeValue(output.getBody(), page);
+        return output.size();
+    }
+
+    @Benchmark
+    public int cachedFragments() throws IOException {
+        output.reset();
+        converter.write(page, MediaType.APPLICATION_JSON, output);
+        return output.size();
+    }
+
+    private TaskDTO task(long id) {
+        List<CommentDTO> comments = new ArrayList<>();
+        for (long c = 0; c < commentsPerTask; c++) {
+            CommentDTO comment = new CommentDTO();
+            comment.setId(id * 100 + c);
+            comment.setText("Комментарий " + c + " к задаче " + id + ": проверить выгрузку отчета после обновления");
+            comment.setTaskId(id);
+            comment.setAuthorId(c % 7);
+            comments.add(comment);
+        }
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setTitle("Задача " + id + ": экспорт отчетов");
+        task.setDescription("Подробное описание задачи " + id + " с требованиями и критериями приемки");
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setPriority(TaskPriority.HIGH);
+        task.setAuthorId(id % 20);
+        task.setAssigneeId((id * 7) % 20);
+        task.setComments(comments);
+        task.setVersion(3L);
+        return task;
+    }
+
+    /**
+     * Ответ с переиспользуемым буфером, чтобы в измерение не попадало выделение памяти под него.
+     */
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256 * 1024);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        int size() {
+            return body.size();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskJsonSerializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.entity.Task;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.repository.TaskFilter;
+import com.example.tasks.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает стоимость выборки страницы задач через {@code Specification}/Criteria
+ * и через заранее скомпилированные именованные запросы {@link TaskRepository#findByFilter}.
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskQueryBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    @Param({"STATUS", "ASSIGNEE_STATUS", "ALL_FILTERS"})
+    public String filters;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnly;
+    private TaskFilter filter;
+    private final Pageable pageable = PageRequest.of(1, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, 20, 20_000, 0);
+        taskRepository = context.getBean(TaskRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(TransactionTemplate.class).getTransactionManager());
+        readOnly.setReadOnly(true);
+
+        filter = switch (filters) {
+            case "STATUS" -> new TaskFilter(TaskStatus.PENDING, null, null, null);
+            case "ASSIGNEE_STATUS" -> new TaskFilter(TaskStatus.IN_PROGRESS, null, null, 2L);
+            default -> new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH, 1L, 8L);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Task> criteriaSpecification() {
+        return readOnly.execute(status -> taskRepository.findAll(specification(filter), pageable));
+    }
+
+    @Benchmark
+    public Page<Task> precompiledTemplate() {
+        return readOnly.execute(status -> taskRepository.findByFilter(filter, pageable));
+    }
+
+    /**
+     * Повторяет построение спецификации, которое выполнялось в TaskService на каждый запрос.
+     */
+    private static Specification<Task> specification(TaskFilter filter) {
+        Specification<Task> spec = Specification.where(null);
+        if (filter.status() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("priority"), filter.priority()));
+        }
+        if (filter.authorId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("author").get("id"), filter.authorId()));
+        }
+        if (filter.assigneeId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("assignee").get("id"), filter.assigneeId()));
+        }
+        return spec;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskQueryBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
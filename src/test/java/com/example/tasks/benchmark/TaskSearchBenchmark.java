@@ -0,0 +1,112 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.index.TaskSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает полнотекстовый поиск {@link TaskSearchIndex} с выборкой {@code LIKE '%x%'}
+ * на разном объеме задач: первая страница совпадений с общим количеством.
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskSearchBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "login", "payment", "report", "backup", "invoice", "deploy", "release", "migration",
+            "cache", "timeout", "export", "import", "search", "billing", "profile", "session"
+    };
+
+    @Param({"10000", "100000", "400000"})
+    public int tasks;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskSearchIndex index;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:search-benchmark-" + tasks + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE comments (id BIGINT PRIMARY KEY, text TEXT, task_id BIGINT, deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE INDEX comments_task ON comments (task_id)");
+
+        String words = "ARRAY['" + String.join("', '", WORDS) + "']";
+        // Редкое слово "kerberos" встречается в одной задаче из тысячи
+        jdbcTemplate.update("INSERT INTO tasks SELECT x, " +
+                "CONCAT(ARRAY_GET(" + words + ", 1 + MOD(x, 16)), ' ', ARRAY_GET(" + words + ", 1 + MOD(x / 16, 16)), " +
+                "CASEWHEN(MOD(x, 1000) = 0, ' kerberos', '')), " +
+                "CONCAT('Investigate ', ARRAY_GET(" + words + ", 1 + MOD(x * 7, 16)), ' issue number ', x), " +
+                "CASEWHEN(MOD(x, 3) = 0, 'PENDING', 'IN_PROGRESS'), 'MEDIUM', 1, 1 + MOD(x, 50), FALSE " +
+                "FROM SYSTEM_RANGE(1, " + tasks + ")");
+        jdbcTemplate.update("INSERT INTO comments SELECT x, CONCAT('comment about ', ARRAY_GET(" + words +
+                ", 1 + MOD(x * 3, 16))), x, FALSE FROM SYSTEM_RANGE(1, " + tasks + ")");
+
+        directory = Files.createTempDirectory("tasks-search-benchmark");
+        index = new TaskSearchIndex(new NamedParameterJdbcTemplate(jdbcTemplate), new SimpleMeterRegistry(),
+                directory, Duration.ofSeconds(1), 5_000, Integer.MAX_VALUE);
+        index.reindex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult luceneRareWord() {
+        return index.search("kerberos", null, null, null, 0, 20);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.SearchResult luceneTwoWordsWithFilter() {
+        return index.search("payment report", TaskStatus.PENDING, null, 7L, 0, 20);
+    }
+
+    @Benchmark
+    public Object[] likeRareWord() {
+        return like("%kerberos%", "SELECT id FROM tasks WHERE deleted = FALSE AND (title LIKE ? OR description LIKE ? " +
+                "OR id IN (SELECT task_id FROM comments WHERE text LIKE ?))");
+    }
+
+    @Benchmark
+    public Object[] likeTwoWordsWithFilter() {
+        return new Object[]{jdbcTemplate.queryForList("SELECT id FROM tasks WHERE deleted = FALSE " +
+                        "AND status = 'PENDING' AND assignee_id = 7 AND (title LIKE ? OR description LIKE ?) " +
+                        "AND (title LIKE ? OR description LIKE ?) LIMIT 20",
+                Long.class, "%payment%", "%payment%", "%report%", "%report%")};
+    }
+
+    private Object[] like(String pattern, String sql) {
+        List<Long> ids = jdbcTemplate.queryForList(sql + " LIMIT 20", Long.class, pattern, pattern, pattern);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (" + sql + ")", Long.class,
+                pattern, pattern, pattern);
+        return new Object[]{ids, total};
+    }
+}
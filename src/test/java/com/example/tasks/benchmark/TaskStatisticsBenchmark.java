@@ -0,0 +1,99 @@
+package com.example.tasks.benchmark;
+
+import com.example.tasks.dto.TaskStatsDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.service.TaskStatisticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает статистику из счетчиков {@link TaskStatisticsService} с запросом {@code GROUP BY}
+ * и измеряет стоимость обновления счетчиков событием при параллельной записи.
+ * <p>
+ * Запуск: {@code mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * -Dexec.args="-cp %classpath org.openjdk.jmh.Main TaskStatisticsBenchmark"}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStatisticsBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int tasks;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskStatisticsService statisticsService;
+    private TaskChangedEvent toInProgress;
+    private TaskChangedEvent toPending;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:stats-benchmark-" + tasks + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, status VARCHAR(20), priority VARCHAR(20), " +
+                "author_id BIGINT, assignee_id BIGINT, deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE INDEX tasks_assignee ON tasks (assignee_id)");
+        jdbcTemplate.update("INSERT INTO tasks SELECT x, " +
+                "ARRAY_GET(ARRAY['PENDING', 'IN_PROGRESS', 'COMPLETED'], 1 + MOD(x, 3)), " +
+                "ARRAY_GET(ARRAY['HIGH', 'MEDIUM', 'LOW'], 1 + MOD(x / 3, 3)), 1 + MOD(x, 1000), 1 + MOD(x, 500), " +
+                "FALSE FROM SYSTEM_RANGE(1, " + tasks + ")");
+
+        statisticsService = new TaskStatisticsService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+        statisticsService.reconcile();
+
+        TaskState pending = new TaskState(1L, "Task", null, TaskStatus.PENDING, TaskPriority.HIGH, 1L, 1L);
+        TaskState inProgress = new TaskState(1L, "Task", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 1L, 1L);
+        toInProgress = new TaskChangedEvent(1L, pending, inProgress);
+        toPending = new TaskChangedEvent(1L, inProgress, pending);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Benchmark
+    public TaskStatsDTO countersGlobal() {
+        return statisticsService.getStatistics(null, null);
+    }
+
+    @Benchmark
+    public TaskStatsDTO countersAssignee() {
+        return statisticsService.getStatistics(null, 42L);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> groupByGlobal() {
+        return jdbcTemplate.queryForList("SELECT status, priority, COUNT(*) FROM tasks WHERE deleted = FALSE " +
+                "GROUP BY status, priority");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> groupByAssignee() {
+        return jdbcTemplate.queryForList("SELECT status, priority, COUNT(*) FROM tasks WHERE deleted = FALSE " +
+                "AND assignee_id = 42 GROUP BY status, priority");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void updateFourThreads() {
+        statisticsService.onTaskChanged(toInProgress);
+        statisticsService.onTaskChanged(toPending);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.tasks.config;
+
+import com.example.tasks.controller.TaskController;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.repository.TaskSort;
+import com.example.tasks.service.TaskArchiveService;
+import com.example.tasks.service.TaskBatchService;
+import com.example.tasks.service.TaskQueryCache;
+import com.example.tasks.service.TaskReadCoalescer;
+import com.example.tasks.service.TaskSearchService;
+import com.example.tasks.service.TaskStatisticsService;
+import com.example.tasks.service.TaskWorkspaceService;
+import com.example.tasks.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class BinaryContentNegotiationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskArchiveService taskArchiveService;
+    @Mock
+    private TaskQueryCache taskQueryCache;
+    @Mock
+    private TaskReadCoalescer taskReadCoalescer;
+    @Mock
+    private TaskSearchService taskSearchService;
+    @Mock
+    private TaskStatisticsService taskStatisticsService;
+    @Mock
+    private TaskWorkspaceService taskWorkspaceService;
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mockMvc;
+    private TaskPageDTO expected;
+
+    @BeforeEach
+    void setUp() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+        // Стандартные конвертеры, которые Spring MVC регистрирует при наличии CBOR и Smile в classpath
+        converters.add(new MappingJackson2CborHttpMessageConverter());
+        converters.add(new MappingJackson2SmileHttpMessageConverter());
+        new WebConfig(objectMapper, new TaskJsonFragmentCache(objectMapper, new SimpleMeterRegistry(), 100))
+                .extendMessageConverters(converters);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TaskController(taskService, taskArchiveService, taskQueryCache, taskReadCoalescer, taskSearchService,
+                        taskStatisticsService, taskWorkspaceService, taskBatchService))
+                .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+                .build();
+
+        TaskDTO task = new TaskDTO();
+        task.setId(1L);
+        task.setTitle("Task");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setAuthorId(1L);
+        task.setVersion(0L);
+        task.setComments(List.of());
+        PageImpl<TaskDTO> page = new PageImpl<>(List.of(task), PageRequest.of(0, 10), 1);
+        when(taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10)).thenReturn(page);
+        expected = TaskPageDTO.exact(page);
+    }
+
+    @Test
+    void getTasks_AcceptCbor_ReturnsCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks").param("status", "PENDING")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        ObjectMapper cbor = objectMapper.copyWith(new CBORFactory());
+        assertEquals(expected, cbor.readValue(result.getResponse().getContentAsByteArray(), TaskPageDTO.class));
+    }
+
+    @Test
+    void getTasks_AcceptSmile_ReturnsSmile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks").param("status", "PENDING")
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        // Заголовок Smile отмечает таблицу общих строковых значений, которой нет в стандартном конвертере
+        assertTrue((body[3] & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0);
+        ObjectMapper smile = objectMapper.copyWith(WebConfig.smileFactory());
+        assertEquals(expected, smile.readValue(result.getResponse().getContentAsByteArray(), TaskPageDTO.class));
+    }
+
+    @Test
+    void getTasks_NoAccept_ReturnsJson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks").param("status", "PENDING"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertEquals(objectMapper.writeValueAsString(expected), result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.tasks.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final long WINDOW = Duration.ofMillis(100).toNanos();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, true, 10, 4, 50, 20, 5, 1.5,
+                Duration.ofMillis(100), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void limit_StableLatencyUnderLoad_Grows() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 10, 200, 1.5, Duration.ofMillis(100));
+        long now = System.nanoTime();
+        for (int window = 1; window <= 20; window++) {
+            now = saturate(limit, Duration.ofMillis(10), now);
+        }
+
+        assertTrue(limit.getLimit() > 40, "limit " + limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void limit_LatencyIncreases_Shrinks() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200, 1.5, Duration.ofMillis(100));
+        long now = System.nanoTime();
+        for (int window = 1; window <= 5; window++) {
+            now = saturate(limit, Duration.ofMillis(10), now);
+        }
+        int before = limit.getLimit();
+        for (int window = 1; window <= 10; window++) {
+            now = saturate(limit, Duration.ofMillis(100), now);
+        }
+
+        assertTrue(limit.getLimit() < before / 2, before + " -> " + limit.getLimit());
+    }
+
+    @Test
+    void limit_LowUtilization_DoesNotGrow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 10, 200, 1.5, Duration.ofMillis(100));
+        long now = System.nanoTime();
+        for (int window = 1; window <= 20; window++) {
+            now += WINDOW;
+            for (int i = 0; i < AdaptiveConcurrencyLimit.MIN_WINDOW_SAMPLES; i++) {
+                assertTrue(limit.tryAcquire());
+                limit.release(Duration.ofMillis(10).toNanos(), now);
+            }
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void doFilter_GroupLimitReached_ReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        AdaptiveConcurrencyLimit read = filter.getLimit(ConcurrencyLimitFilter.Group.READ);
+        while (read.tryAcquire()) {
+            // Заполняем предел чтения, как будто выполняются долгие запросы
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = execute(new MockHttpServletRequest("GET", "/api/tasks/1"), chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("tasks.limiter.rejected").tag("group", "read").counter().count());
+
+        // Запись и аутентификация ограничиваются отдельно
+        MockFilterChain writeChain = new MockFilterChain();
+        assertEquals(200, execute(new MockHttpServletRequest("POST", "/api/tasks"), writeChain).getStatus());
+        assertNotNull(writeChain.getRequest());
+        MockFilterChain authChain = new MockFilterChain();
+        assertEquals(200, execute(new MockHttpServletRequest("POST", "/api/auth/login"), authChain).getStatus());
+        assertNotNull(authChain.getRequest());
+        assertEquals(0, filter.getLimit(ConcurrencyLimitFilter.Group.WRITE).getInFlight());
+    }
+
+    @Test
+    void doFilter_NotApiPath_NotLimited() throws Exception {
+        AdaptiveConcurrencyLimit read = filter.getLimit(ConcurrencyLimitFilter.Group.READ);
+        while (read.tryAcquire()) {
+            // Заполняем предел чтения
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        assertEquals(200, execute(new MockHttpServletRequest("GET", "/actuator/health"), chain).getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /**
+     * Одно окно под полной нагрузкой: занимает весь предел и завершает все запросы с заданным временем.
+     */
+    private static long saturate(AdaptiveConcurrencyLimit limit, Duration rtt, long now) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        now += WINDOW;
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rtt.toNanos(), now);
+        }
+        return now;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.tasks.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Одна заявка в 10 секунд: за время теста ведро не пополняется
+        filter = new RateLimitFilter(meterRegistry, true, 0.1, 3, 0.1, 6, 1000, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_QuotaExceeded_ReturnsTooManyRequestsWithRetryAfter() throws Exception {
+        authenticate("integration@example.com", "ROLE_USER");
+
+        for (int i = 2; i >= 0; i--) {
+            MockHttpServletResponse response = execute("GET", "/api/tasks");
+            assertEquals(200, response.getStatus());
+            assertEquals("3", response.getHeader(RateLimitFilter.LIMIT_HEADER));
+            assertEquals(String.valueOf(i), response.getHeader(RateLimitFilter.REMAINING_HEADER));
+        }
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = execute("GET", "/api/tasks", chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("0", rejected.getHeader(RateLimitFilter.REMAINING_HEADER));
+        long retryAfter = Long.parseLong(rejected.getHeader("Retry-After"));
+        assertTrue(retryAfter >= 9 && retryAfter <= 10, "Retry-After " + retryAfter);
+        assertNull(chain.getRequest());
+        assertEquals(1.0, meterRegistry.get("tasks.rate-limit.rejected").tag("role", "user").counter().count());
+    }
+
+    @Test
+    void doFilter_QuotaIsPerUserAndEndpoint() throws Exception {
+        authenticate("integration@example.com", "ROLE_USER");
+        for (int i = 0; i < 3; i++) {
+            execute("GET", "/api/tasks/" + (i + 1));
+        }
+        // Запросы к задачам с разными ID — один эндпоинт
+        assertEquals(429, execute("GET", "/api/tasks/42").getStatus());
+        assertEquals(200, execute("GET", "/api/tasks").getStatus());
+        assertEquals(200, execute("PUT", "/api/tasks/42").getStatus());
+
+        authenticate("other@example.com", "ROLE_USER");
+        assertEquals(200, execute("GET", "/api/tasks/42").getStatus());
+    }
+
+    @Test
+    void doFilter_Admin_UsesAdminQuota() throws Exception {
+        authenticate("admin@example.com", "ROLE_ADMIN");
+
+        assertEquals("6", execute("GET", "/api/tasks/admin/all").getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void doFilter_Unauthenticated_NotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = execute("POST", "/api/auth/login");
+            assertEquals(200, response.getStatus());
+            assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+        }
+    }
+
+    @Test
+    void endpoint_ReplacesNumericSegments() {
+        assertEquals("GET /api/tasks/{id}/comments", RateLimitFilter.endpoint(
+                new MockHttpServletRequest("GET", "/api/tasks/15/comments")));
+        assertEquals("GET /api/tasks/admin/all", RateLimitFilter.endpoint(
+                new MockHttpServletRequest("GET", "/api/tasks/admin/all")));
+        assertEquals("DELETE /api/tasks/{id}", RateLimitFilter.endpoint(
+                new MockHttpServletRequest("DELETE", "/api/tasks/7")));
+    }
+
+    @Test
+    void bucket_ConcurrentRequests_GrantExactlyBurst() throws Exception {
+        RateLimitFilter.Bucket bucket = new RateLimitFilter.Bucket(new RateLimitFilter.Quota(0.1, 100));
+        int threads = 8;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        AtomicInteger granted = new AtomicInteger();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex);
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryConsume(System.nanoTime()) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(100, granted.get());
+    }
+
+    private static void authenticate(String email, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, role));
+    }
+
+    private MockHttpServletResponse execute(String method, String path) throws Exception {
+        return execute(method, path, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse execute(String method, String path, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.tasks.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTx;
+    private TransactionTemplate writeTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, List.of(replica), new ReplicaStickiness(Duration.ofMinutes(1)), meterRegistry));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        writeTx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_RoutesToReplica() {
+        assertEquals("replica", readTx.execute(status -> source()));
+    }
+
+    @Test
+    void writeTransaction_RoutesToPrimary() {
+        assertEquals("primary", writeTx.execute(status -> source()));
+    }
+
+    @Test
+    void noTransaction_RoutesToPrimary() {
+        assertEquals("primary", source());
+    }
+
+    @Test
+    void readAfterOwnWrite_RoutesToPrimary() {
+        authenticate("author@example.com");
+        writeTx.executeWithoutResult(status -> jdbcTemplate.update("UPDATE source SET touched = touched + 1"));
+
+        assertEquals("primary", readTx.execute(status -> source()));
+
+        authenticate("other@example.com");
+        assertEquals("replica", readTx.execute(status -> source()));
+    }
+
+    @Test
+    void stickinessWindowExpires() throws InterruptedException {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                database("primary"), List.of(database("replica")),
+                new ReplicaStickiness(Duration.ofMillis(50)), meterRegistry));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        TransactionTemplate read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+
+        authenticate("author@example.com");
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> template.update("UPDATE source SET touched = touched + 1"));
+        Thread.sleep(100);
+
+        assertEquals("replica", read.execute(status -> template.queryForObject("SELECT name FROM source", String.class)));
+    }
+
+    @Test
+    void recordsLatencyPerTarget() {
+        readTx.execute(status -> source());
+        writeTx.execute(status -> source());
+
+        assertEquals(1, meterRegistry.get("tasks.datasource.usage").tag("target", "replica-0").timer().count());
+        assertTrue(meterRegistry.get("tasks.datasource.usage").tag("target", "primary").timer().count() >= 1);
+        assertEquals(1.0, meterRegistry.get("tasks.datasource.routed").tag("target", "replica-0").counter().count());
+        assertTrue(meterRegistry.get("tasks.datasource.acquire").tag("target", "primary").timer().count() >= 1);
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("SELECT name FROM source", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE source (name VARCHAR(20), touched INT)");
+        template.update("INSERT INTO source VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "ROLE_USER"));
+    }
+}
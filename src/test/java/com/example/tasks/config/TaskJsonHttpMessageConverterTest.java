@@ -0,0 +1,124 @@
+package com.example.tasks.config;
+
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskJsonHttpMessageConverterTest {
+
+    private ObjectMapper objectMapper;
+    private TaskJsonFragmentCache fragmentCache;
+    private TaskJsonHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        fragmentCache = new TaskJsonFragmentCache(objectMapper, new SimpleMeterRegistry(), 100);
+        converter = new TaskJsonHttpMessageConverter(objectMapper, fragmentCache);
+    }
+
+    @Test
+    void writePage_MatchesJacksonOutput() throws IOException {
+        TaskPageDTO page = TaskPageDTO.slice(new SliceImpl<>(List.of(task(1L, 0L), task(2L, 3L)), PageRequest.of(0, 2), true));
+
+        assertEquals(objectMapper.writeValueAsString(page), write(page));
+    }
+
+    @Test
+    void writeEmptyPage_MatchesJacksonOutput() throws IOException {
+        TaskPageDTO page = TaskPageDTO.slice(new SliceImpl<>(List.of(), PageRequest.of(3, 10), false));
+
+        assertEquals(objectMapper.writeValueAsString(page), write(page));
+    }
+
+    @Test
+    void writeTask_MatchesJacksonOutput() throws IOException {
+        TaskDTO task = task(1L, 0L);
+
+        assertEquals(objectMapper.writeValueAsString(task), write(task));
+    }
+
+    @Test
+    void writeTask_NonAsciiLargerThanGeneratorBuffer_MatchesJacksonOutput() throws IOException {
+        TaskDTO task = task(2L, 0L);
+        task.setTitle("Задача");
+        task.setDescription("Описание ".repeat(2_000));
+        write(task);
+
+        assertEquals(objectMapper.writeValueAsString(task), write(task));
+    }
+
+    @Test
+    void toJson_SameVersion_ReusesFragment() throws IOException {
+        SerializableString first = fragmentCache.toJson(task(1L, 0L));
+
+        assertSame(first, fragmentCache.toJson(task(1L, 0L)));
+    }
+
+    @Test
+    void toJson_NewVersion_Reserializes() throws IOException {
+        fragmentCache.toJson(task(1L, 0L));
+        TaskDTO updated = task(1L, 1L);
+        updated.setTitle("Renamed");
+
+        assertEquals(objectMapper.writeValueAsString(updated), fragmentCache.toJson(updated).getValue());
+    }
+
+    @Test
+    void onTaskChanged_EvictsFragment() throws IOException {
+        SerializableString first = fragmentCache.toJson(task(1L, 0L));
+        fragmentCache.onTaskChanged(new TaskChangedEvent(1L, null, null));
+
+        assertNotSame(first, fragmentCache.toJson(task(1L, 0L)));
+    }
+
+    @Test
+    void toJson_WithoutVersion_NotCached() throws IOException {
+        SerializableString first = fragmentCache.toJson(task(1L, null));
+
+        assertNotSame(first, fragmentCache.toJson(task(1L, null)));
+    }
+
+    private String write(Object value) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(value, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsString();
+    }
+
+    private static TaskDTO task(Long id, Long version) {
+        CommentDTO comment = new CommentDTO();
+        comment.setId(id * 10);
+        comment.setText("Комментарий \"с кавычками\"");
+        comment.setTaskId(id);
+        comment.setAuthorId(1L);
+
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDescription("Описание задачи");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.HIGH);
+        task.setAuthorId(1L);
+        task.setAssigneeId(2L);
+        task.setComments(List.of(comment));
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.tasks.config;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Бинарные форматы в полном контексте Spring MVC: ответы пишут конвертеры {@link WebConfig},
+ * а не стандартные конвертеры CBOR и Smile.
+ */
+class WebConfigIntegrationTest extends AbstractIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void messageConverters_BinaryConvertersReplaceDefaults() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+
+        List<MappingJackson2CborHttpMessageConverter> cbor = converters.stream()
+                .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+                .map(MappingJackson2CborHttpMessageConverter.class::cast)
+                .toList();
+        List<MappingJackson2SmileHttpMessageConverter> smile = converters.stream()
+                .filter(MappingJackson2SmileHttpMessageConverter.class::isInstance)
+                .map(MappingJackson2SmileHttpMessageConverter.class::cast)
+                .toList();
+        assertEquals(1, cbor.size());
+        assertEquals(1, smile.size());
+        // Копии ObjectMapper приложения сохраняют его зарегистрированные модули
+        assertEquals(objectMapper.getRegisteredModuleIds(), cbor.get(0).getObjectMapper().getRegisteredModuleIds());
+        assertEquals(objectMapper.getRegisteredModuleIds(), smile.get(0).getObjectMapper().getRegisteredModuleIds());
+    }
+
+    @Test
+    void getTasks_AcceptSmile_UsesSharedStringValues() throws Exception {
+        User user = createUser(Role.ROLE_USER);
+        taskService.createTask("Smile", "d", TaskStatus.PENDING, null, user, user.getId());
+
+        MvcResult result = mockMvc.perform(get("/api/tasks").param("assigneeId", user.getId().toString())
+                        .accept(SMILE).with(user(user)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        assertTrue((body[3] & SmileConstants.HEADER_BIT_HAS_SHARED_STRING_VALUES) != 0);
+    }
+}
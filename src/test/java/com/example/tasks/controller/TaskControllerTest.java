@@ -0,0 +1,96 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.CreateTaskRequest;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.service.TaskArchiveService;
+import com.example.tasks.service.TaskSearchService;
+import com.example.tasks.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Запросы к {@link TaskController} через полную цепочку фильтров безопасности.
+ */
+class TaskControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Test
+    void restoreArchivedTask_Admin_ReturnsRestoredTask() throws Exception {
+        User admin = createUser(Role.ROLE_ADMIN);
+        TaskDTO task = taskService.createTask("Completed", "d", TaskStatus.COMPLETED, null, admin, admin.getId());
+        taskArchiveService.archiveCompletedTasks();
+
+        mockMvc.perform(post("/api/tasks/admin/archive/{taskId}/restore", task.getId()).with(user(admin)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(task.getId()))
+                .andExpect(jsonPath("$.title").value("Completed"));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ?", task.getId()));
+    }
+
+    @Test
+    void createTask_DuplicateLookupFails_ReturnsCreatedWithoutHeader() {
+        User admin = createUser(Role.ROLE_ADMIN);
+        TaskSearchService failingSearch = mock(TaskSearchService.class);
+        when(failingSearch.findDuplicates(any(), any(), any(), anyInt())).thenThrow(new IllegalStateException("index"));
+        TaskController controller = new TaskController(taskService, taskArchiveService, null, null, failingSearch,
+                null, null, null);
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("Created once");
+        request.setDescription("d");
+        request.setAssigneeId(admin.getId());
+
+        ResponseEntity<TaskDTO> response = controller.createTask(request,
+                new TestingAuthenticationToken(admin, null, "ROLE_ADMIN"));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertFalse(response.getHeaders().containsKey("X-Possible-Duplicates"));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ?", response.getBody().getId()));
+    }
+
+    @Test
+    void restoreArchivedTask_NotArchived_ReturnsNotFound() throws Exception {
+        User admin = createUser(Role.ROLE_ADMIN);
+
+        mockMvc.perform(post("/api/tasks/admin/archive/{taskId}/restore", Long.MAX_VALUE).with(user(admin)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void restoreArchivedTask_User_ReturnsForbidden() throws Exception {
+        User admin = createUser(Role.ROLE_ADMIN);
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO task = taskService.createTask("Completed", "d", TaskStatus.COMPLETED, null, admin, admin.getId());
+        taskArchiveService.archiveCompletedTasks();
+
+        mockMvc.perform(post("/api/tasks/admin/archive/{taskId}/restore", task.getId()).with(user(user)))
+                .andExpect(status().isForbidden());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks_archive WHERE id = ?", task.getId()));
+    }
+}
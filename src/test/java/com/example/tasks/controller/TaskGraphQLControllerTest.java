@@ -0,0 +1,207 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.config.GraphQLConfig;
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.UserDTO;
+import com.example.tasks.exception.GlobalExceptionHandler;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.repository.TaskSort;
+import com.example.tasks.service.TaskReadCoalescer;
+import com.example.tasks.service.TaskService;
+import com.example.tasks.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Проверяет, что вложенные поля GraphQL загружаются пакетами по уровням запроса:
+ * число обращений к сервисам (и SQL-запросов за ними) не зависит от числа задач в ответе.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskGraphQLControllerTest {
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskReadCoalescer taskReadCoalescer;
+    @Mock
+    private UserService userService;
+
+    private AnnotationConfigApplicationContext context;
+    private ExecutionGraphQlServiceTester tester;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry();
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(TaskGraphQLController.class,
+                () -> new TaskGraphQLController(taskService, taskReadCoalescer, userService, batchLoaderRegistry));
+        context.registerBean(GlobalExceptionHandler.class);
+        context.refresh();
+
+        AnnotatedControllerConfigurer configurer = new AnnotatedControllerConfigurer();
+        configurer.setApplicationContext(context);
+        configurer.afterPropertiesSet();
+
+        GraphQLConfig config = new GraphQLConfig();
+        GraphQlSource source = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ClassPathResource("graphql/schema.graphqls"))
+                .configureRuntimeWiring(configurer)
+                .exceptionResolvers(List.of(configurer.getExceptionResolver()))
+                .instrumentation(List.of(config.maxQueryDepthInstrumentation(8),
+                        config.maxQueryComplexityInstrumentation(5000)))
+                .build();
+        DefaultExecutionGraphQlService service = new DefaultExecutionGraphQlService(source);
+        service.addDataLoaderRegistrar(batchLoaderRegistry);
+        tester = ExecutionGraphQlServiceTester.create(service);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void topTasks_DeepQuery_LoadsEachUserOnce() {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            // Авторы и исполнители повторяются: 3 разных пользователя на 30 задач
+            tasks.add(task(id, 1 + id % 3, 1 + (id + 1) % 3,
+                    comment(id * 10, id, 10 + id % 2), comment(id * 10 + 1, id, 1)));
+        }
+        when(taskReadCoalescer.getTopTasks(null, null, null, null, TaskSort.PRIORITY_ID_DESC, 30)).thenReturn(tasks);
+        List<List<Long>> batches = new ArrayList<>();
+        when(userService.getUsersByIds(anyList())).thenAnswer(invocation -> {
+            batches.add(invocation.getArgument(0));
+            return users(invocation.getArgument(0));
+        });
+
+        List<String> emails = tester.document("""
+                        {
+                          topTasks(limit: 30) {
+                            id
+                            author { email }
+                            assignee { email }
+                            comments {
+                              text
+                              author { email }
+                              task { id author { email } }
+                            }
+                          }
+                        }""")
+                .execute()
+                .path("topTasks[*].comments[*].author.email").entityList(String.class).get();
+
+        assertEquals(60, emails.size());
+        // Не больше одного обращения на уровень запроса, каждый пользователь загружается один раз
+        assertTrue(batches.size() <= 2);
+        List<Long> loaded = batches.stream().flatMap(List::stream).toList();
+        assertEquals(5, loaded.size());
+        assertEquals(Set.of(1L, 2L, 3L, 10L, 11L), Set.copyOf(loaded));
+        // Задача комментария — уже загруженная родительская задача
+        verify(taskService, never()).getTasksByIds(anyList(), anySet());
+    }
+
+    @Test
+    void recentComments_LoadsTasksOfCommentsInOneBatch() {
+        when(taskService.getRecentComments(7L, 10)).thenReturn(List.of(
+                comment(1, 100, 7), comment(2, 200, 7), comment(3, 100, 8), comment(4, 300, 7)));
+        when(taskService.getTasksByIds(anyList(), eq(Set.of()))).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream().map(id -> task(id, 7L, null)).toList());
+
+        tester.document("{ recentComments(userId: 7) { id task { id title } } }")
+                .execute()
+                .path("recentComments[*].task.title")
+                .entityList(String.class).containsExactly("Task 100", "Task 200", "Task 100", "Task 300");
+
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.captor();
+        verify(taskService).getTasksByIds(ids.capture(), eq(Set.of()));
+        assertEquals(Set.of(100L, 200L, 300L), Set.copyOf(ids.getValue()));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void query_TooComplex_RejectedBeforeExecution() {
+        tester.document("{ topTasks(limit: 100) { comments(limit: 100) { author { email } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertEquals(1, errors.size()));
+
+        verifyNoInteractions(taskReadCoalescer, taskService, userService);
+    }
+
+    @Test
+    void query_TooDeep_RejectedBeforeExecution() {
+        tester.document("""
+                        { task(id: 1) { comments { task { comments { task { comments { task {
+                          comments { text } } } } } } } } }""")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertEquals(1, errors.size()));
+
+        verifyNoInteractions(taskReadCoalescer, taskService, userService);
+    }
+
+    @Test
+    void tasks_InvalidIds_ReturnsBadRequestError() {
+        when(taskService.getTasksByIds(List.of(), Set.of()))
+                .thenThrow(new InvalidRequestException("Number of ids must be between 1 and 100"));
+
+        tester.document("{ tasks(ids: []) { id } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> {
+                    assertEquals(1, errors.size());
+                    assertEquals(ErrorType.BAD_REQUEST, errors.get(0).getErrorType());
+                });
+    }
+
+    private static TaskDTO task(long id, Long authorId, Long assigneeId, CommentDTO... comments) {
+        TaskDTO task = new TaskDTO();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setAuthorId(authorId);
+        task.setAssigneeId(assigneeId);
+        task.setComments(List.of(comments));
+        return task;
+    }
+
+    private static CommentDTO comment(long id, long taskId, long authorId) {
+        CommentDTO comment = new CommentDTO();
+        comment.setId(id);
+        comment.setText("Comment " + id);
+        comment.setTaskId(taskId);
+        comment.setAuthorId(authorId);
+        return comment;
+    }
+
+    private static List<UserDTO> users(List<Long> ids) {
+        return ids.stream()
+                .map(id -> new UserDTO(id, "user" + id + "@example.com"))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.tasks.controller;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Число SQL-запросов на глубокий GraphQL-запрос к {@link TaskGraphQLController} на реальной базе:
+ * оно ограничено глубиной запроса и не растет с числом задач в ответе.
+ */
+class TaskGraphQLStatementsTest extends AbstractIntegrationTest {
+
+    private static final String DEEP_QUERY = """
+            query($ids: [ID!]!) {
+              tasks(ids: $ids) {
+                id title
+                author { id email }
+                assignee { id email }
+                comments(limit: 10) {
+                  id text
+                  author { id email }
+                  task { id title author { email } }
+                }
+              }
+            }
+            """;
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deepQuery_StatementCountDoesNotGrowWithTasks() {
+        User author = createUser(Role.ROLE_USER);
+        List<User> assignees = List.of(createUser(Role.ROLE_USER), createUser(Role.ROLE_USER),
+                createUser(Role.ROLE_USER));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            User assignee = assignees.get(i % assignees.size());
+            TaskDTO task = taskService.createTask("Task " + i, "d", null, null, author, assignee.getId());
+            taskService.addComment(task.getId(), "first", author);
+            taskService.addComment(task.getId(), "second", assignee);
+            ids.add(task.getId());
+        }
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(author, null, "ROLE_USER"));
+
+        long twoTasks = countStatements(ids.subList(0, 2));
+        long twentyTasks = countStatements(ids);
+
+        assertEquals(twoTasks, twentyTasks);
+        // Задачи, их комментарии и пользователи всех уровней; без пакетной загрузки — больше 20
+        assertTrue(twentyTasks <= 4, "statements: " + twentyTasks);
+    }
+
+    /**
+     * Выполняет глубокий запрос с пустым кэшем второго уровня и возвращает число подготовленных SQL-запросов.
+     */
+    private long countStatements(List<Long> ids) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Сбрасываются и коллекции: иначе их элементы загружались бы по одному из-за пустого кэша сущностей
+        sessionFactory.getCache().evictAllRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+        long before = statistics.getPrepareStatementCount();
+
+        Map<String, Object> variables = Map.of("ids", ids.stream().map(String::valueOf).toList());
+        ExecutionGraphQlResponse response = graphQlService
+                .execute(new DefaultExecutionGraphQlRequest(DEEP_QUERY, null, variables, null, "1", null))
+                .block();
+
+        assertTrue(response.getErrors().isEmpty(), () -> response.getErrors().toString());
+        List<Map<String, Object>> tasks = response.field("tasks").getValue();
+        assertEquals(ids, tasks.stream().map(task -> Long.valueOf((String) task.get("id"))).toList());
+        tasks.forEach(task -> assertEquals(2, ((List<?>) task.get("comments")).size()));
+        assertEquals(1, tasks.stream()
+                .map(task -> ((Map<?, ?>) task.get("author")).get("email"))
+                .collect(Collectors.toSet()).size());
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
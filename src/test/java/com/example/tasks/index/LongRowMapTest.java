@@ -0,0 +1,66 @@
+package com.example.tasks.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongRowMapTest {
+
+    @Test
+    void putReplacesExistingRow() {
+        LongRowMap rows = new LongRowMap(0);
+
+        rows.put(42L, (byte) 1, 5, 0);
+        rows.put(42L, (byte) 2, 6, 7);
+
+        int slot = rows.indexOf(42L);
+        assertEquals(1, rows.size());
+        assertEquals(2, rows.attributes(slot));
+        assertEquals(6, rows.author(slot));
+        assertEquals(7, rows.assignee(slot));
+    }
+
+    @Test
+    void remove_MissingId_ReturnsFalse() {
+        LongRowMap rows = new LongRowMap(0);
+        rows.put(1L, (byte) 1, 1, 1);
+
+        assertFalse(rows.remove(2L));
+        assertTrue(rows.remove(1L));
+        assertEquals(-1, rows.indexOf(1L));
+    }
+
+    @Test
+    void randomOperations_MatchHashMap() {
+        LongRowMap rows = new LongRowMap(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id) != null, rows.remove(id));
+            } else {
+                int author = random.nextInt(100);
+                rows.put(id, (byte) 0, author, 0);
+                expected.put(id, author);
+            }
+        }
+
+        assertEquals(expected.size(), rows.size());
+        for (long id = 1; id <= 5_000; id++) {
+            int slot = rows.indexOf(id);
+            if (expected.containsKey(id)) {
+                assertEquals(expected.get(id), rows.author(slot));
+            } else {
+                assertEquals(-1, slot);
+            }
+        }
+    }
+}
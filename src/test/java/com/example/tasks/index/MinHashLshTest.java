@@ -0,0 +1,114 @@
+package com.example.tasks.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashLshTest {
+
+    private static final int BANDS = 4;
+    private static final int ROWS = 2;
+
+    @Test
+    void forEachCandidate_ReportsTasksSharingBand() {
+        MinHashLsh lsh = new MinHashLsh(BANDS, ROWS, 0);
+        lsh.put(1L, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        lsh.put(2L, new byte[]{1, 2, 0, 0, 0, 0, 0, 0});
+        lsh.put(3L, new byte[]{1, 0, 3, 0, 5, 0, 7, 0});
+
+        Map<Long, Integer> candidates = candidates(lsh, new byte[]{1, 2, 3, 4, 9, 9, 9, 9});
+
+        // Задача 3 совпадает в 2 позициях, но ни в одной полосе целиком
+        assertEquals(Map.of(1L, 4, 2L, 2), candidates);
+    }
+
+    @Test
+    void put_ReplacesSignature() {
+        MinHashLsh lsh = new MinHashLsh(BANDS, ROWS, 0);
+        lsh.put(1L, new byte[]{1, 1, 1, 1, 1, 1, 1, 1});
+        lsh.put(1L, new byte[]{2, 2, 2, 2, 2, 2, 2, 2});
+
+        assertEquals(1, lsh.size());
+        assertEquals(Map.of(), candidates(lsh, new byte[]{1, 1, 1, 1, 1, 1, 1, 1}));
+        assertEquals(Map.of(1L, 8), candidates(lsh, new byte[]{2, 2, 2, 2, 2, 2, 2, 2}));
+        assertThrows(IllegalArgumentException.class, () -> lsh.put(2L, new byte[3]));
+    }
+
+    @Test
+    void randomOperations_MatchBruteForce() {
+        MinHashLsh lsh = new MinHashLsh(BANDS, ROWS, 0);
+        Map<Long, byte[]> expected = new HashMap<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 100_000; i++) {
+            long id = 1 + random.nextInt(3_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id) != null, lsh.remove(id));
+            } else {
+                byte[] signature = randomSignature(random);
+                lsh.put(id, signature);
+                expected.put(id, signature);
+            }
+        }
+        assertEquals(expected.size(), lsh.size());
+
+        for (int query = 0; query < 200; query++) {
+            byte[] signature = randomSignature(random);
+            Map<Long, Integer> bruteForce = new HashMap<>();
+            expected.forEach((id, stored) -> {
+                boolean shared = false;
+                for (int band = 0; band < BANDS; band++) {
+                    shared |= stored[band * ROWS] == signature[band * ROWS]
+                            && stored[band * ROWS + 1] == signature[band * ROWS + 1];
+                }
+                if (shared) {
+                    int matches = 0;
+                    for (int i = 0; i < signature.length; i++) {
+                        matches += stored[i] == signature[i] ? 1 : 0;
+                    }
+                    bruteForce.put(id, matches);
+                }
+            });
+            assertEquals(bruteForce, candidates(lsh, signature));
+        }
+    }
+
+    @Test
+    void remove_MissingId_ReturnsFalse() {
+        MinHashLsh lsh = new MinHashLsh(BANDS, ROWS, 0);
+        lsh.put(1L, new byte[8]);
+
+        assertFalse(lsh.remove(2L));
+        assertTrue(lsh.remove(1L));
+        assertEquals(0, lsh.size());
+        assertEquals(Map.of(), candidates(lsh, new byte[8]));
+    }
+
+    private static byte[] randomSignature(Random random) {
+        // Маленький алфавит дает много совпадающих полос и длинные цепочки пробирования
+        byte[] signature = new byte[BANDS * ROWS];
+        for (int i = 0; i < signature.length; i++) {
+            signature[i] = (byte) random.nextInt(4);
+        }
+        return signature;
+    }
+
+    private static Map<Long, Integer> candidates(MinHashLsh lsh, byte[] signature) {
+        Map<Long, Integer> candidates = new HashMap<>();
+        Set<Long> reported = new HashSet<>();
+        lsh.forEachCandidate(signature, (id, matches) -> {
+            assertTrue(reported.add(id), "reported twice: " + id);
+            candidates.put(id, matches);
+        });
+        return candidates;
+    }
+}
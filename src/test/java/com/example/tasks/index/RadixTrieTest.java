@@ -0,0 +1,152 @@
+package com.example.tasks.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RadixTrieTest {
+
+    @Test
+    void forEachWithPrefix_MatchesInsideEdgeLabel() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("login page", 1L);
+        trie.add("logout", 2L);
+        trie.add("report", 3L);
+
+        assertEquals(Set.of(1L, 2L), collect(trie, "log"));
+        assertEquals(Set.of(1L), collect(trie, "login p"));
+        assertEquals(Set.of(), collect(trie, "login x"));
+        assertEquals(Set.of(), collect(trie, "login page and more"));
+        assertEquals(Set.of(1L, 2L, 3L), collect(trie, ""));
+    }
+
+    @Test
+    void forEachWithPrefix_StopsWhenConsumerRefuses() {
+        RadixTrie trie = new RadixTrie();
+        for (long value = 1; value <= 10; value++) {
+            trie.add("task " + value, value);
+        }
+        List<Long> values = new ArrayList<>();
+
+        assertFalse(trie.forEachWithPrefix("task", value -> values.add(value) && values.size() < 3));
+        assertEquals(3, values.size());
+    }
+
+    @Test
+    void remove_MergesNodesBack() {
+        RadixTrie trie = new RadixTrie();
+        trie.add("login", 1L);
+        int single = trie.nodes();
+        trie.add("logout", 2L);
+        trie.add("log", 3L);
+
+        assertFalse(trie.remove("logo", 2L));
+        assertFalse(trie.remove("logout", 1L));
+        assertTrue(trie.remove("logout", 2L));
+        assertTrue(trie.remove("log", 3L));
+
+        assertEquals(single, trie.nodes());
+        assertEquals(Set.of(1L), collect(trie, "lo"));
+        assertTrue(trie.remove("login", 1L));
+        assertTrue(trie.isEmpty());
+        assertEquals(1, trie.nodes());
+    }
+
+    @Test
+    void randomOperations_MatchNaiveMap() {
+        RadixTrie trie = new RadixTrie();
+        Map<String, Set<Long>> expected = new HashMap<>();
+        Random random = new Random(11);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add(randomKey(random));
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            String key = keys.get(random.nextInt(keys.size()));
+            long value = 1 + random.nextInt(20);
+            if (random.nextInt(3) == 0) {
+                Set<Long> values = expected.get(key);
+                boolean present = values != null && values.remove(value);
+                assertEquals(present, trie.remove(key, value));
+            } else {
+                trie.add(key, value);
+                expected.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+            }
+        }
+
+        Set<String> prefixes = new TreeSet<>();
+        for (String key : keys) {
+            for (int length = 0; length <= key.length(); length++) {
+                prefixes.add(key.substring(0, length));
+            }
+        }
+        for (String prefix : prefixes) {
+            Set<Long> values = new HashSet<>();
+            expected.forEach((key, keyValues) -> {
+                if (key.startsWith(prefix)) {
+                    values.addAll(keyValues);
+                }
+            });
+            assertEquals(values, collect(trie, prefix), prefix);
+        }
+
+        // После удалений дерево так же сжато, как построенное заново
+        RadixTrie rebuilt = new RadixTrie();
+        expected.forEach((key, values) -> values.forEach(value -> rebuilt.add(key, value)));
+        assertEquals(rebuilt.nodes(), trie.nodes());
+    }
+
+    @Test
+    void addRemoveCycles_ReuseNodesAndChars() {
+        RadixTrie trie = new RadixTrie();
+        Random random = new Random(3);
+        long memory = 0;
+        for (int cycle = 0; cycle < 20; cycle++) {
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                keys.add(randomKey(random) + " " + random.nextInt(1_000_000));
+                trie.add(keys.get(i), i + 1);
+            }
+            if (cycle == 0) {
+                memory = trie.memoryBytes();
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                assertTrue(trie.remove(keys.get(i), i + 1));
+            }
+            assertTrue(trie.isEmpty());
+            assertEquals(1, trie.nodes());
+        }
+        assertTrue(trie.memoryBytes() <= 2 * memory);
+    }
+
+    private static String randomKey(Random random) {
+        // Маленький алфавит дает много общих префиксов и разбиений ребер
+        StringBuilder key = new StringBuilder();
+        int length = 1 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+
+    private static Set<Long> collect(RadixTrie trie, String prefix) {
+        Set<Long> values = new HashSet<>();
+        assertTrue(trie.forEachWithPrefix(prefix, value -> {
+            values.add(value);
+            return true;
+        }));
+        return values;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.repository.TaskFilter;
+import com.example.tasks.repository.TaskSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskBitmapIndexTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskBitmapIndex index;
+    private TaskIndexLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bitmap" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, updated_at TIMESTAMP, " +
+                "deleted BOOLEAN)");
+        // 30 задач: статус по кругу, приоритет по id % 3, автор 1 или 2, исполнитель у четных
+        jdbcTemplate.update("INSERT INTO tasks (id, status, priority, author_id, assignee_id, deleted) SELECT x, " +
+                "CASEWHEN(MOD(x, 3) = 0, 'PENDING', CASEWHEN(MOD(x, 3) = 1, 'IN_PROGRESS', 'COMPLETED')), " +
+                "CASEWHEN(MOD(x, 3) = 0, 'HIGH', 'LOW'), MOD(x, 2) + 1, CASEWHEN(MOD(x, 2) = 0, 7, NULL), FALSE " +
+                "FROM SYSTEM_RANGE(1, 30)");
+        jdbcTemplate.update("UPDATE tasks SET deleted = TRUE WHERE id = 30");
+
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TaskBitmapIndex(meterRegistry, true);
+        loader = new TaskIndexLoader(List.of(index), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                meterRegistry);
+    }
+
+    @Test
+    void notReadyUntilBuilt() {
+        assertFalse(index.isReady());
+
+        loader.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(29, index.size());
+    }
+
+    @Test
+    void count_IntersectsFilters() {
+        loader.rebuild();
+
+        assertEquals(9, index.count(new TaskFilter(TaskStatus.PENDING, null, null, null)));
+        assertEquals(9, index.count(new TaskFilter(null, TaskPriority.HIGH, null, null)));
+        assertEquals(5, index.count(new TaskFilter(TaskStatus.PENDING, null, 2L, null)));
+        assertEquals(4, index.count(new TaskFilter(TaskStatus.PENDING, TaskPriority.HIGH, null, 7L)));
+        assertEquals(0, index.count(new TaskFilter(null, null, 99L, null)));
+    }
+
+    @Test
+    void findIds_ReturnsPageInIdOrder() {
+        loader.rebuild();
+        TaskFilter pending = new TaskFilter(TaskStatus.PENDING, null, null, null);
+
+        assertEquals(List.of(3L, 6L, 9L, 12L), index.findIds(pending, 0, 4));
+        assertEquals(List.of(15L, 18L, 21L, 24L), index.findIds(pending, 4, 4));
+        assertEquals(List.of(27L), index.findIds(pending, 8, 4));
+        assertEquals(List.of(), index.findIds(pending, 12, 4));
+        assertEquals(List.of(6L, 12L, 18L, 24L), index.findIds(new TaskFilter(pending.status(), null, null, 7L), 0, 10));
+    }
+
+    @Test
+    void findIds_SortedByPriority_PagesAcrossPriorities() {
+        loader.rebuild();
+        TaskFilter byAuthor = new TaskFilter(null, null, 2L, null);
+
+        // Автор 2 — нечетные ID; HIGH у кратных трем
+        assertEquals(List.of(27L, 21L, 15L, 9L, 3L, 29L), index.findIds(byAuthor, TaskSort.PRIORITY_ID_DESC, 0, 6));
+        assertEquals(List.of(3L, 9L, 15L, 21L, 27L, 1L), index.findIds(byAuthor, TaskSort.PRIORITY, 0, 6));
+        assertEquals(List.of(29L, 27L, 25L), index.findIds(byAuthor, TaskSort.ID_DESC, 0, 3));
+
+        Comparator<Long> highFirst = Comparator.comparing(id -> id % 3 == 0 ? 0 : 1);
+        for (TaskSort sort : TaskSort.values()) {
+            Comparator<Long> byId = sort.idDescending() ? Comparator.reverseOrder() : Comparator.naturalOrder();
+            Comparator<Long> order = !sort.byPriority() ? byId
+                    : (sort.priorityDescending() ? highFirst.reversed() : highFirst).thenComparing(byId);
+            List<Long> expected = LongStream.rangeClosed(1, 29).filter(id -> id % 2 == 1).boxed().sorted(order).toList();
+            List<Long> paged = new ArrayList<>();
+            for (int offset = 0; offset < 20; offset += 4) {
+                paged.addAll(index.findIds(byAuthor, sort, offset, 4));
+            }
+            assertEquals(expected, paged, sort.name());
+        }
+    }
+
+    @Test
+    void onTaskChanged_UpdatesBitmaps() {
+        loader.rebuild();
+        TaskFilter pendingOfAssignee = new TaskFilter(TaskStatus.PENDING, null, null, 8L);
+
+        index.onTaskChanged(new TaskChangedEvent(31L, null, state(31L, TaskStatus.PENDING, 8L)));
+        assertEquals(List.of(31L), index.findIds(pendingOfAssignee, 0, 10));
+
+        index.onTaskChanged(new TaskChangedEvent(31L, state(31L, TaskStatus.PENDING, 8L), state(31L, TaskStatus.COMPLETED, 8L)));
+        assertEquals(0, index.count(pendingOfAssignee));
+        assertEquals(1, index.count(new TaskFilter(TaskStatus.COMPLETED, null, null, 8L)));
+
+        index.onTaskChanged(TaskChangedEvent.deleted(state(3L, TaskStatus.PENDING, null)));
+        assertEquals(8, index.count(new TaskFilter(TaskStatus.PENDING, null, null, null)));
+        assertEquals(29, index.size());
+    }
+
+    @Test
+    void reportsMemory() {
+        loader.rebuild();
+
+        assertTrue(index.memoryBytes() > 0);
+        assertEquals(29.0, meterRegistry.get("tasks.bitmap-index.tasks").gauge().value());
+        assertEquals(index.memoryBytes(), meterRegistry.get("tasks.bitmap-index.memory").gauge().value());
+    }
+
+    @Test
+    void disabledIndexIgnoresEvents() {
+        TaskBitmapIndex disabled = new TaskBitmapIndex(new SimpleMeterRegistry(), false);
+
+        new TaskIndexLoader(List.of(disabled), jdbcTemplate,
+                new DataSourceTransactionManager(jdbcTemplate.getDataSource()), new SimpleMeterRegistry()).rebuild();
+        disabled.onTaskChanged(new TaskChangedEvent(31L, null, state(31L, TaskStatus.PENDING, 8L)));
+
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+    }
+
+    private static TaskState state(Long id, TaskStatus status, Long assigneeId) {
+        return new TaskState(id, "title", "description", status, TaskPriority.MEDIUM, 1L, assigneeId);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.index.TaskDuplicateIndex.Match;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskDuplicateIndexTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskDuplicateIndex index;
+    private TaskIndexLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:duplicates" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, updated_at TIMESTAMP, " +
+                "deleted BOOLEAN)");
+        index = new TaskDuplicateIndex(new SimpleMeterRegistry(), 0.6);
+        loader = new TaskIndexLoader(List.of(index), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void findSimilar_FindsRewordedTask() {
+        insertTask(1, "Login page fails on Safari", "Users cannot sign in from Safari 17, the form resets");
+        insertTask(2, "Export report to PDF", "Add a PDF button to the monthly report");
+        insertTask(3, "Login page fails in Safari", "Users cannot sign in from Safari 17; the form resets.");
+        insertTask(4, "Old duplicate", "Users cannot sign in from Safari 17, the form resets");
+        jdbcTemplate.update("UPDATE tasks SET deleted = TRUE WHERE id = 4");
+        loader.rebuild();
+
+        List<Match> matches = index.findSimilar("login page fails on safari!",
+                "Users can't sign in from Safari 17, the form resets", null, 10);
+
+        assertEquals(List.of(1L, 3L), matches.stream().map(Match::id).sorted().toList());
+        assertTrue(matches.get(0).similarity() >= matches.get(1).similarity());
+        assertEquals(List.of(3L), index.findSimilar("Login page fails in Safari",
+                "Users cannot sign in from Safari 17; the form resets.", 1L, 1).stream().map(Match::id).toList());
+    }
+
+    @Test
+    void findSimilar_IgnoresUnrelatedTasks() {
+        for (int id = 1; id <= 500; id++) {
+            insertTask(id, "Task number " + id * 7919, "Routine work item " + id);
+        }
+        loader.rebuild();
+
+        assertEquals(List.of(), index.findSimilar("Migrate billing to the new payment provider",
+                "Stripe webhooks and refunds", null, 10));
+    }
+
+    @Test
+    void onTaskChanged_UpdatesSignatures() {
+        loader.rebuild();
+        TaskState created = state(5L, "Nightly backup fails", "Disk is full on the backup host");
+
+        index.onTaskChanged(new TaskChangedEvent(5L, null, created));
+        assertEquals(1, index.findSimilar("Nightly backup fails", "Disk full on the backup host", null, 10).size());
+
+        TaskState renamed = state(5L, "Rotate TLS certificates", "Before they expire in March");
+        index.onTaskChanged(new TaskChangedEvent(5L, created, renamed));
+        assertEquals(List.of(), index.findSimilar("Nightly backup fails", "Disk full on the backup host", null, 10));
+        assertEquals(1, index.findSimilar("Rotate TLS certificates", "Before they expire", null, 10).size());
+
+        index.onTaskChanged(TaskChangedEvent.deleted(renamed));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void notReadyUntilBuilt() {
+        insertTask(1, "Same title", null);
+
+        assertFalse(index.isReady());
+        assertEquals(List.of(), index.findSimilar("Same title", null, null, 10));
+
+        loader.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(1, index.findSimilar("Same title", null, null, 10).size());
+    }
+
+    @Test
+    void similarity_EstimatesJaccard() {
+        byte[] first = TaskDuplicateIndex.signature("the quick brown fox jumps over the lazy dog", null);
+        byte[] second = TaskDuplicateIndex.signature("the quick brown fox jumps over the lazy cat", null);
+        int equal = 0;
+        for (int i = 0; i < TaskDuplicateIndex.HASHES; i++) {
+            equal += first[i] == second[i] ? 1 : 0;
+        }
+
+        // 40 шинглов, 3 различаются в каждом тексте: Жаккар = 37 / 43 ≈ 0.86
+        assertEquals(0.86, TaskDuplicateIndex.similarity(equal), 0.1);
+        assertEquals(1.0, TaskDuplicateIndex.similarity(TaskDuplicateIndex.HASHES));
+        assertNull(TaskDuplicateIndex.signature(" -- ", null));
+        assertEquals("fix bug 42", TaskDuplicateIndex.normalize("  Fix: BUG!", "#42"));
+    }
+
+    private static TaskState state(long id, String title, String description) {
+        return new TaskState(id, title, description, TaskStatus.PENDING, TaskPriority.MEDIUM, 1L, 1L);
+    }
+
+    private void insertTask(long id, String title, String description) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, deleted) VALUES (?, ?, ?, FALSE)", id, title, description);
+    }
+}
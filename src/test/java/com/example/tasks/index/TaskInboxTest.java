@@ -0,0 +1,181 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.index.TaskInbox.InboxPage;
+import com.example.tasks.index.TaskInbox.Item;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskInboxTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskInbox inbox;
+    private TaskIndexLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:inbox" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), priority_rank SMALLINT, author_id BIGINT, assignee_id BIGINT, " +
+                "updated_at TIMESTAMP, deleted BOOLEAN)");
+        inbox = new TaskInbox(jdbcTemplate, new SimpleMeterRegistry());
+        loader = new TaskIndexLoader(List.of(inbox), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void page_OrdersOpenTasksByPriorityThenId() {
+        insertTask(5, "LOW", "PENDING", 7);
+        insertTask(4, "HIGH", "IN_PROGRESS", 7);
+        insertTask(3, "MEDIUM", "PENDING", 7);
+        insertTask(2, "HIGH", "PENDING", 7);
+        insertTask(1, "HIGH", "COMPLETED", 7);
+        insertTask(6, "HIGH", "PENDING", 8);
+        insertTask(7, "HIGH", "PENDING", null);
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority, priority_rank, assignee_id, deleted) " +
+                "VALUES (8, 'Task 8', 'PENDING', 'HIGH', 0, 7, TRUE)");
+        loader.rebuild();
+
+        assertEquals(List.of(2L, 4L, 3L, 5L), ids(inbox.page(7, 0, 10)));
+        assertEquals(new InboxPage(List.of(
+                new Item(3L, "Task 3", TaskStatus.PENDING, TaskPriority.MEDIUM, 7L)), 4), inbox.page(7, 2, 1));
+        assertEquals(new InboxPage(List.of(), 4), inbox.page(7, 10, 10));
+        assertEquals(new InboxPage(List.of(), 0), inbox.page(9, 0, 10));
+        assertEquals(5, inbox.size());
+    }
+
+    @Test
+    void onTaskChanged_MovesTasksBetweenInboxes() {
+        insertTask(1, "LOW", "PENDING", 7);
+        insertTask(2, "MEDIUM", "PENDING", 7);
+        loader.rebuild();
+        TaskState first = state(1, TaskStatus.PENDING, TaskPriority.LOW, 7L);
+
+        TaskState raised = state(1, TaskStatus.PENDING, TaskPriority.HIGH, 7L);
+        inbox.onTaskChanged(new TaskChangedEvent(1L, first, raised));
+        assertEquals(List.of(1L, 2L), ids(inbox.page(7, 0, 10)));
+
+        TaskState reassigned = state(1, TaskStatus.PENDING, TaskPriority.HIGH, 8L);
+        inbox.onTaskChanged(new TaskChangedEvent(1L, raised, reassigned));
+        assertEquals(List.of(2L), ids(inbox.page(7, 0, 10)));
+        assertEquals(List.of(1L), ids(inbox.page(8, 0, 10)));
+
+        TaskState started = state(1, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 8L);
+        inbox.onTaskChanged(new TaskChangedEvent(1L, reassigned, started));
+        assertEquals(TaskStatus.IN_PROGRESS, inbox.page(8, 0, 10).items().get(0).status());
+
+        TaskState completed = state(1, TaskStatus.COMPLETED, TaskPriority.HIGH, 8L);
+        inbox.onTaskChanged(new TaskChangedEvent(1L, started, completed));
+        assertEquals(new InboxPage(List.of(), 0), inbox.page(8, 0, 10));
+
+        // Возврат завершенной задачи в работу снова добавляет ее во входящие
+        inbox.onTaskChanged(new TaskChangedEvent(1L, completed, started));
+        assertEquals(List.of(1L), ids(inbox.page(8, 0, 10)));
+
+        inbox.onTaskChanged(TaskChangedEvent.deleted(started));
+        inbox.onTaskChanged(TaskChangedEvent.deleted(state(2, TaskStatus.PENDING, TaskPriority.MEDIUM, 7L)));
+        assertEquals(0, inbox.size());
+    }
+
+    @Test
+    void onTaskChanged_ReplayedOverNewerSnapshot_KeepsSingleEntry() {
+        insertTask(1, "HIGH", "PENDING", 8);
+        loader.rebuild();
+
+        // Событие, уже учтенное в прочитанных данных, применяется повторно
+        inbox.onTaskChanged(new TaskChangedEvent(1L, state(1, TaskStatus.PENDING, TaskPriority.LOW, 7L),
+                state(1, TaskStatus.PENDING, TaskPriority.HIGH, 8L)));
+
+        assertEquals(new InboxPage(List.of(new Item(1L, "Task 1", TaskStatus.PENDING, TaskPriority.HIGH, 8L)), 1),
+                inbox.page(8, 0, 10));
+        assertEquals(new InboxPage(List.of(), 0), inbox.page(7, 0, 10));
+    }
+
+    @Test
+    void notReady_ReadsPageFromDatabase() {
+        insertTask(1, "LOW", "PENDING", 7);
+        insertTask(2, "HIGH", "PENDING", 7);
+        insertTask(3, "HIGH", "COMPLETED", 7);
+
+        assertFalse(inbox.isReady());
+        InboxPage fromDatabase = inbox.page(7, 0, 10);
+
+        loader.rebuild();
+
+        assertTrue(inbox.isReady());
+        assertEquals(fromDatabase, inbox.page(7, 0, 10));
+        assertEquals(List.of(2L, 1L), ids(fromDatabase));
+    }
+
+    @Test
+    void randomChanges_MatchNaiveOrdering() {
+        Random random = new Random(5);
+        Map<Long, TaskState> tasks = new HashMap<>();
+        loader.rebuild();
+        for (int i = 0; i < 5_000; i++) {
+            long id = 1 + random.nextInt(200);
+            TaskState before = tasks.get(id);
+            if (before != null && random.nextInt(5) == 0) {
+                tasks.remove(id);
+                inbox.onTaskChanged(TaskChangedEvent.deleted(before));
+                continue;
+            }
+            TaskState after = state(id, TaskStatus.values()[random.nextInt(TaskStatus.values().length)],
+                    TaskPriority.values()[random.nextInt(TaskPriority.values().length)],
+                    random.nextInt(6) == 0 ? null : (long) random.nextInt(4));
+            tasks.put(id, after);
+            inbox.onTaskChanged(new TaskChangedEvent(id, before, after));
+        }
+
+        for (long assigneeId = 0; assigneeId < 4; assigneeId++) {
+            long assignee = assigneeId;
+            List<Long> expected = tasks.values().stream()
+                    .filter(task -> task.assigneeId() != null && task.assigneeId() == assignee
+                            && task.status() != TaskStatus.COMPLETED)
+                    .sorted(Comparator.comparing(TaskState::priority).thenComparing(TaskState::id))
+                    .map(TaskState::id)
+                    .toList();
+            List<Long> paged = new ArrayList<>();
+            for (int offset = 0; offset < expected.size(); offset += 7) {
+                InboxPage page = inbox.page(assignee, offset, 7);
+                assertEquals(expected.size(), page.total());
+                paged.addAll(ids(page));
+            }
+            assertEquals(expected, paged);
+        }
+    }
+
+    private void insertTask(long id, String priority, String status, Integer assigneeId) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority, priority_rank, assignee_id, deleted) " +
+                "VALUES (?, ?, ?, ?, ?, ?, FALSE)",
+                id, "Task " + id, status, priority, TaskPriority.valueOf(priority).rank(), assigneeId);
+    }
+
+    private static TaskState state(long id, TaskStatus status, TaskPriority priority, Long assigneeId) {
+        return new TaskState(id, "Task " + id, null, status, priority, 1L, assigneeId);
+    }
+
+    private static List<Long> ids(InboxPage page) {
+        return page.items().stream().map(Item::id).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.repository.TaskFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskIndexLoaderTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskBitmapIndex bitmapIndex;
+    private TaskTitleAutocomplete autocomplete;
+    private TaskDuplicateIndex duplicateIndex;
+    private TaskInbox inbox;
+    private TaskIndexLoader loader;
+    private final List<Runnable> duringScan = new ArrayList<>();
+    private int scans;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:index-loader" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+                scans++;
+                duringScan.forEach(Runnable::run);
+                super.query(creator, handler);
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), priority_rank SMALLINT, author_id BIGINT, assignee_id BIGINT, " +
+                "updated_at TIMESTAMP, deleted BOOLEAN)");
+        insertTask(1, "Fix login page", TaskStatus.PENDING, 7L);
+        insertTask(2, "Export monthly report", TaskStatus.COMPLETED, 7L);
+        insertTask(3, "Update dependencies", TaskStatus.IN_PROGRESS, null);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        bitmapIndex = new TaskBitmapIndex(meterRegistry, true);
+        autocomplete = new TaskTitleAutocomplete(meterRegistry);
+        duplicateIndex = new TaskDuplicateIndex(meterRegistry, 0.6);
+        inbox = new TaskInbox(jdbcTemplate, meterRegistry);
+        loader = new TaskIndexLoader(List.of(bitmapIndex, autocomplete, duplicateIndex, inbox), jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), meterRegistry);
+    }
+
+    @Test
+    void rebuild_FillsAllIndexesFromOneScan() {
+        loader.rebuild();
+
+        assertEquals(1, scans);
+        assertTrue(bitmapIndex.isReady() && autocomplete.isReady() && duplicateIndex.isReady() && inbox.isReady());
+        assertEquals(3, bitmapIndex.size());
+        assertEquals(List.of(1L), autocomplete.suggest("log", 1L, null, 10).stream()
+                .map(TaskTitleAutocomplete.Suggestion::id).toList());
+        assertEquals(3, duplicateIndex.size());
+        // Во входящих только открытые задачи с исполнителем
+        assertEquals(1, inbox.page(7, 0, 10).total());
+    }
+
+    @Test
+    void rebuild_Periodic_RepairsDriftAndKeepsServingWhileScanning() {
+        loader.rebuild();
+        // Изменение в обход сервисов: событие не публикуется
+        jdbcTemplate.update("UPDATE tasks SET status = 'COMPLETED' WHERE id = 1");
+        TaskState created = state(4, "Write release notes", TaskStatus.PENDING, 7L);
+        List<Boolean> readyDuringScan = new ArrayList<>();
+        duringScan.add(() -> {
+            readyDuringScan.add(bitmapIndex.isReady() && inbox.isReady());
+            // Задача создана во время чтения: строки в таблице нет, событие применяется к новой структуре
+            bitmapIndex.onTaskChanged(new TaskChangedEvent(4L, null, created));
+            inbox.onTaskChanged(new TaskChangedEvent(4L, null, created));
+        });
+
+        loader.rebuild();
+
+        assertEquals(List.of(true), readyDuringScan);
+        assertEquals(2, bitmapIndex.count(new TaskFilter(TaskStatus.COMPLETED, null, null, null)));
+        assertEquals(4, bitmapIndex.size());
+        assertEquals(List.of(4L), inbox.page(7, 0, 10).items().stream().map(TaskInbox.Item::id).toList());
+    }
+
+    @Test
+    void rebuild_FailingIndex_DoesNotStopOthers() {
+        // ID вне 32-битного диапазона битовых наборов
+        insertTask(5_000_000_000L, "Huge id", TaskStatus.PENDING, 7L);
+
+        loader.rebuild();
+
+        assertFalse(bitmapIndex.isReady());
+        assertTrue(autocomplete.isReady() && duplicateIndex.isReady() && inbox.isReady());
+        assertEquals(2, inbox.page(7, 0, 10).total());
+    }
+
+    private void insertTask(long id, String title, TaskStatus status, Long assigneeId) {
+        jdbcTemplate.update("INSERT INTO tasks VALUES (?, ?, 'description', ?, 'HIGH', 0, 1, ?, " +
+                "TIMESTAMP '2024-01-01 10:00:00', FALSE)", id, title, status.name(), assigneeId);
+    }
+
+    private static TaskState state(long id, String title, TaskStatus status, Long assigneeId) {
+        return new TaskState(id, title, "description", status, TaskPriority.HIGH, 1L, assigneeId);
+    }
+}
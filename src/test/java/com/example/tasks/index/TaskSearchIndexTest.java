@@ -0,0 +1,253 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.index.TaskSearchIndex.SearchResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:search" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, deleted BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE comments (id BIGINT PRIMARY KEY, text TEXT, task_id BIGINT, deleted BOOLEAN)");
+        index = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void search_MatchesTitleDescriptionAndComments() {
+        insertTask(1, "Fix login page", "Users cannot sign in", TaskStatus.PENDING, 7L);
+        insertTask(2, "Update docs", "Describe the login flow", TaskStatus.PENDING, 7L);
+        insertTask(3, "Release", "Ship it", TaskStatus.PENDING, 7L);
+        jdbcTemplate.update("INSERT INTO comments VALUES (1, 'blocked by the login outage', 3, FALSE)");
+        jdbcTemplate.update("INSERT INTO comments VALUES (2, 'login removed', 3, TRUE)");
+
+        index.reindex();
+
+        SearchResult result = search("login", null, null);
+        assertEquals(3, result.total());
+        // Совпадение в названии весит больше, чем в описании и комментариях
+        assertEquals(1L, result.ids().get(0));
+        assertEquals(List.of(2L), search("login flow", null, null).ids());
+        assertEquals(List.of(), search("outage -blocked", null, null).ids());
+    }
+
+    @Test
+    void search_AppliesFilters() {
+        insertTask(1, "Payment bug", null, TaskStatus.PENDING, 7L);
+        insertTask(2, "Payment refactoring", null, TaskStatus.IN_PROGRESS, 7L);
+        insertTask(3, "Payment report", null, TaskStatus.PENDING, 8L);
+        index.reindex();
+
+        assertEquals(List.of(1L, 3L), sorted(search("payment", TaskStatus.PENDING, null).ids()));
+        assertEquals(List.of(1L), search("payment", TaskStatus.PENDING, 7L).ids());
+        assertEquals(0, index.search("payment", null, TaskPriority.HIGH, null, 0, 10).total());
+    }
+
+    @Test
+    void onTaskChanged_VisibleAfterRefresh() {
+        TaskState created = new TaskState(5L, "Nightly backup", "Check disk space", TaskStatus.PENDING,
+                TaskPriority.HIGH, 1L, 7L);
+        jdbcTemplate.update("INSERT INTO comments VALUES (1, 'restore drill', 5, FALSE)");
+
+        index.onTaskChanged(new TaskChangedEvent(5L, null, created));
+        index.refresh();
+        assertEquals(List.of(5L), search("drill", null, null).ids());
+
+        TaskState renamed = new TaskState(5L, "Weekly backup", "Check disk space", TaskStatus.COMPLETED,
+                TaskPriority.HIGH, 1L, 7L);
+        index.onTaskChanged(new TaskChangedEvent(5L, created, renamed));
+        index.refresh();
+        assertEquals(0, search("nightly", null, null).total());
+        assertEquals(List.of(5L), search("weekly", TaskStatus.COMPLETED, null).ids());
+
+        index.onTaskChanged(TaskChangedEvent.deleted(renamed));
+        index.refresh();
+        assertEquals(0, search("weekly", null, null).total());
+    }
+
+    @Test
+    void reindex_RemovesDocumentsOfMissingTasks() {
+        insertTask(1, "Alpha", null, TaskStatus.PENDING, null);
+        insertTask(2, "Alpha beta", null, TaskStatus.PENDING, null);
+        index.reindex();
+        jdbcTemplate.update("UPDATE tasks SET deleted = TRUE WHERE id = 2");
+
+        assertEquals(1, index.reindex());
+
+        assertEquals(List.of(1L), search("alpha", null, null).ids());
+    }
+
+    @Test
+    void reindex_TaskDeletedAfterBatchRead_StaysDeleted() throws IOException {
+        insertTask(1, "Quarterly report", null, TaskStatus.PENDING, null);
+        insertTask(2, "Quarterly plan", null, TaskStatus.PENDING, null);
+        TaskState plan = new TaskState(2L, "Quarterly plan", null, TaskStatus.PENDING, TaskPriority.MEDIUM, 1L, null);
+        AtomicBoolean deleted = new AtomicBoolean();
+        // Удаление фиксируется между чтением порции задач и записью ее документов
+        NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(jdbcTemplate) {
+            @Override
+            public void query(String sql, SqlParameterSource params, RowCallbackHandler handler) {
+                if (deleted.compareAndSet(false, true)) {
+                    jdbcTemplate.update("UPDATE tasks SET deleted = TRUE WHERE id = 2");
+                    index.onTaskChanged(TaskChangedEvent.deleted(plan));
+                }
+                super.query(sql, params, handler);
+            }
+        };
+        index.close();
+        index = new TaskSearchIndex(template, new SimpleMeterRegistry(), directory, Duration.ofMillis(100), 10, 100_000);
+
+        index.reindex();
+
+        assertTrue(deleted.get());
+        assertEquals(List.of(1L), search("quarterly", null, null).ids());
+    }
+
+    @Test
+    void onTaskChanged_ReindexStartsBeforeWrite_DocumentSurvivesPass() throws Exception {
+        insertTask(1, "Audit log", null, TaskStatus.PENDING, null);
+        index.reindex();
+        TaskState audit = new TaskState(1L, "Audit log", null, TaskStatus.PENDING, TaskPriority.MEDIUM, 1L, null);
+        CountDownLatch passStarted = new CountDownLatch(1);
+        CountDownLatch eventWritten = new CountDownLatch(1);
+        AtomicBoolean raced = new AtomicBoolean();
+        AtomicReference<Thread> reindex = new AtomicReference<>();
+        // Переиндексация начинается, пока событие читает комментарии, и удаляет документы
+        // прежних проходов уже после записи события
+        NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(jdbcTemplate) {
+            @Override
+            public void query(String sql, SqlParameterSource params, RowCallbackHandler handler) {
+                if (raced.compareAndSet(false, true)) {
+                    reindex.set(new Thread(index::reindex));
+                    reindex.get().start();
+                    await(passStarted);
+                }
+                super.query(sql, params, handler);
+            }
+
+            @Override
+            public <T> List<T> query(String sql, SqlParameterSource params, RowMapper<T> rowMapper) {
+                if (passStarted.getCount() > 0) {
+                    passStarted.countDown();
+                    await(eventWritten);
+                }
+                return super.query(sql, params, rowMapper);
+            }
+        };
+        index.close();
+        index = new TaskSearchIndex(template, new SimpleMeterRegistry(), directory, Duration.ofMillis(100), 10, 100_000);
+
+        index.onTaskChanged(new TaskChangedEvent(1L, audit, audit));
+        eventWritten.countDown();
+        reindex.get().join(TimeUnit.SECONDS.toMillis(10));
+        index.refresh();
+
+        assertTrue(raced.get());
+        assertEquals(List.of(1L), search("audit", null, null).ids());
+    }
+
+    @Test
+    void search_PagesThroughResults() {
+        for (int id = 1; id <= 25; id++) {
+            insertTask(id, "Invoice " + id, null, TaskStatus.PENDING, null);
+        }
+        index.reindex();
+
+        SearchResult third = index.search("invoice", null, null, null, 20, 10);
+        assertTrue(third.exact());
+        assertEquals(25, third.total());
+        assertEquals(5, third.ids().size());
+    }
+
+    @Test
+    void search_ManyMatches_ReportsLowerBound() {
+        jdbcTemplate.update("INSERT INTO tasks SELECT x, 'Common task', NULL, 'PENDING', 'MEDIUM', 1, NULL, FALSE " +
+                "FROM SYSTEM_RANGE(1, 3000)");
+        index.reindex();
+
+        SearchResult result = index.search("common", null, null, null, 0, 10);
+
+        assertEquals(10, result.ids().size());
+        assertFalse(result.exact());
+        assertTrue(result.total() >= 1000 && result.total() <= 3000);
+    }
+
+    @Test
+    void indexSurvivesRestart() throws IOException {
+        insertTask(1, "Persistent", null, TaskStatus.PENDING, null);
+        index.reindex();
+        index.close();
+
+        index = open();
+
+        assertEquals(List.of(1L), search("persistent", null, null).ids());
+    }
+
+    private TaskSearchIndex open() {
+        return new TaskSearchIndex(new NamedParameterJdbcTemplate(jdbcTemplate), new SimpleMeterRegistry(),
+                directory, Duration.ofMillis(100), 10, 100_000);
+    }
+
+    private SearchResult search(String text, TaskStatus status, Long assigneeId) {
+        return index.search(text, status, null, assigneeId, 0, 10);
+    }
+
+    private void insertTask(long id, String title, String description, TaskStatus status, Long assigneeId) {
+        jdbcTemplate.update("INSERT INTO tasks VALUES (?, ?, ?, ?, 'MEDIUM', 1, ?, FALSE)",
+                id, title, description, status.name(), assigneeId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.tasks.index;
+
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.index.TaskTitleAutocomplete.Suggestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskTitleAutocompleteTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskTitleAutocomplete autocomplete;
+    private TaskIndexLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:autocomplete" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), description TEXT, " +
+                "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT, updated_at TIMESTAMP, " +
+                "deleted BOOLEAN)");
+        autocomplete = new TaskTitleAutocomplete(new SimpleMeterRegistry());
+        loader = new TaskIndexLoader(List.of(autocomplete), jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void suggest_MatchesStartOfAnyWord() {
+        insertTask(1, "Fix login page", "LOW", 1, 7, "2024-01-01 10:00:00");
+        insertTask(2, "Ошибка Логина", "LOW", 1, null, "2024-01-01 10:00:00");
+        insertTask(3, "Blogging", "LOW", 1, null, "2024-01-01 10:00:00");
+        loader.rebuild();
+
+        assertEquals(List.of(1L), ids(autocomplete.suggest("LOG", 1L, null, 10)));
+        assertEquals(List.of(2L), ids(autocomplete.suggest("логин", 1L, null, 10)));
+        assertEquals(List.of(1L), ids(autocomplete.suggest("  login   page", 1L, null, 10)));
+        assertEquals(List.of(1L), ids(autocomplete.suggest("login", null, 7L, 10)));
+        assertEquals(List.of(), ids(autocomplete.suggest("login", 2L, null, 10)));
+    }
+
+    @Test
+    void suggest_RanksByPriorityThenRecency() {
+        insertTask(1, "Report weekly", "LOW", 1, null, "2024-03-01 10:00:00");
+        insertTask(2, "Report daily", "HIGH", 1, null, "2024-01-01 10:00:00");
+        insertTask(3, "Report monthly", "HIGH", 1, null, "2024-02-01 10:00:00");
+        insertTask(4, "Report yearly", null, 1, null, "2024-04-01 10:00:00");
+        insertTask(5, "Quarterly report", "MEDIUM", 1, null, "2024-01-01 10:00:00");
+        loader.rebuild();
+
+        List<Suggestion> suggestions = autocomplete.suggest("rep", 1L, null, 10);
+
+        assertEquals(List.of(3L, 2L, 5L, 1L, 4L), ids(suggestions));
+        assertEquals(new Suggestion(3L, "Report monthly", TaskPriority.HIGH), suggestions.get(0));
+        assertEquals(List.of(3L, 2L), ids(autocomplete.suggest("rep", 1L, null, 2)));
+    }
+
+    @Test
+    void suggest_BothScopes_RequiresBoth() {
+        insertTask(1, "Deploy api", "LOW", 1, 7, "2024-01-01 10:00:00");
+        insertTask(2, "Deploy web", "LOW", 1, 8, "2024-01-01 10:00:00");
+        insertTask(3, "Deploy db", "LOW", 2, 7, "2024-01-01 10:00:00");
+        loader.rebuild();
+
+        assertEquals(List.of(1L), ids(autocomplete.suggest("deploy", 1L, 7L, 10)));
+    }
+
+    @Test
+    void suggest_RepeatedWord_ReturnsTaskOnce() {
+        insertTask(1, "Cache cache cache", "LOW", 1, null, "2024-01-01 10:00:00");
+        loader.rebuild();
+
+        assertEquals(List.of(1L), ids(autocomplete.suggest("ca", 1L, null, 10)));
+    }
+
+    @Test
+    void onTaskChanged_UpdatesTries() {
+        insertTask(1, "Old name", "LOW", 1, 7, "2024-01-01 10:00:00");
+        loader.rebuild();
+        TaskState before = new TaskState(1L, "Old name", null, TaskStatus.PENDING, TaskPriority.LOW, 1L, 7L);
+
+        TaskState renamed = new TaskState(1L, "New name", null, TaskStatus.PENDING, TaskPriority.HIGH, 1L, 8L,
+                LocalDateTime.parse("2024-02-01T10:00:00"));
+        autocomplete.onTaskChanged(new TaskChangedEvent(1L, before, renamed));
+
+        assertEquals(List.of(), ids(autocomplete.suggest("old", 1L, null, 10)));
+        assertEquals(List.of(), ids(autocomplete.suggest("new", null, 7L, 10)));
+        assertEquals(List.of(new Suggestion(1L, "New name", TaskPriority.HIGH)),
+                autocomplete.suggest("new", null, 8L, 10));
+
+        TaskState created = new TaskState(2L, "Newsletter", null, TaskStatus.PENDING, TaskPriority.HIGH, 1L, null,
+                LocalDateTime.parse("2024-03-01T10:00:00"));
+        autocomplete.onTaskChanged(new TaskChangedEvent(2L, null, created));
+        // Одинаковый приоритет: первой идет задача, измененная позже
+        assertEquals(List.of(2L, 1L), ids(autocomplete.suggest("new", 1L, null, 10)));
+
+        autocomplete.onTaskChanged(TaskChangedEvent.deleted(renamed));
+        autocomplete.onTaskChanged(TaskChangedEvent.deleted(created));
+        assertEquals(List.of(), ids(autocomplete.suggest("", 1L, null, 10)));
+        assertEquals(0, autocomplete.size());
+        assertEquals(0, autocomplete.nodes());
+    }
+
+    @Test
+    void onTaskChanged_RecencyComesFromDatabase() {
+        insertTask(1, "Report weekly", "HIGH", 1, null, "2024-01-01 10:00:00");
+        insertTask(2, "Report daily", "HIGH", 1, null, "2024-02-01 10:00:00");
+        loader.rebuild();
+        assertEquals(List.of(2L, 1L), ids(autocomplete.suggest("rep", 1L, null, 10)));
+
+        // Комментарий к первой задаче: сервис передает записанное в базу время изменения
+        jdbcTemplate.update("UPDATE tasks SET updated_at = TIMESTAMP '2024-03-01 10:00:00' WHERE id = 1");
+        TaskState commented = new TaskState(1L, "Report weekly", null, TaskStatus.PENDING, TaskPriority.HIGH, 1L,
+                null, LocalDateTime.parse("2024-03-01T10:00:00"));
+        autocomplete.onTaskChanged(new TaskChangedEvent(1L, commented, commented));
+        assertEquals(List.of(1L, 2L), ids(autocomplete.suggest("rep", 1L, null, 10)));
+
+        // Событие без времени изменения сохраняет прежнее, а не ставит текущее время
+        TaskState unknownTime = new TaskState(2L, "Report daily", null, TaskStatus.PENDING, TaskPriority.HIGH, 1L,
+                null);
+        autocomplete.onTaskChanged(new TaskChangedEvent(2L, unknownTime, unknownTime));
+        assertEquals(List.of(1L, 2L), ids(autocomplete.suggest("rep", 1L, null, 10)));
+
+        loader.rebuild();
+        assertEquals(List.of(1L, 2L), ids(autocomplete.suggest("rep", 1L, null, 10)));
+    }
+
+    @Test
+    void suggest_BroadPrefix_ReturnsBestInRankOrder() {
+        int count = TaskTitleAutocomplete.MAX_CANDIDATES * 3;
+        String[] priorities = {"LOW", "MEDIUM", "HIGH"};
+        for (int i = 1; i <= count; i++) {
+            insertTask(i, (i % 2 == 0 ? "Task " : "Bug ") + i, priorities[i % 3], 1, i % 5 == 0 ? 7 : 8,
+                    "2024-01-01 10:00:00");
+        }
+        insertTask(count + 1, "Task latest", "HIGH", 1, 7, "2024-06-01 10:00:00");
+        insertTask(count + 2, "Other author task", "HIGH", 2, 7, "2024-07-01 10:00:00");
+        loader.rebuild();
+
+        // HIGH: i % 3 == 2; при равном времени изменения — по убыванию ID
+        int lastHigh = count - count % 3 - 1;
+        assertEquals(List.of((long) count + 1, (long) lastHigh, (long) lastHigh - 3),
+                ids(autocomplete.suggest("", 1L, null, 3)));
+        List<Long> tasks = ids(autocomplete.suggest("ta", 1L, null, 3));
+        assertEquals(count + 1, tasks.get(0));
+        assertTrue(tasks.stream().skip(1).allMatch(id -> id % 2 == 0 && id % 3 == 2), tasks.toString());
+        // Автор 1 и исполнитель 7: четные ID, кратные 5, с приоритетом HIGH — ID с остатком 20 от деления на 30
+        long bestAssigned = count - (count - 20) % 30;
+        assertEquals(List.of((long) count + 1, bestAssigned), ids(autocomplete.suggest("ta", 1L, 7L, 2)));
+        assertEquals(List.of((long) count + 2), ids(autocomplete.suggest("other", null, 7L, 10)));
+    }
+
+    @Test
+    void notReadyUntilBuilt() {
+        insertTask(1, "Task", "LOW", 1, null, "2024-01-01 10:00:00");
+        jdbcTemplate.update("UPDATE tasks SET deleted = TRUE WHERE id = 1");
+        insertTask(2, "Task", "LOW", 1, null, "2024-01-01 10:00:00");
+
+        assertFalse(autocomplete.isReady());
+        assertEquals(List.of(), autocomplete.suggest("task", 1L, null, 10));
+
+        loader.rebuild();
+
+        assertTrue(autocomplete.isReady());
+        assertEquals(1, autocomplete.size());
+        assertEquals(List.of(2L), ids(autocomplete.suggest("task", 1L, null, 10)));
+    }
+
+    @Test
+    void keys_StartAtEachWord() {
+        assertEquals(Set.of("fix login-page", "login-page", "page"), TaskTitleAutocomplete.keys(" Fix  login-page"));
+        assertEquals(TaskTitleAutocomplete.MAX_KEY_LENGTH,
+                TaskTitleAutocomplete.keys("x".repeat(200)).iterator().next().length());
+    }
+
+    private void insertTask(long id, String title, String priority, long authorId, Integer assigneeId,
+                            String updatedAt) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, priority, author_id, assignee_id, updated_at, deleted) " +
+                "VALUES (?, ?, ?, ?, ?, TIMESTAMP '" + updatedAt + "', FALSE)",
+                id, title, priority, authorId, assigneeId);
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.tasks.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Регрессионный набор планов запросов для фильтров задач.
+ * <p>
+ * Применяет миграцию с индексами к in-memory базе H2, наполняет таблицы данными с
+ * распределением, близким к рабочему, и проверяет через EXPLAIN, что каждая комбинация
+ * фильтров {@code TaskService.getTasks} и поиск комментариев используют индекс, а не полный просмотр таблицы.
+ * Миграция ранга приоритета применяется к уже наполненным таблицам, поэтому проверяется и ее
+ * заполнение существующих строк, и то, что выборка первых задач по приоритету читает индекс
+ * в нужном порядке без сортировки.
+ * </p>
+ */
+public class TaskFilterIndexPlanTest {
+
+    private static final String INDEX_MIGRATION = "/db/migration/V8__task_filter_indexes.sql";
+    private static final String PRIORITY_RANK_MIGRATION = "/db/migration/V10__task_priority_rank.sql";
+    private static final String TABLE_SCAN = "tableScan";
+    private static final String INDEX_SORTED = "index sorted";
+    private static final int TASK_COUNT = 5_000;
+    private static final int USER_COUNT = 100;
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:plans;MODE=PostgreSQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255))");
+            statement.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), status VARCHAR(20), " +
+                    "priority VARCHAR(20), author_id BIGINT REFERENCES users(id), " +
+                    "assignee_id BIGINT REFERENCES users(id), deleted BOOLEAN DEFAULT FALSE)");
+            statement.execute("CREATE TABLE comments (id BIGINT PRIMARY KEY, text VARCHAR(1000), " +
+                    "task_id BIGINT REFERENCES tasks(id), deleted BOOLEAN DEFAULT FALSE)");
+            statement.execute("CREATE TABLE tasks_archive (id BIGINT PRIMARY KEY, title VARCHAR(255), " +
+                    "status VARCHAR(20), priority VARCHAR(20), author_id BIGINT, assignee_id BIGINT)");
+            statement.execute("CREATE TABLE comments_archive (id BIGINT PRIMARY KEY, text VARCHAR(1000), task_id BIGINT)");
+        }
+        applyMigration(INDEX_MIGRATION);
+        seed();
+        applyMigration(PRIORITY_RANK_MIGRATION);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    static Stream<Filter> filterCombinations() {
+        return IntStream.range(1, 16).mapToObj(mask -> new Filter(
+                (mask & 1) != 0, (mask & 2) != 0, (mask & 4) != 0, (mask & 8) != 0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void getTasksFilter_UsesIndex(Filter filter) throws SQLException {
+        String plan = explain(filter.toSql("tasks", true), filter.parameters());
+        assertFalse(plan.contains(TABLE_SCAN), () -> filter + " regressed to a full scan: " + plan);
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void archivedCompletedFilter_UsesIndex(Filter filter) throws SQLException {
+        if (!filter.author && !filter.assignee && !filter.priority) {
+            // status = COMPLETED без других фильтров читает весь архив по определению
+            return;
+        }
+        String plan = explain(filter.toSql("tasks_archive", false), filter.parameters());
+        assertFalse(plan.contains(TABLE_SCAN), () -> filter + " on archive regressed to a full scan: " + plan);
+    }
+
+    @Test
+    void priorityRankMigration_BackfillsExistingRows() throws SQLException {
+        for (String table : List.of("tasks", "tasks_archive")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table + " WHERE priority_rank <> " +
+                         "CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'LOW' THEN 2 END")) {
+                resultSet.next();
+                assertEquals(0, resultSet.getLong(1), table);
+            }
+        }
+    }
+
+    @Test
+    void topByPriority_ReadsIndexInOrder() throws SQLException {
+        // H2 читает индекс в порядке сортировки, только если ORDER BY совпадает с его первыми столбцами,
+        // поэтому здесь проверяется запрос без фильтров; индексы вида (assignee_id, priority_rank, id DESC)
+        // так использует планировщик PostgreSQL.
+        String plan = explain("SELECT id, title FROM tasks WHERE deleted = FALSE " +
+                "ORDER BY priority_rank, id DESC LIMIT 10", List.of());
+        assertTrue(plan.contains(INDEX_SORTED), () -> "Top-N query sorts the whole table: " + plan);
+    }
+
+    @Test
+    void commentsByTask_UsesIndex() throws SQLException {
+        String plan = explain("SELECT id, text FROM comments WHERE task_id = ? AND deleted = FALSE", List.of(42L));
+        assertFalse(plan.contains(TABLE_SCAN), plan);
+    }
+
+    @Test
+    void archivedCommentsByTask_UsesIndex() throws SQLException {
+        String plan = explain("SELECT id, text FROM comments_archive WHERE task_id = ?", List.of(42L));
+        assertFalse(plan.contains(TABLE_SCAN), plan);
+    }
+
+    private static String explain(String sql, List<Object> parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private static void applyMigration(String migration) throws IOException, SQLException {
+        String script;
+        try (InputStream in = TaskFilterIndexPlanTest.class.getResourceAsStream(migration)) {
+            assertNotNull(in, "Migration not found: " + migration);
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                String withoutComments = sql.replaceAll("(?m)^--.*$", "").trim();
+                if (!withoutComments.isEmpty()) {
+                    statement.execute(withoutComments);
+                }
+            }
+        }
+    }
+
+    /**
+     * Наполняет таблицы: большинство задач завершены, высокий приоритет у небольшой доли,
+     * задачи равномерно распределены между пользователями.
+     */
+    private static void seed() throws SQLException {
+        try (PreparedStatement users = connection.prepareStatement("INSERT INTO users VALUES (?, ?)")) {
+            for (long id = 1; id <= USER_COUNT; id++) {
+                users.setLong(1, id);
+                users.setString(2, "user" + id + "@example.com");
+                users.addBatch();
+            }
+            users.executeBatch();
+        }
+        try (PreparedStatement tasks = connection.prepareStatement(
+                "INSERT INTO tasks (id, title, status, priority, author_id, assignee_id) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement archive = connection.prepareStatement(
+                     "INSERT INTO tasks_archive VALUES (?, ?, 'COMPLETED', ?, ?, ?)");
+             PreparedStatement comments = connection.prepareStatement(
+                     "INSERT INTO comments (id, text, task_id) VALUES (?, ?, ?)");
+             PreparedStatement archivedComments = connection.prepareStatement(
+                     "INSERT INTO comments_archive VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= TASK_COUNT; id++) {
+                String status = id % 20 == 0 ? "PENDING" : id % 20 == 1 ? "IN_PROGRESS" : "COMPLETED";
+                String priority = id % 25 == 0 ? "HIGH" : id % 3 == 0 ? "LOW" : "MEDIUM";
+                long author = id % USER_COUNT + 1;
+                long assignee = (id * 7) % USER_COUNT + 1;
+
+                tasks.setLong(1, id);
+                tasks.setString(2, "Task " + id);
+                tasks.setString(3, status);
+                tasks.setString(4, priority);
+                tasks.setLong(5, author);
+                tasks.setLong(6, assignee);
+                tasks.addBatch();
+
+                archive.setLong(1, id);
+                archive.setString(2, "Archived " + id);
+                archive.setString(3, priority);
+                archive.setLong(4, author);
+                archive.setLong(5, assignee);
+                archive.addBatch();
+
+                comments.setLong(1, id);
+                comments.setString(2, "Comment " + id);
+                comments.setLong(3, id);
+                comments.addBatch();
+
+                archivedComments.setLong(1, id);
+                archivedComments.setString(2, "Comment " + id);
+                archivedComments.setLong(3, id);
+                archivedComments.addBatch();
+            }
+            tasks.executeBatch();
+            archive.executeBatch();
+            comments.executeBatch();
+            archivedComments.executeBatch();
+        }
+    }
+
+    /**
+     * Комбинация фильтров getTasks. Значения выбраны селективными: именно такие запросы
+     * (открытые задачи, высокий приоритет, конкретный пользователь) должны идти по индексу.
+     */
+    record Filter(boolean status, boolean priority, boolean author, boolean assignee) {
+
+        String toSql(String table, boolean active) {
+            List<String> conditions = new ArrayList<>();
+            if (active) {
+                conditions.add("deleted = FALSE");
+            }
+            if (status) {
+                conditions.add("status = ?");
+            }
+            if (priority) {
+                conditions.add("priority = ?");
+            }
+            if (author) {
+                conditions.add("author_id = ?");
+            }
+            if (assignee) {
+                conditions.add("assignee_id = ?");
+            }
+            return "SELECT id, title FROM " + table + " WHERE " + String.join(" AND ", conditions);
+        }
+
+        List<Object> parameters() {
+            List<Object> parameters = new ArrayList<>();
+            if (status) {
+                parameters.add("PENDING");
+            }
+            if (priority) {
+                parameters.add("HIGH");
+            }
+            if (author) {
+                parameters.add(7L);
+            }
+            if (assignee) {
+                parameters.add(50L);
+            }
+            return parameters;
+        }
+    }
+}
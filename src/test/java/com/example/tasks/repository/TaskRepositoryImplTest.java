@@ -0,0 +1,149 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.entity.Task;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сверяет заранее скомпилированные запросы {@link TaskRepositoryImpl} для всех 16 комбинаций
+ * фильтров и всех порядков, включая запросы завершенных задач с архивом, с выборкой
+ * через {@code Specification} на одних и тех же данных.
+ */
+class TaskRepositoryImplTest extends AbstractIntegrationTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private User author;
+    private User assignee;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser(Role.ROLE_USER);
+        assignee = createUser(Role.ROLE_USER);
+        User other = createUser(Role.ROLE_USER);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (TaskStatus taskStatus : TaskStatus.values()) {
+                for (TaskPriority priority : TaskPriority.values()) {
+                    for (User taskAuthor : List.of(author, other)) {
+                        for (User taskAssignee : List.of(assignee, other)) {
+                            taskRepository.save(task(taskStatus, priority, taskAuthor, taskAssignee));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void findByFilter_EveryMaskAndSort_MatchesSpecification() {
+        for (int mask = 0; mask < TaskFilter.COMBINATIONS; mask++) {
+            TaskFilter filter = filter(mask);
+            assertEquals(mask, filter.mask());
+            boolean archiveEmpty = (mask & (TaskFilter.STATUS | TaskFilter.AUTHOR)) != 0;
+            for (TaskSort sort : TaskSort.values()) {
+                for (int page = 0; page < 2; page++) {
+                    Pageable pageable = PageRequest.of(page, PAGE_SIZE);
+                    String context = "mask " + mask + ", sort " + sort + ", page " + page;
+                    transactionTemplate.executeWithoutResult(status -> {
+                        Page<Task> expected = taskRepository.findAll(specification(filter),
+                                PageRequest.of(pageable.getPageNumber(), PAGE_SIZE, sort.toSort()));
+                        Page<Task> actual = taskRepository.findByFilter(filter, sort, pageable);
+                        Slice<Task> slice = taskRepository.findSliceByFilter(filter, sort, pageable);
+
+                        assertEquals(ids(expected.getContent()), ids(actual.getContent()), context);
+                        assertEquals(expected.getTotalElements(), actual.getTotalElements(), context);
+                        assertEquals(ids(expected.getContent()), ids(slice.getContent()), context);
+                        assertEquals(expected.hasNext(), slice.hasNext(), context);
+                        // В архиве нет задач этого автора и незавершенных задач, поэтому объединение
+                        // с ним совпадает с выборкой активных задач
+                        if (archiveEmpty) {
+                            Slice<CompletedTaskRef> refs = taskRepository.findCompletedSliceByFilter(filter, sort, pageable);
+                            assertEquals(ids(expected.getContent()),
+                                    refs.stream().map(CompletedTaskRef::id).toList(), context);
+                            assertTrue(refs.stream().noneMatch(CompletedTaskRef::archived), context);
+                            assertEquals(expected.hasNext(), refs.hasNext(), context);
+                        }
+                        if (pageable.getPageNumber() == 0) {
+                            assertFalse(expected.isEmpty(), context);
+                            assertEquals(ids(expected.getContent()),
+                                    ids(taskRepository.findTopByFilter(filter, sort, PAGE_SIZE)), context);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    @Test
+    void whereClause_ContainsOnlySelectedFilters() {
+        assertEquals("", TaskRepositoryImpl.whereClause(0));
+        assertEquals(" where t.status = :status and t.assignee.id = :assigneeId",
+                TaskRepositoryImpl.whereClause(TaskFilter.STATUS | TaskFilter.ASSIGNEE));
+        String all = TaskRepositoryImpl.whereClause(TaskFilter.COMBINATIONS - 1);
+        assertTrue(all.contains(":status") && all.contains(":priority")
+                && all.contains(":authorId") && all.contains(":assigneeId"), all);
+    }
+
+    private TaskFilter filter(int mask) {
+        return new TaskFilter(
+                (mask & TaskFilter.STATUS) != 0 ? TaskStatus.PENDING : null,
+                (mask & TaskFilter.PRIORITY) != 0 ? TaskPriority.HIGH : null,
+                (mask & TaskFilter.AUTHOR) != 0 ? author.getId() : null,
+                (mask & TaskFilter.ASSIGNEE) != 0 ? assignee.getId() : null);
+    }
+
+    /**
+     * Условия в том виде, в каком их строил путь через {@code Specification}.
+     */
+    private static Specification<Task> specification(TaskFilter filter) {
+        Specification<Task> spec = Specification.where(null);
+        if (filter.status() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), filter.status()));
+        }
+        if (filter.priority() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("priority"), filter.priority()));
+        }
+        if (filter.authorId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("author").get("id"), filter.authorId()));
+        }
+        if (filter.assigneeId() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("assignee").get("id"), filter.assigneeId()));
+        }
+        return spec;
+    }
+
+    private static Task task(TaskStatus status, TaskPriority priority, User author, User assignee) {
+        Task task = new Task();
+        task.setTitle(status + " " + priority);
+        task.setDescription("d");
+        task.setStatus(status);
+        task.setPriority(priority);
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        return task;
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tasks.repository;
+
+import com.example.tasks.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskSortTest {
+
+    @Test
+    void parse_SupportedOrders() {
+        assertEquals(TaskSort.ID, TaskSort.parse(null));
+        assertEquals(TaskSort.ID, TaskSort.parse(" "));
+        assertEquals(TaskSort.ID, TaskSort.parse("id"));
+        assertEquals(TaskSort.ID_DESC, TaskSort.parse("-id"));
+        assertEquals(TaskSort.PRIORITY, TaskSort.parse("priority"));
+        assertEquals(TaskSort.PRIORITY, TaskSort.parse("priority,id"));
+        assertEquals(TaskSort.PRIORITY_ID_DESC, TaskSort.parse("priority, -id"));
+        assertEquals(TaskSort.PRIORITY_DESC, TaskSort.parse("-priority"));
+        assertEquals(TaskSort.PRIORITY_DESC_ID_DESC, TaskSort.parse("-priority,-id"));
+    }
+
+    @Test
+    void parse_UnsupportedOrder_Throws() {
+        assertThrows(InvalidRequestException.class, () -> TaskSort.parse("title"));
+        assertThrows(InvalidRequestException.class, () -> TaskSort.parse("id,priority"));
+        assertThrows(InvalidRequestException.class, () -> TaskSort.parse("priority,"));
+        assertThrows(InvalidRequestException.class, () -> TaskSort.parse("priority,id,id"));
+    }
+
+    @Test
+    void orderBy_RankThenId() {
+        assertEquals(" order by t.priorityRank, t.id desc", TaskSort.PRIORITY_ID_DESC.orderByClause());
+        assertEquals(" order by t.id", TaskSort.ID.orderByClause());
+        assertEquals(Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.asc("id")), TaskSort.PRIORITY_DESC.toSort());
+    }
+
+    @Test
+    void comparator_MatchesOrderBy() {
+        // Пары {ранг приоритета, ID}
+        List<long[]> tasks = List.of(new long[]{2, 1}, new long[]{0, 2}, new long[]{0, 3}, new long[]{1, 4});
+
+        assertEquals(List.of(2L, 3L, 4L, 1L), sorted(tasks, TaskSort.PRIORITY));
+        assertEquals(List.of(3L, 2L, 4L, 1L), sorted(tasks, TaskSort.PRIORITY_ID_DESC));
+        assertEquals(List.of(1L, 4L, 2L, 3L), sorted(tasks, TaskSort.PRIORITY_DESC));
+        assertEquals(List.of(4L, 3L, 2L, 1L), sorted(tasks, TaskSort.ID_DESC));
+    }
+
+    private static List<Long> sorted(List<long[]> tasks, TaskSort sort) {
+        return tasks.stream()
+                .sorted(sort.comparator(task -> (int) task[0], task -> task[1]))
+                .map(task -> task[1])
+                .toList();
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.tasks.service;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.exception.TaskNotFoundException;
+import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.TaskSort;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskArchiveServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void archiveCompletedTasks_MovesCompletedTasksWithLiveComments() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO completed = taskService.createTask("Completed", "d", TaskStatus.COMPLETED, null, user, user.getId());
+        taskService.addComment(completed.getId(), "note", user);
+        TaskDTO open = taskService.createTask("Open", "d", TaskStatus.PENDING, null, user, user.getId());
+        // Задача читается до переноса, чтобы попасть в кэш второго уровня
+        assertTrue(taskRepository.findById(completed.getId()).isPresent());
+
+        assertTrue(taskArchiveService.archiveCompletedTasks() >= 1);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks WHERE id = ?", completed.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks_archive WHERE id = ?", completed.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM comments_archive WHERE task_id = ?", completed.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE task_id = ?", completed.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ?", open.getId()));
+        assertTrue(taskRepository.findById(completed.getId()).isEmpty());
+    }
+
+    @Test
+    void restoreTask_MovesTaskBackWithCommentsAndNewVersion() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO completed = taskService.createTask("Completed", "d", TaskStatus.COMPLETED, null, user, user.getId());
+        taskService.addComment(completed.getId(), "note", user);
+        taskArchiveService.archiveCompletedTasks();
+        long archivedVersion = count("SELECT version FROM tasks_archive WHERE id = ?", completed.getId());
+
+        TaskDTO restored = taskArchiveService.restoreTask(completed.getId());
+
+        assertEquals(completed.getId(), restored.getId());
+        assertEquals(archivedVersion + 1, restored.getVersion());
+        assertEquals(1, restored.getComments().size());
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks_archive WHERE id = ?", completed.getId()));
+        assertEquals(0, count("SELECT COUNT(*) FROM comments_archive WHERE task_id = ?", completed.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM comments WHERE task_id = ?", completed.getId()));
+        assertTrue(taskRepository.findById(completed.getId()).isPresent());
+    }
+
+    @Test
+    void restoreTask_NotArchived_ThrowsTaskNotFound() {
+        assertThrows(TaskNotFoundException.class, () -> taskArchiveService.restoreTask(Long.MAX_VALUE));
+    }
+
+    @Test
+    void getTasks_Completed_PagesThroughBothTablesInSortOrder() {
+        User user = createUser(Role.ROLE_USER);
+        long archivedHigh = createCompleted(user, TaskPriority.HIGH);
+        long archivedLow = createCompleted(user, TaskPriority.LOW);
+        long archivedMedium = createCompleted(user, TaskPriority.MEDIUM);
+        taskArchiveService.archiveCompletedTasks();
+        long activeMedium = createCompleted(user, TaskPriority.MEDIUM);
+        long activeHigh = createCompleted(user, TaskPriority.HIGH);
+
+        List<Long> pageIds = new ArrayList<>();
+        List<Long> sliceIds = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            int current = page;
+            Page<TaskDTO> tasks = transactionTemplate.execute(status -> taskService.getTasks(TaskStatus.COMPLETED,
+                    null, user.getId(), null, TaskSort.PRIORITY_ID_DESC, current, 2));
+            assertEquals(5, tasks.getTotalElements());
+            tasks.forEach(task -> pageIds.add(task.getId()));
+            transactionTemplate.execute(status -> taskService.getTasksSlice(TaskStatus.COMPLETED, null, user.getId(),
+                    null, TaskSort.PRIORITY_ID_DESC, current, 2)).forEach(task -> sliceIds.add(task.getId()));
+        }
+
+        // Общий порядок по приоритету: активные и архивные задачи чередуются
+        List<Long> expected = List.of(activeHigh, archivedHigh, activeMedium, archivedMedium, archivedLow);
+        assertEquals(expected, pageIds);
+        assertEquals(expected, sliceIds);
+    }
+
+    @Test
+    void getTasksSlice_Completed_PagesAcrossBothTablesWithoutCount() {
+        User user = createUser(Role.ROLE_USER);
+        List<Long> archived = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            archived.add(taskService.createTask("Archived " + i, "d", TaskStatus.COMPLETED, null, user, user.getId())
+                    .getId());
+        }
+        taskArchiveService.archiveCompletedTasks();
+        List<Long> active = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            active.add(taskService.createTask("Active " + i, "d", TaskStatus.COMPLETED, null, user, user.getId())
+                    .getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Long> ids = new ArrayList<>();
+        List<Boolean> hasNext = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            int current = page;
+            Slice<TaskDTO> tasks = transactionTemplate.execute(status ->
+                    taskService.getTasksSlice(TaskStatus.COMPLETED, null, user.getId(), null, TaskSort.ID_DESC, current, 2));
+            tasks.forEach(task -> ids.add(task.getId()));
+            hasNext.add(tasks.hasNext());
+        }
+
+        // По убыванию id по обеим таблицам: активные задачи созданы позже архивных
+        List<Long> expected = new ArrayList<>(active);
+        Collections.reverse(expected);
+        Collections.reverse(archived);
+        expected.addAll(archived);
+        assertEquals(expected, ids);
+        assertEquals(List.of(true, true, false), hasNext);
+        assertTrue(Arrays.stream(statistics.getQueries()).noneMatch(query -> query.contains("count(")),
+                () -> Arrays.toString(statistics.getQueries()));
+    }
+
+    @Test
+    void getTopTasks_Completed_MergesBothTablesBySortKey() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO archivedHigh = taskService.createTask("Archived high", "d", TaskStatus.COMPLETED, TaskPriority.HIGH,
+                user, user.getId());
+        TaskDTO archivedLow = taskService.createTask("Archived low", "d", TaskStatus.COMPLETED, TaskPriority.LOW,
+                user, user.getId());
+        taskArchiveService.archiveCompletedTasks();
+        TaskDTO activeLow = taskService.createTask("Active low", "d", TaskStatus.COMPLETED, TaskPriority.LOW,
+                user, user.getId());
+        TaskDTO activeMedium = taskService.createTask("Active medium", "d", TaskStatus.COMPLETED, TaskPriority.MEDIUM,
+                user, user.getId());
+
+        List<Long> top = taskService.getTopTasks(TaskStatus.COMPLETED, null, user.getId(), null, TaskSort.PRIORITY, 3)
+                .stream().map(TaskDTO::getId).toList();
+        List<Long> lowest = taskService.getTopTasks(TaskStatus.COMPLETED, null, user.getId(), null,
+                TaskSort.PRIORITY_DESC_ID_DESC, 2).stream().map(TaskDTO::getId).toList();
+
+        // Архивная задача с высоким приоритетом идет раньше активных
+        assertEquals(List.of(archivedHigh.getId(), activeMedium.getId(), archivedLow.getId()), top);
+        assertEquals(List.of(activeLow.getId(), archivedLow.getId()), lowest);
+    }
+
+    @Test
+    void getTasks_ArchivedPage_LoadsCommentsInOneBatch() {
+        User user = createUser(Role.ROLE_USER);
+        for (int i = 0; i < 10; i++) {
+            TaskDTO task = taskService.createTask("Archived " + i, "d", TaskStatus.COMPLETED, null, user, user.getId());
+            taskService.addComment(task.getId(), "first", user);
+            taskService.addComment(task.getId(), "second", user);
+        }
+        taskArchiveService.archiveCompletedTasks();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+
+        Page<TaskDTO> tasks = transactionTemplate.execute(status ->
+                taskService.getTasks(TaskStatus.COMPLETED, null, user.getId(), null, 0, 20));
+
+        assertEquals(10, tasks.getContent().size());
+        tasks.forEach(task -> assertEquals(2, task.getComments().size()));
+        // Ссылки задач страницы, архивные задачи и их комментарии одним пакетом; без пакетной загрузки — 12 и больше
+        assertTrue(statistics.getPrepareStatementCount() - before <= 4,
+                "statements: " + (statistics.getPrepareStatementCount() - before));
+    }
+
+    private long createCompleted(User user, TaskPriority priority) {
+        return taskService.createTask("Completed " + priority, "d", TaskStatus.COMPLETED, priority, user, user.getId())
+                .getId();
+    }
+}
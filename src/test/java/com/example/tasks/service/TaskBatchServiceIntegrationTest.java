@@ -0,0 +1,90 @@
+package com.example.tasks.service;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.BatchOperationRequest;
+import com.example.tasks.dto.BatchOperationResultDTO;
+import com.example.tasks.dto.BatchResponseDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.BatchOperationType;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskPriority;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Пакеты операций над реальной базой: операции над задачей, удаленной ранее в той же
+ * транзакции, завершаются так же, как отдельные запросы.
+ */
+class TaskBatchServiceIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Test
+    void execute_UpdateAfterDeleteInOneChunk_ReturnsNotFoundAndKeepsTaskDeleted() {
+        User admin = createUser(Role.ROLE_ADMIN);
+        TaskDTO task = taskService.createTask("Task", "d", null, null, admin, admin.getId());
+
+        BatchResponseDTO response = taskBatchService.execute(List.of(
+                operation(BatchOperationType.DELETE, task.getId(), null),
+                rename(task.getId(), admin)), false, admin);
+
+        assertEquals(List.of(204, 404), statuses(response));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ? AND deleted = TRUE AND title = 'Task'",
+                task.getId()));
+    }
+
+    @Test
+    void execute_UpdateAfterDeleteAtomic_ReturnsNotFoundAndRollsBackDelete() {
+        User admin = createUser(Role.ROLE_ADMIN);
+        TaskDTO task = taskService.createTask("Task", "d", null, null, admin, admin.getId());
+
+        BatchResponseDTO response = taskBatchService.execute(List.of(
+                operation(BatchOperationType.DELETE, task.getId(), null),
+                rename(task.getId(), admin)), true, admin);
+
+        assertEquals(List.of(424, 404), statuses(response));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ? AND deleted = FALSE AND title = 'Task'",
+                task.getId()));
+    }
+
+    @Test
+    void execute_PriorityAfterDeleteInOneChunk_ReturnsNotFound() {
+        User admin = createUser(Role.ROLE_ADMIN);
+        TaskDTO task = taskService.createTask("Task", "d", null, null, admin, admin.getId());
+        BatchOperationRequest priority = operation(BatchOperationType.PRIORITY, task.getId(), null);
+        priority.setPriority(TaskPriority.HIGH);
+
+        BatchResponseDTO response = taskBatchService.execute(List.of(
+                operation(BatchOperationType.DELETE, task.getId(), null), priority), false, admin);
+
+        assertEquals(List.of(204, 404), statuses(response));
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ? AND deleted = TRUE AND priority = 'MEDIUM'",
+                task.getId()));
+    }
+
+    private static BatchOperationRequest operation(BatchOperationType op, Long taskId, String title) {
+        BatchOperationRequest operation = new BatchOperationRequest();
+        operation.setOp(op);
+        operation.setTaskId(taskId);
+        operation.setTitle(title);
+        return operation;
+    }
+
+    private static BatchOperationRequest rename(Long taskId, User assignee) {
+        BatchOperationRequest operation = operation(BatchOperationType.UPDATE, taskId, "Renamed");
+        operation.setAssigneeId(assignee.getId());
+        return operation;
+    }
+
+    private static List<Integer> statuses(BatchResponseDTO response) {
+        return response.getResults().stream().map(BatchOperationResultDTO::getStatus).toList();
+    }
+}
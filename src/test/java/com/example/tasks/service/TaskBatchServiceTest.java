@@ -0,0 +1,186 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.BatchOperationRequest;
+import com.example.tasks.dto.BatchOperationResultDTO;
+import com.example.tasks.dto.BatchResponseDTO;
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.BatchOperationType;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.TaskNotFoundException;
+import com.example.tasks.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskService taskService;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<SimpleTransactionStatus> transactions = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private TaskBatchService batchService;
+    private User admin;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        batchService = new TaskBatchService(taskService, taskRepository, transactionManager, meterRegistry, 5, 2);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            SimpleTransactionStatus status = new SimpleTransactionStatus();
+            transactions.add(status);
+            return status;
+        });
+
+        admin = new User();
+        admin.setId(1L);
+        admin.setRoles(Set.of(Role.ROLE_ADMIN));
+        user = new User();
+        user.setId(2L);
+        user.setRoles(Set.of(Role.ROLE_USER));
+    }
+
+    @Test
+    void execute_Atomic_RunsAllOperationsInOneTransaction() {
+        // Arrange
+        TaskDTO task = new TaskDTO();
+        CommentDTO comment = new CommentDTO();
+        when(taskService.updateTaskPriority(10L, TaskPriority.HIGH)).thenReturn(task);
+        when(taskService.addComment(10L, "done", admin)).thenReturn(comment);
+
+        // Act
+        BatchResponseDTO response = batchService.execute(List.of(
+                priority(10L, TaskPriority.HIGH),
+                comment(10L, "done")), true, admin);
+
+        // Assert
+        assertEquals(2, response.getSucceeded());
+        assertEquals(List.of(
+                new BatchOperationResultDTO(0, 200, task, null, null),
+                new BatchOperationResultDTO(1, 201, null, comment, null)), response.getResults());
+        assertEquals(List.of(false), rollbackOnly());
+        verify(taskRepository, times(2)).flush();
+    }
+
+    @Test
+    void execute_AtomicFailure_RollsBackWholeBatch() {
+        // Arrange
+        when(taskService.updateTaskPriority(10L, TaskPriority.LOW)).thenReturn(new TaskDTO());
+        when(taskService.updateTaskPriority(11L, TaskPriority.LOW))
+                .thenThrow(new TaskNotFoundException("Task not found with id: 11"));
+
+        // Act
+        BatchResponseDTO response = batchService.execute(List.of(
+                priority(10L, TaskPriority.LOW),
+                priority(11L, TaskPriority.LOW),
+                priority(12L, TaskPriority.LOW)), true, admin);
+
+        // Assert
+        assertEquals(0, response.getSucceeded());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(424, 404, 424), statuses(response));
+        assertEquals("Task not found with id: 11", response.getResults().get(1).getError());
+        verify(taskService, never()).updateTaskPriority(12L, TaskPriority.LOW);
+        assertEquals(List.of(true), rollbackOnly());
+    }
+
+    @Test
+    void execute_NotAtomic_IsolatesFailedOperation() {
+        // Arrange
+        when(taskService.updateTaskPriority(10L, TaskPriority.LOW)).thenReturn(new TaskDTO());
+        when(taskService.updateTaskPriority(11L, TaskPriority.LOW))
+                .thenThrow(new TaskNotFoundException("Task not found with id: 11"));
+        when(taskService.updateTaskPriority(12L, TaskPriority.LOW)).thenReturn(new TaskDTO());
+
+        // Act
+        BatchResponseDTO response = batchService.execute(List.of(
+                priority(10L, TaskPriority.LOW),
+                priority(11L, TaskPriority.LOW),
+                priority(12L, TaskPriority.LOW)), false, admin);
+
+        // Assert
+        assertEquals(List.of(200, 404, 200), statuses(response));
+        assertEquals(2, response.getSucceeded());
+        // Первая часть откатывается и повторяется по одной операции, вторая фиксируется сразу
+        verify(taskService, times(2)).updateTaskPriority(10L, TaskPriority.LOW);
+        assertEquals(List.of(true, false, true, false), rollbackOnly());
+    }
+
+    @Test
+    void execute_UserRole_AdminOnlyOperationsForbidden() {
+        // Arrange
+        when(taskService.assignTask(10L, 3L)).thenReturn(new TaskDTO());
+
+        // Act
+        BatchResponseDTO response = batchService.execute(List.of(
+                new BatchOperationRequest(BatchOperationType.ASSIGN, 10L, null, null, null, null, 3L, null),
+                new BatchOperationRequest(BatchOperationType.DELETE, 10L, null, null, null, null, null, null)),
+                false, user);
+
+        // Assert
+        assertEquals(List.of(200, 403), statuses(response));
+        verify(taskService, never()).deleteTask(any());
+    }
+
+    @Test
+    void execute_MissingFields_ReturnsBadRequestPerOperation() {
+        // Act
+        BatchResponseDTO response = batchService.execute(List.of(
+                new BatchOperationRequest(BatchOperationType.STATUS, 10L, null, null, null, null, null, null),
+                new BatchOperationRequest(BatchOperationType.CREATE, null, " ", null, null, null, 3L, null)),
+                false, admin);
+
+        // Assert
+        assertEquals(List.of(400, 400), statuses(response));
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void execute_InvalidBatchSize_ThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> batchService.execute(List.of(), true, admin));
+        assertThrows(InvalidRequestException.class, () -> batchService.execute(
+                Collections.nCopies(6, priority(10L, TaskPriority.HIGH)), true, admin));
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private static BatchOperationRequest priority(long taskId, TaskPriority priority) {
+        return new BatchOperationRequest(BatchOperationType.PRIORITY, taskId, null, null, null, priority, null, null);
+    }
+
+    private static BatchOperationRequest comment(long taskId, String text) {
+        return new BatchOperationRequest(BatchOperationType.COMMENT, taskId, null, null, null, null, null, text);
+    }
+
+    private List<Boolean> rollbackOnly() {
+        return transactions.stream().map(TransactionStatus::isRollbackOnly).toList();
+    }
+
+    private static List<Integer> statuses(BatchResponseDTO response) {
+        return response.getResults().stream().map(BatchOperationResultDTO::getStatus).toList();
+    }
+}
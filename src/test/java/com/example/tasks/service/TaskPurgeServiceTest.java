@@ -0,0 +1,68 @@
+package com.example.tasks.service;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskPurgeServiceTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskPurgeService taskPurgeService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void purge_DeletesTombstonesInChunksAndKeepsLiveRows() {
+        User user = createUser(Role.ROLE_USER);
+        List<Long> deleted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TaskDTO task = taskService.createTask("Deleted " + i, "d", null, null, user, user.getId());
+            taskService.addComment(task.getId(), "first", user);
+            taskService.addComment(task.getId(), "second", user);
+            taskService.deleteTask(task.getId());
+            deleted.add(task.getId());
+        }
+        TaskDTO live = taskService.createTask("Live", "d", null, null, user, user.getId());
+        taskService.addComment(live.getId(), "kept", user);
+        double purgedBefore = purgedRows("tasks");
+
+        taskPurgeService.purge();
+
+        for (Long id : deleted) {
+            assertEquals(0, count("SELECT COUNT(*) FROM tasks WHERE id = ?", id));
+            assertEquals(0, count("SELECT COUNT(*) FROM comments WHERE task_id = ?", id));
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ? AND deleted = FALSE", live.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM comments WHERE task_id = ? AND deleted = FALSE", live.getId()));
+        // Порции по 2 строки: пять задач удаляются тремя порциями, последняя неполная
+        assertTrue(purgedRows("tasks") - purgedBefore >= 5);
+        assertEquals(0.0, meterRegistry.get("tasks.purge.backlog").tag("table", "tasks").gauge().value());
+        assertEquals(0.0, meterRegistry.get("tasks.purge.backlog").tag("table", "comments").gauge().value());
+    }
+
+    @Test
+    void purge_NothingDeleted_KeepsRows() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO task = taskService.createTask("Live", "d", null, null, user, user.getId());
+
+        taskPurgeService.purge();
+
+        assertEquals(1, count("SELECT COUNT(*) FROM tasks WHERE id = ?", task.getId()));
+    }
+
+    private double purgedRows(String table) {
+        return meterRegistry.get("tasks.purge.rows").tag("table", table).counter().count();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaStickiness;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.repository.TaskSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskQueryCacheTest {
+
+    @Mock
+    private TaskReadCoalescer taskReadCoalescer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaStickiness stickiness;
+    private TaskQueryCache taskQueryCache;
+    private Page<TaskDTO> page;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stickiness = new ReplicaStickiness(Duration.ofMinutes(1));
+        taskQueryCache = new TaskQueryCache(taskReadCoalescer, stickiness, meterRegistry, 100, Duration.ofMinutes(5));
+        page = new PageImpl<>(List.of(new TaskDTO()), PageRequest.of(0, 10), 1);
+    }
+
+    @Test
+    void getTasks_RepeatedQuery_ServedFromCache() {
+        when(taskReadCoalescer.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10)).thenReturn(page);
+
+        assertSame(page, taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10));
+        assertSame(page, taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10));
+
+        verify(taskReadCoalescer, times(1)).getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void getTasks_DifferentPage_LoadedSeparately() {
+        when(taskReadCoalescer.getTasks(eq(TaskStatus.PENDING), isNull(), isNull(), isNull(), any(), anyInt(), eq(10))).thenReturn(page);
+
+        taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+        taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 1, 10);
+
+        verify(taskReadCoalescer, times(2)).getTasks(eq(TaskStatus.PENDING), isNull(), isNull(), isNull(), any(), anyInt(), eq(10));
+    }
+
+    @Test
+    void onTaskChanged_InvalidatesUnscopedQueries() {
+        when(taskReadCoalescer.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10)).thenReturn(page);
+
+        taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+        taskQueryCache.onTaskChanged(TaskChangedEvent.deleted(state(3L)));
+        taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+
+        verify(taskReadCoalescer, times(2)).getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+        assertEquals(1.0, requests("stale"));
+    }
+
+    @Test
+    void onTaskChanged_OtherAssignee_KeepsAssigneeQueries() {
+        when(taskReadCoalescer.getTasks(null, null, null, 2L, TaskSort.ID, 0, 10)).thenReturn(page);
+
+        taskQueryCache.getTasks(null, null, null, 2L, TaskSort.ID, 0, 10);
+        taskQueryCache.onTaskChanged(new TaskChangedEvent(1L, state(3L), state(4L)));
+        taskQueryCache.getTasks(null, null, null, 2L, TaskSort.ID, 0, 10);
+
+        verify(taskReadCoalescer, times(1)).getTasks(null, null, null, 2L, TaskSort.ID, 0, 10);
+    }
+
+    @Test
+    void onTaskChanged_ReassignedFromAssignee_InvalidatesAssigneeQueries() {
+        when(taskReadCoalescer.getTasks(null, null, null, 2L, TaskSort.ID, 0, 10)).thenReturn(page);
+
+        taskQueryCache.getTasks(null, null, null, 2L, TaskSort.ID, 0, 10);
+        taskQueryCache.onTaskChanged(new TaskChangedEvent(1L, state(2L), state(4L)));
+        taskQueryCache.getTasks(null, null, null, 2L, TaskSort.ID, 0, 10);
+
+        verify(taskReadCoalescer, times(2)).getTasks(null, null, null, 2L, TaskSort.ID, 0, 10);
+    }
+
+    @Test
+    void getTasks_StickyWriter_DoesNotSeePageLoadedFromReplica() {
+        Page<TaskDTO> replicaPage = new PageImpl<>(List.of(), PageRequest.of(0, 10), 0);
+        when(taskReadCoalescer.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10))
+                .thenReturn(replicaPage, page);
+        taskQueryCache.onTaskChanged(TaskChangedEvent.deleted(state(3L)));
+        // После фиксации изменения другой клиент загружает страницу с отстающей реплики
+        taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken("author@example.com", null, "ROLE_USER"));
+        try {
+            stickiness.markWrite();
+            assertSame(page, taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10));
+            assertSame(page, taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        verify(taskReadCoalescer, times(2)).getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10);
+        assertSame(replicaPage, taskQueryCache.getTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0, 10));
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("tasks.query-cache.requests").tag("result", result).counter().count();
+    }
+
+    private static TaskState state(Long assigneeId) {
+        return new TaskState(1L, "Task", "Description", TaskStatus.PENDING, TaskPriority.MEDIUM, 1L, assigneeId);
+    }
+}
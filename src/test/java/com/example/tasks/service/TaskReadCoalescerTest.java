@@ -0,0 +1,175 @@
+package com.example.tasks.service;
+
+import com.example.tasks.config.ReplicaStickiness;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskReadCoalescerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaStickiness stickiness;
+    private TaskReadCoalescer taskReadCoalescer;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stickiness = new ReplicaStickiness(Duration.ofMinutes(1));
+        taskReadCoalescer = new TaskReadCoalescer(taskService, meterRegistry, stickiness);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalCalls_ShareOneExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<TaskDTO> tasks = List.of(new TaskDTO());
+        when(taskService.getTasksByAssignee(2L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return tasks;
+        });
+
+        Future<List<TaskDTO>> leader = executor.submit(() -> taskReadCoalescer.getTasksByAssignee(2L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<TaskDTO>> follower = executor.submit(() -> taskReadCoalescer.getTasksByAssignee(2L));
+        awaitFollowers(1);
+        release.countDown();
+
+        assertSame(tasks, leader.get(5, TimeUnit.SECONDS));
+        assertSame(tasks, follower.get(5, TimeUnit.SECONDS));
+        verify(taskService, times(1)).getTasksByAssignee(2L);
+    }
+
+    @Test
+    void sequentialCalls_AreNotCached() {
+        when(taskService.getTasksByAuthor(1L)).thenReturn(List.of());
+
+        taskReadCoalescer.getTasksByAuthor(1L);
+        taskReadCoalescer.getTasksByAuthor(1L);
+
+        verify(taskService, times(2)).getTasksByAuthor(1L);
+        assertEquals(0.0, calls("getTasksByAuthor", "follower"));
+    }
+
+    @Test
+    void leaderFailure_PropagatedToFollowers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getTasksByAssignee(9L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new UserNotFoundException("Исполнитель с ID 9 не найден");
+        });
+
+        Future<List<TaskDTO>> leader = executor.submit(() -> taskReadCoalescer.getTasksByAssignee(9L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<List<TaskDTO>> follower = executor.submit(() -> taskReadCoalescer.getTasksByAssignee(9L));
+        awaitFollowers(1);
+        release.countDown();
+
+        Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerError = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UserNotFoundException.class, leaderError.getCause());
+        assertInstanceOf(UserNotFoundException.class, followerError.getCause());
+        verify(taskService, times(1)).getTasksByAssignee(9L);
+    }
+
+    @Test
+    void callAfterTaskChange_DoesNotJoinEarlierFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getTasksByAssignee(2L)).thenAnswer(invocation -> {
+            if (started.getCount() > 0) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return List.of();
+        });
+
+        Future<List<TaskDTO>> before = executor.submit(() -> taskReadCoalescer.getTasksByAssignee(2L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        taskReadCoalescer.onTaskChanged(new TaskChangedEvent(1L, null, null));
+        taskReadCoalescer.getTasksByAssignee(2L);
+        release.countDown();
+        before.get(5, TimeUnit.SECONDS);
+
+        verify(taskService, times(2)).getTasksByAssignee(2L);
+        assertEquals(2.0, calls("getTasksByAssignee", "leader"));
+    }
+
+    @Test
+    void callerAfterOwnWrite_DoesNotJoinReplicaFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(taskService.getTasksByAssignee(2L)).thenAnswer(invocation -> {
+            if (started.getCount() > 0) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return List.of();
+        });
+
+        Future<List<TaskDTO>> replicaRead = executor.submit(() -> taskReadCoalescer.getTasksByAssignee(2L));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        // Вызов завершается, пока ведущий запрос еще ждет: к нему не присоединились
+        executor.submit(() -> {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new TestingAuthenticationToken("author@example.com", null, "ROLE_USER"));
+            try {
+                stickiness.markWrite();
+                return taskReadCoalescer.getTasksByAssignee(2L);
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        }).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        replicaRead.get(5, TimeUnit.SECONDS);
+
+        verify(taskService, times(2)).getTasksByAssignee(2L);
+        assertEquals(2.0, calls("getTasksByAssignee", "leader"));
+    }
+
+    private void awaitFollowers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("tasks.single-flight.calls").tag("role", "follower").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "follower did not join the flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private double calls(String method, String role) {
+        return meterRegistry.get("tasks.single-flight.calls").tag("method", method).tag("role", role).counter().count();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.tasks.service;
+
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.index.TaskSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceTest {
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @InjectMocks
+    private TaskSearchService taskSearchService;
+
+    @Test
+    void search_PageBeyondIndexWindow_ThrowsInvalidRequest() {
+        assertThrows(InvalidRequestException.class,
+                () -> taskSearchService.search("report", null, null, null, Integer.MAX_VALUE / 10, 100));
+        verify(taskSearchIndex, never()).search(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+}
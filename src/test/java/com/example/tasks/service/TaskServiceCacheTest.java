@@ -0,0 +1,88 @@
+package com.example.tasks.service;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.Comment;
+import com.example.tasks.entity.Task;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.repository.TaskRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Кэш второго уровня при удалении и архивировании задач: затрагиваются только записи
+ * измененных задач, остальные задачи и комментарии остаются в кэше.
+ */
+class TaskServiceCacheTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deleteTask_MarksTaskAndCommentsDeletedAndKeepsOtherEntriesCached() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO deleted = taskService.createTask("Deleted", "d", null, null, user, user.getId());
+        CommentDTO deletedComment = taskService.addComment(deleted.getId(), "gone", user);
+        TaskDTO kept = taskService.createTask("Kept", "d", null, null, user, user.getId());
+        CommentDTO keptComment = taskService.addComment(kept.getId(), "kept", user);
+        warmUp(deleted.getId());
+        warmUp(kept.getId());
+        long version = count("SELECT version FROM tasks WHERE id = ?", deleted.getId());
+
+        taskService.deleteTask(deleted.getId());
+
+        Cache cache = entityManagerFactory.getCache();
+        assertTrue(cache.contains(Task.class, kept.getId()));
+        assertTrue(cache.contains(Comment.class, keptComment.getId()));
+        assertEquals(version + 1, count("SELECT version FROM tasks WHERE id = ? AND deleted = TRUE", deleted.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM comments WHERE id = ? AND deleted = TRUE AND deleted_at IS NOT NULL",
+                deletedComment.getId()));
+        assertTrue(taskRepository.findById(deleted.getId()).isEmpty());
+        assertEquals(1, commentCount(kept.getId()));
+    }
+
+    @Test
+    void archiveCompletedTasks_KeepsCommentsOfOtherTasksCached() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO archived = taskService.createTask("Archived", "d", TaskStatus.COMPLETED, null, user, user.getId());
+        CommentDTO archivedComment = taskService.addComment(archived.getId(), "moved", user);
+        TaskDTO kept = taskService.createTask("Kept", "d", null, null, user, user.getId());
+        CommentDTO keptComment = taskService.addComment(kept.getId(), "kept", user);
+        warmUp(archived.getId());
+        warmUp(kept.getId());
+
+        taskArchiveService.archiveCompletedTasks();
+
+        Cache cache = entityManagerFactory.getCache();
+        assertFalse(cache.contains(Comment.class, archivedComment.getId()));
+        assertFalse(cache.contains(Task.class, archived.getId()));
+        assertTrue(cache.contains(Comment.class, keptComment.getId()));
+        assertTrue(cache.contains(Task.class, kept.getId()));
+    }
+
+    /**
+     * Загружает задачу и ее комментарии, чтобы они попали в кэш второго уровня.
+     */
+    private void warmUp(Long taskId) {
+        commentCount(taskId);
+    }
+
+    private int commentCount(Long taskId) {
+        return transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow().getComments().size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.tasks.service;
+
+import com.example.tasks.AbstractIntegrationTest;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.entity.User;
+import com.example.tasks.enums.Role;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Маршрутизация изменяющих операций {@link TaskService}: чтение задачи перед изменением
+ * выполняется на основной базе, а не на реплике.
+ */
+class TaskServiceRoutingTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void getTasksByAuthor_ReadsFromReplica() {
+        User user = createUser(Role.ROLE_USER);
+        taskService.createTask("Task", "d", null, null, user, user.getId());
+        double before = routed("replica-0");
+
+        taskService.getTasksByAuthor(user.getId());
+
+        assertTrue(routed("replica-0") > before);
+    }
+
+    @Test
+    void updateTask_ReadsAndWritesOnPrimary() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO task = taskService.createTask("Task", "d", null, null, user, user.getId());
+
+        TaskDTO updated = assertPrimaryOnly(() ->
+                taskService.updateTask(task.getId(), "Renamed", null, null, TaskPriority.HIGH, null));
+
+        assertEquals("Renamed", updated.getTitle());
+        assertEquals(task.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    void assignTask_ReadsAndWritesOnPrimary() {
+        User user = createUser(Role.ROLE_USER);
+        User assignee = createUser(Role.ROLE_USER);
+        TaskDTO task = taskService.createTask("Task", "d", null, null, user, user.getId());
+
+        TaskDTO assigned = assertPrimaryOnly(() -> taskService.assignTask(task.getId(), assignee.getId()));
+
+        assertEquals(task.getVersion() + 1, assigned.getVersion());
+    }
+
+    @Test
+    void updateTaskStatus_ReadsAndWritesOnPrimary() {
+        User user = createUser(Role.ROLE_USER);
+        TaskDTO task = taskService.createTask("Task", "d", null, null, user, user.getId());
+
+        TaskDTO updated = assertPrimaryOnly(() ->
+                taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS, user));
+
+        assertEquals(TaskStatus.IN_PROGRESS, updated.getStatus());
+        assertEquals(task.getVersion() + 1, updated.getVersion());
+    }
+
+    /**
+     * Выполняет операцию с пустым кэшем второго уровня, чтобы задача читалась из базы,
+     * и проверяет, что ни одно соединение не было взято у реплики.
+     */
+    private TaskDTO assertPrimaryOnly(Supplier<TaskDTO> operation) {
+        entityManagerFactory.getCache().evictAll();
+        double replicaBefore = routed("replica-0");
+        double primaryBefore = routed("primary");
+
+        TaskDTO result = operation.get();
+
+        assertEquals(replicaBefore, routed("replica-0"));
+        assertTrue(routed("primary") > primaryBefore);
+        return result;
+    }
+
+    private double routed(String target) {
+        return meterRegistry.get("tasks.datasource.routed").tag("target", target).counter().count();
+    }
+}
@@ -1,15 +1,27 @@
 package com.example.tasks.service;
 
 import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskPageDTO;
+import com.example.tasks.dto.UserDTO;
+import com.example.tasks.entity.Comment;
 import com.example.tasks.entity.Task;
 import com.example.tasks.entity.User;
+import com.example.tasks.enums.CountMode;
+import com.example.tasks.enums.TaskExpand;
 import com.example.tasks.enums.TaskPriority;
 import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
 import com.example.tasks.exception.InvalidRequestException;
 import com.example.tasks.exception.TaskNotFoundException;
 import com.example.tasks.exception.UserNotFoundException;
+import com.example.tasks.index.TaskBitmapIndex;
 import com.example.tasks.mapper.TaskMapper;
+import com.example.tasks.mapper.UserMapper;
+import com.example.tasks.repository.CommentRepository;
+import com.example.tasks.repository.TaskCountEstimator;
+import com.example.tasks.repository.TaskFilter;
 import com.example.tasks.repository.TaskRepository;
+import com.example.tasks.repository.TaskSort;
 import com.example.tasks.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,17 +29,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,9 +58,24 @@ public class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private TaskCountEstimator taskCountEstimator;
+
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskBitmapIndex taskBitmapIndex;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -193,16 +227,27 @@ public class TaskServiceTest {
     }
 
     @Test
-    void deleteTask_ValidTaskId_DeletesTask() {
+    void deleteTask_ValidTaskId_MarksTaskAndCommentsDeleted() {
         // Arrange
+        Comment comment = new Comment();
+        comment.setId(10L);
+        comment.setTask(task);
+        task.getComments().add(comment);
         when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        TaskChangedEvent.TaskState before = TaskChangedEvent.TaskState.of(task);
 
         // Act
         taskService.deleteTask(task.getId());
 
         // Assert
-        verify(taskRepository, times(1)).findById(task.getId());
-        verify(taskRepository, times(1)).delete(task);
+        assertTrue(task.isDeleted());
+        assertNotNull(task.getDeletedAt());
+        assertTrue(comment.isDeleted());
+        assertEquals(task.getDeletedAt(), comment.getDeletedAt());
+        verify(taskRepository).flush();
+        verify(taskRepository).evictDeleted(task.getId(), List.of(comment.getId()));
+        verify(taskRepository, never()).delete(any(Task.class));
+        verify(eventPublisher).publishEvent(TaskChangedEvent.deleted(before));
     }
 
     @Test
@@ -214,6 +259,21 @@ public class TaskServiceTest {
         assertThrows(TaskNotFoundException.class, () -> {
             taskService.deleteTask(task.getId());
         });
+        verify(taskRepository, never()).flush();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void updateTaskPriority_DeletedInCurrentTransaction_ThrowsTaskNotFoundException() {
+        // Arrange
+        task.setDeleted(true);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        // Act & Assert
+        assertThrows(TaskNotFoundException.class,
+                () -> taskService.updateTaskPriority(task.getId(), TaskPriority.HIGH));
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -262,7 +322,7 @@ public class TaskServiceTest {
     void getTasks_ValidFilters_ReturnsTaskDTOPage() {
         // Arrange
         Page<Task> taskPage = new PageImpl<>(Collections.singletonList(task));
-        when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(taskPage);
+        when(taskRepository.findByFilter(any(TaskFilter.class), eq(TaskSort.ID), any(Pageable.class))).thenReturn(taskPage);
         when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
 
         // Act
@@ -279,7 +339,28 @@ public class TaskServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(taskDTO, result.getContent().get(0));
-        verify(taskRepository, times(1)).findAll(any(Specification.class), any(Pageable.class));
+        verify(taskRepository, times(1)).findByFilter(
+                new TaskFilter(TaskStatus.PENDING, TaskPriority.MEDIUM, author.getId(), assignee.getId()), TaskSort.ID,
+                PageRequest.of(0, 10));
+    }
+
+    @Test
+    void getTasks_IndexReady_LoadsOnlyPageTasks() {
+        // Arrange
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, null, author.getId(), null);
+        when(taskBitmapIndex.isReady()).thenReturn(true);
+        when(taskBitmapIndex.count(filter)).thenReturn(25L);
+        when(taskBitmapIndex.findIds(filter, TaskSort.ID, 0L, 10)).thenReturn(List.of(task.getId()));
+        when(taskRepository.findAllByIdInOrder(List.of(task.getId()))).thenReturn(List.of(task));
+        when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
+
+        // Act
+        Page<TaskDTO> result = taskService.getTasks(TaskStatus.PENDING, null, author.getId(), null, 0, 10);
+
+        // Assert
+        assertEquals(25, result.getTotalElements());
+        assertEquals(List.of(taskDTO), result.getContent());
+        verify(taskRepository, never()).findByFilter(any(TaskFilter.class), any(TaskSort.class), any(Pageable.class));
     }
 
     @Test
@@ -307,6 +388,121 @@ public class TaskServiceTest {
         verify(taskRepository, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    void getTasksSlice_ValidFilters_ReturnsSliceWithoutCount() {
+        // Arrange
+        Slice<Task> taskSlice = new SliceImpl<>(Collections.singletonList(task), PageRequest.of(0, 10), true);
+        when(taskRepository.findSliceByFilter(any(TaskFilter.class), eq(TaskSort.ID), any(Pageable.class))).thenReturn(taskSlice);
+        when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
+
+        // Act
+        Slice<TaskDTO> result = taskService.getTasksSlice(TaskStatus.PENDING, null, null, assignee.getId(), 0, 10);
+
+        // Assert
+        assertTrue(result.hasNext());
+        assertEquals(taskDTO, result.getContent().get(0));
+        verify(taskRepository, never()).findByFilter(any(TaskFilter.class), any(TaskSort.class), any(Pageable.class));
+    }
+
+    @Test
+    void getTopTasks_IndexReady_LoadsTopIdsInOrder() {
+        // Arrange
+        TaskFilter filter = new TaskFilter(null, null, null, assignee.getId());
+        when(taskBitmapIndex.isReady()).thenReturn(true);
+        when(taskBitmapIndex.findIds(filter, TaskSort.PRIORITY_ID_DESC, 0L, 5)).thenReturn(List.of(task.getId()));
+        when(taskRepository.findAllByIdInOrder(List.of(task.getId()))).thenReturn(List.of(task));
+        when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
+
+        // Act
+        List<TaskDTO> result = taskService.getTopTasks(null, null, null, assignee.getId(), TaskSort.PRIORITY_ID_DESC, 5);
+
+        // Assert
+        assertEquals(List.of(taskDTO), result);
+        verify(taskRepository, never()).findTopByFilter(any(TaskFilter.class), any(TaskSort.class), anyInt());
+    }
+
+    @Test
+    void getTopTasks_IndexNotReady_ReadsTopFromDatabase() {
+        // Arrange
+        TaskFilter filter = new TaskFilter(TaskStatus.PENDING, null, null, null);
+        when(taskRepository.findTopByFilter(filter, TaskSort.PRIORITY, 3)).thenReturn(List.of());
+
+        // Act
+        List<TaskDTO> result = taskService.getTopTasks(TaskStatus.PENDING, null, null, null, TaskSort.PRIORITY, 3);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getTopTasks_InvalidLimit_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> taskService.getTopTasks(TaskStatus.PENDING, null, null, null, TaskSort.ID, 0));
+    }
+
+    @Test
+    void getTasksByIds_ExpandAuthor_EmbedsAuthorOnly() {
+        // Arrange
+        UserDTO authorDTO = new UserDTO(author.getId(), "author@example.com");
+        when(taskRepository.findAllByIdInOrder(List.of(1L, 5L))).thenReturn(List.of(task));
+        when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
+        when(userMapper.toUserDTO(author)).thenReturn(authorDTO);
+
+        // Act
+        List<TaskDTO> result = taskService.getTasksByIds(List.of(1L, 5L, 1L), Set.of(TaskExpand.AUTHOR));
+
+        // Assert
+        assertEquals(List.of(taskDTO), result);
+        assertEquals(authorDTO, result.get(0).getAuthor());
+        assertNull(result.get(0).getAssignee());
+        verify(userMapper, never()).toUserDTO(assignee);
+    }
+
+    @Test
+    void getTasksByIds_TooManyIds_ThrowsInvalidRequestException() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> taskService.getTasksByIds(ids, Set.of()));
+        assertThrows(InvalidRequestException.class, () -> taskService.getTasksByIds(List.of(), Set.of()));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getAllTasks_ApproximateAboveThreshold_ReturnsEstimatedTotal() {
+        // Arrange
+        Slice<Task> taskSlice = new SliceImpl<>(Collections.singletonList(task), PageRequest.of(0, 10), true);
+        when(taskCountEstimator.estimateIfAboveThreshold()).thenReturn(OptionalLong.of(250_000));
+        when(taskRepository.findSliceByFilter(any(TaskFilter.class), any(Pageable.class))).thenReturn(taskSlice);
+        when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
+
+        // Act
+        TaskPageDTO result = taskService.getAllTasks(0, 10, CountMode.APPROXIMATE);
+
+        // Assert
+        assertEquals(250_000L, result.getTotalElements());
+        assertFalse(result.isTotalExact());
+        verify(taskRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void getAllTasks_ApproximateBelowThreshold_ReturnsExactTotal() {
+        // Arrange
+        Page<Task> taskPage = new PageImpl<>(Collections.singletonList(task));
+        when(taskCountEstimator.estimateIfAboveThreshold()).thenReturn(OptionalLong.empty());
+        when(taskRepository.findAll(any(Pageable.class))).thenReturn(taskPage);
+        when(taskMapper.toTaskDTO(task)).thenReturn(taskDTO);
+
+        // Act
+        TaskPageDTO result = taskService.getAllTasks(0, 10, CountMode.APPROXIMATE);
+
+        // Assert
+        assertEquals(1L, result.getTotalElements());
+        assertTrue(result.isTotalExact());
+    }
+
     @Test
     void getAllTasks_InvalidPage_ThrowsInvalidRequestException() {
         // Act & Assert
@@ -0,0 +1,217 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.TaskStatsDTO;
+import com.example.tasks.enums.TaskPriority;
+import com.example.tasks.enums.TaskStatus;
+import com.example.tasks.event.TaskChangedEvent;
+import com.example.tasks.event.TaskChangedEvent.TaskState;
+import com.example.tasks.exception.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskStatisticsServiceTest {
+
+    private String url;
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskStatisticsService statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:stats" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        dataSource = new DriverManagerDataSource(url, "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, status VARCHAR(20), priority VARCHAR(20), " +
+                "author_id BIGINT, assignee_id BIGINT, deleted BOOLEAN)");
+        insertTask(1, TaskStatus.PENDING, TaskPriority.HIGH, 1, 7L);
+        insertTask(2, TaskStatus.PENDING, TaskPriority.LOW, 1, null);
+        insertTask(3, TaskStatus.COMPLETED, TaskPriority.HIGH, 2, 7L);
+        insertTask(4, TaskStatus.COMPLETED, TaskPriority.HIGH, 2, 8L);
+        jdbcTemplate.update("UPDATE tasks SET deleted = TRUE WHERE id = 4");
+
+        meterRegistry = new SimpleMeterRegistry();
+        statisticsService = new TaskStatisticsService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                meterRegistry);
+    }
+
+    @Test
+    void getStatistics_BeforeReconcile_QueriesDatabase() {
+        TaskStatsDTO stats = statisticsService.getStatistics(null, 7L);
+
+        assertEquals(2, stats.getTotal());
+        assertEquals(1, stats.getByStatusAndPriority().get(TaskStatus.COMPLETED).get(TaskPriority.HIGH));
+        assertEquals(0, stats.getByStatus().get(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void getStatistics_CountsGloballyAndPerUser() {
+        statisticsService.reconcile();
+
+        TaskStatsDTO global = statisticsService.getStatistics(null, null);
+        assertEquals(3, global.getTotal());
+        assertEquals(2, global.getByStatus().get(TaskStatus.PENDING));
+        assertEquals(2, global.getByPriority().get(TaskPriority.HIGH));
+        assertEquals(1, global.getByStatusAndPriority().get(TaskStatus.PENDING).get(TaskPriority.LOW));
+
+        assertEquals(2, statisticsService.getStatistics(1L, null).getTotal());
+        assertEquals(1, statisticsService.getStatistics(null, 7L).getByStatus().get(TaskStatus.COMPLETED));
+        assertEquals(0, statisticsService.getStatistics(null, 99L).getTotal());
+        assertThrows(InvalidRequestException.class, () -> statisticsService.getStatistics(1L, 7L));
+    }
+
+    @Test
+    void onTaskChanged_MovesTaskBetweenCells() {
+        statisticsService.reconcile();
+        TaskState before = state(1L, TaskStatus.PENDING, TaskPriority.HIGH, 1L, 7L);
+        TaskState after = state(1L, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 1L, 8L);
+
+        statisticsService.onTaskChanged(new TaskChangedEvent(1L, before, after));
+
+        TaskStatsDTO global = statisticsService.getStatistics(null, null);
+        assertEquals(3, global.getTotal());
+        assertEquals(1, global.getByStatus().get(TaskStatus.PENDING));
+        assertEquals(1, global.getByStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1, statisticsService.getStatistics(null, 7L).getTotal());
+        assertEquals(1, statisticsService.getStatistics(null, 8L).getTotal());
+
+        statisticsService.onTaskChanged(TaskChangedEvent.deleted(after));
+        assertEquals(2, statisticsService.getStatistics(null, null).getTotal());
+        assertEquals(1, statisticsService.getStatistics(1L, null).getTotal());
+    }
+
+    @Test
+    void reconcile_ReplacesDriftedCounters() {
+        statisticsService.reconcile();
+        // Изменение в обход сервисов: событие не публикуется
+        jdbcTemplate.update("UPDATE tasks SET status = 'IN_PROGRESS' WHERE id = 2");
+
+        assertEquals(2, statisticsService.getStatistics(null, null).getByStatus().get(TaskStatus.PENDING));
+        // Расходятся ячейки PENDING/LOW и IN_PROGRESS/LOW глобально и у автора 1
+        assertEquals(4, statisticsService.reconcile());
+
+        assertEquals(1, statisticsService.getStatistics(null, null).getByStatus().get(TaskStatus.PENDING));
+        assertEquals(4.0, meterRegistry.counter("tasks.stats.drift").count());
+        assertEquals(0, statisticsService.reconcile());
+    }
+
+    @Test
+    void reconcile_ChangeCommittedBeforeSnapshot_IsNotCountedTwice() {
+        TaskState before = state(2L, TaskStatus.PENDING, TaskPriority.LOW, 1L, null);
+        TaskState after = state(2L, TaskStatus.IN_PROGRESS, TaskPriority.LOW, 1L, null);
+        // Изменение фиксируется после начала сверки, но до запроса, и его событие попадает в очередь сверки
+        TaskStatisticsService service = serviceWithConcurrentChange(
+                "UPDATE tasks SET status = 'IN_PROGRESS' WHERE id = 2", new TaskChangedEvent(2L, before, after), true);
+
+        assertEquals(0, service.reconcile());
+
+        assertCounters(service, 1, 1, 0);
+    }
+
+    @Test
+    void reconcile_ChangeCommittedAfterSnapshot_IsApplied() {
+        TaskState before = state(2L, TaskStatus.PENDING, TaskPriority.LOW, 1L, null);
+        TaskState after = state(2L, TaskStatus.IN_PROGRESS, TaskPriority.LOW, 1L, null);
+        TaskStatisticsService service = serviceWithConcurrentChange(
+                "UPDATE tasks SET status = 'IN_PROGRESS' WHERE id = 2", new TaskChangedEvent(2L, before, after), false);
+
+        service.reconcile();
+
+        assertCounters(service, 1, 1, 0);
+        assertEquals(0, service.reconcile());
+    }
+
+    @Test
+    void onTaskChanged_ConcurrentUpdates_AreNotLost() throws Exception {
+        statisticsService.reconcile();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                long id = 100 + thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        TaskState pending = state(id, TaskStatus.PENDING, TaskPriority.MEDIUM, 3L, 9L);
+                        TaskState done = state(id, TaskStatus.COMPLETED, TaskPriority.MEDIUM, 3L, 9L);
+                        statisticsService.onTaskChanged(new TaskChangedEvent(id, null, pending));
+                        statisticsService.onTaskChanged(new TaskChangedEvent(id, pending, done));
+                        statisticsService.onTaskChanged(TaskChangedEvent.deleted(done));
+                    }
+                    statisticsService.onTaskChanged(new TaskChangedEvent(id, null,
+                            state(id, TaskStatus.COMPLETED, TaskPriority.MEDIUM, 3L, 9L)));
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(11, statisticsService.getStatistics(null, null).getTotal());
+        assertEquals(8, statisticsService.getStatistics(3L, null).getByStatusAndPriority()
+                .get(TaskStatus.COMPLETED).get(TaskPriority.MEDIUM));
+    }
+
+    /**
+     * Сервис, в котором во время сверки другая транзакция фиксирует изменение и публикует событие —
+     * до запроса {@code GROUP BY} или сразу после него. Изменение происходит только при первой сверке.
+     */
+    private TaskStatisticsService serviceWithConcurrentChange(String sql, TaskChangedEvent event,
+                                                              boolean beforeQuery) {
+        // Отдельный источник данных: изменение фиксируется в своем соединении, а не в транзакции сверки
+        JdbcTemplate writer = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        TaskStatisticsService[] service = new TaskStatisticsService[1];
+        AtomicBoolean changed = new AtomicBoolean();
+        JdbcTemplate racing = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String query, RowCallbackHandler handler) {
+                boolean change = changed.compareAndSet(false, true);
+                if (change && beforeQuery) {
+                    writer.update(sql);
+                    service[0].onTaskChanged(event);
+                }
+                super.query(query, handler);
+                if (change && !beforeQuery) {
+                    writer.update(sql);
+                    service[0].onTaskChanged(event);
+                }
+            }
+        };
+        service[0] = new TaskStatisticsService(racing, new DataSourceTransactionManager(dataSource), meterRegistry);
+        return service[0];
+    }
+
+    private static void assertCounters(TaskStatisticsService service, long pending, long inProgress,
+                                       long authorPendingLow) {
+        TaskStatsDTO global = service.getStatistics(null, null);
+        assertEquals(pending, global.getByStatus().get(TaskStatus.PENDING));
+        assertEquals(inProgress, global.getByStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(authorPendingLow, service.getStatistics(1L, null).getByStatusAndPriority()
+                .get(TaskStatus.PENDING).get(TaskPriority.LOW));
+    }
+
+    private static TaskState state(long id, TaskStatus status, TaskPriority priority, Long authorId, Long assigneeId) {
+        return new TaskState(id, "Task " + id, null, status, priority, authorId, assigneeId);
+    }
+
+    private void insertTask(long id, TaskStatus status, TaskPriority priority, long authorId, Long assigneeId) {
+        jdbcTemplate.update("INSERT INTO tasks VALUES (?, ?, ?, ?, ?, FALSE)",
+                id, status.name(), priority.name(), authorId, assigneeId);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.tasks.service;
+
+import com.example.tasks.dto.CommentDTO;
+import com.example.tasks.dto.InboxPageDTO;
+import com.example.tasks.dto.TaskDTO;
+import com.example.tasks.dto.TaskStatsDTO;
+import com.example.tasks.dto.WorkspaceDTO;
+import com.example.tasks.exception.InvalidRequestException;
+import com.example.tasks.exception.ServiceUnavailableException;
+import com.example.tasks.exception.UserNotFoundException;
+import com.example.tasks.repository.TaskSort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWorkspaceServiceTest {
+
+    @Mock
+    private TaskReadCoalescer taskReadCoalescer;
+    @Mock
+    private TaskSearchService taskSearchService;
+    @Mock
+    private TaskStatisticsService taskStatisticsService;
+    @Mock
+    private TaskService taskService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskWorkspaceService workspaceService;
+
+    @AfterEach
+    void tearDown() {
+        workspaceService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getWorkspace_RunsSubQueriesInParallel() {
+        createService(Duration.ofSeconds(5));
+        // Каждый подзапрос ждет остальные: ответ возможен, только если все четыре выполняются одновременно
+        CyclicBarrier barrier = new CyclicBarrier(4);
+        List<TaskDTO> authored = List.of(new TaskDTO());
+        InboxPageDTO assigned = new InboxPageDTO(List.of(), 0, 10, 0, 0, false);
+        TaskStatsDTO statistics = new TaskStatsDTO();
+        List<CommentDTO> comments = List.of(new CommentDTO());
+        when(taskReadCoalescer.getTopTasks(null, null, 7L, null, TaskSort.ID_DESC, 10))
+                .thenAnswer(invocation -> awaitOthers(barrier, authored));
+        when(taskSearchService.getInbox(7L, 0, 10)).thenAnswer(invocation -> awaitOthers(barrier, assigned));
+        when(taskStatisticsService.getStatistics(null, 7L)).thenAnswer(invocation -> awaitOthers(barrier, statistics));
+        when(taskService.getRecentComments(7L, 5)).thenAnswer(invocation -> awaitOthers(barrier, comments));
+
+        WorkspaceDTO workspace = workspaceService.getWorkspace(7L, 10, 5);
+
+        assertEquals(new WorkspaceDTO(authored, assigned, statistics, comments), workspace);
+        assertEquals(1, meterRegistry.timer("tasks.workspace.load", "outcome", "success").count());
+    }
+
+    @Test
+    void getWorkspace_VirtualThreadsRequested_RunsSubQueriesInParallel() {
+        // На Java 21+ подзапросы идут в виртуальных потоках, на Java 17 свойство игнорируется
+        createService(Duration.ofSeconds(5),
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        CyclicBarrier barrier = new CyclicBarrier(4);
+        when(taskReadCoalescer.getTopTasks(any(), any(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> awaitOthers(barrier, List.of()));
+        when(taskSearchService.getInbox(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> awaitOthers(barrier, null));
+        when(taskStatisticsService.getStatistics(null, 7L)).thenAnswer(invocation -> awaitOthers(barrier, null));
+        when(taskService.getRecentComments(anyLong(), anyInt()))
+                .thenAnswer(invocation -> awaitOthers(barrier, List.of()));
+
+        assertEquals(new WorkspaceDTO(List.of(), null, null, List.of()), workspaceService.getWorkspace(7L, 10, 5));
+    }
+
+    @Test
+    void getWorkspace_SubQueryFails_FailsWithoutWaitingForOthers() {
+        createService(Duration.ofSeconds(30));
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+        // Статистика падает, когда остальные три подзапроса уже выполняются и ждут release
+        when(taskReadCoalescer.getTopTasks(any(), any(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> block(started, release, completed, List.of()));
+        when(taskSearchService.getInbox(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> block(started, release, completed, null));
+        when(taskStatisticsService.getStatistics(null, 7L)).thenAnswer(invocation -> {
+            started.await(5, TimeUnit.SECONDS);
+            throw new UserNotFoundException("not found");
+        });
+        when(taskService.getRecentComments(anyLong(), anyInt()))
+                .thenAnswer(invocation -> block(started, release, completed, List.of()));
+
+        try {
+            assertThrows(UserNotFoundException.class, () -> workspaceService.getWorkspace(7L, 10, 10));
+            // Ни один из остальных подзапросов не завершился: ошибка получена без ожидания
+            assertEquals(0, completed.get());
+        } finally {
+            release.countDown();
+        }
+        assertEquals(1, meterRegistry.timer("tasks.workspace.load", "outcome", "error").count());
+    }
+
+    @Test
+    void getWorkspace_Timeout_ThrowsServiceUnavailable() {
+        createService(Duration.ofMillis(100));
+        CountDownLatch release = new CountDownLatch(1);
+        // Ни один подзапрос не завершается до release, поэтому таймаут наступает всегда.
+        // Какие из них успеют начаться до таймаута, зависит от планировщика, поэтому заглушки нестрогие
+        lenient().when(taskReadCoalescer.getTopTasks(any(), any(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> awaitOthers(release, List.of()));
+        lenient().when(taskSearchService.getInbox(anyLong(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> awaitOthers(release, null));
+        lenient().when(taskStatisticsService.getStatistics(null, 7L))
+                .thenAnswer(invocation -> awaitOthers(release, null));
+        lenient().when(taskService.getRecentComments(anyLong(), anyInt()))
+                .thenAnswer(invocation -> awaitOthers(release, List.of()));
+
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> workspaceService.getWorkspace(7L, 10, 10));
+        } finally {
+            release.countDown();
+        }
+        assertEquals(1, meterRegistry.timer("tasks.workspace.load", "outcome", "error").count());
+    }
+
+    @Test
+    void getWorkspace_SubQueriesSeeCallerAuthentication() {
+        createService(Duration.ofSeconds(5));
+        Authentication caller = new TestingAuthenticationToken("user@example.com", null, "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        when(taskStatisticsService.getStatistics(null, 7L)).thenAnswer(invocation -> {
+            seen.set(SecurityContextHolder.getContext().getAuthentication());
+            return new TaskStatsDTO();
+        });
+
+        workspaceService.getWorkspace(7L, 10, 10);
+
+        assertSame(caller, seen.get());
+    }
+
+    @Test
+    void getWorkspace_InvalidLimits_ThrowsInvalidRequestException() {
+        createService(Duration.ofSeconds(5));
+
+        assertThrows(InvalidRequestException.class, () -> workspaceService.getWorkspace(7L, 0, 10));
+        assertThrows(InvalidRequestException.class, () -> workspaceService.getWorkspace(7L, 10, 101));
+        verifyNoInteractions(taskReadCoalescer, taskSearchService, taskStatisticsService, taskService);
+    }
+
+    private void createService(Duration timeout) {
+        createService(timeout, new MockEnvironment());
+    }
+
+    private void createService(Duration timeout, MockEnvironment environment) {
+        meterRegistry = new SimpleMeterRegistry();
+        workspaceService = new TaskWorkspaceService(taskReadCoalescer, taskSearchService, taskStatisticsService,
+                taskService, meterRegistry, 4, 16, timeout, environment);
+    }
+
+    private static <T> T awaitOthers(CyclicBarrier barrier, T result) throws Exception {
+        barrier.await(5, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static <T> T awaitOthers(CountDownLatch latch, T result) throws InterruptedException {
+        latch.await(5, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static <T> T block(CountDownLatch started, CountDownLatch release, AtomicInteger completed, T result)
+            throws InterruptedException {
+        started.countDown();
+        release.await(30, TimeUnit.SECONDS);
+        completed.incrementAndGet();
+        return result;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.tasks.service;
 
+import com.example.tasks.dto.UserDTO;
 import com.example.tasks.entity.User;
 import com.example.tasks.enums.Role;
 import com.example.tasks.exception.EmailAlreadyExistsException;
 import com.example.tasks.exception.InvalidEmailException;
 import com.example.tasks.exception.InvalidPasswordException;
+import com.example.tasks.exception.InvalidRequestException;
 import com.example.tasks.exception.InvalidRoleException;
 import com.example.tasks.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -156,4 +159,24 @@ public class UserServiceTest {
         assertEquals(Set.of(Role.ROLE_USER), actualUser.getRoles());
         verify(userRepository, times(1)).save(any(User.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUsersByIds_ReturnsUsersInRequestedOrder() {
+        // Arrange
+        UserDTO first = new UserDTO(1L, "first@example.com");
+        UserDTO third = new UserDTO(3L, "third@example.com");
+        when(userRepository.findUserDTOsByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+
+        // Act
+        List<UserDTO> users = userService.getUsersByIds(List.of(3L, 2L, 1L, 3L));
+
+        // Assert
+        assertEquals(List.of(third, first), users);
+    }
+
+    @Test
+    void getUsersByIds_EmptyIds_ThrowsInvalidRequestException() {
+        assertThrows(InvalidRequestException.class, () -> userService.getUsersByIds(List.of()));
+        verifyNoInteractions(userRepository);
+    }
+}